@@ -0,0 +1,94 @@
+package com.kevinguanchedarias.taggablecache.aspect;
+
+import com.kevinguanchedarias.taggablecache.configuration.properties.ConcurrentHashMapTaggableProperties;
+import com.kevinguanchedarias.taggablecache.manager.ConcurrentHashMapTaggableCacheManager;
+import com.kevinguanchedarias.taggablecache.manager.TagInvalidationMode;
+import com.kevinguanchedarias.taggablecache.placeholderresolver.DefaultPlaceholderResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End to end cost of a {@link TaggableCacheable} method compared to calling it directly, and to calling a method of the
+ * same proxy that is not cached, so the proxy overhead and the cache overhead can be told apart
+ *
+ * @since 0.3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class TaggableCacheableAspectBenchmark {
+    private static final int HIT_ID = 6;
+
+    private UserService target;
+    private UserService proxy;
+    private ConcurrentHashMapTaggableCacheManager manager;
+
+    public static class UserService {
+        @TaggableCacheable(key = "user_#id", tags = {"user:#id", "user:list"})
+        public String findUser(int id) {
+            return "user";
+        }
+
+        public String findUserUncached(int id) {
+            return "user";
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private int missId = HIT_ID + 1;
+    }
+
+    @Setup
+    public void setup() {
+        manager = new ConcurrentHashMapTaggableCacheManager(new ConcurrentHashMapTaggableProperties(
+                1L, TimeUnit.HOURS, 64, Duration.ofSeconds(1), 1000, Duration.ofSeconds(10), 10_000L, 0L,
+                TagInvalidationMode.EAGER, Duration.ofMinutes(5)
+        ));
+        target = new UserService();
+        var proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new TaggableCacheableAspect(manager, new DefaultPlaceholderResolver()));
+        proxy = proxyFactory.getProxy();
+        proxy.findUser(HIT_ID);
+    }
+
+    @Benchmark
+    public String direct() {
+        return target.findUser(HIT_ID);
+    }
+
+    @Benchmark
+    public String proxiedUncached() {
+        return proxy.findUserUncached(HIT_ID);
+    }
+
+    @Benchmark
+    public String cachedHit() {
+        return proxy.findUser(HIT_ID);
+    }
+
+    /**
+     * Each call uses a new id, so the key and the tags are resolved and saved, the bound of the manager keeps the
+     * memory stable
+     */
+    @Benchmark
+    public String cachedMiss(ThreadState threadState) {
+        return proxy.findUser(threadState.missId++);
+    }
+}
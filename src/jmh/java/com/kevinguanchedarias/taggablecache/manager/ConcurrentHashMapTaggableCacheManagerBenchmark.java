@@ -0,0 +1,129 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import com.kevinguanchedarias.taggablecache.configuration.properties.ConcurrentHashMapTaggableProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput of the per key operations, each one runs with a single thread and with all the available processors
+ * (<i>Contended</i> suffix), JMH <i>-t</i> option overrides both <br>
+ * Keys are picked with a fixed seed per thread, so runs are comparable
+ *
+ * @since 0.3.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class ConcurrentHashMapTaggableCacheManagerBenchmark {
+    private static final Object VALUE = "value";
+    private static final int TAGS = 100;
+
+    @Param({"10000", "1000000"})
+    int entries;
+
+    private ConcurrentHashMapTaggableCacheManager manager;
+    private String[] keys;
+    private List<String>[] tags;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private static final AtomicInteger THREAD_SEQUENCE = new AtomicInteger();
+
+        private final int threadId = THREAD_SEQUENCE.getAndIncrement();
+        private final SplittableRandom random = new SplittableRandom(threadId);
+        private long missSequence;
+
+        String nextMissKey() {
+            return "miss_" + threadId + "_" + missSequence++;
+        }
+    }
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        manager = new ConcurrentHashMapTaggableCacheManager(new ConcurrentHashMapTaggableProperties(
+                1L, TimeUnit.HOURS, 64, Duration.ofSeconds(1), 1000, Duration.ofSeconds(10), (long) entries, 0L,
+                TagInvalidationMode.EAGER, Duration.ofMinutes(5)
+        ));
+        keys = new String[entries];
+        tags = new List[TAGS];
+        for (int i = 0; i < TAGS; i++) {
+            tags[i] = List.of("tag_" + i, "shared");
+        }
+        for (int i = 0; i < entries; i++) {
+            keys[i] = "key_" + i;
+            manager.saveEntry(keys[i], VALUE, tags[i % TAGS]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        manager.getScheduledExecutorService().shutdownNow();
+    }
+
+    @Benchmark
+    public CachedValue<Object> hit(ThreadState threadState) {
+        return manager.getIfPresent(keys[threadState.random.nextInt(entries)]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public CachedValue<Object> hitContended(ThreadState threadState) {
+        return hit(threadState);
+    }
+
+    /**
+     * The lookup of an absent key followed by its save, as the aspect does, the bound makes the policy evict an entry
+     * on each save once the cache is full
+     */
+    @Benchmark
+    public CachedValue<Object> missAndSave(ThreadState threadState) {
+        var key = threadState.nextMissKey();
+        var cachedValue = manager.<Object>getIfPresent(key);
+        manager.saveEntry(key, VALUE, tags[threadState.random.nextInt(TAGS)]);
+        return cachedValue;
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public CachedValue<Object> missAndSaveContended(ThreadState threadState) {
+        return missAndSave(threadState);
+    }
+
+    /**
+     * Saves a key and evicts it, so every eviction finds the key and its tags
+     */
+    @Benchmark
+    public void evictByKey(ThreadState threadState) {
+        var key = threadState.nextMissKey();
+        manager.saveEntry(key, VALUE, tags[threadState.random.nextInt(TAGS)]);
+        manager.evictByKey(key);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void evictByKeyContended(ThreadState threadState) {
+        evictByKey(threadState);
+    }
+}
@@ -0,0 +1,109 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import com.kevinguanchedarias.taggablecache.configuration.properties.ConcurrentHashMapTaggableProperties;
+import com.kevinguanchedarias.taggablecache.util.StripedLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency of the operations that touch many entries at once, evicting a tag shared by all the entries, and sweeping
+ * all of them once expired <br>
+ * As those operations consume their input, each measured call runs against a manager populated before the iteration
+ *
+ * @since 0.3.0
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(2)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@State(Scope.Benchmark)
+public class ConcurrentHashMapTaggableCacheManagerBulkBenchmark {
+    private static final String TAG = "large_tag";
+    private static final Duration TTL = Duration.ofSeconds(1);
+
+    @Param({"1000", "100000"})
+    int tagSize;
+
+    @Param({"EAGER", "GENERATION"})
+    TagInvalidationMode tagInvalidation;
+
+    private final AtomicLong now = new AtomicLong();
+    private ConcurrentHashMapTaggableCacheManager manager;
+    private CapturingExecutor executor;
+
+    /**
+     * Keeps the periodic sweep so the benchmark can run it, while the generation purges run in the background as usual
+     */
+    private static class CapturingExecutor extends ScheduledThreadPoolExecutor {
+        private Runnable sweep;
+
+        CapturingExecutor() {
+            super(1);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+            sweep = command;
+            return null;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        executor = new CapturingExecutor();
+        manager = new ConcurrentHashMapTaggableCacheManager(
+                new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new ExpiryQueue(),
+                executor, new StripedLock(64), now::get, EvictionPolicy.UNBOUNDED,
+                new SingleFlight(Duration.ofSeconds(10)), properties()
+        );
+        manager.autoKeyWipe();
+        var tags = List.of(TAG);
+        for (int i = 0; i < tagSize; i++) {
+            manager.saveEntry("key_" + i, i, tags, TTL);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    @Benchmark
+    public void evictByCacheTag() {
+        manager.evictByCacheTag(TAG);
+    }
+
+    @Benchmark
+    public void expirySweep() {
+        now.addAndGet(TTL.toNanos() * 2);
+        executor.sweep.run();
+    }
+
+    private ConcurrentHashMapTaggableProperties properties() {
+        return new ConcurrentHashMapTaggableProperties(
+                1L, TimeUnit.HOURS, 64, Duration.ofSeconds(1), 1000, Duration.ofSeconds(10), 0L, 0L, tagInvalidation,
+                Duration.ofMinutes(5)
+        );
+    }
+}
@@ -0,0 +1,101 @@
+package com.kevinguanchedarias.taggablecache.placeholderresolver;
+
+import com.kevinguanchedarias.taggablecache.internal.model.ParsedKeyAndTagsModel;
+import com.kevinguanchedarias.taggablecache.test.model.UserTestModel;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of resolving the key alone (cache hit path) and the key with its tags (cache miss path) <br>
+ * The join point is a real one, captured from a Spring AOP proxy, so argument names and values are obtained the same
+ * way as in the aspect
+ *
+ * @since 0.3.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class PlaceholderResolverBenchmark {
+    private static final UserTestModel USER = UserTestModel.builder().name("John Connor").age(19).build();
+
+    @Param({"default", "spel", "spel-compiled"})
+    String resolver;
+
+    private PlaceholderResolver placeholderResolver;
+    private ProceedingJoinPoint joinPoint;
+    private String key;
+    private List<String> tags;
+
+    public interface UserLookup {
+        String find(int id, UserTestModel user);
+    }
+
+    public static class FakeUserLookup implements UserLookup {
+        @Override
+        public String find(int id, UserTestModel user) {
+            return user.getName();
+        }
+    }
+
+    @Aspect
+    public static class JoinPointCapture {
+        private ProceedingJoinPoint captured;
+
+        @Around("execution(* find(..))")
+        public Object capture(ProceedingJoinPoint joinPoint) throws Throwable {
+            captured = joinPoint;
+            return joinPoint.proceed();
+        }
+    }
+
+    @Setup
+    public void setup() {
+        var capture = new JoinPointCapture();
+        var proxyFactory = new AspectJProxyFactory(new FakeUserLookup());
+        proxyFactory.addAspect(capture);
+        proxyFactory.<UserLookup>getProxy().find(6, USER);
+        joinPoint = capture.captured;
+        if ("default".equals(resolver)) {
+            placeholderResolver = new DefaultPlaceholderResolver();
+            key = "user_#id_#user.name";
+            tags = List.of("user:#id", "age:#user.age", "user:list");
+        } else {
+            placeholderResolver = "spel".equals(resolver)
+                    ? new SpringSpelPlaceholderResolver(new SpelExpressionParser())
+                    : SpringSpelPlaceholderResolver.withCompilerMode(SpelCompilerMode.IMMEDIATE);
+            key = "'user_' + #id + '_' + #user.name";
+            tags = List.of("'user:' + #id", "'age:' + #user.age", "'user:list'");
+        }
+    }
+
+    @Benchmark
+    public String resolveKey() {
+        return placeholderResolver.resolveKey(joinPoint, key);
+    }
+
+    @Benchmark
+    public ParsedKeyAndTagsModel resolveExpressions() {
+        return placeholderResolver.resolveExpressions(joinPoint, key, tags);
+    }
+}
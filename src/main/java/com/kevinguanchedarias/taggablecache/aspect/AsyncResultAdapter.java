@@ -0,0 +1,33 @@
+package com.kevinguanchedarias.taggablecache.aspect;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Adapts asynchronous return types, so {@link TaggableCacheable} caches the completed value instead of the async
+ * object itself
+ *
+ * @since 0.3.0
+ */
+public interface AsyncResultAdapter {
+    /**
+     * @param returnType Declared return type of the annotated method
+     * @since 0.3.0
+     */
+    boolean supports(Class<?> returnType);
+
+    /**
+     * Starts observing the result returned by the annotated method
+     *
+     * @return A future completed with the value that will be cached, or completed exceptionally if it shouldn't
+     * @since 0.3.0
+     */
+    CompletableFuture<Object> toFuture(Object result);
+
+    /**
+     * Builds a new result for a caller, invoked for cached values too, with an already completed future <br>
+     * The future may be shared by several callers, so it must not be exposed directly
+     *
+     * @since 0.3.0
+     */
+    Object fromFuture(CompletableFuture<Object> future);
+}
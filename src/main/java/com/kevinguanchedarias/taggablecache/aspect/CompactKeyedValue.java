@@ -0,0 +1,41 @@
+package com.kevinguanchedarias.taggablecache.aspect;
+
+import com.kevinguanchedarias.taggablecache.util.Murmur3;
+import lombok.Value;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * What the methods with <i>compactKey</i> store, the value and the full key, as the entry is keyed by the hash only <br>
+ * The full key is compared on each hit, so a hash collision is a miss instead of the value of another key
+ *
+ * @since 0.3.0
+ */
+@Value
+class CompactKeyedValue implements Serializable {
+    private static final String COMPACT_KEY_PREFIX = "#";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    String key;
+    Object value;
+
+    /**
+     * @return The 128-bit hash of the key, as 23 characters
+     */
+    static String compactKey(String key) {
+        return COMPACT_KEY_PREFIX + ENCODER.encodeToString(Murmur3.hash128(key.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static Object unwrap(Object storedValue) {
+        return storedValue instanceof CompactKeyedValue compactKeyedValue ? compactKeyedValue.getValue() : storedValue;
+    }
+
+    /**
+     * @return True if the stored value was not saved by the key, the entry belongs to another key with the same hash
+     */
+    static boolean isCollision(String key, Object storedValue) {
+        return !(storedValue instanceof CompactKeyedValue compactKeyedValue && compactKeyedValue.getKey().equals(key));
+    }
+}
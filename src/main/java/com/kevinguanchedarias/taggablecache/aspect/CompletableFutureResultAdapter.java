@@ -0,0 +1,31 @@
+package com.kevinguanchedarias.taggablecache.aspect;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Supports methods returning {@link CompletableFuture} or {@link CompletionStage}
+ *
+ * @since 0.3.0
+ */
+class CompletableFutureResultAdapter implements AsyncResultAdapter {
+    @Override
+    public boolean supports(Class<?> returnType) {
+        return returnType == CompletableFuture.class || returnType == CompletionStage.class;
+    }
+
+    @Override
+    public CompletableFuture<Object> toFuture(Object result) {
+        return result == null
+                ? CompletableFuture.failedFuture(new NullPointerException("Async method returned a null future"))
+                : ((CompletionStage<?>) result).toCompletableFuture().thenApply(value -> value);
+    }
+
+    /**
+     * Each caller receives a copy, so completing or cancelling it doesn't affect the other callers
+     */
+    @Override
+    public Object fromFuture(CompletableFuture<Object> future) {
+        return future.copy();
+    }
+}
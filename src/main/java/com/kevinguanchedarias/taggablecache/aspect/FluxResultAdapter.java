@@ -0,0 +1,31 @@
+package com.kevinguanchedarias.taggablecache.aspect;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Supports methods returning {@link Flux}, the elements are cached as a {@link List} once the {@link Flux} completes
+ *
+ * @since 0.3.0
+ */
+class FluxResultAdapter implements AsyncResultAdapter {
+    @Override
+    public boolean supports(Class<?> returnType) {
+        return returnType == Flux.class;
+    }
+
+    @Override
+    public CompletableFuture<Object> toFuture(Object result) {
+        return result == null
+                ? CompletableFuture.failedFuture(new NullPointerException("Async method returned a null Flux"))
+                : ((Flux<?>) result).collectList().<Object>map(values -> values).toFuture();
+    }
+
+    @Override
+    public Object fromFuture(CompletableFuture<Object> future) {
+        return Mono.fromFuture(future.copy()).flatMapIterable(values -> (List<?>) values);
+    }
+}
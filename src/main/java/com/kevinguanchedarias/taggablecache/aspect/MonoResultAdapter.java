@@ -0,0 +1,31 @@
+package com.kevinguanchedarias.taggablecache.aspect;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Supports methods returning {@link Mono}, an empty {@link Mono} is cached as null <br>
+ * The returned {@link Mono} is subscribed once, when the method is invoked, and the value is shared by all the
+ * subscribers, so the source is not executed again on every subscription
+ *
+ * @since 0.3.0
+ */
+class MonoResultAdapter implements AsyncResultAdapter {
+    @Override
+    public boolean supports(Class<?> returnType) {
+        return returnType == Mono.class;
+    }
+
+    @Override
+    public CompletableFuture<Object> toFuture(Object result) {
+        return result == null
+                ? CompletableFuture.failedFuture(new NullPointerException("Async method returned a null Mono"))
+                : ((Mono<?>) result).<Object>map(value -> value).toFuture();
+    }
+
+    @Override
+    public Object fromFuture(CompletableFuture<Object> future) {
+        return Mono.fromFuture(future.copy());
+    }
+}
@@ -0,0 +1,37 @@
+package com.kevinguanchedarias.taggablecache.aspect;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+
+import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * What the methods with <i>refreshAfter</i> store, the value and when it becomes stale <br>
+ * The wall clock is used, so the deadline means the same to every node sharing a remote manager <br>
+ * Equality only compares a random version, so a refresh can be compared with the stored entry even when the manager
+ * decodes a new copy of the value on each read, and the value doesn't implement equals
+ *
+ * @since 0.3.0
+ */
+@Value
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+class RefreshableValue implements Serializable {
+    Object value;
+
+    /**
+     * Epoch millis since which the value is stale
+     */
+    long refreshAt;
+
+    @EqualsAndHashCode.Include
+    long version;
+
+    static RefreshableValue of(Object value, long refreshAt) {
+        return new RefreshableValue(value, refreshAt, ThreadLocalRandom.current().nextLong());
+    }
+
+    static Object unwrap(Object storedValue) {
+        return storedValue instanceof RefreshableValue refreshableValue ? refreshableValue.getValue() : storedValue;
+    }
+}
@@ -27,14 +27,13 @@ public class TaggableCacheEvictAspect {
     @Before("@annotation(com.kevinguanchedarias.taggablecache.aspect.TaggableCacheEvictByKey)")
     void evictByKey(JoinPoint joinPoint) {
         var annotation = AspectUtils.findAnnotation(joinPoint, TaggableCacheEvictByKey.class);
-        taggableCacheManager.evictByKey(placeholderResolver.resolveExpressions(joinPoint, annotation.key(), List.of()).getKey());
+        taggableCacheManager.evictByKey(placeholderResolver.resolveKey(joinPoint, annotation.key()));
     }
 
     @Before("@annotation(com.kevinguanchedarias.taggablecache.aspect.TaggableCacheEvictByTag)")
     void evictByTags(JoinPoint joinPoint) {
         var annotation = AspectUtils.findAnnotation(joinPoint, TaggableCacheEvictByTag.class);
         var tags = List.of(annotation.tags());
-        placeholderResolver.resolveExpressions(joinPoint, "", tags).getTags()
-                .forEach(taggableCacheManager::evictByCacheTag);
+        taggableCacheManager.evictByCacheTags(placeholderResolver.resolveTags(joinPoint, tags));
     }
 }
@@ -4,6 +4,7 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Caches the annotated method
@@ -37,4 +38,59 @@ public @interface TaggableCacheable {
      * @since 0.1.4
      */
     String keySuffix() default "";
+
+    /**
+     * If greater than zero, the entries of this method expire after it, instead of the manager default ttl <br>
+     * Use case: Cheap but volatile lookups, and expensive but stable reports, in the same application
+     *
+     * @since 0.3.0
+     */
+    long ttl() default 0;
+
+    /**
+     * If greater than zero, entries older than it are stale, but still returned right away while a single background
+     * invocation recomputes them, until the hard expiry of the <i>ttl</i> (or the manager default), which must be
+     * greater <br>
+     * Tag and key evictions remove the entry as usual, so the next invocation after them is a miss <br>
+     * Use case: Expensive reports, where a slightly outdated value is better than waiting for the recompute
+     *
+     * @since 0.3.0
+     */
+    long refreshAfter() default 0;
+
+    /**
+     * If greater than zero, a null returned by this method expires after it, instead of the manager default negative
+     * ttl <br>
+     * Use case: Lookups by an external id, where the record may be created soon after a not found
+     *
+     * @since 0.3.0
+     */
+    long negativeTtl() default 0;
+
+    /**
+     * If false, a null returned by this method is not cached, so the method is invoked again on the next call
+     *
+     * @since 0.3.0
+     */
+    boolean cacheNulls() default true;
+
+    /**
+     * If true, the entries are keyed by a 128-bit hash of the default key, instead of the key itself, and the full key
+     * is stored along the value, so a hash collision is detected on read, and the method is invoked without caching <br>
+     * As the key is hashed, the entries can only be evicted by tag, and can't be used with <i>key</i> or
+     * <i>keySuffix</i> <br>
+     * The returned nulls are stored along the key too, and still expire after the <i>negativeTtl</i>, or the manager
+     * default negative ttl <br>
+     * Use case: Methods with long arguments, or many tags, as each tag stores the key again
+     *
+     * @since 0.3.0
+     */
+    boolean compactKey() default false;
+
+    /**
+     * Unit of the <i>ttl</i>, the <i>refreshAfter</i> and the <i>negativeTtl</i>
+     *
+     * @since 0.3.0
+     */
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
 }
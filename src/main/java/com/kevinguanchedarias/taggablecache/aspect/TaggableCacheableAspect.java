@@ -1,59 +1,426 @@
 package com.kevinguanchedarias.taggablecache.aspect;
 
+import com.kevinguanchedarias.taggablecache.internal.model.CacheableOperationModel;
+import com.kevinguanchedarias.taggablecache.manager.CacheLoader;
 import com.kevinguanchedarias.taggablecache.manager.TaggableCacheManager;
+import com.kevinguanchedarias.taggablecache.metrics.TaggableCacheMetricsRecorder;
 import com.kevinguanchedarias.taggablecache.placeholderresolver.PlaceholderResolver;
-import com.kevinguanchedarias.taggablecache.util.AspectUtils;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Listens for {@link TaggableCacheable} annotations
+ * Listens for {@link TaggableCacheable} annotations <br>
+ * The annotation of each method is processed only once, and the tags are only resolved when the value has to be saved <br>
+ * Methods returning a type supported by an {@link AsyncResultAdapter} cache the completed value <br>
+ * Hits, misses and the time taken by the method on a miss are recorded by the {@link TaggableCacheMetricsRecorder} <br>
+ * Methods with <i>refreshAfter</i> return their stale entries, while the refresh executor invokes the method once in the
+ * background <br>
+ * Methods with <i>compactKey</i> are keyed by the hash of the key, and the full key stored along the value is verified
+ * on each read
  *
  * @since 0.1.0
  */
 @Aspect
 @Component
-@AllArgsConstructor
+@RequiredArgsConstructor
 @Slf4j
 public class TaggableCacheableAspect {
+    /**
+     * Name of the {@link Executor} bean used to refresh the stale entries, when absent, the default configuration
+     * builds one from the <i>refresh</i> properties
+     *
+     * @since 0.3.0
+     */
+    public static final String REFRESH_EXECUTOR_BEAN = "taggableCacheRefreshExecutor";
+
+    private static final int DEFAULT_REFRESH_THREADS = 4;
     private static final String KEY_PREFIX = "#className + \"_\" + #methodName";
+    private static final List<AsyncResultAdapter> ASYNC_RESULT_ADAPTERS = buildAsyncResultAdapters();
 
     private final TaggableCacheManager taggableCacheManager;
     private final PlaceholderResolver placeholderResolver;
+    private final Map<Method, CacheableOperationModel> operations = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Object>> asyncLoads = new ConcurrentHashMap<>();
+    private final Set<String> refreshingKeys = ConcurrentHashMap.newKeySet();
+    private TaggableCacheMetricsRecorder metricsRecorder = TaggableCacheMetricsRecorder.NOOP;
+
+    /**
+     * Null to use the default refresh executor, which is only created by the first refresh
+     */
+    private Executor refreshExecutor;
+
+    @Getter(value = AccessLevel.PRIVATE, lazy = true)
+    private final Executor defaultRefreshExecutor = newRefreshExecutor(DEFAULT_REFRESH_THREADS, false);
+
+    /**
+     * Creates the executor used to refresh the stale entries <br>
+     * Virtual threads require Java 21 or newer, otherwise a pool of up to <i>maxThreads</i> daemon threads is used, as
+     * the key of each refresh is refreshed only once at a time, the queue is bounded by the amount of stale keys
+     *
+     * @since 0.3.0
+     */
+    public static ExecutorService newRefreshExecutor(int maxThreads, boolean virtualThreads) {
+        if (virtualThreads) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Virtual threads require Java 21 or newer", e);
+            }
+        }
+        var threadNumber = new AtomicInteger();
+        var executor = new ThreadPoolExecutor(
+                maxThreads, maxThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            var thread = new Thread(runnable, "taggable-cache-refresh-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Must be set before the first invocation, as the metrics of each method are resolved once
+     *
+     * @since 0.3.0
+     */
+    @Autowired(required = false)
+    public void setMetricsRecorder(TaggableCacheMetricsRecorder metricsRecorder) {
+        this.metricsRecorder = metricsRecorder;
+    }
+
+    /**
+     * Defaults to a pool of 4 daemon threads, created by the first refresh
+     *
+     * @since 0.3.0
+     */
+    public void setRefreshExecutor(Executor refreshExecutor) {
+        this.refreshExecutor = refreshExecutor;
+    }
 
     @Around("@annotation(com.kevinguanchedarias.taggablecache.aspect.TaggableCacheable)")
     public Object handleTaggableCacheAnnotation(ProceedingJoinPoint joinPoint) throws Throwable {
-        var annotation = AspectUtils.findAnnotation(joinPoint, TaggableCacheable.class);
-        var tags = List.of(annotation.tags());
+        var methodSignature = (MethodSignature) joinPoint.getSignature();
+        var operation = operations.computeIfAbsent(methodSignature.getMethod(), method -> buildOperation(methodSignature));
+        var parsedKey = placeholderResolver.resolveKey(joinPoint, operation.getKeyExpression());
+        var cacheKey = toCacheKey(operation, parsedKey);
+
+        var asyncResultAdapter = operation.getAsyncResultAdapter();
+        var cachedValue = taggableCacheManager.getIfPresent(cacheKey);
+        if (cachedValue != null && isKeyCollision(operation, parsedKey, cachedValue.getValue())) {
+            operation.getMetrics().recordMiss();
+            return proceedOnKeyCollision(joinPoint, parsedKey);
+        } else if (cachedValue != null) {
+            log.debug("Cache HIT for key {}", parsedKey);
+            operation.getMetrics().recordHit();
+            var value = unwrapOrRefresh(joinPoint, operation, parsedKey, cachedValue.getValue());
+            return asyncResultAdapter == null
+                    ? value
+                    : asyncResultAdapter.fromFuture(CompletableFuture.completedFuture(value));
+        } else if (asyncResultAdapter != null) {
+            log.debug("Cache MISS for async key {}", parsedKey);
+            operation.getMetrics().recordMiss();
+            return loadAsync(joinPoint, operation, parsedKey);
+        } else {
+            log.debug("Cache MISS for key {}", parsedKey);
+            operation.getMetrics().recordMiss();
+            var storedValue = taggableCacheManager.computeIfAbsent(
+                    cacheKey,
+                    () -> placeholderResolver.resolveTags(joinPoint, operation.getTagExpressions()),
+                    operation.getTtl(),
+                    operation.isCompactKey() ? Duration.ZERO : operation.getNegativeTtl(),
+                    timedLoad(joinPoint, operation, parsedKey)
+            );
+            if (storedValue != null && isKeyCollision(operation, parsedKey, storedValue)) {
+                return proceedOnKeyCollision(joinPoint, parsedKey);
+            }
+            return RefreshableValue.unwrap(CompactKeyedValue.unwrap(storedValue));
+        }
+    }
+
+    private String toCacheKey(CacheableOperationModel operation, String key) {
+        return operation.isCompactKey() ? CompactKeyedValue.compactKey(key) : key;
+    }
+
+    private boolean isKeyCollision(CacheableOperationModel operation, String key, Object storedValue) {
+        return operation.isCompactKey() && CompactKeyedValue.isCollision(key, storedValue);
+    }
+
+    /**
+     * The entry belongs to another key with the same hash, so it's kept, and the method is invoked without caching
+     */
+    private Object proceedOnKeyCollision(ProceedingJoinPoint joinPoint, String key) throws Throwable {
+        log.warn("The compact key of {} collides with another key, invoking the method without caching", key);
+        return joinPoint.proceed();
+    }
+
+    private Object unwrapOrRefresh(ProceedingJoinPoint joinPoint, CacheableOperationModel operation, String key, Object storedValue) {
+        if (CompactKeyedValue.unwrap(storedValue) instanceof RefreshableValue refreshableValue) {
+            if (operation.getRefreshAfter() != null && refreshableValue.getRefreshAt() <= System.currentTimeMillis()) {
+                scheduleRefresh(joinPoint, operation, key, storedValue);
+            }
+            return refreshableValue.getValue();
+        } else {
+            return CompactKeyedValue.unwrap(storedValue);
+        }
+    }
+
+    private void scheduleRefresh(
+            ProceedingJoinPoint joinPoint, CacheableOperationModel operation, String key, Object staleValue
+    ) {
+        if (refreshingKeys.add(key)) {
+            log.debug("Refreshing stale key {}", key);
+            try {
+                (refreshExecutor == null ? getDefaultRefreshExecutor() : refreshExecutor)
+                        .execute(() -> refresh(joinPoint, operation, key, staleValue));
+            } catch (RejectedExecutionException e) {
+                refreshingKeys.remove(key);
+                log.warn("Unable to schedule the refresh of key {}", key, e);
+            }
+        }
+    }
+
+    /**
+     * Failures are only logged, the stale value is kept until it expires, or a later hit refreshes it again
+     */
+    private void refresh(ProceedingJoinPoint joinPoint, CacheableOperationModel operation, String key, Object staleValue) {
+        var asyncResultAdapter = operation.getAsyncResultAdapter();
+        var start = System.nanoTime();
+        CompletableFuture<Object> refreshed;
+        try {
+            var result = joinPoint.proceed();
+            refreshed = asyncResultAdapter == null
+                    ? CompletableFuture.completedFuture(result)
+                    : asyncResultAdapter.toFuture(result);
+        } catch (Throwable throwable) {
+            refreshed = CompletableFuture.failedFuture(throwable);
+        }
+        refreshed.whenComplete((value, throwable) -> {
+            operation.getMetrics().recordLoad(System.nanoTime() - start);
+            if (throwable == null) {
+                saveRefreshedValue(joinPoint, operation, key, staleValue, value);
+            } else {
+                log.warn("Unable to refresh key {}, keeping the stale value", key, throwable);
+            }
+            refreshingKeys.remove(key);
+        });
+    }
+
+    /**
+     * Only replaces the stale entry if it's still stored, atomically, so neither an eviction during the refresh is
+     * undone, nor an entry loaded again after it is overwritten
+     */
+    private void saveRefreshedValue(
+            ProceedingJoinPoint joinPoint, CacheableOperationModel operation, String key, Object staleValue, Object value
+    ) {
+        var ttl = value == null ? operation.getNegativeTtl() : operation.getTtl();
+        try {
+            if (Duration.ZERO.equals(ttl) || !taggableCacheManager.replaceEntry(
+                    toCacheKey(operation, key),
+                    staleValue,
+                    toStoredValue(operation, key, value),
+                    placeholderResolver.resolveTags(joinPoint, operation.getTagExpressions()),
+                    ttl
+            )) {
+                log.debug("Discarding the refresh of key {}, as it was evicted or saved again", key);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Unable to save the refreshed value of key {}", key, e);
+        }
+    }
+
+    /**
+     * Concurrent callers of the same key share the load, the value is saved when it completes successfully, while
+     * failures are propagated to the callers without being cached
+     */
+    private Object loadAsync(ProceedingJoinPoint joinPoint, CacheableOperationModel operation, String key) throws Throwable {
+        var asyncResultAdapter = operation.getAsyncResultAdapter();
+        var load = new CompletableFuture<>();
+        var inFlightLoad = asyncLoads.putIfAbsent(key, load);
+        if (inFlightLoad != null) {
+            return asyncResultAdapter.fromFuture(inFlightLoad);
+        }
+        var start = System.nanoTime();
+        try {
+            asyncResultAdapter.toFuture(joinPoint.proceed()).whenComplete((value, throwable) -> {
+                operation.getMetrics().recordLoad(System.nanoTime() - start);
+                if (throwable == null) {
+                    saveAsyncValue(joinPoint, operation, key, value);
+                    asyncLoads.remove(key, load);
+                    load.complete(value);
+                } else {
+                    asyncLoads.remove(key, load);
+                    load.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null
+                            ? throwable.getCause()
+                            : throwable);
+                }
+            });
+        } catch (Throwable throwable) {
+            operation.getMetrics().recordLoad(System.nanoTime() - start);
+            asyncLoads.remove(key, load);
+            load.completeExceptionally(throwable);
+            throw throwable;
+        }
+        return asyncResultAdapter.fromFuture(load);
+    }
+
+    /**
+     * With compact keys, the manager is told to not cache nulls, as the loader saves them along the key
+     */
+    private CacheLoader<Object> timedLoad(ProceedingJoinPoint joinPoint, CacheableOperationModel operation, String key) {
+        return () -> {
+            var start = System.nanoTime();
+            try {
+                var value = joinPoint.proceed();
+                if (value == null && operation.isCompactKey()) {
+                    saveValue(joinPoint, operation, key, null);
+                    return null;
+                }
+                return toStoredValue(operation, key, value);
+            } finally {
+                operation.getMetrics().recordLoad(System.nanoTime() - start);
+            }
+        };
+    }
+
+    private void saveAsyncValue(ProceedingJoinPoint joinPoint, CacheableOperationModel operation, String key, Object value) {
+        try {
+            saveValue(joinPoint, operation, key, value);
+        } catch (RuntimeException e) {
+            log.warn("Unable to save the async value of key {}", key, e);
+        }
+    }
+
+    /**
+     * Nulls are saved with the negative ttl, unless the method doesn't cache them
+     */
+    private void saveValue(ProceedingJoinPoint joinPoint, CacheableOperationModel operation, String key, Object value) {
+        if (value != null) {
+            taggableCacheManager.saveEntry(
+                    toCacheKey(operation, key),
+                    toStoredValue(operation, key, value),
+                    placeholderResolver.resolveTags(joinPoint, operation.getTagExpressions()),
+                    operation.getTtl()
+            );
+        } else if (!Duration.ZERO.equals(operation.getNegativeTtl())) {
+            taggableCacheManager.saveEntry(
+                    toCacheKey(operation, key),
+                    toStoredValue(operation, key, null),
+                    placeholderResolver.resolveTags(joinPoint, operation.getTagExpressions()),
+                    operation.getNegativeTtl()
+            );
+        }
+    }
+
+    /**
+     * Nulls are never refreshed, so the manager sees them and applies the negative ttl, unless the key is compact, as
+     * the full key is stored along any value
+     */
+    private Object toStoredValue(CacheableOperationModel operation, String key, Object value) {
+        var storedValue = operation.getRefreshAfter() == null || value == null
+                ? value
+                : RefreshableValue.of(value, System.currentTimeMillis() + operation.getRefreshAfter().toMillis());
+        return operation.isCompactKey() ? new CompactKeyedValue(key, storedValue) : storedValue;
+    }
+
+    private CacheableOperationModel buildOperation(MethodSignature methodSignature) {
+        var annotation = methodSignature.getMethod().getAnnotation(TaggableCacheable.class);
         var key = annotation.key();
         var keySuffix = annotation.keySuffix();
         if (StringUtils.hasLength(key) && StringUtils.hasLength(keySuffix)) {
             throw new IllegalArgumentException("Can't specify key and keySuffix together");
+        } else if (annotation.compactKey() && (StringUtils.hasLength(key) || StringUtils.hasLength(keySuffix))) {
+            throw new IllegalArgumentException("compactKey can only be used with the default key");
         } else if (StringUtils.hasLength(keySuffix)) {
             key = KEY_PREFIX + "+ \"_\" + " + keySuffix;
         } else if (!StringUtils.hasLength(key) && !StringUtils.hasLength(keySuffix)) {
-            key = generateDefaultKeyExpression((MethodSignature) joinPoint.getSignature());
+            key = generateDefaultKeyExpression(methodSignature);
+        }
+        var ttl = findTtl(annotation);
+        var refreshAfter = annotation.refreshAfter() > 0
+                ? Duration.of(annotation.refreshAfter(), annotation.timeUnit().toChronoUnit())
+                : null;
+        var effectiveTtl = ttl == null ? taggableCacheManager.getDefaultTtl() : ttl;
+        if (refreshAfter != null && effectiveTtl != null && refreshAfter.compareTo(effectiveTtl) >= 0) {
+            throw new IllegalArgumentException("refreshAfter must be lower than ttl, or the manager default ttl");
         }
-        var parsedKeyAndTags = placeholderResolver.resolveExpressions(joinPoint, key, tags);
+        return CacheableOperationModel.builder()
+                .keyExpression(key)
+                .tagExpressions(List.of(annotation.tags()))
+                .ttl(ttl)
+                .refreshAfter(refreshAfter)
+                .negativeTtl(findNegativeTtl(annotation))
+                .compactKey(annotation.compactKey())
+                .asyncResultAdapter(findAsyncResultAdapter(methodSignature.getReturnType()))
+                .metrics(metricsRecorder.forOperation(
+                        methodSignature.getDeclaringType().getSimpleName() + "." + methodSignature.getName()
+                ))
+                .build();
+    }
 
-        var parsedKey = parsedKeyAndTags.getKey();
+    private AsyncResultAdapter findAsyncResultAdapter(Class<?> returnType) {
+        return ASYNC_RESULT_ADAPTERS.stream()
+                .filter(asyncResultAdapter -> asyncResultAdapter.supports(returnType))
+                .findFirst()
+                .orElse(null);
+    }
 
-        if (taggableCacheManager.keyExists(parsedKey)) {
-            log.debug("Cache HIT for key {}", parsedKey);
-            return this.taggableCacheManager.findByKey(parsedKey);
+    /**
+     * Reactor is optional, so its adapters are only created if it's on the classpath
+     */
+    private static List<AsyncResultAdapter> buildAsyncResultAdapters() {
+        List<AsyncResultAdapter> asyncResultAdapters = new ArrayList<>();
+        asyncResultAdapters.add(new CompletableFutureResultAdapter());
+        if (ClassUtils.isPresent("reactor.core.publisher.Mono", TaggableCacheableAspect.class.getClassLoader())) {
+            asyncResultAdapters.add(new MonoResultAdapter());
+            asyncResultAdapters.add(new FluxResultAdapter());
+        }
+        return List.copyOf(asyncResultAdapters);
+    }
+
+    private Duration findTtl(TaggableCacheable annotation) {
+        return annotation.ttl() > 0
+                ? Duration.of(annotation.ttl(), annotation.timeUnit().toChronoUnit())
+                : null;
+    }
+
+    /**
+     * With compact keys, nulls are stored along the key, so the manager can't apply its negative ttl by itself
+     */
+    private Duration findNegativeTtl(TaggableCacheable annotation) {
+        if (!annotation.cacheNulls()) {
+            return Duration.ZERO;
+        } else if (annotation.negativeTtl() > 0) {
+            return Duration.of(annotation.negativeTtl(), annotation.timeUnit().toChronoUnit());
         } else {
-            log.debug("Cache MISS for key {}", parsedKey);
-            var executionResult = joinPoint.proceed();
-            taggableCacheManager.saveEntry(parsedKey, executionResult, parsedKeyAndTags.getTags());
-            return executionResult;
+            return annotation.compactKey() ? taggableCacheManager.getDefaultNegativeTtl() : null;
         }
     }
 
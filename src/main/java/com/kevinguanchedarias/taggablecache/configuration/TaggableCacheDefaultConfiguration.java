@@ -2,15 +2,39 @@ package com.kevinguanchedarias.taggablecache.configuration;
 
 import com.kevinguanchedarias.taggablecache.aspect.TaggableCacheEvictAspect;
 import com.kevinguanchedarias.taggablecache.aspect.TaggableCacheableAspect;
+import com.kevinguanchedarias.taggablecache.configuration.properties.ClusteredTaggableProperties;
 import com.kevinguanchedarias.taggablecache.configuration.properties.ConcurrentHashMapTaggableProperties;
+import com.kevinguanchedarias.taggablecache.configuration.properties.DiskOverflowTaggableProperties;
+import com.kevinguanchedarias.taggablecache.configuration.properties.OffHeapTaggableProperties;
+import com.kevinguanchedarias.taggablecache.configuration.properties.RedisTaggableProperties;
+import com.kevinguanchedarias.taggablecache.configuration.properties.TaggableCacheRefreshProperties;
+import com.kevinguanchedarias.taggablecache.configuration.properties.TwoLevelTaggableProperties;
+import com.kevinguanchedarias.taggablecache.manager.ClusteredTaggableCacheManager;
 import com.kevinguanchedarias.taggablecache.manager.ConcurrentHashMapTaggableCacheManager;
+import com.kevinguanchedarias.taggablecache.manager.DiskOverflowTaggableCacheManager;
+import com.kevinguanchedarias.taggablecache.manager.InvalidationTransport;
+import com.kevinguanchedarias.taggablecache.manager.JavaSerializationValueCodec;
+import com.kevinguanchedarias.taggablecache.manager.OffHeapTaggableCacheManager;
+import com.kevinguanchedarias.taggablecache.manager.RedisTaggableCacheManager;
 import com.kevinguanchedarias.taggablecache.manager.TaggableCacheManager;
+import com.kevinguanchedarias.taggablecache.manager.TwoLevelTaggableCacheManager;
+import com.kevinguanchedarias.taggablecache.manager.UdpInvalidationTransport;
+import com.kevinguanchedarias.taggablecache.manager.ValueCodec;
+import com.kevinguanchedarias.taggablecache.manager.Weigher;
+import com.kevinguanchedarias.taggablecache.metrics.MicrometerTaggableCacheMetrics;
 import com.kevinguanchedarias.taggablecache.placeholderresolver.DefaultPlaceholderResolver;
 import com.kevinguanchedarias.taggablecache.placeholderresolver.PlaceholderResolver;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Primary;
+
+import java.util.concurrent.Executor;
 
 /**
  * Default configuration can be used with @{@link org.springframework.context.annotation.Import} <br>
@@ -20,12 +44,161 @@ import org.springframework.context.annotation.EnableAspectJAutoProxy;
  */
 @Configuration
 @EnableAspectJAutoProxy
-@EnableConfigurationProperties(ConcurrentHashMapTaggableProperties.class)
+@EnableConfigurationProperties({
+        ConcurrentHashMapTaggableProperties.class,
+        OffHeapTaggableProperties.class,
+        RedisTaggableProperties.class,
+        DiskOverflowTaggableProperties.class,
+        TwoLevelTaggableProperties.class,
+        ClusteredTaggableProperties.class,
+        TaggableCacheRefreshProperties.class
+})
 public class TaggableCacheDefaultConfiguration {
+    /**
+     * Selects the manager, <i>concurrent-hash-map</i> (the default), <i>off-heap</i>, <i>disk-overflow</i>,
+     * <i>redis</i>, <i>two-level</i> or <i>clustered</i>
+     *
+     * @since 0.3.0
+     */
+    public static final String MANAGER_PROPERTY = "com.kevinguanchedarias.taggable-cache.manager";
+
+    /**
+     * Name of the bean used as first level by the <i>two-level</i> manager
+     *
+     * @since 0.3.0
+     */
+    public static final String L1_MANAGER_BEAN = "l1TaggableCacheManager";
+
+    /**
+     * Name of the bean used as second level by the <i>two-level</i> manager
+     *
+     * @since 0.3.0
+     */
+    public static final String L2_MANAGER_BEAN = "l2TaggableCacheManager";
+
+    /**
+     * Name of the bean wrapped by the <i>clustered</i> manager
+     *
+     * @since 0.3.0
+     */
+    public static final String LOCAL_MANAGER_BEAN = "localTaggableCacheManager";
+
+    @Bean
+    @ConditionalOnProperty(name = MANAGER_PROPERTY, havingValue = "concurrent-hash-map", matchIfMissing = true)
+    public TaggableCacheManager taggableCacheManager(
+            ConcurrentHashMapTaggableProperties concurrentHashMapTaggableProperties,
+            ObjectProvider<Weigher> weigher
+    ) {
+        return new ConcurrentHashMapTaggableCacheManager(
+                concurrentHashMapTaggableProperties, weigher.getIfAvailable(() -> Weigher.SINGLETON)
+        );
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    @Bean
+    @ConditionalOnProperty(name = MANAGER_PROPERTY, havingValue = "off-heap")
+    public TaggableCacheManager offHeapTaggableCacheManager(
+            ConcurrentHashMapTaggableProperties concurrentHashMapTaggableProperties,
+            OffHeapTaggableProperties offHeapTaggableProperties,
+            ObjectProvider<ValueCodec> valueCodec
+    ) {
+        return new OffHeapTaggableCacheManager(
+                concurrentHashMapTaggableProperties,
+                offHeapTaggableProperties,
+                valueCodec.getIfAvailable(JavaSerializationValueCodec::new)
+        );
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    @Bean
+    @ConditionalOnProperty(name = MANAGER_PROPERTY, havingValue = "disk-overflow")
+    public TaggableCacheManager diskOverflowTaggableCacheManager(
+            ConcurrentHashMapTaggableProperties concurrentHashMapTaggableProperties,
+            DiskOverflowTaggableProperties diskOverflowTaggableProperties,
+            ObjectProvider<ValueCodec> valueCodec,
+            ObjectProvider<Weigher> weigher
+    ) {
+        return new DiskOverflowTaggableCacheManager(
+                concurrentHashMapTaggableProperties,
+                diskOverflowTaggableProperties,
+                valueCodec.getIfAvailable(JavaSerializationValueCodec::new),
+                weigher.getIfAvailable(() -> Weigher.SINGLETON)
+        );
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    @Bean
+    @ConditionalOnProperty(name = MANAGER_PROPERTY, havingValue = "redis")
+    public TaggableCacheManager redisTaggableCacheManager(
+            RedisTaggableProperties redisTaggableProperties,
+            ObjectProvider<ValueCodec> valueCodec
+    ) {
+        return new RedisTaggableCacheManager(
+                redisTaggableProperties, valueCodec.getIfAvailable(JavaSerializationValueCodec::new)
+        );
+    }
+
+    /**
+     * Chains the {@link #L1_MANAGER_BEAN} and {@link #L2_MANAGER_BEAN} beans, which must be declared by the application,
+     * it's primary, so the aspects use it instead of the levels
+     *
+     * @since 0.3.0
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = MANAGER_PROPERTY, havingValue = "two-level")
+    public TaggableCacheManager twoLevelTaggableCacheManager(
+            @Qualifier(L1_MANAGER_BEAN) TaggableCacheManager l1TaggableCacheManager,
+            @Qualifier(L2_MANAGER_BEAN) TaggableCacheManager l2TaggableCacheManager,
+            TwoLevelTaggableProperties twoLevelTaggableProperties
+    ) {
+        return new TwoLevelTaggableCacheManager(
+                l1TaggableCacheManager, l2TaggableCacheManager, twoLevelTaggableProperties
+        );
+    }
 
+    /**
+     * Wraps the {@link #LOCAL_MANAGER_BEAN} bean, which must be declared by the application, broadcasting its evictions
+     * through the {@link InvalidationTransport} bean, or UDP when there is none, it's primary, so the aspects use it
+     * instead of the local manager
+     *
+     * @since 0.3.0
+     */
     @Bean
-    public TaggableCacheManager taggableCacheManager(ConcurrentHashMapTaggableProperties concurrentHashMapTaggableProperties) {
-        return new ConcurrentHashMapTaggableCacheManager(concurrentHashMapTaggableProperties);
+    @Primary
+    @ConditionalOnProperty(name = MANAGER_PROPERTY, havingValue = "clustered")
+    public TaggableCacheManager clusteredTaggableCacheManager(
+            @Qualifier(LOCAL_MANAGER_BEAN) TaggableCacheManager localTaggableCacheManager,
+            ClusteredTaggableProperties clusteredTaggableProperties,
+            ObjectProvider<InvalidationTransport> invalidationTransport
+    ) {
+        return new ClusteredTaggableCacheManager(
+                localTaggableCacheManager,
+                invalidationTransport.getIfAvailable(() -> new UdpInvalidationTransport(clusteredTaggableProperties)),
+                clusteredTaggableProperties
+        );
+    }
+
+    /**
+     * Registered when Micrometer is on the classpath, Spring Boot binds it to the meter registry, and the aspect
+     * records through it
+     *
+     * @since 0.3.0
+     */
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    @ConditionalOnProperty(name = "com.kevinguanchedarias.taggable-cache.metrics.enabled", matchIfMissing = true)
+    public static class MetricsConfiguration {
+        @Bean
+        public MicrometerTaggableCacheMetrics taggableCacheMetrics(TaggableCacheManager taggableCacheManager) {
+            return new MicrometerTaggableCacheMetrics(taggableCacheManager);
+        }
     }
 
     @Bean
@@ -33,12 +206,25 @@ public class TaggableCacheDefaultConfiguration {
         return new DefaultPlaceholderResolver();
     }
 
+    /**
+     * Stale entries are refreshed by the {@link TaggableCacheableAspect#REFRESH_EXECUTOR_BEAN} bean, or by an executor
+     * built from the {@link TaggableCacheRefreshProperties} when there is none
+     */
     @Bean
     public TaggableCacheableAspect taggableCacheableAspect(
             TaggableCacheManager taggableCacheManager,
-            PlaceholderResolver placeholderResolver
+            PlaceholderResolver placeholderResolver,
+            TaggableCacheRefreshProperties taggableCacheRefreshProperties,
+            @Qualifier(TaggableCacheableAspect.REFRESH_EXECUTOR_BEAN) ObjectProvider<Executor> refreshExecutor
     ) {
-        return new TaggableCacheableAspect(taggableCacheManager, placeholderResolver);
+        var taggableCacheableAspect = new TaggableCacheableAspect(taggableCacheManager, placeholderResolver);
+        taggableCacheableAspect.setRefreshExecutor(refreshExecutor.getIfAvailable(
+                () -> TaggableCacheableAspect.newRefreshExecutor(
+                        taggableCacheRefreshProperties.getMaxThreads(),
+                        taggableCacheRefreshProperties.getVirtualThreads()
+                )
+        ));
+        return taggableCacheableAspect;
     }
 
     @Bean
@@ -0,0 +1,78 @@
+package com.kevinguanchedarias.taggablecache.configuration.properties;
+
+import lombok.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Properties of the {@link com.kevinguanchedarias.taggablecache.manager.ClusteredTaggableCacheManager}, and of the
+ * {@link com.kevinguanchedarias.taggablecache.manager.UdpInvalidationTransport}
+ *
+ * @since 0.3.0
+ */
+@ConfigurationProperties("com.kevinguanchedarias.taggable-cache.clustered")
+@ConstructorBinding
+@Value
+public class ClusteredTaggableProperties {
+
+    /**
+     * Max time an eviction waits to be broadcast, the evictions of the window are coalesced in a single message
+     *
+     * @since 0.3.0
+     */
+    Duration batchWindow;
+
+    /**
+     * Amount of pending tags and keys that broadcasts the batch before the end of the window
+     *
+     * @since 0.3.0
+     */
+    Integer maxBatchSize;
+
+    /**
+     * Max time to wait for a concurrent load of the same key, when exceeded the waiting caller loads by itself
+     *
+     * @since 0.3.0
+     */
+    Duration loadWaitTimeout;
+
+    String bindAddress;
+    Integer port;
+
+    /**
+     * Addresses of the other nodes, as <i>host:port</i>, datagrams from any other address are ignored, so each node
+     * must bind to the port its peers know it by
+     *
+     * @since 0.3.0
+     */
+    List<String> peers;
+
+    /**
+     * Max size of each UDP datagram, bigger batches are split
+     *
+     * @since 0.3.0
+     */
+    Integer maxDatagramSize;
+
+    public ClusteredTaggableProperties(
+            @DefaultValue("10ms") Duration batchWindow,
+            @DefaultValue("1000") Integer maxBatchSize,
+            @DefaultValue("10s") Duration loadWaitTimeout,
+            @DefaultValue("0.0.0.0") String bindAddress,
+            @DefaultValue("7600") Integer port,
+            @DefaultValue List<String> peers,
+            @DefaultValue("1400") Integer maxDatagramSize
+    ) {
+        this.batchWindow = batchWindow;
+        this.maxBatchSize = maxBatchSize;
+        this.loadWaitTimeout = loadWaitTimeout;
+        this.bindAddress = bindAddress;
+        this.port = port;
+        this.peers = peers;
+        this.maxDatagramSize = maxDatagramSize;
+    }
+}
@@ -1,10 +1,12 @@
 package com.kevinguanchedarias.taggablecache.configuration.properties;
 
+import com.kevinguanchedarias.taggablecache.manager.TagInvalidationMode;
 import lombok.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.ConstructorBinding;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 @ConfigurationProperties("com.kevinguanchedarias.taggable-cache.concurrent-hash-map")
@@ -14,11 +16,85 @@ public class ConcurrentHashMapTaggableProperties {
     Long cacheTtl;
     TimeUnit timeUnit;
 
+    /**
+     * Amount of locks used to guard the keys, higher values reduce contention between unrelated keys
+     *
+     * @since 0.3.0
+     */
+    Integer lockStripes;
+
+    /**
+     * How often the expired entries are removed, expired entries are never returned, even if not removed yet
+     *
+     * @since 0.3.0
+     */
+    Duration expirySweepInterval;
+
+    /**
+     * Max amount of expired entries removed at once, the sweep continues with the next batch until no expired entries remain
+     *
+     * @since 0.3.0
+     */
+    Integer expiryBatchSize;
+
+    /**
+     * Max time to wait for a concurrent load of the same key, when exceeded the waiting caller loads by itself
+     *
+     * @since 0.3.0
+     */
+    Duration loadWaitTimeout;
+
+    /**
+     * Max amount of entries, when exceeded the least valuable entries are evicted, 0 means unbounded <br>
+     * Can't be specified together with <i>maximumWeight</i>
+     *
+     * @since 0.3.0
+     */
+    Long maximumSize;
+
+    /**
+     * Max total weight of the entries, as computed by the {@link com.kevinguanchedarias.taggablecache.manager.Weigher},
+     * 0 means unbounded
+     *
+     * @since 0.3.0
+     */
+    Long maximumWeight;
+
+    /**
+     * How the tagged entries are invalidated, use GENERATION when tags may have a huge amount of keys
+     *
+     * @since 0.3.0
+     */
+    TagInvalidationMode tagInvalidation;
+
+    /**
+     * Time to live of the cached nulls saved without a ttl, so a not found result is not served for as long as a value
+     *
+     * @since 0.3.0
+     */
+    Duration negativeTtl;
+
     public ConcurrentHashMapTaggableProperties(
             @DefaultValue("24") Long cacheTtl,
-            @DefaultValue("HOURS") TimeUnit timeUnit
+            @DefaultValue("HOURS") TimeUnit timeUnit,
+            @DefaultValue("64") Integer lockStripes,
+            @DefaultValue("1s") Duration expirySweepInterval,
+            @DefaultValue("1000") Integer expiryBatchSize,
+            @DefaultValue("10s") Duration loadWaitTimeout,
+            @DefaultValue("0") Long maximumSize,
+            @DefaultValue("0") Long maximumWeight,
+            @DefaultValue("EAGER") TagInvalidationMode tagInvalidation,
+            @DefaultValue("5m") Duration negativeTtl
     ) {
         this.cacheTtl = cacheTtl;
         this.timeUnit = timeUnit;
+        this.lockStripes = lockStripes;
+        this.expirySweepInterval = expirySweepInterval;
+        this.expiryBatchSize = expiryBatchSize;
+        this.loadWaitTimeout = loadWaitTimeout;
+        this.maximumSize = maximumSize;
+        this.maximumWeight = maximumWeight;
+        this.tagInvalidation = tagInvalidation;
+        this.negativeTtl = negativeTtl;
     }
 }
@@ -0,0 +1,63 @@
+package com.kevinguanchedarias.taggablecache.configuration.properties;
+
+import lombok.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Properties of the {@link com.kevinguanchedarias.taggablecache.manager.DiskOverflowTaggableCacheManager}, the memory
+ * tier is configured with {@link ConcurrentHashMapTaggableProperties}, which must specify <i>maximumSize</i> or
+ * <i>maximumWeight</i>
+ *
+ * @since 0.3.0
+ */
+@ConfigurationProperties("com.kevinguanchedarias.taggable-cache.disk-overflow")
+@ConstructorBinding
+@Value
+public class DiskOverflowTaggableProperties {
+
+    /**
+     * Directory of the segment files, when not specified a temporary directory is used, the files are deleted on
+     * shutdown, as the cache doesn't survive restarts
+     *
+     * @since 0.3.0
+     */
+    Path directory;
+
+    /**
+     * Size of each segment file, values bigger than a segment are not spilled
+     *
+     * @since 0.3.0
+     */
+    DataSize segmentSize;
+
+    /**
+     * Max disk space used by the segments, when exhausted, the entries of the oldest segment are evicted
+     *
+     * @since 0.3.0
+     */
+    DataSize maximumDiskSize;
+
+    /**
+     * Ratio of live bytes below which a full segment is compacted
+     *
+     * @since 0.3.0
+     */
+    Double compactionThreshold;
+
+    public DiskOverflowTaggableProperties(
+            Path directory,
+            @DefaultValue("64MB") DataSize segmentSize,
+            @DefaultValue("1GB") DataSize maximumDiskSize,
+            @DefaultValue("0.5") Double compactionThreshold
+    ) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maximumDiskSize = maximumDiskSize;
+        this.compactionThreshold = compactionThreshold;
+    }
+}
@@ -0,0 +1,41 @@
+package com.kevinguanchedarias.taggablecache.configuration.properties;
+
+import lombok.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Properties of the {@link com.kevinguanchedarias.taggablecache.manager.OffHeapTaggableCacheManager}, the TTL, locks,
+ * expiration and entry bounds are taken from {@link ConcurrentHashMapTaggableProperties}
+ *
+ * @since 0.3.0
+ */
+@ConfigurationProperties("com.kevinguanchedarias.taggable-cache.off-heap")
+@ConstructorBinding
+@Value
+public class OffHeapTaggableProperties {
+
+    /**
+     * Max direct memory used to store the values, when exhausted, the oldest entries of the same size are evicted
+     *
+     * @since 0.3.0
+     */
+    DataSize maximumMemory;
+
+    /**
+     * Size of each block of direct memory, values bigger than a slab are not cached
+     *
+     * @since 0.3.0
+     */
+    DataSize slabSize;
+
+    public OffHeapTaggableProperties(
+            @DefaultValue("64MB") DataSize maximumMemory,
+            @DefaultValue("1MB") DataSize slabSize
+    ) {
+        this.maximumMemory = maximumMemory;
+        this.slabSize = slabSize;
+    }
+}
@@ -0,0 +1,105 @@
+package com.kevinguanchedarias.taggablecache.configuration.properties;
+
+import lombok.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Properties of the {@link com.kevinguanchedarias.taggablecache.manager.RedisTaggableCacheManager}
+ *
+ * @since 0.3.0
+ */
+@ConfigurationProperties("com.kevinguanchedarias.taggable-cache.redis")
+@ConstructorBinding
+@Value
+public class RedisTaggableProperties {
+    String host;
+    Integer port;
+
+    /**
+     * Sent with AUTH when the connection is opened, when not specified the connection is not authenticated
+     *
+     * @since 0.3.0
+     */
+    String password;
+
+    Integer database;
+
+    /**
+     * Prefix of all the Redis keys used by the manager, so many applications can share the same database
+     *
+     * @since 0.3.0
+     */
+    String keyPrefix;
+
+    Duration cacheTtl;
+
+    /**
+     * Max amount of open connections
+     *
+     * @since 0.3.0
+     */
+    Integer poolSize;
+
+    Duration connectTimeout;
+
+    /**
+     * Max time to wait for the reply of a command
+     *
+     * @since 0.3.0
+     */
+    Duration readTimeout;
+
+    /**
+     * Max time to wait for a connection when all of them are in use
+     *
+     * @since 0.3.0
+     */
+    Duration borrowTimeout;
+
+    /**
+     * Max time to wait for a concurrent load of the same key in this instance, when exceeded the waiting caller loads
+     * by itself
+     *
+     * @since 0.3.0
+     */
+    Duration loadWaitTimeout;
+
+    /**
+     * Time to live of the cached nulls saved without a ttl, so a not found result is not served for as long as a value
+     *
+     * @since 0.3.0
+     */
+    Duration negativeTtl;
+
+    public RedisTaggableProperties(
+            @DefaultValue("localhost") String host,
+            @DefaultValue("6379") Integer port,
+            String password,
+            @DefaultValue("0") Integer database,
+            @DefaultValue("taggable-cache:") String keyPrefix,
+            @DefaultValue("24h") Duration cacheTtl,
+            @DefaultValue("8") Integer poolSize,
+            @DefaultValue("2s") Duration connectTimeout,
+            @DefaultValue("2s") Duration readTimeout,
+            @DefaultValue("2s") Duration borrowTimeout,
+            @DefaultValue("10s") Duration loadWaitTimeout,
+            @DefaultValue("5m") Duration negativeTtl
+    ) {
+        this.host = host;
+        this.port = port;
+        this.password = password;
+        this.database = database;
+        this.keyPrefix = keyPrefix;
+        this.cacheTtl = cacheTtl;
+        this.poolSize = poolSize;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.borrowTimeout = borrowTimeout;
+        this.loadWaitTimeout = loadWaitTimeout;
+        this.negativeTtl = negativeTtl;
+    }
+}
@@ -0,0 +1,42 @@
+package com.kevinguanchedarias.taggablecache.configuration.properties;
+
+import lombok.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Properties of the executor that refreshes the stale entries of the
+ * {@link com.kevinguanchedarias.taggablecache.aspect.TaggableCacheable} methods with <i>refreshAfter</i>, ignored when
+ * the application declares the
+ * {@link com.kevinguanchedarias.taggablecache.aspect.TaggableCacheableAspect#REFRESH_EXECUTOR_BEAN} bean
+ *
+ * @since 0.3.0
+ */
+@ConfigurationProperties("com.kevinguanchedarias.taggable-cache.refresh")
+@ConstructorBinding
+@Value
+public class TaggableCacheRefreshProperties {
+
+    /**
+     * Max amount of concurrent refreshes, ignored with virtual threads
+     *
+     * @since 0.3.0
+     */
+    Integer maxThreads;
+
+    /**
+     * Runs each refresh in a virtual thread, requires Java 21 or newer
+     *
+     * @since 0.3.0
+     */
+    Boolean virtualThreads;
+
+    public TaggableCacheRefreshProperties(
+            @DefaultValue("4") Integer maxThreads,
+            @DefaultValue("false") Boolean virtualThreads
+    ) {
+        this.maxThreads = maxThreads;
+        this.virtualThreads = virtualThreads;
+    }
+}
@@ -0,0 +1,43 @@
+package com.kevinguanchedarias.taggablecache.configuration.properties;
+
+import lombok.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Properties of the {@link com.kevinguanchedarias.taggablecache.manager.TwoLevelTaggableCacheManager}, the sizing of
+ * each level is configured in the manager of that level
+ *
+ * @since 0.3.0
+ */
+@ConfigurationProperties("com.kevinguanchedarias.taggable-cache.two-level")
+@ConstructorBinding
+@Value
+public class TwoLevelTaggableProperties {
+
+    /**
+     * Max time an entry stays in the first level, when not specified the first level manager TTL is used, entries
+     * never stay longer than in the second level
+     *
+     * @since 0.3.0
+     */
+    Duration l1Ttl;
+
+    /**
+     * Max time to wait for a concurrent load of the same key, when exceeded the waiting caller loads by itself
+     *
+     * @since 0.3.0
+     */
+    Duration loadWaitTimeout;
+
+    public TwoLevelTaggableProperties(
+            Duration l1Ttl,
+            @DefaultValue("10s") Duration loadWaitTimeout
+    ) {
+        this.l1Ttl = l1Ttl;
+        this.loadWaitTimeout = loadWaitTimeout;
+    }
+}
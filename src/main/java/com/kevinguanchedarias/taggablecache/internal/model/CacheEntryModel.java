@@ -0,0 +1,38 @@
+package com.kevinguanchedarias.taggablecache.internal.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Value stored by the in memory cache managers
+ *
+ * @since 0.3.0
+ */
+@Builder(toBuilder = true)
+@Value
+public class CacheEntryModel {
+    String key;
+    Object value;
+
+    /**
+     * Deadline in {@link System#nanoTime()} scale
+     */
+    long expiresAt;
+
+    /**
+     * Insertion order, breaks ties between entries with the same deadline
+     */
+    long sequence;
+
+    /**
+     * Generation of each tag when the entry was saved, empty unless the tags are invalidated by generation
+     */
+    @Builder.Default
+    Map<String, Long> tagGenerations = Map.of();
+
+    public boolean isExpired(long now) {
+        return now - expiresAt >= 0;
+    }
+}
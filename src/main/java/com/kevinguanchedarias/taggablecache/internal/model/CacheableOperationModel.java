@@ -0,0 +1,52 @@
+package com.kevinguanchedarias.taggablecache.internal.model;
+
+import com.kevinguanchedarias.taggablecache.aspect.AsyncResultAdapter;
+import com.kevinguanchedarias.taggablecache.metrics.TaggableCacheMetricsRecorder;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * What a {@link com.kevinguanchedarias.taggablecache.aspect.TaggableCacheable} method does, computed once per method
+ *
+ * @since 0.3.0
+ */
+@Builder
+@Value
+public class CacheableOperationModel {
+    /**
+     * Expression of the key, with the default key or the key suffix already applied
+     */
+    String keyExpression;
+
+    List<String> tagExpressions;
+
+    /**
+     * Null to use the manager default
+     */
+    Duration ttl;
+
+    /**
+     * Null when stale entries are not refreshed in the background
+     */
+    Duration refreshAfter;
+
+    /**
+     * Time to live of a returned null, null to use the manager default, or zero to not cache it
+     */
+    Duration negativeTtl;
+
+    /**
+     * True when the entries are keyed by the hash of the key
+     */
+    boolean compactKey;
+
+    /**
+     * Null when the method is synchronous
+     */
+    AsyncResultAdapter asyncResultAdapter;
+
+    TaggableCacheMetricsRecorder.OperationMetrics metrics;
+}
@@ -0,0 +1,25 @@
+package com.kevinguanchedarias.taggablecache.internal.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * Value stored in the second level by the two level cache manager, keeps the tags, so entries read from the second
+ * level can be tagged in the first one
+ *
+ * @since 0.3.0
+ */
+@Builder
+@Value
+public class TwoLevelValueModel implements Serializable {
+    Object value;
+    Set<String> tags;
+
+    /**
+     * Wall clock deadline in millis, 0 when the entry uses the default TTL of the second level
+     */
+    long expiresAt;
+}
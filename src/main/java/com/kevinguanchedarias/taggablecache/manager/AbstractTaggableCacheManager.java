@@ -1,5 +1,11 @@
 package com.kevinguanchedarias.taggablecache.manager;
 
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.SneakyThrows;
+
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.function.Supplier;
 
@@ -9,24 +15,87 @@ import java.util.function.Supplier;
  * @since 0.1.1
  */
 public abstract class AbstractTaggableCacheManager implements TaggableCacheManager {
+    private static final Duration DEFAULT_LOAD_WAIT_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * The single flight used to coordinate the loads of absent keys, created on first use with a wait timeout of 10
+     * seconds, implementations override the getter to honor their own timeout
+     *
+     * @since 0.3.0
+     */
+    @Getter(value = AccessLevel.PROTECTED, lazy = true)
+    private final SingleFlight singleFlight = new SingleFlight(DEFAULT_LOAD_WAIT_TIMEOUT);
+
     @Override
     public void evictByCacheTag(String tag, Object part) {
         evictByCacheTag(tag + ":" + part);
     }
 
+    /**
+     * Saves the entry using the manager default ttl
+     *
+     * @since 0.1.0
+     */
+    @Override
+    public void saveEntry(String key, Object value, Collection<String> tags) {
+        saveEntry(key, value, tags, null);
+    }
+
     /**
      * Returns the stored value, or if absent computes it , and then returns it
      *
      * @since 0.2.0
      */
     @Override
+    @SneakyThrows
     public <T> T computeIfAbsent(String key, List<String> tags, Supplier<T> computeSupplier) {
-        if (keyExists(key)) {
-            return findByKey(key);
+        return computeIfAbsent(key, () -> tags, null, computeSupplier::get);
+    }
+
+    /**
+     * Returns the stored value, or if absent loads it through {@link #getSingleFlight()}, the stored value is checked
+     * again once the load is granted, as a previous load may have just saved it
+     *
+     * @since 0.3.0
+     */
+    @Override
+    public <T> T computeIfAbsent(
+            String key, Supplier<? extends Collection<String>> tagsSupplier, Duration ttl, CacheLoader<T> loader
+    ) throws Throwable {
+        return computeIfAbsent(key, tagsSupplier, ttl, null, loader);
+    }
+
+    /**
+     * A loaded null is saved with <i>negativeTtl</i>, so the manager default negative ttl applies when it's null,
+     * whatever the <i>ttl</i> is
+     *
+     * @since 0.3.0
+     */
+    @Override
+    public <T> T computeIfAbsent(
+            String key,
+            Supplier<? extends Collection<String>> tagsSupplier,
+            Duration ttl,
+            Duration negativeTtl,
+            CacheLoader<T> loader
+    ) throws Throwable {
+        CachedValue<T> cachedValue = getIfPresent(key);
+        if (cachedValue != null) {
+            return cachedValue.getValue();
         } else {
-            var computedValue = computeSupplier.get();
-            saveEntry(key, computedValue, tags);
-            return computedValue;
+            return getSingleFlight().execute(key, () -> {
+                CachedValue<T> loadedValue = getIfPresent(key);
+                if (loadedValue != null) {
+                    return loadedValue.getValue();
+                }
+                var computedValue = loader.load();
+                if (computedValue != null) {
+                    saveEntry(key, computedValue, tagsSupplier.get(), ttl);
+                } else if (!Duration.ZERO.equals(negativeTtl)) {
+                    saveEntry(key, null, tagsSupplier.get(), negativeTtl);
+                }
+                return computedValue;
+            });
         }
     }
-}
\ No newline at end of file
+}
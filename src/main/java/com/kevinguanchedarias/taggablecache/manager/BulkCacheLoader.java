@@ -0,0 +1,18 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes the values of many cache entries at once, like {@link CacheLoader} it may throw any exception
+ *
+ * @since 0.3.0
+ */
+@FunctionalInterface
+public interface BulkCacheLoader<T> {
+    /**
+     * @param keys Keys that are not cached
+     * @return The values by key, keys that are not returned are not cached
+     */
+    Map<String, T> loadAll(Set<String> keys) throws Throwable;
+}
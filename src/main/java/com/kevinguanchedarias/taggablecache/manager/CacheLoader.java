@@ -0,0 +1,12 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+/**
+ * Computes the value of a cache entry, unlike {@link java.util.function.Supplier} it may throw any exception, so the
+ * exceptions of the cached method reach the caller untouched
+ *
+ * @since 0.3.0
+ */
+@FunctionalInterface
+public interface CacheLoader<T> {
+    T load() throws Throwable;
+}
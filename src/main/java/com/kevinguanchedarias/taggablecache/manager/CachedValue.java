@@ -0,0 +1,14 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import lombok.Value;
+
+/**
+ * Value found in the cache, which may be null if null was cached <br>
+ * Absent entries are represented by the absence of the wrapper, so a cached null is never confused with a miss
+ *
+ * @since 0.3.0
+ */
+@Value(staticConstructor = "of")
+public class CachedValue<T> {
+    T value;
+}
@@ -0,0 +1,228 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import com.kevinguanchedarias.taggablecache.configuration.properties.ClusteredTaggableProperties;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation for {@link TaggableCacheManager} that wraps the local manager of each node, broadcasting its tag, tag
+ * prefix, key and clear evictions to the other nodes through an {@link InvalidationTransport} <br>
+ * Evictions are applied locally right away, and broadcast in batches, the evictions of each batch window are
+ * coalesced, and a clear supersedes all the pending tags, keys and tag prefixes <br>
+ * Saves are not broadcast, the other nodes keep loading their own copies
+ *
+ * @since 0.3.0
+ */
+@Slf4j
+public class ClusteredTaggableCacheManager extends AbstractTaggableCacheManager {
+    private final TaggableCacheManager delegate;
+    private final InvalidationTransport invalidationTransport;
+    private final Duration batchWindow;
+    private final int maxBatchSize;
+    private final ScheduledThreadPoolExecutor scheduledExecutorService = new ScheduledThreadPoolExecutor(1);
+
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Getter(AccessLevel.PROTECTED)
+    private final SingleFlight singleFlight;
+
+    private final Object pendingLock = new Object();
+    private Set<String> pendingTags = new LinkedHashSet<>();
+    private Set<String> pendingKeys = new LinkedHashSet<>();
+    private Set<String> pendingTagPrefixes = new LinkedHashSet<>();
+    private boolean pendingClear;
+    private boolean flushScheduled;
+
+    /**
+     * @param delegate Manager of this node
+     * @since 0.3.0
+     */
+    public ClusteredTaggableCacheManager(
+            TaggableCacheManager delegate,
+            InvalidationTransport invalidationTransport,
+            ClusteredTaggableProperties clusteredTaggableProperties
+    ) {
+        this.delegate = delegate;
+        this.invalidationTransport = invalidationTransport;
+        batchWindow = clusteredTaggableProperties.getBatchWindow();
+        maxBatchSize = clusteredTaggableProperties.getMaxBatchSize();
+        singleFlight = new SingleFlight(clusteredTaggableProperties.getLoadWaitTimeout());
+        scheduledExecutorService.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        invalidationTransport.subscribe(this::applyInvalidation);
+    }
+
+    /**
+     * Broadcasts the pending evictions, and closes the transport
+     *
+     * @since 0.3.0
+     */
+    @PreDestroy
+    public void close() {
+        synchronized (pendingLock) {
+            scheduledExecutorService.shutdown();
+        }
+        flush();
+        invalidationTransport.close();
+    }
+
+    @Override
+    public boolean keyExists(String key) {
+        return delegate.keyExists(key);
+    }
+
+    @Override
+    public Object findByKey(String key) {
+        return delegate.findByKey(key);
+    }
+
+    @Override
+    public <T> CachedValue<T> getIfPresent(String key) {
+        return delegate.getIfPresent(key);
+    }
+
+    @Override
+    public void evictByCacheTag(String tag) {
+        evictByCacheTags(List.of(tag));
+    }
+
+    @Override
+    public void evictByCacheTags(Collection<String> tags) {
+        delegate.evictByCacheTags(tags);
+        enqueue(tags, List.of(), List.of(), false);
+    }
+
+    @Override
+    public void evictByCacheTagPrefix(String prefix) {
+        delegate.evictByCacheTagPrefix(prefix);
+        enqueue(List.of(), List.of(), List.of(prefix), false);
+    }
+
+    @Override
+    public void saveEntry(String key, Object value, Collection<String> tags, Duration ttl) {
+        delegate.saveEntry(key, value, tags, ttl);
+    }
+
+    @Override
+    public boolean replaceEntry(String key, Object expectedValue, Object value, Collection<String> tags, Duration ttl) {
+        return delegate.replaceEntry(key, expectedValue, value, tags, ttl);
+    }
+
+    @Override
+    public Duration getDefaultTtl() {
+        return delegate.getDefaultTtl();
+    }
+
+    @Override
+    public Duration getDefaultNegativeTtl() {
+        return delegate.getDefaultNegativeTtl();
+    }
+
+    @Override
+    public void evictByKey(String key) {
+        delegate.evictByKey(key);
+        enqueue(List.of(), List.of(key), List.of(), false);
+    }
+
+    @Override
+    public <T> Map<String, T> getAll(Collection<String> keys) {
+        return delegate.getAll(keys);
+    }
+
+    @Override
+    public void saveAll(Collection<TaggedCacheEntry> entries) {
+        delegate.saveAll(entries);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        enqueue(List.of(), List.of(), List.of(), true);
+    }
+
+    /**
+     * Broadcasts the pending evictions now
+     */
+    void flush() {
+        InvalidationMessage message;
+        synchronized (pendingLock) {
+            flushScheduled = false;
+            if (!pendingClear && pendingTags.isEmpty() && pendingKeys.isEmpty() && pendingTagPrefixes.isEmpty()) {
+                return;
+            }
+            message = InvalidationMessage.builder()
+                    .nodeId(nodeId)
+                    .clear(pendingClear)
+                    .tags(pendingTags)
+                    .keys(pendingKeys)
+                    .tagPrefixes(pendingTagPrefixes)
+                    .build();
+            pendingTags = new LinkedHashSet<>();
+            pendingKeys = new LinkedHashSet<>();
+            pendingTagPrefixes = new LinkedHashSet<>();
+            pendingClear = false;
+        }
+        try {
+            invalidationTransport.publish(message);
+        } catch (RuntimeException e) {
+            log.warn("Can't broadcast the invalidation of {} tags and {} keys, peers will remain stale until expiry",
+                    message.getTags().size(), message.getKeys().size(), e);
+        }
+    }
+
+    private void enqueue(
+            Collection<String> tags, Collection<String> keys, Collection<String> tagPrefixes, boolean clear
+    ) {
+        synchronized (pendingLock) {
+            if (clear) {
+                pendingClear = true;
+                pendingTags.clear();
+                pendingKeys.clear();
+                pendingTagPrefixes.clear();
+            } else if (!pendingClear) {
+                pendingTags.addAll(tags);
+                pendingKeys.addAll(keys);
+                pendingTagPrefixes.addAll(tagPrefixes);
+            }
+            if (scheduledExecutorService.isShutdown()) {
+                log.debug("Not broadcasting evictions, as the manager is closed");
+            } else if (pendingTags.size() + pendingKeys.size() + pendingTagPrefixes.size() >= maxBatchSize) {
+                flushScheduled = true;
+                scheduledExecutorService.execute(this::flush);
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                scheduledExecutorService.schedule(this::flush, batchWindow.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Applies the evictions of other nodes to the local manager only, so they are not broadcast again
+     */
+    private void applyInvalidation(InvalidationMessage message) {
+        if (nodeId.equals(message.getNodeId())) {
+            return;
+        }
+        if (message.isClear()) {
+            delegate.clear();
+        } else {
+            if (!message.getTags().isEmpty()) {
+                delegate.evictByCacheTags(message.getTags());
+            }
+            message.getKeys().forEach(delegate::evictByKey);
+            message.getTagPrefixes().forEach(delegate::evictByCacheTagPrefix);
+        }
+    }
+}
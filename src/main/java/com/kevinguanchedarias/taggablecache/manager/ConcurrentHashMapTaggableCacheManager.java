@@ -1,167 +1,851 @@
 package com.kevinguanchedarias.taggablecache.manager;
 
 import com.kevinguanchedarias.taggablecache.configuration.properties.ConcurrentHashMapTaggableProperties;
+import com.kevinguanchedarias.taggablecache.internal.model.CacheEntryModel;
+import com.kevinguanchedarias.taggablecache.util.StripedLock;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.PostConstruct;
-import java.time.LocalDateTime;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
- * Implementation for {@link TaggableCacheManager} using in memory hash maps
+ * Implementation for {@link TaggableCacheManager} using in memory hash maps <br>
+ * Operations on a key are guarded by the stripe of that key, while the tag stores are updated atomically using the
+ * {@link ConcurrentHashMap} compute operations, so saves and evictions of unrelated keys and tags run in parallel <br>
+ * Expired entries are treated as absent as soon as their deadline is reached, and removed in batches by a periodic
+ * sweep of the {@link ExpiryQueue} <br>
+ * When <i>maximumSize</i> or <i>maximumWeight</i> are specified, the {@link WindowTinyLfuPolicy} evicts the least
+ * valuable entries, removing them from their tags just like any other eviction <br>
+ * With {@link TagInvalidationMode#GENERATION}, evicting a tag only advances its generation, and the invalidated entries
+ * are deleted in the background <br>
+ * Nulls are stored as a shared sentinel, and saved without a ttl they expire after <i>negativeTtl</i> <br>
+ * Subclasses may store a different representation of the values, see {@link #toStoredValue(String, Object)}, and
+ * keep the entries evicted by the policy in another tier, see {@link #spill(CacheEntryModel)}
  *
  * @since 0.1.0
  */
 @AllArgsConstructor(access = AccessLevel.PACKAGE)
 @Slf4j
-public class ConcurrentHashMapTaggableCacheManager extends AbstractTaggableCacheManager {
-    private final Map<String, Object> dataStore;
-    private final Map<String, LocalDateTime> dataStoreTtl;
+public class ConcurrentHashMapTaggableCacheManager extends AbstractTaggableCacheManager implements TaggableCacheStatistics {
+    private final Map<String, CacheEntryModel> dataStore;
     private final Map<String, Set<String>> tagsToCacheKeys;
+    private final Map<String, Set<String>> cacheKeysToTags;
+    private final ExpiryQueue expiryQueue;
+
+    @Getter(AccessLevel.PROTECTED)
     private final ScheduledExecutorService scheduledExecutorService;
-    private final Lock lock;
+    private final StripedLock stripedLock;
+    private final LongSupplier nanoClock;
+    private final EvictionPolicy evictionPolicy;
+
+    @Getter(AccessLevel.PROTECTED)
+    private final SingleFlight singleFlight;
+
     private final ConcurrentHashMapTaggableProperties concurrentHashMapTaggableProperties;
 
-    private interface NullValue {
+    /**
+     * Only written while holding the tag store of the same tag in {@link #tagsToCacheKeys}, so a tag has a generation
+     * if and only if it has a tag store
+     */
+    private final Map<String, Long> tagGenerations = new ConcurrentHashMap<>();
+
+    /**
+     * Never reset, so a tag generation that is dropped and created again, can't match an entry saved before
+     */
+    private final AtomicLong generationSequence = new AtomicLong();
+    private final Set<String> pendingTagPurges = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Sorted index of the tags, only written while holding the tag store of the same tag in {@link #tagsToCacheKeys},
+     * so it contains a tag if and only if it has a tag store
+     */
+    private final NavigableSet<String> sortedTags = new ConcurrentSkipListSet<>();
+
+    /**
+     * Indexed by {@link EvictionCause#ordinal()}, adders so counting never contends with the hot path
+     */
+    private final LongAdder[] evictionCounters = Stream.generate(LongAdder::new)
+            .limit(EvictionCause.values().length)
+            .toArray(LongAdder[]::new);
+
+    /**
+     * Shared by all the cached nulls
+     */
+    private enum NullValue {
+        INSTANCE
     }
 
     public ConcurrentHashMapTaggableCacheManager(ConcurrentHashMapTaggableProperties concurrentHashMapTaggableProperties) {
+        this(concurrentHashMapTaggableProperties, Weigher.SINGLETON);
+    }
+
+    /**
+     * @param weigher Used to compute the weight of the entries when <i>maximumWeight</i> is specified
+     * @since 0.3.0
+     */
+    public ConcurrentHashMapTaggableCacheManager(
+            ConcurrentHashMapTaggableProperties concurrentHashMapTaggableProperties,
+            Weigher weigher
+    ) {
         dataStore = new ConcurrentHashMap<>();
-        dataStoreTtl = new HashMap<>();
         tagsToCacheKeys = new ConcurrentHashMap<>();
+        cacheKeysToTags = new ConcurrentHashMap<>();
+        expiryQueue = new ExpiryQueue();
         scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
-        lock = new ReentrantLock();
+        stripedLock = new StripedLock(concurrentHashMapTaggableProperties.getLockStripes());
+        nanoClock = System::nanoTime;
+        evictionPolicy = buildEvictionPolicy(concurrentHashMapTaggableProperties, weigher);
+        singleFlight = new SingleFlight(concurrentHashMapTaggableProperties.getLoadWaitTimeout());
         this.concurrentHashMapTaggableProperties = concurrentHashMapTaggableProperties;
     }
 
     @PostConstruct
     public void autoKeyWipe() {
-        scheduledExecutorService.scheduleAtFixedRate(
+        var sweepInterval = concurrentHashMapTaggableProperties.getExpirySweepInterval().toMillis();
+        scheduledExecutorService.scheduleWithFixedDelay(
                 this::doWipeKeys,
-                concurrentHashMapTaggableProperties.getCacheTtl(),
-                concurrentHashMapTaggableProperties.getCacheTtl(),
-                concurrentHashMapTaggableProperties.getTimeUnit()
+                sweepInterval,
+                sweepInterval,
+                TimeUnit.MILLISECONDS
         );
     }
 
     @Override
     public boolean keyExists(String key) {
-        return dataStore.containsKey(key);
+        return findLiveEntry(key) != null;
     }
 
+    /**
+     * Clears all the stores, as it's the only operation that touches every key, it acquires all the stripes
+     *
+     * @since 0.1.4
+     */
     @Override
     public void clear() {
-        lock.lock();
+        stripedLock.lockAll();
         try {
+            dataStore.values().forEach(this::onEntryRemoved);
+            evictionCounters[EvictionCause.CLEAR.ordinal()].add(dataStore.size());
             dataStore.clear();
-            dataStoreTtl.clear();
             tagsToCacheKeys.clear();
+            sortedTags.clear();
+            cacheKeysToTags.clear();
+            expiryQueue.clear();
+            evictionPolicy.clear();
+            tagGenerations.clear();
+            pendingTagPurges.clear();
         } finally {
-            lock.unlock();
+            stripedLock.unlockAll();
         }
     }
 
     @Override
     public Object findByKey(String key) {
-        var storedValue = dataStore.get(key);
-        return storedValue instanceof NullValue ? null : storedValue;
+        var cachedValue = getIfPresent(key);
+        return cachedValue == null ? null : cachedValue.getValue();
     }
 
+    /**
+     * @since 0.3.0
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CachedValue<T> getIfPresent(String key) {
+        var entry = findLiveEntry(key);
+        if (entry == null) {
+            return null;
+        }
+        evictionPolicy.recordAccess(entry);
+        if (entry.getValue() == NullValue.INSTANCE) {
+            return CachedValue.of(null);
+        }
+        var value = fromStoredValue(entry);
+        return value == null ? null : CachedValue.of((T) value);
+    }
+
+    /**
+     * Detaches the keys of the tag atomically, so any entry saved with the tag before this invocation is deleted,
+     * and any entry saved after it, goes to a new tag store <br>
+     * Deleted keys are also removed from their other tags, using the key to tags index <br>
+     * With {@link TagInvalidationMode#GENERATION} only the generation of the tag is advanced
+     *
+     * @since 0.1.0
+     */
     @Override
     public void evictByCacheTag(String tag) {
-        lock.lock();
-        try {
-            if (tagsToCacheKeys.containsKey(tag)) {
-                tagsToCacheKeys.get(tag).forEach(this::deleteKey);
-                tagsToCacheKeys.get(tag).clear();
-            }
-        } finally {
-            lock.unlock();
+        evictByCacheTags(List.of(tag));
+    }
+
+    /**
+     * Detaches the keys of all the tags, and deletes their union, acquiring each stripe once
+     *
+     * @since 0.3.0
+     */
+    @Override
+    public void evictByCacheTags(Collection<String> tags) {
+        if (isGenerationMode()) {
+            tags.forEach(this::advanceTagGeneration);
+            return;
+        }
+        Set<String> taggedKeys = new HashSet<>();
+        tags.forEach(tag -> tagsToCacheKeys.computeIfPresent(tag, (currentTag, tagKeys) -> {
+            taggedKeys.addAll(tagKeys);
+            sortedTags.remove(currentTag);
+            return null;
+        }));
+        if (!taggedKeys.isEmpty()) {
+            deleteKeysLocked(taggedKeys, EvictionCause.TAG);
+            evictVictims();
         }
     }
 
+    /**
+     * Finds the tags in the range of the prefix of the sorted tag index, so only the matching tags are visited, and
+     * evicts them as {@link #evictByCacheTags(Collection)}
+     *
+     * @since 0.3.0
+     */
     @Override
-    public void saveEntry(String key, Object value, Collection<String> tags) {
-        lock.lock();
+    public void evictByCacheTagPrefix(String prefix) {
+        var tags = sortedTags.tailSet(prefix).stream().takeWhile(tag -> tag.startsWith(prefix)).toList();
+        if (!tags.isEmpty()) {
+            evictByCacheTags(tags);
+        }
+    }
+
+    /**
+     * Saves the entry, its deadline is tracked by the {@link ExpiryQueue}, so entries with different ttl expire in order
+     *
+     * @since 0.3.0
+     */
+    @Override
+    public void saveEntry(String key, Object value, Collection<String> tags, Duration ttl) {
+        var storedValue = storableValue(key, value);
+        if (storedValue == null) {
+            evictByKey(key);
+            return;
+        }
+        var keyLock = stripedLock.get(key);
+        keyLock.lock();
         try {
-            if (dataStore.containsKey(key)) {
-                log.debug("Tried to update a key that is already stored... This may happen in overloaded systems" +
-                        ", or strongly async access to same key");
-            }
-            dataStore.put(key, value == null ?
-                    new NullValue() {
-                    }
-                    : value);
-            dataStoreTtl.put(key, LocalDateTime.now().plus(
-                    concurrentHashMapTaggableProperties.getCacheTtl(), concurrentHashMapTaggableProperties.getTimeUnit().toChronoUnit()
-            ));
-            tags.forEach(tag -> addKeyToTagStore(key, tag));
+            var keyTags = relinkTags(key, tags);
+            storeEntry(key, storedValue, ttl, addKeyToTagStores(key, keyTags));
         } finally {
             log.trace("Releasing saveEntry lock for {}", key);
-            lock.unlock();
+            keyLock.unlock();
         }
+        evictVictims();
     }
 
+    /**
+     * Compares the value without holding the key lock, as reading it may move it between tiers, then saves the entry
+     * holding the lock, only if the compared entry is still stored, otherwise the value is compared again
+     *
+     * @since 0.3.0
+     */
     @Override
-    public void evictByKey(String key) {
-        lock.lock();
-        deleteKey(key);
-        lock.unlock();
-        scheduledExecutorService.execute(() -> {
+    public boolean replaceEntry(String key, Object expectedValue, Object value, Collection<String> tags, Duration ttl) {
+        var storedValue = storableValue(key, value);
+        if (storedValue == null) {
+            return false;
+        }
+        var replaced = false;
+        CacheEntryModel entry;
+        while (!replaced
+                && (entry = findLiveEntry(key)) != null
+                && Objects.equals(entry.getValue() == NullValue.INSTANCE ? null : fromStoredValue(entry), expectedValue)) {
+            replaced = storeIfStillStored(entry, storedValue, tags, ttl);
+        }
+        if (!replaced) {
+            discardStoredValue(key, storedValue);
+        }
+        evictVictims();
+        return replaced;
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    @Override
+    public Duration getDefaultTtl() {
+        return Duration.ofNanos(
+                concurrentHashMapTaggableProperties.getTimeUnit().toNanos(concurrentHashMapTaggableProperties.getCacheTtl())
+        );
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    @Override
+    public Duration getDefaultNegativeTtl() {
+        return concurrentHashMapTaggableProperties.getNegativeTtl();
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    @Override
+    public <T> Map<String, T> getAll(Collection<String> keys) {
+        Map<String, T> values = new LinkedHashMap<>();
+        keys.forEach(key -> {
+            CachedValue<T> cachedValue = getIfPresent(key);
+            if (cachedValue != null) {
+                values.put(key, cachedValue.getValue());
+            }
+        });
+        return values;
+    }
+
+    /**
+     * Acquires each stripe once, and adds the keys of the same stripe to each tag store with a single update
+     *
+     * @since 0.3.0
+     */
+    @Override
+    public void saveAll(Collection<TaggedCacheEntry> entries) {
+        Map<String, TaggedCacheEntry> entriesByKey = new LinkedHashMap<>();
+        entries.forEach(entry -> entriesByKey.put(entry.getKey(), entry));
+        Map<String, Object> storedValues = new HashMap<>();
+        List<String> unstorableKeys = new ArrayList<>();
+        entriesByKey.values().forEach(entry -> {
+            var storedValue = storableValue(entry.getKey(), entry.getValue());
+            if (storedValue == null) {
+                unstorableKeys.add(entry.getKey());
+            } else {
+                storedValues.put(entry.getKey(), storedValue);
+            }
+        });
+        unstorableKeys.forEach(entriesByKey::remove);
+        deleteKeysLocked(unstorableKeys, EvictionCause.KEY);
+        groupByLock(entriesByKey.values(), TaggedCacheEntry::getKey).forEach((lock, lockEntries) -> {
             lock.lock();
             try {
-                wipeCacheKeyFromTagsStore(key);
+                saveEntriesLocked(lockEntries, storedValues);
             } finally {
                 lock.unlock();
             }
         });
+        evictVictims();
+    }
+
+    /**
+     * Deletes the key, and removes it from its own tags, using the key to tags index
+     *
+     * @since 0.1.0
+     */
+    @Override
+    public void evictByKey(String key) {
+        deleteKeyLocked(key);
+        evictVictims();
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    @Override
+    public long getEvictionCount(EvictionCause cause) {
+        return evictionCounters[cause.ordinal()].sum();
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    @Override
+    public long getSize() {
+        return dataStore.size();
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    @Override
+    public long getTagCount() {
+        return tagsToCacheKeys.size();
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    @Override
+    public long getLargestTagSize() {
+        return tagsToCacheKeys.values().stream().mapToLong(Set::size).max().orElse(0);
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    @Override
+    public long getKeyFootprint() {
+        return dataStore.keySet().stream().mapToLong(String::length).sum();
+    }
+
+    /**
+     * Converts a non null value to the representation kept in the entry, invoked without holding any key lock, so
+     * it may evict other keys <br>
+     * The default implementation stores the value itself
+     *
+     * @return The representation to store, or null when the value can't be stored, then the key is evicted instead
+     * @since 0.3.0
+     */
+    protected Object toStoredValue(String key, Object value) {
+        return value;
+    }
+
+    /**
+     * Converts back a representation returned by {@link #toStoredValue(String, Object)}, the entry may be removed
+     * concurrently, see {@link #isStillStored(CacheEntryModel)}
+     *
+     * @return The value, or null when the entry is no longer available
+     * @since 0.3.0
+     */
+    protected Object fromStoredValue(CacheEntryModel entry) {
+        return entry.getValue();
+    }
+
+    /**
+     * Invoked once for each entry that leaves the store, or whose stored value is replaced, holding the lock of its key,
+     * or all the locks when clearing
+     *
+     * @since 0.3.0
+     */
+    protected void onEntryRemoved(CacheEntryModel entry) {
+        // The stored value is the value itself, nothing to release
+    }
+
+    /**
+     * @return True if the entry has not been replaced nor removed
+     * @since 0.3.0
+     */
+    protected boolean isStillStored(CacheEntryModel entry) {
+        return dataStore.get(entry.getKey()) == entry;
+    }
+
+    /**
+     * Deletes the key only if its stored value matches, must be invoked without holding any key lock, the deletion
+     * counts as an {@link EvictionCause#SIZE} eviction
+     *
+     * @return True if the key has been deleted
+     * @since 0.3.0
+     */
+    protected boolean evictIfStored(String key, Predicate<Object> storedValueMatcher) {
+        var keyLock = stripedLock.get(key);
+        keyLock.lock();
+        try {
+            var entry = dataStore.get(key);
+            if (entry != null && storedValueMatcher.test(entry.getValue())) {
+                deleteKey(key, EvictionCause.SIZE);
+                return true;
+            }
+            return false;
+        } finally {
+            keyLock.unlock();
+        }
+    }
+
+    /**
+     * Invoked holding the lock of the key, for each entry evicted by <i>maximumSize</i> or <i>maximumWeight</i>,
+     * entries holding a cached null are always deleted <br>
+     * The default implementation deletes the entry
+     *
+     * @return The representation to keep in the entry, which no longer counts for the bounds, or null to delete it
+     * @since 0.3.0
+     */
+    protected Object spill(CacheEntryModel victim) {
+        return null;
+    }
+
+    /**
+     * Replaces the stored value of the key, keeping its tags and deadline, only if its current stored value matches,
+     * must be invoked without holding any key lock
+     *
+     * @param resident If the entry counts for <i>maximumSize</i> and <i>maximumWeight</i>
+     * @return True if the stored value has been replaced
+     * @since 0.3.0
+     */
+    protected boolean replaceIfStored(
+            String key,
+            Predicate<Object> storedValueMatcher,
+            Object storedValue,
+            boolean resident
+    ) {
+        var keyLock = stripedLock.get(key);
+        keyLock.lock();
+        boolean replaced = false;
+        try {
+            var entry = dataStore.get(key);
+            if (entry != null && storedValueMatcher.test(entry.getValue())) {
+                replaceEntry(entry, storedValue, resident);
+                replaced = true;
+            }
+        } finally {
+            keyLock.unlock();
+        }
+        evictVictims();
+        return replaced;
     }
 
-    private void addKeyToTagStore(String cacheKey, String tag) {
-        if (tagsToCacheKeys.containsKey(tag)) {
-            tagsToCacheKeys.get(tag).add(cacheKey);
+    private static EvictionPolicy buildEvictionPolicy(ConcurrentHashMapTaggableProperties properties, Weigher weigher) {
+        var maximumSize = properties.getMaximumSize();
+        var maximumWeight = properties.getMaximumWeight();
+        if (maximumSize > 0 && maximumWeight > 0) {
+            throw new IllegalArgumentException("Can't specify maximumSize and maximumWeight together");
+        } else if (maximumSize > 0) {
+            return new WindowTinyLfuPolicy(maximumSize, Weigher.SINGLETON);
+        } else if (maximumWeight > 0) {
+            return new WindowTinyLfuPolicy(maximumWeight, weigher);
         } else {
-            Set<String> list = new HashSet<>();
-            list.add(cacheKey);
-            tagsToCacheKeys.put(tag, list);
+            return EvictionPolicy.UNBOUNDED;
         }
     }
 
+    private CacheEntryModel findLiveEntry(String key) {
+        var entry = dataStore.get(key);
+        return entry == null || entry.isExpired(nanoClock.getAsLong()) || isInvalidated(entry) ? null : entry;
+    }
+
+    private long ttlNanos(Duration ttl, Object storedValue) {
+        if (ttl != null) {
+            return ttl.toNanos();
+        } else if (storedValue == NullValue.INSTANCE) {
+            return concurrentHashMapTaggableProperties.getNegativeTtl().toNanos();
+        } else {
+            return concurrentHashMapTaggableProperties.getTimeUnit().toNanos(concurrentHashMapTaggableProperties.getCacheTtl());
+        }
+    }
+
+    /**
+     * Replaces the tags of the key in the key to tags index, and removes the key from the tags it no longer has
+     *
+     * @return The new tags of the key
+     */
+    private Set<String> relinkTags(String key, Collection<String> tags) {
+        var keyTags = Set.copyOf(tags);
+        var previousTags = cacheKeysToTags.put(key, keyTags);
+        if (previousTags != null) {
+            previousTags.stream().filter(previousTag -> !keyTags.contains(previousTag))
+                    .forEach(previousTag -> removeKeyFromTagStore(key, previousTag));
+        }
+        return keyTags;
+    }
+
+    private Object storableValue(String key, Object value) {
+        return value == null ? NullValue.INSTANCE : toStoredValue(key, value);
+    }
+
+    /**
+     * Must be invoked holding the lock of the key, after adding the key to its tag stores
+     */
+    private void storeEntry(String key, Object storedValue, Duration ttl, Map<String, Long> entryTagGenerations) {
+        var entry = CacheEntryModel.builder()
+                .key(key)
+                .value(storedValue)
+                .expiresAt(nanoClock.getAsLong() + ttlNanos(ttl, storedValue))
+                .sequence(expiryQueue.nextSequence())
+                .tagGenerations(entryTagGenerations)
+                .build();
+        var previousEntry = dataStore.put(key, entry);
+        if (previousEntry != null) {
+            log.debug("Tried to update a key that is already stored... This may happen in overloaded systems" +
+                    ", or strongly async access to same key");
+            expiryQueue.remove(previousEntry);
+            onEntryRemoved(previousEntry);
+        }
+        expiryQueue.add(entry);
+        evictionPolicy.recordWrite(entry);
+    }
+
+    private boolean storeIfStillStored(CacheEntryModel entry, Object storedValue, Collection<String> tags, Duration ttl) {
+        var key = entry.getKey();
+        var keyLock = stripedLock.get(key);
+        keyLock.lock();
+        try {
+            if (dataStore.get(key) != entry) {
+                return false;
+            }
+            storeEntry(key, storedValue, ttl, addKeyToTagStores(key, relinkTags(key, tags)));
+            return true;
+        } finally {
+            keyLock.unlock();
+        }
+    }
+
+    /**
+     * Releases a stored value that has not been saved to any entry
+     */
+    private void discardStoredValue(String key, Object storedValue) {
+        var keyLock = stripedLock.get(key);
+        keyLock.lock();
+        try {
+            onEntryRemoved(CacheEntryModel.builder().key(key).value(storedValue).build());
+        } finally {
+            keyLock.unlock();
+        }
+    }
+
+    /**
+     * Must be invoked holding the lock of all the keys, which must be unique
+     */
+    private void saveEntriesLocked(List<TaggedCacheEntry> entries, Map<String, Object> storedValues) {
+        List<Set<String>> entriesTags = new ArrayList<>(entries.size());
+        Map<String, List<String>> keysByTag = new HashMap<>();
+        entries.forEach(entry -> {
+            var keyTags = relinkTags(entry.getKey(), entry.getTags());
+            entriesTags.add(keyTags);
+            keyTags.forEach(tag -> keysByTag.computeIfAbsent(tag, newTag -> new ArrayList<>()).add(entry.getKey()));
+        });
+        var generationMode = isGenerationMode();
+        Map<String, Long> generationsByTag = new HashMap<>();
+        keysByTag.forEach((tag, keys) -> generationsByTag.put(tag, addKeysToTagStore(keys, tag, generationMode)));
+        for (int i = 0; i < entries.size(); i++) {
+            var entry = entries.get(i);
+            Map<String, Long> entryTagGenerations = generationMode ? new HashMap<>() : Map.of();
+            if (generationMode) {
+                entriesTags.get(i).forEach(tag -> entryTagGenerations.put(tag, generationsByTag.get(tag)));
+            }
+            storeEntry(entry.getKey(), storedValues.get(entry.getKey()), entry.getTtl(), entryTagGenerations);
+        }
+    }
+
+    private boolean isGenerationMode() {
+        return concurrentHashMapTaggableProperties.getTagInvalidation() == TagInvalidationMode.GENERATION;
+    }
+
+    private boolean isInvalidated(CacheEntryModel entry) {
+        for (var entryTagGeneration : entry.getTagGenerations().entrySet()) {
+            if (!entryTagGeneration.getValue().equals(tagGenerations.get(entryTagGeneration.getKey()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The generation of each tag, read atomically with the addition of the key to the tag store, empty when
+     * not using {@link TagInvalidationMode#GENERATION}
+     */
+    private Map<String, Long> addKeyToTagStores(String cacheKey, Set<String> tags) {
+        var cacheKeys = List.of(cacheKey);
+        if (!isGenerationMode()) {
+            tags.forEach(tag -> addKeysToTagStore(cacheKeys, tag, false));
+            return Map.of();
+        }
+        Map<String, Long> generations = new HashMap<>(tags.size());
+        tags.forEach(tag -> generations.put(tag, addKeysToTagStore(cacheKeys, tag, true)));
+        return generations;
+    }
+
+    /**
+     * Uses {@link Map#compute} so the keys can't be added to a tag store that is being detached by
+     * {@link #evictByCacheTags(Collection)}
+     */
+    private long addKeysToTagStore(Collection<String> cacheKeys, String tag, boolean readGeneration) {
+        var generation = new long[1];
+        tagsToCacheKeys.compute(tag, (currentTag, storedKeys) -> {
+            Set<String> keys;
+            if (storedKeys == null) {
+                keys = ConcurrentHashMap.newKeySet();
+                sortedTags.add(currentTag);
+            } else {
+                keys = storedKeys;
+            }
+            keys.addAll(cacheKeys);
+            if (readGeneration) {
+                generation[0] = tagGenerations.computeIfAbsent(currentTag, newTag -> generationSequence.get());
+            }
+            return keys;
+        });
+        return generation[0];
+    }
+
+    /**
+     * Drops the tag store, its generation and its index entry when it becomes empty, the removal is atomic with
+     * {@link #addKeysToTagStore(Collection, String, boolean)}
+     */
+    private void removeKeyFromTagStore(String cacheKey, String tag) {
+        tagsToCacheKeys.computeIfPresent(tag, (currentTag, storedKeys) -> {
+            storedKeys.remove(cacheKey);
+            if (storedKeys.isEmpty()) {
+                tagGenerations.remove(currentTag);
+                sortedTags.remove(currentTag);
+                return null;
+            }
+            return storedKeys;
+        });
+    }
+
+    /**
+     * A tag without a tag store has no entries, so there is nothing to invalidate <br>
+     * Purges of the same tag are coalesced, as a single purge deletes all the entries invalidated before it starts
+     */
+    private void advanceTagGeneration(String tag) {
+        var advanced = tagsToCacheKeys.computeIfPresent(tag, (currentTag, storedKeys) -> {
+            tagGenerations.put(currentTag, generationSequence.incrementAndGet());
+            return storedKeys;
+        }) != null;
+        if (advanced && pendingTagPurges.add(tag)) {
+            scheduledExecutorService.execute(() -> purgeInvalidatedKeys(tag));
+        }
+    }
+
+    private void purgeInvalidatedKeys(String tag) {
+        pendingTagPurges.remove(tag);
+        var taggedKeys = tagsToCacheKeys.get(tag);
+        if (taggedKeys != null) {
+            List.copyOf(taggedKeys).forEach(this::wipeIfInvalidated);
+            evictVictims();
+        }
+    }
+
+    private void wipeIfInvalidated(String key) {
+        var keyLock = stripedLock.get(key);
+        keyLock.lock();
+        try {
+            var entry = dataStore.get(key);
+            if (entry != null && isInvalidated(entry)) {
+                deleteKey(key, EvictionCause.TAG);
+            }
+        } finally {
+            keyLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the expired entries in batches, each entry only holds the lock of its own key
+     */
     private void doWipeKeys() {
-        lock.lock();
+        var batchSize = concurrentHashMapTaggableProperties.getExpiryBatchSize();
+        Collection<CacheEntryModel> expiredEntries;
+        do {
+            expiredEntries = expiryQueue.pollExpired(nanoClock.getAsLong(), batchSize);
+            expiredEntries.forEach(this::wipeIfStillStored);
+        } while (expiredEntries.size() == batchSize);
+        evictVictims();
+    }
+
+    /**
+     * Must be invoked without holding any key lock, as victims are deleted while holding their own key lock
+     */
+    private void evictVictims() {
+        evictionPolicy.drain().forEach(this::spillIfStillStored);
+    }
+
+    private void spillIfStillStored(CacheEntryModel victim) {
+        var key = victim.getKey();
+        var keyLock = stripedLock.get(key);
+        keyLock.lock();
+        try {
+            if (dataStore.get(key) == victim) {
+                var spilledValue = victim.getValue() == NullValue.INSTANCE ? null : spill(victim);
+                if (spilledValue == null) {
+                    deleteKey(key, EvictionCause.SIZE);
+                } else {
+                    replaceEntry(victim, spilledValue, false);
+                }
+            }
+        } finally {
+            keyLock.unlock();
+        }
+    }
+
+    /**
+     * Must be invoked holding the lock of the key
+     */
+    private void replaceEntry(CacheEntryModel entry, Object storedValue, boolean resident) {
+        var replacement = entry.toBuilder()
+                .value(storedValue)
+                .sequence(expiryQueue.nextSequence())
+                .build();
+        dataStore.put(entry.getKey(), replacement);
+        expiryQueue.remove(entry);
+        expiryQueue.add(replacement);
+        if (resident) {
+            evictionPolicy.recordWrite(replacement);
+        }
+        onEntryRemoved(entry);
+    }
+
+    private void wipeIfStillStored(CacheEntryModel expiredEntry) {
+        var key = expiredEntry.getKey();
+        var keyLock = stripedLock.get(key);
+        keyLock.lock();
         try {
-            dataStoreTtl.entrySet().stream()
-                    .filter(entry -> entry.getValue().isBefore(LocalDateTime.now()))
-                    .map(Map.Entry::getKey)
-                    .toList()
-                    .forEach(key -> {
-                        deleteKey(key);
-                        wipeCacheKeyFromTagsStore(key);
-                    });
+            if (dataStore.get(key) == expiredEntry) {
+                deleteKey(key, EvictionCause.TTL);
+            }
         } finally {
-            lock.unlock();
+            keyLock.unlock();
         }
     }
 
-    private void wipeCacheKeyFromTagsStore(String key) {
-        tagsToCacheKeys.values().stream()
-                .filter(storedKeys -> storedKeys.contains(key))
-                .forEach(storedKeys -> storedKeys.remove(key));
+    /**
+     * Groups the keys by stripe, so each stripe is acquired once, and only one at a time
+     */
+    private void deleteKeysLocked(Collection<String> keys, EvictionCause cause) {
+        groupByLock(keys, key -> key).forEach((lock, lockKeys) -> {
+            lock.lock();
+            try {
+                lockKeys.forEach(key -> deleteKey(key, cause));
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    private <E> Map<Lock, List<E>> groupByLock(Collection<E> elements, Function<E, String> keyExtractor) {
+        Map<Lock, List<E>> elementsByLock = new IdentityHashMap<>();
+        elements.forEach(element -> elementsByLock
+                .computeIfAbsent(stripedLock.get(keyExtractor.apply(element)), lock -> new ArrayList<>())
+                .add(element));
+        return elementsByLock;
     }
 
-    private void deleteKey(String key) {
-        dataStore.remove(key);
-        dataStoreTtl.remove(key);
+    private void deleteKeyLocked(String key) {
+        var keyLock = stripedLock.get(key);
+        keyLock.lock();
+        try {
+            deleteKey(key, EvictionCause.KEY);
+        } finally {
+            keyLock.unlock();
+        }
+    }
+
+    private void deleteKey(String key, EvictionCause cause) {
+        var entry = dataStore.remove(key);
+        if (entry != null) {
+            evictionCounters[cause.ordinal()].increment();
+            expiryQueue.remove(entry);
+            evictionPolicy.recordRemoval(entry);
+            onEntryRemoved(entry);
+        }
+        var keyTags = cacheKeysToTags.remove(key);
+        if (keyTags != null) {
+            keyTags.forEach(tag -> removeKeyFromTagStore(key, tag));
+        }
     }
 }
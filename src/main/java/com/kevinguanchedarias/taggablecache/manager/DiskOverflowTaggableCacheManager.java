@@ -0,0 +1,170 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import com.kevinguanchedarias.taggablecache.configuration.properties.ConcurrentHashMapTaggableProperties;
+import com.kevinguanchedarias.taggablecache.configuration.properties.DiskOverflowTaggableProperties;
+import com.kevinguanchedarias.taggablecache.internal.model.CacheEntryModel;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementation for {@link TaggableCacheManager} with a memory tier and a disk tier <br>
+ * The memory tier is a {@link ConcurrentHashMapTaggableCacheManager} bounded by <i>maximumSize</i> or
+ * <i>maximumWeight</i>, the entries it evicts are encoded by the {@link ValueCodec} and spilled to a {@link SegmentLog}
+ * of memory mapped files, and promoted back to memory when accessed <br>
+ * Spilled entries stay in the key and tag index, so they expire, and are evicted by key or tag, like the entries
+ * in memory <br>
+ * Segments whose live bytes fall below <i>compactionThreshold</i> are compacted in the background, when
+ * <i>maximumDiskSize</i> is exhausted, the evicted entries are dropped, and the entries of the oldest segment are
+ * evicted in the background
+ *
+ * @since 0.3.0
+ */
+@Slf4j
+public class DiskOverflowTaggableCacheManager extends ConcurrentHashMapTaggableCacheManager {
+    private final SegmentLog segmentLog;
+    private final ValueCodec valueCodec;
+    private final AtomicBoolean reclaimingDiskSpace = new AtomicBoolean();
+
+    /**
+     * @param weigher Used to compute the weight of the entries in memory when <i>maximumWeight</i> is specified
+     * @since 0.3.0
+     */
+    public DiskOverflowTaggableCacheManager(
+            ConcurrentHashMapTaggableProperties concurrentHashMapTaggableProperties,
+            DiskOverflowTaggableProperties diskOverflowTaggableProperties,
+            ValueCodec valueCodec,
+            Weigher weigher
+    ) {
+        super(concurrentHashMapTaggableProperties, weigher);
+        if (concurrentHashMapTaggableProperties.getMaximumSize() == 0
+                && concurrentHashMapTaggableProperties.getMaximumWeight() == 0) {
+            throw new IllegalArgumentException("The memory tier must be bounded with maximumSize or maximumWeight");
+        }
+        var segmentSize = diskOverflowTaggableProperties.getSegmentSize().toBytes();
+        segmentLog = new SegmentLog(
+                resolveDirectory(diskOverflowTaggableProperties.getDirectory()),
+                Math.toIntExact(segmentSize),
+                Math.toIntExact(diskOverflowTaggableProperties.getMaximumDiskSize().toBytes() / segmentSize),
+                diskOverflowTaggableProperties.getCompactionThreshold()
+        );
+        this.valueCodec = valueCodec;
+    }
+
+    /**
+     * Deletes the segment files, entries evicted from memory are no longer spilled
+     *
+     * @since 0.3.0
+     */
+    @PreDestroy
+    public void deleteSegments() {
+        segmentLog.deleteAll();
+    }
+
+    /**
+     * @return Disk space reserved by the segment files
+     * @since 0.3.0
+     */
+    public long getReservedDiskSize() {
+        return segmentLog.reservedBytes();
+    }
+
+    /**
+     * @return Bytes of the entries stored in disk
+     * @since 0.3.0
+     */
+    public long getUsedDiskSize() {
+        return segmentLog.liveBytes();
+    }
+
+    @Override
+    protected Object spill(CacheEntryModel victim) {
+        byte[] data;
+        try {
+            data = valueCodec.encode(victim.getValue());
+        } catch (IllegalArgumentException e) {
+            log.debug("Not spilling key {}, as its value can't be encoded", victim.getKey(), e);
+            return null;
+        }
+        var record = segmentLog.append(data, victim.getKey());
+        if (record == null) {
+            reclaimDiskSpace();
+        }
+        return record;
+    }
+
+    /**
+     * Records are never overwritten, so a spilled value can be read even if its entry is evicted concurrently
+     */
+    @Override
+    protected Object fromStoredValue(CacheEntryModel entry) {
+        if (!(entry.getValue() instanceof SegmentLog.Record diskRecord)) {
+            return entry.getValue();
+        }
+        var value = valueCodec.decode(segmentLog.read(diskRecord));
+        replaceIfStored(entry.getKey(), storedValue -> storedValue == diskRecord, value, true);
+        return value;
+    }
+
+    @Override
+    protected void onEntryRemoved(CacheEntryModel entry) {
+        if (entry.getValue() instanceof SegmentLog.Record diskRecord) {
+            releaseRecord(diskRecord);
+        }
+    }
+
+    private static Path resolveDirectory(Path directory) {
+        try {
+            return directory == null ? Files.createTempDirectory("taggable-cache") : directory;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void releaseRecord(SegmentLog.Record diskRecord) {
+        var segmentToCompact = segmentLog.release(diskRecord);
+        if (segmentToCompact != null) {
+            getScheduledExecutorService().execute(() -> compact(segmentToCompact));
+        }
+    }
+
+    /**
+     * Appends again the live records of the segment, the entries replaced or evicted meanwhile keep their value
+     */
+    private void compact(SegmentLog.Segment segment) {
+        segmentLog.liveRecords(segment).forEach((diskRecord, key) -> {
+            var relocatedRecord = segmentLog.append(segmentLog.read(diskRecord), key);
+            if (relocatedRecord == null) {
+                evictIfStored(key, storedValue -> storedValue == diskRecord);
+            } else if (!replaceIfStored(key, storedValue -> storedValue == diskRecord, relocatedRecord, false)) {
+                releaseRecord(relocatedRecord);
+            }
+        });
+        segmentLog.delete(segment);
+    }
+
+    /**
+     * Evicts the entries of the oldest segment, only one reclaim runs at a time
+     */
+    private void reclaimDiskSpace() {
+        if (reclaimingDiskSpace.compareAndSet(false, true)) {
+            getScheduledExecutorService().execute(() -> {
+                try {
+                    var segment = segmentLog.reclaimOldestSegment();
+                    if (segment != null) {
+                        segmentLog.liveRecords(segment).forEach((diskRecord, key) ->
+                                evictIfStored(key, storedValue -> storedValue == diskRecord));
+                        segmentLog.delete(segment);
+                    }
+                } finally {
+                    reclaimingDiskSpace.set(false);
+                }
+            });
+        }
+    }
+}
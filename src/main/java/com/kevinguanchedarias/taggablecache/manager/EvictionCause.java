@@ -0,0 +1,33 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+/**
+ * Why an entry left the cache
+ *
+ * @since 0.3.0
+ */
+public enum EvictionCause {
+    /**
+     * The entry expired
+     */
+    TTL,
+
+    /**
+     * The key was evicted
+     */
+    KEY,
+
+    /**
+     * One of the tags of the entry was evicted
+     */
+    TAG,
+
+    /**
+     * The whole cache was cleared
+     */
+    CLEAR,
+
+    /**
+     * The entry was evicted to honor the bounds of the cache
+     */
+    SIZE
+}
@@ -0,0 +1,64 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import com.kevinguanchedarias.taggablecache.internal.model.CacheEntryModel;
+
+import java.util.List;
+
+/**
+ * Decides which entries must leave a bounded cache <br>
+ * {@link #recordWrite(CacheEntryModel)} and {@link #recordRemoval(CacheEntryModel)} must be invoked while holding the
+ * lock of the entry key, so writes of the same key are seen in order, {@link #recordAccess(CacheEntryModel)} may be
+ * invoked without it, an access of an entry already removed is ignored <br>
+ * {@link #drain()} must be invoked without holding any key lock
+ *
+ * @since 0.3.0
+ */
+interface EvictionPolicy {
+    /**
+     * Policy of caches without size bound, never returns victims
+     */
+    EvictionPolicy UNBOUNDED = new EvictionPolicy() {
+        @Override
+        public void recordAccess(CacheEntryModel entry) {
+            // Unbounded cache doesn't track accesses
+        }
+
+        @Override
+        public void recordWrite(CacheEntryModel entry) {
+            // Unbounded cache doesn't track writes
+        }
+
+        @Override
+        public void recordRemoval(CacheEntryModel entry) {
+            // Unbounded cache doesn't track removals
+        }
+
+        @Override
+        public List<CacheEntryModel> drain() {
+            return List.of();
+        }
+
+        @Override
+        public void clear() {
+            // Nothing to clear
+        }
+    };
+
+    void recordAccess(CacheEntryModel entry);
+
+    /**
+     * Records a new entry, or the replacement of the previous entry of the same key
+     */
+    void recordWrite(CacheEntryModel entry);
+
+    void recordRemoval(CacheEntryModel entry);
+
+    /**
+     * Applies the recorded events
+     *
+     * @return The entries that must be removed from the cache to honor the bound
+     */
+    List<CacheEntryModel> drain();
+
+    void clear();
+}
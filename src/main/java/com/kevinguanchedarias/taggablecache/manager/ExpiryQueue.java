@@ -0,0 +1,70 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import com.kevinguanchedarias.taggablecache.internal.model.CacheEntryModel;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the cache entries ordered by their deadline, so expired entries can be found without scanning the whole cache
+ *
+ * @since 0.3.0
+ */
+class ExpiryQueue {
+    private static final Comparator<CacheEntryModel> DEADLINE_ORDER = (first, second) -> {
+        var deadlineDiff = first.getExpiresAt() - second.getExpiresAt();
+        return deadlineDiff != 0 ? Long.signum(deadlineDiff) : Long.compare(first.getSequence(), second.getSequence());
+    };
+
+    private final ConcurrentSkipListSet<CacheEntryModel> entries = new ConcurrentSkipListSet<>(DEADLINE_ORDER);
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @return Value to use as {@link CacheEntryModel#getSequence()} for a new entry
+     * @since 0.3.0
+     */
+    long nextSequence() {
+        return sequence.incrementAndGet();
+    }
+
+    void add(CacheEntryModel entry) {
+        entries.add(entry);
+    }
+
+    void remove(CacheEntryModel entry) {
+        entries.remove(entry);
+    }
+
+    /**
+     * Removes from the queue up to <i>maxEntries</i> entries whose deadline has been reached
+     *
+     * @param now        Current time in {@link System#nanoTime()} scale
+     * @param maxEntries Max amount of entries to return
+     * @return The expired entries, in deadline order
+     * @since 0.3.0
+     */
+    List<CacheEntryModel> pollExpired(long now, int maxEntries) {
+        List<CacheEntryModel> expired = new ArrayList<>();
+        var iterator = entries.iterator();
+        while (expired.size() < maxEntries && iterator.hasNext()) {
+            var current = iterator.next();
+            if (!current.isExpired(now)) {
+                break;
+            } else if (entries.remove(current)) {
+                expired.add(current);
+            }
+        }
+        return expired;
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+}
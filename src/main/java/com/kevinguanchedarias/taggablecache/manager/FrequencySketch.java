@@ -0,0 +1,117 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import java.util.Arrays;
+
+/**
+ * Count-Min sketch with four bit counters, estimates how often a key has been used recently <br>
+ * Once the amount of increments reaches the sample size, all counters are halved, so old popularity fades away <br>
+ * The table grows with the amount of entries, up to {@value #MAX_TABLE_SIZE} slots of 16 counters, so its size never
+ * depends on a weight bound <br>
+ * Not thread safe, must be used under the policy lock
+ *
+ * @since 0.3.0
+ */
+class FrequencySketch {
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int MIN_TABLE_SIZE = 16;
+    private static final int MAX_TABLE_SIZE = 1 << 21;
+    private static final int MAX_FREQUENCY = 15;
+
+    private long[] table;
+    private int tableMask;
+    private int sampleSize;
+    private int size;
+
+    /**
+     * @param expectedEntries Amount of entries the cache is expected to hold initially
+     */
+    FrequencySketch(long expectedEntries) {
+        allocate(expectedEntries);
+    }
+
+    /**
+     * Grows the table when the entries outnumber its slots, the frequencies are lost, as the counters can't be
+     * rehashed, so it only happens a logarithmic amount of times
+     */
+    void ensureCapacity(long entries) {
+        if (entries > table.length && table.length < MAX_TABLE_SIZE) {
+            allocate(entries);
+        }
+    }
+
+    int capacity() {
+        return table.length;
+    }
+
+    int frequency(Object item) {
+        var hash = spread(item.hashCode());
+        var start = (hash & 3) << 2;
+        var frequency = MAX_FREQUENCY;
+        for (int i = 0; i < 4; i++) {
+            var index = indexOf(hash, i);
+            var count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    void increment(Object item) {
+        var hash = spread(item.hashCode());
+        var start = (hash & 3) << 2;
+        var added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && ++size == sampleSize) {
+            reset();
+        }
+    }
+
+    void clear() {
+        Arrays.fill(table, 0L);
+        size = 0;
+    }
+
+    private void allocate(long expectedEntries) {
+        var capacity = (int) Math.min(Math.max(expectedEntries, MIN_TABLE_SIZE), MAX_TABLE_SIZE);
+        table = new long[Integer.highestOneBit(capacity - 1) << 1];
+        tableMask = table.length - 1;
+        sampleSize = 10 * table.length;
+        size = 0;
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        var offset = counter << 2;
+        var mask = 0xfL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    private void reset() {
+        var oddCounters = 0;
+        for (int i = 0; i < table.length; i++) {
+            oddCounters += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size >>> 1) - (oddCounters >>> 2);
+    }
+
+    private int indexOf(int hash, int depth) {
+        var indexHash = (hash + SEEDS[depth]) * SEEDS[depth];
+        indexHash += indexHash >>> 32;
+        return ((int) indexHash) & tableMask;
+    }
+
+    private int spread(int hash) {
+        var spread = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        spread = ((spread >>> 16) ^ spread) * 0x45d9f3b;
+        return (spread >>> 16) ^ spread;
+    }
+}
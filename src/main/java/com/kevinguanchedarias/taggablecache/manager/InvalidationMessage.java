@@ -0,0 +1,37 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Batch of evictions broadcast by a {@link ClusteredTaggableCacheManager} to its peers
+ *
+ * @since 0.3.0
+ */
+@Builder(toBuilder = true)
+@Value
+public class InvalidationMessage {
+
+    /**
+     * Id of the node that sent the message, so a node can ignore its own messages
+     */
+    String nodeId;
+
+    /**
+     * When true the peers clear their whole cache, and the tags and keys are ignored
+     */
+    boolean clear;
+
+    Set<String> tags;
+    Set<String> keys;
+
+    /**
+     * Evicted with {@link TaggableCacheManager#evictByCacheTagPrefix(String)}
+     *
+     * @since 0.3.0
+     */
+    @Builder.Default
+    Set<String> tagPrefixes = Set.of();
+}
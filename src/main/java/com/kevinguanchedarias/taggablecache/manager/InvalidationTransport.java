@@ -0,0 +1,34 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts the {@link InvalidationMessage} of a {@link ClusteredTaggableCacheManager} to the other nodes <br>
+ * Delivery is best effort, a lost message leaves the peers stale until the entries expire
+ *
+ * @since 0.3.0
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Sends the message to all the nodes, it may be delivered back to the sender
+     *
+     * @since 0.3.0
+     */
+    void publish(InvalidationMessage message);
+
+    /**
+     * Registers a listener invoked with the messages received from any node
+     *
+     * @since 0.3.0
+     */
+    void subscribe(Consumer<InvalidationMessage> listener);
+
+    /**
+     * Releases the resources of the transport, invoking it many times has no effect
+     *
+     * @since 0.3.0
+     */
+    default void close() {
+    }
+}
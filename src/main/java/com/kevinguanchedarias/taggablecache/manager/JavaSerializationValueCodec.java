@@ -0,0 +1,37 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Codec using java serialization, the values must implement {@link java.io.Serializable}
+ *
+ * @since 0.3.0
+ */
+public class JavaSerializationValueCodec implements ValueCodec {
+    @Override
+    public byte[] encode(Object value) {
+        var bytes = new ByteArrayOutputStream();
+        try (var objectOutputStream = new ObjectOutputStream(bytes)) {
+            objectOutputStream.writeObject(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Can't serialize value of type " + value.getClass().getName(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        try (var objectInputStream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return objectInputStream.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Can't deserialize value, class not found", e);
+        }
+    }
+}
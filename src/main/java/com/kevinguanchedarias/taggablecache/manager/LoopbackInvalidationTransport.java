@@ -0,0 +1,26 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link InvalidationTransport} delivering the messages to the listeners of the same instance, in the calling thread
+ * <br>
+ * Many managers sharing an instance behave as nodes of a cluster inside a single JVM, useful for tests
+ *
+ * @since 0.3.0
+ */
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+    private final List<Consumer<InvalidationMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        listeners.forEach(listener -> listener.accept(message));
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationMessage> listener) {
+        listeners.add(listener);
+    }
+}
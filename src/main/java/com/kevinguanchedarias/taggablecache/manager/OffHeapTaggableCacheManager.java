@@ -0,0 +1,117 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import com.kevinguanchedarias.taggablecache.configuration.properties.ConcurrentHashMapTaggableProperties;
+import com.kevinguanchedarias.taggablecache.configuration.properties.OffHeapTaggableProperties;
+import com.kevinguanchedarias.taggablecache.internal.model.CacheEntryModel;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Implementation for {@link TaggableCacheManager} that keeps the values out of the java heap <br>
+ * Values are encoded by the {@link ValueCodec}, and stored in chunks of direct memory provided by a
+ * {@link SlabAllocator}, while the heap only keeps the index of the keys and tags, with the location of each value
+ * <br>
+ * When <i>maximumMemory</i> is exhausted, the oldest entries with values of the same size class are evicted, values
+ * that still don't fit, or can't be encoded, are not cached <br>
+ * Keys, tags, expiration, and the entry bounds behave like in {@link ConcurrentHashMapTaggableCacheManager}, with
+ * <i>maximumWeight</i> the weight of an entry is the size of its encoded value
+ *
+ * @since 0.3.0
+ */
+@Slf4j
+public class OffHeapTaggableCacheManager extends ConcurrentHashMapTaggableCacheManager {
+    private static final int MAX_ALLOCATION_ATTEMPTS = 16;
+
+    private final SlabAllocator slabAllocator;
+    private final ValueCodec valueCodec;
+
+    @Value
+    private static class OffHeapValue {
+        long handle;
+        int length;
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    public OffHeapTaggableCacheManager(
+            ConcurrentHashMapTaggableProperties concurrentHashMapTaggableProperties,
+            OffHeapTaggableProperties offHeapTaggableProperties,
+            ValueCodec valueCodec
+    ) {
+        super(
+                concurrentHashMapTaggableProperties,
+                (key, value) -> value instanceof OffHeapValue offHeapValue ? offHeapValue.length : 0
+        );
+        slabAllocator = new SlabAllocator(
+                Math.toIntExact(offHeapTaggableProperties.getSlabSize().toBytes()),
+                offHeapTaggableProperties.getMaximumMemory().toBytes()
+        );
+        this.valueCodec = valueCodec;
+    }
+
+    /**
+     * @return Direct memory reserved for the values
+     * @since 0.3.0
+     */
+    public long getReservedMemory() {
+        return slabAllocator.reservedMemory();
+    }
+
+    /**
+     * @return Direct memory used by the values, rounded up to their size class
+     * @since 0.3.0
+     */
+    public long getUsedMemory() {
+        return slabAllocator.usedMemory();
+    }
+
+    /**
+     * Encodes the value and copies it to direct memory, evicting the oldest entries of the same size class while
+     * there is no free chunk
+     */
+    @Override
+    protected Object toStoredValue(String key, Object value) {
+        byte[] data;
+        try {
+            data = valueCodec.encode(value);
+        } catch (IllegalArgumentException e) {
+            log.warn("Not caching key {}, as its value can't be encoded", key, e);
+            return null;
+        }
+        for (int attempt = 0; attempt < MAX_ALLOCATION_ATTEMPTS; attempt++) {
+            var handle = slabAllocator.allocate(data.length, key);
+            if (handle != SlabAllocator.NO_SPACE) {
+                slabAllocator.write(handle, data);
+                return new OffHeapValue(handle, data.length);
+            }
+            var oldestChunk = slabAllocator.oldestChunk(data.length);
+            if (oldestChunk == null) {
+                break;
+            }
+            long oldestHandle = oldestChunk.getKey();
+            evictIfStored(oldestChunk.getValue(),
+                    storedValue -> storedValue instanceof OffHeapValue offHeapValue && offHeapValue.handle == oldestHandle);
+        }
+        log.debug("Not caching key {}, as there is no memory for a value of {} bytes", key, data.length);
+        return null;
+    }
+
+    /**
+     * The chunk may be released and reused while it's being copied, so the copy is only valid if the entry is still
+     * stored after copying it
+     */
+    @Override
+    protected Object fromStoredValue(CacheEntryModel entry) {
+        var offHeapValue = (OffHeapValue) entry.getValue();
+        var data = slabAllocator.read(offHeapValue.handle, offHeapValue.length);
+        return isStillStored(entry) ? valueCodec.decode(data) : null;
+    }
+
+    @Override
+    protected void onEntryRemoved(CacheEntryModel entry) {
+        if (entry.getValue() instanceof OffHeapValue offHeapValue) {
+            slabAllocator.release(offHeapValue.handle);
+        }
+    }
+}
@@ -0,0 +1,513 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import com.kevinguanchedarias.taggablecache.configuration.properties.RedisTaggableProperties;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Implementation for {@link TaggableCacheManager} storing the entries in a Redis server, so they are shared by all the
+ * instances <br>
+ * Each entry is stored in three kinds of Redis keys, the value, encoded by the {@link ValueCodec}, with its TTL, the
+ * set of tags of the key, and a set of keys for each tag <br>
+ * Saves and evictions run as Lua scripts, so they are atomic, and the keys of a tag never leave the server <br>
+ * As the scripts compute the Redis keys they touch, Redis Cluster is not supported <br>
+ * A save removes the key from the sets of its previous tags, and each tag set expires with the longest TTL of its
+ * keys, so keys that expire only stay in the sets of their tags until the set itself expires <br>
+ * Values that can't be encoded are not cached, and the previous value of their key is evicted <br>
+ * Nulls saved without a ttl expire after <i>negativeTtl</i>
+ *
+ * @since 0.3.0
+ */
+@Slf4j
+public class RedisTaggableCacheManager extends AbstractTaggableCacheManager {
+    private static final byte NULL_VALUE = 0;
+    private static final byte ENCODED_VALUE = 1;
+    private static final int SCAN_BATCH_SIZE = 1000;
+
+    /**
+     * KEYS: the tag sets, ARGV[1]: the key prefix
+     */
+    private static final RedisScript EVICT_TAGS_SCRIPT = new RedisScript("""
+            -- evict-tags
+            local prefix = ARGV[1]
+            local evicted = 0
+            for _, tagKey in ipairs(KEYS) do
+              for _, cacheKey in ipairs(redis.call('SMEMBERS', tagKey)) do
+                local keyTagsKey = prefix .. 'k:' .. cacheKey
+                for _, tag in ipairs(redis.call('SMEMBERS', keyTagsKey)) do
+                  redis.call('SREM', prefix .. 't:' .. tag, cacheKey)
+                end
+                evicted = evicted + redis.call('DEL', prefix .. 'v:' .. cacheKey)
+                redis.call('DEL', keyTagsKey)
+              end
+              redis.call('DEL', tagKey)
+            end
+            return evicted
+            """);
+
+    /**
+     * KEYS[1]: the value, KEYS[2]: the tags of the key, ARGV[1]: the key prefix, ARGV[2]: the cache key
+     */
+    private static final RedisScript EVICT_KEY_SCRIPT = new RedisScript("""
+            -- evict-key
+            for _, tag in ipairs(redis.call('SMEMBERS', KEYS[2])) do
+              redis.call('SREM', ARGV[1] .. 't:' .. tag, ARGV[2])
+            end
+            return redis.call('DEL', KEYS[1], KEYS[2])
+            """);
+
+    /**
+     * KEYS: the value and the tags of each key, ARGV[1]: the key prefix, followed by the cache key, payload, ttl in
+     * milliseconds, amount of tags, and tags of each key
+     */
+    private static final RedisScript SAVE_ENTRIES_SCRIPT = new RedisScript("""
+            -- save-entries
+            local prefix = ARGV[1]
+            local arg = 2
+            for i = 1, #KEYS, 2 do
+              local keyTagsKey = KEYS[i + 1]
+              local cacheKey = ARGV[arg]
+              local ttl = tonumber(ARGV[arg + 2])
+              local tagCount = tonumber(ARGV[arg + 3])
+              for _, tag in ipairs(redis.call('SMEMBERS', keyTagsKey)) do
+                redis.call('SREM', prefix .. 't:' .. tag, cacheKey)
+              end
+              redis.call('DEL', keyTagsKey)
+              redis.call('SET', KEYS[i], ARGV[arg + 1], 'PX', ttl)
+              for t = arg + 4, arg + 3 + tagCount do
+                local tagKey = prefix .. 't:' .. ARGV[t]
+                redis.call('SADD', keyTagsKey, ARGV[t])
+                redis.call('SADD', tagKey, cacheKey)
+                if redis.call('PTTL', tagKey) < ttl then
+                  redis.call('PEXPIRE', tagKey, ttl)
+                end
+              end
+              if tagCount > 0 then
+                redis.call('PEXPIRE', keyTagsKey, ttl)
+              end
+              arg = arg + 4 + tagCount
+            end
+            return #KEYS / 2
+            """);
+
+    private final RespConnectionPool connectionPool;
+    private final ValueCodec valueCodec;
+    private final String keyPrefix;
+    private final Duration cacheTtl;
+    private final Duration negativeTtl;
+
+    @Getter(AccessLevel.PROTECTED)
+    private final SingleFlight singleFlight;
+
+    private static class RedisScript {
+        private final String source;
+        private final String sha1;
+
+        private RedisScript(String source) {
+            this.source = source;
+            try {
+                sha1 = HexFormat.of().formatHex(
+                        MessageDigest.getInstance("SHA-1").digest(source.getBytes(StandardCharsets.UTF_8))
+                );
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    public RedisTaggableCacheManager(RedisTaggableProperties redisTaggableProperties, ValueCodec valueCodec) {
+        connectionPool = new RespConnectionPool(
+                () -> openConnection(redisTaggableProperties),
+                redisTaggableProperties.getPoolSize(),
+                redisTaggableProperties.getBorrowTimeout()
+        );
+        this.valueCodec = valueCodec;
+        keyPrefix = redisTaggableProperties.getKeyPrefix();
+        cacheTtl = redisTaggableProperties.getCacheTtl();
+        negativeTtl = redisTaggableProperties.getNegativeTtl();
+        singleFlight = new SingleFlight(redisTaggableProperties.getLoadWaitTimeout());
+    }
+
+    /**
+     * Closes the connections
+     *
+     * @since 0.3.0
+     */
+    @PreDestroy
+    public void close() {
+        connectionPool.close();
+    }
+
+    @Override
+    public boolean keyExists(String key) {
+        return Long.valueOf(1).equals(execute("EXISTS", valueKey(key)));
+    }
+
+    @Override
+    public Object findByKey(String key) {
+        var cachedValue = getIfPresent(key);
+        return cachedValue == null ? null : cachedValue.getValue();
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    @Override
+    public <T> CachedValue<T> getIfPresent(String key) {
+        var payload = (byte[]) execute("GET", valueKey(key));
+        return payload == null ? null : CachedValue.of(decode(payload));
+    }
+
+    @Override
+    public void evictByCacheTag(String tag) {
+        evictByCacheTags(List.of(tag));
+    }
+
+    /**
+     * Evicts all the tags with a single script
+     *
+     * @since 0.3.0
+     */
+    @Override
+    public void evictByCacheTags(Collection<String> tags) {
+        if (!tags.isEmpty()) {
+            evalScript(EVICT_TAGS_SCRIPT, tags.stream().map(this::tagKey).toList(), List.of(keyPrefix));
+        }
+    }
+
+    /**
+     * Redis has no index of the tags by prefix, so the tag sets are found with SCAN, which never blocks the server,
+     * and evicted by the same script as {@link #evictByCacheTags(Collection)}, in batches
+     *
+     * @since 0.3.0
+     */
+    @Override
+    public void evictByCacheTagPrefix(String prefix) {
+        List<String> tagKeys = new ArrayList<>();
+        scan(escapeGlob(tagKey(prefix)) + "*", (connection, keys) -> keys.forEach(
+                key -> tagKeys.add(new String((byte[]) key, StandardCharsets.UTF_8))
+        ));
+        for (int i = 0; i < tagKeys.size(); i += SCAN_BATCH_SIZE) {
+            evalScript(
+                    EVICT_TAGS_SCRIPT,
+                    tagKeys.subList(i, Math.min(i + SCAN_BATCH_SIZE, tagKeys.size())),
+                    List.of(keyPrefix)
+            );
+        }
+    }
+
+    /**
+     * Saves the value, its TTL, and the tag memberships with a single script, in one round trip
+     *
+     * @since 0.3.0
+     */
+    @Override
+    public void saveEntry(String key, Object value, Collection<String> tags, Duration ttl) {
+        var payload = encode(key, value);
+        if (payload == null) {
+            evictByKey(key);
+            return;
+        }
+        List<String> keys = new ArrayList<>(2);
+        List<Object> args = new ArrayList<>();
+        args.add(keyPrefix);
+        addSaveArguments(keys, args, key, payload, tags, ttl);
+        evalScript(SAVE_ENTRIES_SCRIPT, keys, args);
+    }
+
+    /**
+     * Watches the value before comparing it, so the transaction that saves the entry is aborted if the key is saved or
+     * evicted meanwhile <br>
+     * The save script is sent with its source, as a missing script can't be loaded once the transaction is queued
+     *
+     * @since 0.3.0
+     */
+    @Override
+    public boolean replaceEntry(String key, Object expectedValue, Object value, Collection<String> tags, Duration ttl) {
+        var payload = encode(key, value);
+        if (payload == null) {
+            return false;
+        }
+        var valueKey = valueKey(key);
+        var replies = connectionPool.withConnection(connection -> {
+            connection.execute("WATCH", valueKey);
+            byte[] currentPayload;
+            try {
+                currentPayload = (byte[]) connection.execute("GET", valueKey);
+            } catch (RespConnection.ErrorReplyException e) {
+                connection.execute("UNWATCH");
+                throw e;
+            }
+            if (currentPayload == null || !Objects.equals(decode(currentPayload), expectedValue)) {
+                connection.execute("UNWATCH");
+                return null;
+            }
+            List<String> keys = new ArrayList<>(2);
+            List<Object> args = new ArrayList<>();
+            args.add(keyPrefix);
+            addSaveArguments(keys, args, key, payload, tags, ttl);
+            return connection.pipeline(List.of(
+                    List.of("MULTI"),
+                    scriptCommand("EVAL", SAVE_ENTRIES_SCRIPT.source, keys, args),
+                    List.of("EXEC")
+            ));
+        });
+        return replies != null && isCommitted(replies);
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    @Override
+    public Duration getDefaultTtl() {
+        return cacheTtl;
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    @Override
+    public Duration getDefaultNegativeTtl() {
+        return negativeTtl;
+    }
+
+    @Override
+    public void evictByKey(String key) {
+        evalScript(EVICT_KEY_SCRIPT, List.of(valueKey(key), keyTagsKey(key)), List.of(keyPrefix, key));
+    }
+
+    /**
+     * Reads all the keys with a single MGET
+     *
+     * @since 0.3.0
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Map<String, T> getAll(Collection<String> keys) {
+        Map<String, T> values = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            return values;
+        }
+        var uniqueKeys = List.copyOf(new LinkedHashSet<>(keys));
+        List<Object> command = new ArrayList<>(uniqueKeys.size() + 1);
+        command.add("MGET");
+        uniqueKeys.forEach(key -> command.add(valueKey(key)));
+        var payloads = (List<Object>) execute(command.toArray());
+        for (int i = 0; i < uniqueKeys.size(); i++) {
+            var payload = (byte[]) payloads.get(i);
+            if (payload != null) {
+                values.put(uniqueKeys.get(i), decode(payload));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Saves all the entries with a single script, in one round trip
+     *
+     * @since 0.3.0
+     */
+    @Override
+    public void saveAll(Collection<TaggedCacheEntry> entries) {
+        List<String> keys = new ArrayList<>(entries.size() * 2);
+        List<Object> args = new ArrayList<>();
+        List<String> unencodableKeys = new ArrayList<>();
+        args.add(keyPrefix);
+        entries.forEach(entry -> {
+            var payload = encode(entry.getKey(), entry.getValue());
+            if (payload == null) {
+                unencodableKeys.add(entry.getKey());
+            } else {
+                addSaveArguments(keys, args, entry.getKey(), payload, entry.getTags(), entry.getTtl());
+            }
+        });
+        if (!keys.isEmpty()) {
+            evalScript(SAVE_ENTRIES_SCRIPT, keys, args);
+        }
+        unencodableKeys.forEach(this::evictByKey);
+    }
+
+    /**
+     * Deletes the Redis keys with the prefix, iterating them with SCAN, so the server is never blocked
+     *
+     * @since 0.3.0
+     */
+    @Override
+    public void clear() {
+        scan(escapeGlob(keyPrefix) + "*", (connection, keys) -> {
+            List<Object> command = new ArrayList<>(keys.size() + 1);
+            command.add("UNLINK");
+            command.addAll(keys);
+            connection.execute(command.toArray());
+        });
+    }
+
+    /**
+     * Iterates the keys matching the pattern, passing each non empty batch to the consumer with the same connection
+     */
+    @SuppressWarnings("unchecked")
+    private void scan(String pattern, BiConsumer<RespConnection, List<Object>> batchConsumer) {
+        connectionPool.withConnection(connection -> {
+            var cursor = "0";
+            do {
+                var reply = (List<Object>) connection.execute("SCAN", cursor, "MATCH", pattern, "COUNT", SCAN_BATCH_SIZE);
+                cursor = new String((byte[]) reply.get(0), StandardCharsets.UTF_8);
+                var keys = (List<Object>) reply.get(1);
+                if (!keys.isEmpty()) {
+                    batchConsumer.accept(connection, keys);
+                }
+            } while (!cursor.equals("0"));
+            return null;
+        });
+    }
+
+    private static RespConnection openConnection(RedisTaggableProperties properties) {
+        var connection = new RespConnection(
+                properties.getHost(), properties.getPort(), properties.getConnectTimeout(), properties.getReadTimeout()
+        );
+        try {
+            if (properties.getPassword() != null) {
+                connection.execute("AUTH", properties.getPassword());
+            }
+            if (properties.getDatabase() != 0) {
+                connection.execute("SELECT", properties.getDatabase());
+            }
+        } catch (RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    private static String escapeGlob(String value) {
+        return value.replaceAll("([*?\\[\\]\\\\])", "\\\\$1");
+    }
+
+    /**
+     * Appends the keys and arguments of an entry, as expected by the save script
+     */
+    private void addSaveArguments(
+            List<String> keys, List<Object> args, String key, byte[] payload, Collection<String> tags, Duration ttl
+    ) {
+        var uniqueTags = new LinkedHashSet<>(tags);
+        keys.add(valueKey(key));
+        keys.add(keyTagsKey(key));
+        args.add(key);
+        args.add(payload);
+        args.add(Math.max(1, ttlOrDefault(ttl, payload).toMillis()));
+        args.add(uniqueTags.size());
+        args.addAll(uniqueTags);
+    }
+
+    private Duration ttlOrDefault(Duration ttl, byte[] payload) {
+        if (ttl != null) {
+            return ttl;
+        }
+        return payload[0] == NULL_VALUE ? negativeTtl : cacheTtl;
+    }
+
+    /**
+     * Errors may be replied when queueing the commands, or as results of the transaction
+     *
+     * @return False if the transaction was aborted, because a watched key changed
+     */
+    @SuppressWarnings("unchecked")
+    private boolean isCommitted(List<Object> replies) {
+        var transactionResults = (List<Object>) (replies.get(replies.size() - 1) instanceof List<?> results
+                ? results
+                : List.of());
+        var failure = Stream.concat(replies.stream(), transactionResults.stream())
+                .filter(RespConnection.ErrorReply.class::isInstance)
+                .map(RespConnection.ErrorReply.class::cast)
+                .findFirst();
+        if (failure.isPresent()) {
+            throw new IllegalStateException("Redis replied with error: " + failure.get().getMessage());
+        }
+        return replies.get(replies.size() - 1) != null;
+    }
+
+    private Object execute(Object... command) {
+        return connectionPool.withConnection(connection -> connection.execute(command));
+    }
+
+    /**
+     * Runs the script by its SHA1, and sends its source only when the server doesn't have it cached yet
+     */
+    private Object evalScript(RedisScript script, List<String> keys, List<?> args) {
+        return connectionPool.withConnection(connection -> {
+            var reply = connection.pipeline(List.of(scriptCommand("EVALSHA", script.sha1, keys, args))).get(0);
+            if (reply instanceof RespConnection.ErrorReply error && error.getMessage().startsWith("NOSCRIPT")) {
+                return connection.execute(scriptCommand("EVAL", script.source, keys, args).toArray());
+            } else if (reply instanceof RespConnection.ErrorReply error) {
+                throw new RespConnection.ErrorReplyException("Redis replied with error: " + error.getMessage());
+            }
+            return reply;
+        });
+    }
+
+    private List<Object> scriptCommand(String command, String script, List<String> keys, List<?> args) {
+        List<Object> scriptCommand = new ArrayList<>(keys.size() + args.size() + 3);
+        scriptCommand.addAll(Arrays.asList(command, script, keys.size()));
+        scriptCommand.addAll(keys);
+        scriptCommand.addAll(args);
+        return scriptCommand;
+    }
+
+    /**
+     * @return The value prefixed by its kind, or null if it can't be encoded
+     */
+    private byte[] encode(String key, Object value) {
+        if (value == null) {
+            return new byte[]{NULL_VALUE};
+        }
+        byte[] encoded;
+        try {
+            encoded = valueCodec.encode(value);
+        } catch (IllegalArgumentException e) {
+            log.warn("Not caching key {}, as its value can't be encoded", key, e);
+            return null;
+        }
+        var payload = new byte[encoded.length + 1];
+        payload[0] = ENCODED_VALUE;
+        System.arraycopy(encoded, 0, payload, 1, encoded.length);
+        return payload;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T decode(byte[] payload) {
+        return payload[0] == NULL_VALUE ? null : (T) valueCodec.decode(Arrays.copyOfRange(payload, 1, payload.length));
+    }
+
+    private String valueKey(String key) {
+        return keyPrefix + "v:" + key;
+    }
+
+    private String keyTagsKey(String key) {
+        return keyPrefix + "k:" + key;
+    }
+
+    private String tagKey(String tag) {
+        return keyPrefix + "t:" + tag;
+    }
+}
@@ -0,0 +1,183 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import lombok.Value;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Connection speaking the Redis serialization protocol (RESP2) <br>
+ * Commands are arrays of bulk strings, the arguments may be {@link String}, encoded as UTF-8, byte arrays, or
+ * numbers <br>
+ * Replies are returned as {@link String} for simple strings, {@link Long} for integers, byte arrays for bulk strings,
+ * {@link List} for arrays, and {@link ErrorReply} for errors, null bulk strings and arrays are returned as null <br>
+ * Not thread safe, I/O errors leave the connection in an unknown state, so it must be closed
+ *
+ * @since 0.3.0
+ */
+class RespConnection implements Closeable {
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final Socket socket;
+    private final InputStream input;
+    private final OutputStream output;
+
+    /**
+     * Error reply, kept as a reply, so the rest of a pipeline can still be read
+     */
+    @Value
+    static class ErrorReply {
+        String message;
+    }
+
+    /**
+     * Thrown for an error reply, only once the whole reply has been read, so the connection can still be used
+     */
+    static class ErrorReplyException extends IllegalStateException {
+        ErrorReplyException(String message) {
+            super(message);
+        }
+    }
+
+    RespConnection(String host, int port, Duration connectTimeout, Duration readTimeout) {
+        try {
+            socket = new Socket();
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(Math.toIntExact(readTimeout.toMillis()));
+            socket.connect(new InetSocketAddress(host, port), Math.toIntExact(connectTimeout.toMillis()));
+            input = new BufferedInputStream(socket.getInputStream());
+            output = new BufferedOutputStream(socket.getOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return The reply of the command
+     * @throws ErrorReplyException If the reply is an error
+     */
+    Object execute(Object... command) {
+        var reply = pipeline(List.of(List.of(command))).get(0);
+        if (reply instanceof ErrorReply error) {
+            throw new ErrorReplyException("Redis replied with error: " + error.getMessage());
+        }
+        return reply;
+    }
+
+    /**
+     * Sends all the commands, and then reads all the replies, so the commands cost a single round trip
+     *
+     * @return The reply of each command, in the same order, including error replies
+     */
+    List<Object> pipeline(List<? extends List<?>> commands) {
+        try {
+            for (var command : commands) {
+                writeCommand(command);
+            }
+            output.flush();
+            List<Object> replies = new ArrayList<>(commands.size());
+            for (int i = 0; i < commands.size(); i++) {
+                replies.add(readReply());
+            }
+            return replies;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeCommand(List<?> command) throws IOException {
+        writeLine('*', command.size());
+        for (var argument : command) {
+            var bytes = argument instanceof byte[] binary
+                    ? binary
+                    : String.valueOf(argument).getBytes(StandardCharsets.UTF_8);
+            writeLine('$', bytes.length);
+            output.write(bytes);
+            output.write(CRLF);
+        }
+    }
+
+    private void writeLine(char type, long value) throws IOException {
+        output.write(type);
+        output.write(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+        output.write(CRLF);
+    }
+
+    private Object readReply() throws IOException {
+        var type = read();
+        var line = readLine();
+        return switch (type) {
+            case '+' -> line;
+            case '-' -> new ErrorReply(line);
+            case ':' -> Long.parseLong(line);
+            case '$' -> readBulkString(Integer.parseInt(line));
+            case '*' -> readArray(Integer.parseInt(line));
+            default -> throw new IOException("Unknown RESP reply type " + (char) type);
+        };
+    }
+
+    private byte[] readBulkString(int length) throws IOException {
+        if (length < 0) {
+            return null;
+        }
+        var bytes = input.readNBytes(length);
+        if (bytes.length < length) {
+            throw new EOFException();
+        }
+        readLine();
+        return bytes;
+    }
+
+    private List<Object> readArray(int size) throws IOException {
+        if (size < 0) {
+            return null;
+        }
+        List<Object> elements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            elements.add(readReply());
+        }
+        return elements;
+    }
+
+    private String readLine() throws IOException {
+        var line = new ByteArrayOutputStream();
+        int current;
+        while ((current = read()) != '\r') {
+            line.write(current);
+        }
+        if (read() != '\n') {
+            throw new IOException("Malformed RESP line");
+        }
+        return line.toString(StandardCharsets.UTF_8);
+    }
+
+    private int read() throws IOException {
+        var current = input.read();
+        if (current == -1) {
+            throw new EOFException();
+        }
+        return current;
+    }
+}
@@ -0,0 +1,101 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import java.io.Closeable;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of {@link RespConnection}, connections are created on demand, and reused while they only fail with
+ * error replies
+ *
+ * @since 0.3.0
+ */
+class RespConnectionPool implements Closeable {
+    private final Supplier<RespConnection> connectionFactory;
+    private final Semaphore permits;
+    private final Duration borrowTimeout;
+    private final BlockingQueue<RespConnection> idleConnections = new LinkedBlockingQueue<>();
+    private volatile boolean closed;
+
+    /**
+     * @param borrowTimeout Max time to wait for a connection when all are in use
+     */
+    RespConnectionPool(Supplier<RespConnection> connectionFactory, int size, Duration borrowTimeout) {
+        this.connectionFactory = connectionFactory;
+        permits = new Semaphore(size);
+        this.borrowTimeout = borrowTimeout;
+    }
+
+    /**
+     * Runs the action with a connection of the pool, the connection is returned to the pool if the action fails with
+     * an {@link RespConnection.ErrorReplyException}, as the reply was fully read, and discarded on any other failure,
+     * as unread bytes of a reply would be read by the next borrower
+     */
+    <T> T withConnection(Function<RespConnection, T> action) {
+        acquirePermit();
+        try {
+            var connection = idleConnections.poll();
+            if (connection == null) {
+                connection = connectionFactory.get();
+            }
+            try {
+                var result = action.apply(connection);
+                release(connection);
+                return result;
+            } catch (RespConnection.ErrorReplyException e) {
+                release(connection);
+                throw e;
+            } catch (RuntimeException | Error e) {
+                closeQuietly(connection, e);
+                throw e;
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Closes the idle connections, connections in use are closed when returned
+     */
+    @Override
+    public void close() {
+        closed = true;
+        RespConnection connection;
+        while ((connection = idleConnections.poll()) != null) {
+            connection.close();
+        }
+    }
+
+    private void acquirePermit() {
+        try {
+            if (!permits.tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Timed out waiting for a Redis connection after " + borrowTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a Redis connection", e);
+        }
+    }
+
+    private void closeQuietly(RespConnection connection, Throwable failure) {
+        try {
+            connection.close();
+        } catch (UncheckedIOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private void release(RespConnection connection) {
+        if (closed) {
+            connection.close();
+        } else {
+            idleConnections.offer(connection);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Append only log of records, stored in memory mapped files of the same size, named segments <br>
+ * Records are appended to the active segment, which is sealed when the next record doesn't fit, records are never
+ * overwritten, so a record can be read without synchronization even after it's released <br>
+ * Each segment tracks its live records with their owner, when the live bytes of a sealed segment fall below the
+ * compaction threshold, it's returned by {@link #release(Record)} to be compacted, by appending its live records
+ * again, and deleting it
+ *
+ * @since 0.3.0
+ */
+@Slf4j
+class SegmentLog {
+    private final Path directory;
+    private final int segmentSize;
+    private final int maximumSegments;
+    private final long compactionBytes;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private Segment activeSegment;
+    private long nextSegmentId;
+    private boolean closed;
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    static class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final Map<Record, String> liveRecords = new HashMap<>();
+        private int position;
+        private long liveBytes;
+        private boolean sealed;
+
+        /**
+         * Set when the segment is compacted or evicted, so it's handed out only once
+         */
+        private boolean reclaiming;
+    }
+
+    /**
+     * Location of a record, records are never overwritten, so it identifies the stored value
+     */
+    @Value
+    static class Record {
+        @Getter(AccessLevel.NONE)
+        Segment segment;
+        int offset;
+        int length;
+    }
+
+    /**
+     * @param compactionThreshold Ratio of live bytes below which a sealed segment is compacted
+     */
+    SegmentLog(Path directory, int segmentSize, int maximumSegments, double compactionThreshold) {
+        if (maximumSegments < 2) {
+            throw new IllegalArgumentException("The log must allow at least two segments, so one can be compacted");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maximumSegments = maximumSegments;
+        compactionBytes = (long) (segmentSize * compactionThreshold);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param owner Key owning the record, returned by {@link #liveRecords(Segment)}
+     * @return The appended record, or null when all the segments are in use, the data is bigger than a segment, or
+     * the log has been deleted
+     */
+    synchronized Record append(byte[] data, String owner) {
+        if (closed || data.length > segmentSize) {
+            return null;
+        }
+        if (activeSegment == null || activeSegment.position + data.length > segmentSize) {
+            if (segments.size() == maximumSegments) {
+                return null;
+            }
+            rollSegment();
+        }
+        var segment = activeSegment;
+        var offset = segment.position;
+        segment.buffer.put(offset, data);
+        segment.position += data.length;
+        segment.liveBytes += data.length;
+        var record = new Record(segment, offset, data.length);
+        segment.liveRecords.put(record, owner);
+        return record;
+    }
+
+    byte[] read(Record record) {
+        var data = new byte[record.length];
+        record.segment.buffer.get(record.offset, data);
+        return data;
+    }
+
+    /**
+     * Releases the record, releasing an already released record does nothing
+     *
+     * @return The segment of the record if it must be compacted now, it will not be returned again
+     */
+    synchronized Segment release(Record record) {
+        var segment = record.segment;
+        if (segment.liveRecords.remove(record) == null) {
+            return null;
+        }
+        segment.liveBytes -= record.length;
+        if (segment.sealed && !segment.reclaiming && segment.liveBytes < compactionBytes) {
+            segment.reclaiming = true;
+            return segment;
+        }
+        return null;
+    }
+
+    /**
+     * @return The oldest sealed segment that is not being compacted, it will not be returned again, or null if none
+     */
+    synchronized Segment reclaimOldestSegment() {
+        for (var segment : segments) {
+            if (segment.sealed && !segment.reclaiming) {
+                segment.reclaiming = true;
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Each live record of the segment with its owner
+     */
+    synchronized Map<Record, String> liveRecords(Segment segment) {
+        return new HashMap<>(segment.liveRecords);
+    }
+
+    /**
+     * Deletes the file of the segment, records still being read remain readable until they are no longer referenced
+     */
+    synchronized void delete(Segment segment) {
+        if (segments.remove(segment)) {
+            closeSegment(segment);
+        }
+    }
+
+    /**
+     * Deletes the files of all the segments, no more records can be appended
+     */
+    synchronized void deleteAll() {
+        closed = true;
+        segments.forEach(this::closeSegment);
+        segments.clear();
+        activeSegment = null;
+    }
+
+    /**
+     * @return Disk space reserved by the segments
+     */
+    synchronized long reservedBytes() {
+        return (long) segments.size() * segmentSize;
+    }
+
+    /**
+     * @return Bytes of the live records
+     */
+    synchronized long liveBytes() {
+        return segments.stream().mapToLong(segment -> segment.liveBytes).sum();
+    }
+
+    private void rollSegment() {
+        if (activeSegment != null) {
+            activeSegment.sealed = true;
+        }
+        var path = directory.resolve("segment-" + nextSegmentId++ + ".log");
+        try {
+            var channel = FileChannel.open(
+                    path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE
+            );
+            activeSegment = new Segment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segments.addLast(activeSegment);
+    }
+
+    private void closeSegment(Segment segment) {
+        try {
+            segment.channel.close();
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            log.warn("Can't delete segment {}", segment.path, e);
+        }
+    }
+}
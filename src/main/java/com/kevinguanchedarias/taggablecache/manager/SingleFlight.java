@@ -0,0 +1,73 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Ensures only one caller runs the loader of a given key at once, concurrent callers of the same key wait for, and
+ * share, the result of the running one <br>
+ * If the loader throws, the same exception is thrown to every waiting caller <br>
+ * If the running loader takes more than the wait timeout, the waiting callers stop waiting and run their own loader
+ *
+ * @since 0.3.0
+ */
+@Slf4j
+public class SingleFlight {
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Duration waitTimeout;
+
+    public SingleFlight(Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * Runs the loader, unless another caller is already running it for the same key, in that case waits for its result
+     *
+     * @since 0.3.0
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, CacheLoader<T> loader) throws Throwable {
+        var ownFuture = new CompletableFuture<>();
+        var runningFuture = inFlight.putIfAbsent(key, ownFuture);
+        if (runningFuture == null) {
+            return runLoader(key, loader, ownFuture);
+        } else {
+            return (T) awaitRunning(key, loader, runningFuture);
+        }
+    }
+
+    private <T> T runLoader(String key, CacheLoader<T> loader, CompletableFuture<Object> ownFuture) throws Throwable {
+        try {
+            var value = loader.load();
+            ownFuture.complete(value);
+            return value;
+        } catch (Throwable e) {
+            ownFuture.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, ownFuture);
+        }
+    }
+
+    private Object awaitRunning(String key, CacheLoader<?> loader, CompletableFuture<Object> runningFuture) throws Throwable {
+        log.debug("Waiting for in flight load of key {}", key);
+        try {
+            return runningFuture.get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            log.warn("In flight load of key {} took more than {}, loading without waiting", key, waitTimeout);
+            return loader.load();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+}
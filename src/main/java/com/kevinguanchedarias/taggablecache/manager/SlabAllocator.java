@@ -0,0 +1,158 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Allocates chunks of direct memory, grouped in size classes of power of two sizes <br>
+ * Memory is reserved in slabs of the same size, each slab is assigned to a single size class when created, and split
+ * in chunks of that class, so allocating and releasing never fragments the memory, at the cost of rounding up the size
+ * <br>
+ * Chunks are identified by a handle, which contains the slab and the offset inside it, the chunks of each class are
+ * tracked in allocation order with their owner, so when the memory budget is exhausted, the owner of the oldest chunk
+ * of the class can be evicted <br>
+ * Allocation is synchronized, while reads and writes use absolute positions, so they don't need synchronization
+ *
+ * @since 0.3.0
+ */
+class SlabAllocator {
+    static final long NO_SPACE = -1;
+    static final int MIN_CHUNK_SIZE = 64;
+
+    private final int slabSize;
+    private final ByteBuffer[] slabs;
+    private final int[] slabSizeClasses;
+    private final Deque<Long>[] freeChunks;
+    private final Map<Long, String>[] liveChunks;
+    private int slabCount;
+    private long usedMemory;
+
+    /**
+     * @param slabSize      Size of each slab, also the max size of a chunk
+     * @param maximumMemory Max memory reserved by all the slabs, must hold at least one slab
+     */
+    @SuppressWarnings("unchecked")
+    SlabAllocator(int slabSize, long maximumMemory) {
+        if (slabSize < MIN_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Slab size must be at least " + MIN_CHUNK_SIZE + " bytes");
+        }
+        var maxSlabs = maximumMemory / slabSize;
+        if (maxSlabs < 1 || maxSlabs > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Maximum memory must hold between one and " + Integer.MAX_VALUE + " slabs");
+        }
+        this.slabSize = slabSize;
+        slabs = new ByteBuffer[(int) maxSlabs];
+        slabSizeClasses = new int[(int) maxSlabs];
+        var sizeClasses = sizeClassOf(slabSize) + 1;
+        freeChunks = new Deque[sizeClasses];
+        liveChunks = new Map[sizeClasses];
+        for (int i = 0; i < sizeClasses; i++) {
+            freeChunks[i] = new ArrayDeque<>();
+            liveChunks[i] = new LinkedHashMap<>();
+        }
+    }
+
+    /**
+     * @param length Size of the data, the chunk may be larger
+     * @param owner  Key owning the chunk, returned by {@link #oldestChunk(int)}
+     * @return The handle of the chunk, or {@link #NO_SPACE} when its size class has no free chunk and there is no memory
+     * for another slab, or when the length is greater than the slab size
+     */
+    synchronized long allocate(int length, String owner) {
+        if (length > slabSize) {
+            return NO_SPACE;
+        }
+        var sizeClass = sizeClassOf(length);
+        var free = freeChunks[sizeClass];
+        if (free.isEmpty() && !addSlab(sizeClass)) {
+            return NO_SPACE;
+        }
+        long handle = free.pop();
+        liveChunks[sizeClass].put(handle, owner);
+        usedMemory += chunkSize(sizeClass);
+        return handle;
+    }
+
+    /**
+     * Releases a chunk returned by {@link #allocate(int, String)}, releasing an already released chunk does nothing
+     */
+    synchronized void release(long handle) {
+        var sizeClass = slabSizeClasses[slabIndex(handle)];
+        if (liveChunks[sizeClass].remove(handle) != null) {
+            freeChunks[sizeClass].push(handle);
+            usedMemory -= chunkSize(sizeClass);
+        }
+    }
+
+    /**
+     * @return The handle and owner of the oldest live chunk in the size class of the length, or null if the class has
+     * none
+     */
+    synchronized Map.Entry<Long, String> oldestChunk(int length) {
+        if (length > slabSize) {
+            return null;
+        }
+        var chunks = liveChunks[sizeClassOf(length)];
+        return chunks.isEmpty() ? null : Map.Entry.copyOf(chunks.entrySet().iterator().next());
+    }
+
+    void write(long handle, byte[] data) {
+        slabs[slabIndex(handle)].put(offset(handle), data);
+    }
+
+    byte[] read(long handle, int length) {
+        var data = new byte[length];
+        slabs[slabIndex(handle)].get(offset(handle), data);
+        return data;
+    }
+
+    /**
+     * @return Memory reserved by the slabs
+     */
+    synchronized long reservedMemory() {
+        return (long) slabCount * slabSize;
+    }
+
+    /**
+     * @return Memory of the live chunks, including the rounding of their size class
+     */
+    synchronized long usedMemory() {
+        return usedMemory;
+    }
+
+    static int sizeClassOf(int length) {
+        if (length <= MIN_CHUNK_SIZE) {
+            return 0;
+        }
+        return 32 - Integer.numberOfLeadingZeros(length - 1) - Integer.numberOfTrailingZeros(MIN_CHUNK_SIZE);
+    }
+
+    private boolean addSlab(int sizeClass) {
+        if (slabCount == slabs.length) {
+            return false;
+        }
+        var slabIndex = slabCount++;
+        slabs[slabIndex] = ByteBuffer.allocateDirect(slabSize);
+        slabSizeClasses[slabIndex] = sizeClass;
+        var chunkSize = chunkSize(sizeClass);
+        for (int offset = slabSize - chunkSize; offset >= 0; offset -= chunkSize) {
+            freeChunks[sizeClass].push(((long) slabIndex << 32) | offset);
+        }
+        return true;
+    }
+
+    private int chunkSize(int sizeClass) {
+        return Math.min(MIN_CHUNK_SIZE << sizeClass, slabSize);
+    }
+
+    private static int slabIndex(long handle) {
+        return (int) (handle >>> 32);
+    }
+
+    private static int offset(long handle) {
+        return (int) handle;
+    }
+}
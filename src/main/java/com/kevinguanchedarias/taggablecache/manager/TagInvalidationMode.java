@@ -0,0 +1,20 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+/**
+ * How the tagged entries are invalidated when a tag is evicted
+ *
+ * @since 0.3.0
+ */
+public enum TagInvalidationMode {
+    /**
+     * The tagged entries are deleted by the evicting thread, so the memory is released immediately
+     */
+    EAGER,
+
+    /**
+     * Each tag has a generation, and entries remember the generations of their tags when saved <br>
+     * Evicting a tag only advances its generation, entries with an older generation are treated as absent, and are
+     * deleted in the background, so evicting tags with a huge amount of keys doesn't stall the caller
+     */
+    GENERATION
+}
@@ -1,7 +1,16 @@
 package com.kevinguanchedarias.taggablecache.manager;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -24,6 +33,18 @@ public interface TaggableCacheManager {
      */
     <T> T findByKey(String key);
 
+    /**
+     * Finds the entry with a single lookup, unlike {@link #keyExists(String)} followed by {@link #findByKey(String)},
+     * an entry evicted between both calls can't be returned as a cached null <br>
+     * The default implementation does both calls, implementations should override it
+     *
+     * @return The cached value, or null if the key is not cached
+     * @since 0.3.0
+     */
+    default <T> CachedValue<T> getIfPresent(String key) {
+        return keyExists(key) ? CachedValue.of(findByKey(key)) : null;
+    }
+
     /**
      * Evict all keys that have the specified tag
      *
@@ -38,6 +59,37 @@ public interface TaggableCacheManager {
      */
     void evictByCacheTag(String tag, Object part);
 
+    /**
+     * Evict all keys that have any of the specified tags, in a single pass <br>
+     * The default implementation evicts the tags one by one, implementations should override it
+     *
+     * @since 0.3.0
+     */
+    default void evictByCacheTags(Collection<String> tags) {
+        tags.forEach(this::evictByCacheTag);
+    }
+
+    /**
+     * Evict all keys that have the specified tag with any of the parts, in a single pass <br>
+     * The default implementation builds the tags as {@link #evictByCacheTag(String, Object)} does, and evicts them with
+     * {@link #evictByCacheTags(Collection)}
+     *
+     * @since 0.3.0
+     */
+    default void evictByCacheTag(String tag, Collection<?> parts) {
+        evictByCacheTags(parts.stream().map(part -> tag + ":" + part).toList());
+    }
+
+    /**
+     * Evict all keys that have any tag starting with the prefix <br>
+     * Example: <i>"user:"</i> evicts the tags of all the users, as built by
+     * {@link com.kevinguanchedarias.taggablecache.helper.TagHelper#plainPart(Object)} <br>
+     * There is no default implementation, as the tags can't be listed through this interface
+     *
+     * @since 0.3.0
+     */
+    void evictByCacheTagPrefix(String prefix);
+
     /**
      * Saves an entry to the cache <br>
      * Implementations may throw {@link IllegalStateException} if tried to insert an already inserted value
@@ -49,6 +101,57 @@ public interface TaggableCacheManager {
      */
     void saveEntry(String key, Object value, Collection<String> tags);
 
+    /**
+     * Saves an entry to the cache, that expires after the specified ttl, instead of the manager default
+     *
+     * @param key   The key
+     * @param value The value of the entry
+     * @param tags  Tags that will remove this cache entry if evicted
+     * @param ttl   Time to live of the entry, null to use the manager default
+     * @since 0.3.0
+     */
+    void saveEntry(String key, Object value, Collection<String> tags, Duration ttl);
+
+    /**
+     * Saves the entry only if the key is still cached with the expected value, so a value computed from an entry that
+     * has been evicted, or saved again, meanwhile can't overwrite the newer entry <br>
+     * The default implementation compares and saves in two calls, implementations should override it
+     *
+     * @param key           The key
+     * @param expectedValue The value the key must still be cached with, compared with {@link Object#equals(Object)}
+     * @param value         The value of the entry
+     * @param tags          Tags that will remove this cache entry if evicted
+     * @param ttl           Time to live of the entry, null to use the manager default
+     * @return True if the entry has been saved
+     * @since 0.3.0
+     */
+    default boolean replaceEntry(
+            String key, Object expectedValue, Object value, Collection<String> tags, Duration ttl
+    ) {
+        var cachedValue = getIfPresent(key);
+        if (cachedValue == null || !Objects.equals(cachedValue.getValue(), expectedValue)) {
+            return false;
+        }
+        saveEntry(key, value, tags, ttl);
+        return true;
+    }
+
+    /**
+     * @return The time to live of the entries saved without one, or null if unknown
+     * @since 0.3.0
+     */
+    default Duration getDefaultTtl() {
+        return null;
+    }
+
+    /**
+     * @return The time to live of the nulls saved without one, or null if unknown
+     * @since 0.3.0
+     */
+    default Duration getDefaultNegativeTtl() {
+        return null;
+    }
+
     /**
      * Evict cache entry by key
      *
@@ -56,8 +159,119 @@ public interface TaggableCacheManager {
      */
     void evictByKey(String key);
 
+    /**
+     * Returns the stored value, or if absent computes it, and then returns it <br>
+     * Concurrent invocations for the same key compute the value only once
+     *
+     * @since 0.2.0
+     */
     <T> T computeIfAbsent(String key, List<String> tags, Supplier<T> computeSupplier);
 
+    /**
+     * Returns the stored value, or if absent loads it and saves it with the tags supplied by <i>tagsSupplier</i> <br>
+     * Concurrent invocations for the same key run the loader only once, the other invocations wait for its result,
+     * or its exception
+     *
+     * @param key          The key
+     * @param tagsSupplier Supplies the tags, only invoked if the value has to be saved
+     * @param ttl          Time to live of the entry, null to use the manager default
+     * @param loader       Computes the value when absent
+     * @throws Throwable Whatever the loader throws
+     * @since 0.3.0
+     */
+    <T> T computeIfAbsent(
+            String key, Supplier<? extends Collection<String>> tagsSupplier, Duration ttl, CacheLoader<T> loader
+    ) throws Throwable;
+
+    /**
+     * Same as {@link #computeIfAbsent(String, Supplier, Duration, CacheLoader)}, but a loaded null is saved with its
+     * own time to live
+     *
+     * @param negativeTtl Time to live of a loaded null, null to use the manager default, or zero to not cache it
+     * @throws Throwable Whatever the loader throws
+     * @since 0.3.0
+     */
+    <T> T computeIfAbsent(
+            String key,
+            Supplier<? extends Collection<String>> tagsSupplier,
+            Duration ttl,
+            Duration negativeTtl,
+            CacheLoader<T> loader
+    ) throws Throwable;
+
+    /**
+     * Finds many entries at once <br>
+     * The default implementation looks up the keys one by one, implementations may override it to amortize the lookups
+     *
+     * @return The cached values by key, absent keys are not included, while cached nulls are included as null
+     * @since 0.3.0
+     */
+    default <T> Map<String, T> getAll(Collection<String> keys) {
+        Map<String, T> values = new LinkedHashMap<>();
+        keys.forEach(key -> {
+            CachedValue<T> cachedValue = getIfPresent(key);
+            if (cachedValue != null) {
+                values.put(key, cachedValue.getValue());
+            }
+        });
+        return values;
+    }
+
+    /**
+     * Saves many entries at once, if a key is repeated, only the last entry is saved <br>
+     * The default implementation saves the entries one by one, implementations should override it to amortize the
+     * locking
+     *
+     * @since 0.3.0
+     */
+    default void saveAll(Collection<TaggedCacheEntry> entries) {
+        entries.forEach(entry -> saveEntry(entry.getKey(), entry.getValue(), entry.getTags(), entry.getTtl()));
+    }
+
+    /**
+     * Returns the stored values, and loads all the absent ones with a single invocation of the loader <br>
+     * Unlike {@link #computeIfAbsent(String, Supplier, Duration, CacheLoader)}, concurrent invocations are not
+     * coordinated, so overlapping keys may be loaded more than once <br>
+     * The default implementation loads the keys missing in {@link #getAll(Collection)}, and saves them using
+     * {@link #saveAll(Collection)}
+     *
+     * @param keys          The keys
+     * @param tagsFunction  Computes the tags of each loaded key
+     * @param ttl           Time to live of the loaded entries, null to use the manager default
+     * @param loader        Loads the absent keys
+     * @return The values by key, keys that are neither stored nor loaded are not included
+     * @throws Throwable Whatever the loader throws
+     * @since 0.3.0
+     */
+    default <T> Map<String, T> computeAllIfAbsent(
+            Collection<String> keys,
+            Function<String, ? extends Collection<String>> tagsFunction,
+            Duration ttl,
+            BulkCacheLoader<T> loader
+    ) throws Throwable {
+        Map<String, T> values = new LinkedHashMap<>(getAll(keys));
+        Set<String> missingKeys = new LinkedHashSet<>(keys);
+        missingKeys.removeAll(values.keySet());
+        if (missingKeys.isEmpty()) {
+            return values;
+        }
+        var loadedValues = loader.loadAll(Collections.unmodifiableSet(missingKeys));
+        List<TaggedCacheEntry> loadedEntries = new ArrayList<>(loadedValues.size());
+        loadedValues.forEach((key, value) -> {
+            if (missingKeys.contains(key)) {
+                loadedEntries.add(TaggedCacheEntry.builder()
+                        .key(key)
+                        .value(value)
+                        .tags(tagsFunction.apply(key))
+                        .ttl(ttl)
+                        .build());
+                values.put(key, value);
+            }
+        });
+        saveAll(loadedEntries);
+        return values;
+    }
+
     /**
      * Deletes all the cache
      *
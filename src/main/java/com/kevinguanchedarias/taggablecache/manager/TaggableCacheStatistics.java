@@ -0,0 +1,41 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+/**
+ * Statistics exposed by the managers that keep the entries locally
+ *
+ * @since 0.3.0
+ */
+public interface TaggableCacheStatistics {
+
+    /**
+     * @return The amount of entries that left the cache by the cause, since the manager was created
+     * @since 0.3.0
+     */
+    long getEvictionCount(EvictionCause cause);
+
+    /**
+     * @return The amount of stored entries, including the expired ones not yet swept
+     * @since 0.3.0
+     */
+    long getSize();
+
+    /**
+     * @return The amount of tags with at least one entry
+     * @since 0.3.0
+     */
+    long getTagCount();
+
+    /**
+     * @return The amount of entries of the biggest tag, computed by iterating all the tags
+     * @since 0.3.0
+     */
+    long getLargestTagSize();
+
+    /**
+     * @return Total length in characters of the stored keys, each key counted once, as all the indexes of an in heap
+     * manager reference the same String, the references and object headers are not included, computed by iterating
+     * all the keys
+     * @since 0.3.0
+     */
+    long getKeyFootprint();
+}
@@ -0,0 +1,25 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Entry to save with {@link TaggableCacheManager#saveAll(Collection)}
+ *
+ * @since 0.3.0
+ */
+@Builder(toBuilder = true)
+@Value
+public class TaggedCacheEntry {
+    String key;
+    Object value;
+    Collection<String> tags;
+
+    /**
+     * Null to use the manager default
+     */
+    Duration ttl;
+}
@@ -0,0 +1,319 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import com.kevinguanchedarias.taggablecache.configuration.properties.TwoLevelTaggableProperties;
+import com.kevinguanchedarias.taggablecache.internal.model.TwoLevelValueModel;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Implementation for {@link TaggableCacheManager} that chains two managers, usually a local one in front of a shared
+ * one <br>
+ * Reads go to the first level, and on miss to the second level, copying the found entry to the first level, saves go
+ * to both levels, and evictions go to the second level first, and then to the first one <br>
+ * The second level stores the value together with its tags and deadline, so the copies in the first level keep the
+ * same tags, and never outlive the entry of the second level <br>
+ * A copy to the first level that races with an eviction is undone, so it can't bring back an evicted value <br>
+ * Entries saved without a ttl are saved with the default ttl of the second level, and nulls with its negative ttl, so
+ * a first level with a longer default ttl can't keep them after the second level expired them
+ *
+ * @since 0.3.0
+ */
+@AllArgsConstructor(access = AccessLevel.PACKAGE)
+public class TwoLevelTaggableCacheManager extends AbstractTaggableCacheManager {
+    private final TaggableCacheManager l1;
+    private final TaggableCacheManager l2;
+
+    /**
+     * Null to use the first level manager default
+     */
+    private final Duration l1Ttl;
+
+    private final LongSupplier clock;
+
+    @Getter(AccessLevel.PROTECTED)
+    private final SingleFlight singleFlight;
+
+    /**
+     * Advanced by each eviction, between the eviction of the second level and the first one
+     */
+    private final AtomicLong evictionSequence = new AtomicLong();
+
+    /**
+     * @param l1 Manager of the first level, with its own sizing and TTL
+     * @param l2 Manager of the second level, its entries should be only saved through this manager
+     * @since 0.3.0
+     */
+    public TwoLevelTaggableCacheManager(
+            TaggableCacheManager l1,
+            TaggableCacheManager l2,
+            TwoLevelTaggableProperties twoLevelTaggableProperties
+    ) {
+        this(
+                l1,
+                l2,
+                twoLevelTaggableProperties.getL1Ttl(),
+                System::currentTimeMillis,
+                new SingleFlight(twoLevelTaggableProperties.getLoadWaitTimeout())
+        );
+    }
+
+    @Override
+    public boolean keyExists(String key) {
+        return l1.keyExists(key) || l2.keyExists(key);
+    }
+
+    @Override
+    public Object findByKey(String key) {
+        var cachedValue = getIfPresent(key);
+        return cachedValue == null ? null : cachedValue.getValue();
+    }
+
+    /**
+     * Values found in the second level without tags, because they were not saved by this manager, are returned but
+     * not copied to the first level
+     *
+     * @since 0.3.0
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CachedValue<T> getIfPresent(String key) {
+        CachedValue<T> l1Value = l1.getIfPresent(key);
+        if (l1Value != null) {
+            return l1Value;
+        }
+        var sequence = evictionSequence.get();
+        CachedValue<Object> l2Value = l2.getIfPresent(key);
+        if (l2Value == null) {
+            return null;
+        } else if (l2Value.getValue() instanceof TwoLevelValueModel twoLevelValue) {
+            var ttl = l1TtlUntil(twoLevelValue.getExpiresAt());
+            if (isPositive(ttl)) {
+                l1.saveEntry(key, twoLevelValue.getValue(), twoLevelValue.getTags(), ttl);
+                undoIfEvicted(List.of(key), sequence);
+            }
+            return CachedValue.of((T) twoLevelValue.getValue());
+        } else {
+            return (CachedValue<T>) l2Value;
+        }
+    }
+
+    @Override
+    public void evictByCacheTag(String tag) {
+        evictByCacheTags(List.of(tag));
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    @Override
+    public void evictByCacheTags(Collection<String> tags) {
+        l2.evictByCacheTags(tags);
+        evictionSequence.incrementAndGet();
+        l1.evictByCacheTags(tags);
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    @Override
+    public void evictByCacheTagPrefix(String prefix) {
+        l2.evictByCacheTagPrefix(prefix);
+        evictionSequence.incrementAndGet();
+        l1.evictByCacheTagPrefix(prefix);
+    }
+
+    @Override
+    public void saveEntry(String key, Object value, Collection<String> tags, Duration ttl) {
+        var sequence = evictionSequence.get();
+        var keyTags = Set.copyOf(tags);
+        var entryTtl = ttlFor(value, ttl);
+        l2.saveEntry(key, toL2Value(value, keyTags, entryTtl), keyTags, entryTtl);
+        l1.saveEntry(key, value, keyTags, l1TtlFor(entryTtl));
+        undoIfEvicted(List.of(key), sequence);
+    }
+
+    /**
+     * Compares the value with the entry of the second level, which is replaced by its own
+     * {@link TaggableCacheManager#replaceEntry(String, Object, Object, Collection, Duration)}, and then saves it to the
+     * first level, as {@link #saveEntry(String, Object, Collection, Duration)}
+     *
+     * @since 0.3.0
+     */
+    @Override
+    public boolean replaceEntry(String key, Object expectedValue, Object value, Collection<String> tags, Duration ttl) {
+        var sequence = evictionSequence.get();
+        CachedValue<Object> l2Value = l2.getIfPresent(key);
+        if (l2Value == null
+                || !(l2Value.getValue() instanceof TwoLevelValueModel twoLevelValue)
+                || !Objects.equals(twoLevelValue.getValue(), expectedValue)) {
+            return false;
+        }
+        var keyTags = Set.copyOf(tags);
+        var entryTtl = ttlFor(value, ttl);
+        if (!l2.replaceEntry(key, twoLevelValue, toL2Value(value, keyTags, entryTtl), keyTags, entryTtl)) {
+            return false;
+        }
+        l1.saveEntry(key, value, keyTags, l1TtlFor(entryTtl));
+        undoIfEvicted(List.of(key), sequence);
+        return true;
+    }
+
+    /**
+     * The entries of the first level never outlive the ones of the second level
+     *
+     * @since 0.3.0
+     */
+    @Override
+    public Duration getDefaultTtl() {
+        return l2.getDefaultTtl();
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    @Override
+    public Duration getDefaultNegativeTtl() {
+        return l2.getDefaultNegativeTtl();
+    }
+
+    @Override
+    public void evictByKey(String key) {
+        l2.evictByKey(key);
+        evictionSequence.incrementAndGet();
+        l1.evictByKey(key);
+    }
+
+    /**
+     * Looks up the first level, then the second level with the missing keys, and copies the found entries to the
+     * first level with a single {@link TaggableCacheManager#saveAll(Collection)}
+     *
+     * @since 0.3.0
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Map<String, T> getAll(Collection<String> keys) {
+        Map<String, T> foundValues = new HashMap<>(l1.getAll(keys));
+        Set<String> missingKeys = new LinkedHashSet<>(keys);
+        missingKeys.removeAll(foundValues.keySet());
+        if (!missingKeys.isEmpty()) {
+            var sequence = evictionSequence.get();
+            List<TaggedCacheEntry> l1Entries = new ArrayList<>();
+            l2.getAll(missingKeys).forEach((key, l2Value) -> {
+                if (l2Value instanceof TwoLevelValueModel twoLevelValue) {
+                    foundValues.put(key, (T) twoLevelValue.getValue());
+                    var ttl = l1TtlUntil(twoLevelValue.getExpiresAt());
+                    if (isPositive(ttl)) {
+                        l1Entries.add(TaggedCacheEntry.builder()
+                                .key(key)
+                                .value(twoLevelValue.getValue())
+                                .tags(twoLevelValue.getTags())
+                                .ttl(ttl)
+                                .build());
+                    }
+                } else {
+                    foundValues.put(key, (T) l2Value);
+                }
+            });
+            l1.saveAll(l1Entries);
+            undoIfEvicted(l1Entries.stream().map(TaggedCacheEntry::getKey).toList(), sequence);
+        }
+        Map<String, T> values = new LinkedHashMap<>();
+        keys.stream().filter(foundValues::containsKey).forEach(key -> values.put(key, foundValues.get(key)));
+        return values;
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    @Override
+    public void saveAll(Collection<TaggedCacheEntry> entries) {
+        var sequence = evictionSequence.get();
+        List<TaggedCacheEntry> l2Entries = new ArrayList<>(entries.size());
+        List<TaggedCacheEntry> l1Entries = new ArrayList<>(entries.size());
+        entries.forEach(entry -> {
+            var keyTags = Set.copyOf(entry.getTags());
+            var entryTtl = ttlFor(entry.getValue(), entry.getTtl());
+            l2Entries.add(entry.toBuilder()
+                    .value(toL2Value(entry.getValue(), keyTags, entryTtl))
+                    .tags(keyTags)
+                    .ttl(entryTtl)
+                    .build());
+            l1Entries.add(entry.toBuilder().tags(keyTags).ttl(l1TtlFor(entryTtl)).build());
+        });
+        l2.saveAll(l2Entries);
+        l1.saveAll(l1Entries);
+        undoIfEvicted(l1Entries.stream().map(TaggedCacheEntry::getKey).toList(), sequence);
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        evictionSequence.incrementAndGet();
+        l1.clear();
+    }
+
+    /**
+     * The second level can't tell a wrapped null apart, so nulls without a ttl carry its negative ttl explicitly, and
+     * the other entries its default ttl, null only when the second level doesn't expose them
+     */
+    private Duration ttlFor(Object value, Duration ttl) {
+        if (ttl != null) {
+            return ttl;
+        }
+        var negativeTtl = value == null ? l2.getDefaultNegativeTtl() : null;
+        return negativeTtl == null ? l2.getDefaultTtl() : negativeTtl;
+    }
+
+    private TwoLevelValueModel toL2Value(Object value, Set<String> tags, Duration ttl) {
+        return TwoLevelValueModel.builder()
+                .value(value)
+                .tags(tags)
+                .expiresAt(ttl == null ? 0 : clock.getAsLong() + ttl.toMillis())
+                .build();
+    }
+
+    /**
+     * @return The shortest of the first level TTL and the specified one, null means the first level default
+     */
+    private Duration l1TtlFor(Duration ttl) {
+        if (ttl == null) {
+            return l1Ttl;
+        } else {
+            return l1Ttl == null || ttl.compareTo(l1Ttl) < 0 ? ttl : l1Ttl;
+        }
+    }
+
+    /**
+     * Entries stored without a deadline can't outlive the second level default ttl either
+     */
+    private Duration l1TtlUntil(long expiresAt) {
+        return l1TtlFor(expiresAt == 0 ? l2.getDefaultTtl() : Duration.ofMillis(expiresAt - clock.getAsLong()));
+    }
+
+    private boolean isPositive(Duration ttl) {
+        return ttl == null || !(ttl.isNegative() || ttl.isZero());
+    }
+
+    /**
+     * An eviction that started after reading the sequence may have missed the keys just saved in the first level
+     */
+    private void undoIfEvicted(Collection<String> keys, long sequence) {
+        if (evictionSequence.get() != sequence) {
+            keys.forEach(l1::evictByKey);
+        }
+    }
+}
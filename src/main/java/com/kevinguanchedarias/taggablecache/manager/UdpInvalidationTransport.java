@@ -0,0 +1,239 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import com.kevinguanchedarias.taggablecache.configuration.properties.ClusteredTaggableProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link InvalidationTransport} sending each message as UDP datagrams to a static list of peers <br>
+ * Messages bigger than the max datagram size are split, a tag or key that doesn't fit in a datagram by itself is sent
+ * as a clear, so the peers never keep it stale <br>
+ * Received datagrams are dispatched to the listeners by a dedicated daemon thread, only when sent from one of the
+ * peers, and fully understood, as any of them can clear the cache
+ *
+ * @since 0.3.0
+ */
+@Slf4j
+public class UdpInvalidationTransport implements InvalidationTransport {
+    /**
+     * Datagrams of other versions are ignored, version 2 added the tag prefix items
+     */
+    private static final byte VERSION = 2;
+    private static final byte TAG = 1;
+    private static final byte KEY = 2;
+    private static final byte TAG_PREFIX = 3;
+
+    private final DatagramSocket socket;
+    private final List<InetSocketAddress> peers;
+    private final Set<SocketAddress> peerAddresses;
+    private final int maxDatagramSize;
+    private final List<Consumer<InvalidationMessage>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @since 0.3.0
+     */
+    public UdpInvalidationTransport(ClusteredTaggableProperties clusteredTaggableProperties) {
+        this(
+                new InetSocketAddress(clusteredTaggableProperties.getBindAddress(), clusteredTaggableProperties.getPort()),
+                clusteredTaggableProperties.getPeers().stream().map(UdpInvalidationTransport::parsePeer).toList(),
+                clusteredTaggableProperties.getMaxDatagramSize()
+        );
+    }
+
+    UdpInvalidationTransport(InetSocketAddress bindAddress, List<InetSocketAddress> peers, int maxDatagramSize) {
+        try {
+            socket = new DatagramSocket(bindAddress);
+        } catch (SocketException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.peers = List.copyOf(peers);
+        peerAddresses = Set.copyOf(peers);
+        this.maxDatagramSize = maxDatagramSize;
+        var receiver = new Thread(this::receive, "taggable-cache-invalidation-receiver");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    /**
+     * @return The bound port, useful when binding to the port 0
+     * @since 0.3.0
+     */
+    public int getLocalPort() {
+        return socket.getLocalPort();
+    }
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        try {
+            for (var datagram : encode(message, maxDatagramSize)) {
+                for (var peer : peers) {
+                    socket.send(new DatagramPacket(datagram, datagram.length, peer));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<InvalidationMessage> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        socket.close();
+    }
+
+    /**
+     * Each datagram holds the version, the sender and the clear flag, followed by as many tags, keys and tag prefixes
+     * as fit
+     */
+    static List<byte[]> encode(InvalidationMessage message, int maxDatagramSize) {
+        var header = header(message.getNodeId(), message.isClear());
+        if (message.isClear()) {
+            return List.of(header);
+        }
+        List<byte[]> datagrams = new ArrayList<>();
+        var current = new ByteArrayOutputStream(maxDatagramSize);
+        current.writeBytes(header);
+        List<byte[]> items = new ArrayList<>();
+        message.getTags().forEach(tag -> items.add(item(TAG, tag)));
+        message.getKeys().forEach(key -> items.add(item(KEY, key)));
+        message.getTagPrefixes().forEach(prefix -> items.add(item(TAG_PREFIX, prefix)));
+        for (var item : items) {
+            if (item == null || header.length + item.length > maxDatagramSize) {
+                log.warn("Broadcasting a clear, as a tag or key doesn't fit in a datagram of {} bytes", maxDatagramSize);
+                return List.of(header(message.getNodeId(), true));
+            } else if (current.size() + item.length > maxDatagramSize) {
+                datagrams.add(current.toByteArray());
+                current.reset();
+                current.writeBytes(header);
+            }
+            current.writeBytes(item);
+        }
+        if (current.size() > header.length) {
+            datagrams.add(current.toByteArray());
+        }
+        return datagrams;
+    }
+
+    /**
+     * @return The message, or null if it was encoded by an unknown version
+     * @throws IOException If the datagram is truncated, or has an unknown item type
+     */
+    static InvalidationMessage decode(byte[] data, int length) throws IOException {
+        var input = new DataInputStream(new ByteArrayInputStream(data, 0, length));
+        if (input.readByte() != VERSION) {
+            return null;
+        }
+        var nodeId = input.readUTF();
+        var clear = input.readBoolean();
+        Set<String> tags = new LinkedHashSet<>();
+        Set<String> keys = new LinkedHashSet<>();
+        Set<String> tagPrefixes = new LinkedHashSet<>();
+        while (input.available() > 0) {
+            var type = input.readByte();
+            switch (type) {
+                case TAG -> tags.add(input.readUTF());
+                case TAG_PREFIX -> tagPrefixes.add(input.readUTF());
+                case KEY -> keys.add(input.readUTF());
+                default -> throw new IOException("Unknown invalidation item type " + type);
+            }
+        }
+        return InvalidationMessage.builder()
+                .nodeId(nodeId)
+                .clear(clear)
+                .tags(tags)
+                .keys(keys)
+                .tagPrefixes(tagPrefixes)
+                .build();
+    }
+
+    private static InetSocketAddress parsePeer(String peer) {
+        var separator = peer.lastIndexOf(':');
+        if (separator == -1) {
+            throw new IllegalArgumentException("Peer " + peer + " must be specified as host:port");
+        }
+        return new InetSocketAddress(peer.substring(0, separator), Integer.parseInt(peer.substring(separator + 1)));
+    }
+
+    private static byte[] header(String nodeId, boolean clear) {
+        var output = new ByteArrayOutputStream();
+        try (var dataOutput = new DataOutputStream(output)) {
+            dataOutput.writeByte(VERSION);
+            dataOutput.writeUTF(nodeId);
+            dataOutput.writeBoolean(clear);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * @return The encoded item, or null if it's too long to be encoded
+     */
+    private static byte[] item(byte type, String value) {
+        var output = new ByteArrayOutputStream();
+        try (var dataOutput = new DataOutputStream(output)) {
+            dataOutput.writeByte(type);
+            dataOutput.writeUTF(value);
+        } catch (IOException e) {
+            return null;
+        }
+        return output.toByteArray();
+    }
+
+    private void receive() {
+        var buffer = new byte[65_535];
+        while (!socket.isClosed()) {
+            var packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                if (peerAddresses.contains(packet.getSocketAddress())) {
+                    dispatch(packet);
+                } else {
+                    log.debug("Ignoring datagram from {}, as it's not a peer", packet.getSocketAddress());
+                }
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    log.warn("Can't receive invalidation datagram", e);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to apply invalidation from {}", packet.getSocketAddress(), e);
+            }
+        }
+    }
+
+    private void dispatch(DatagramPacket packet) {
+        InvalidationMessage message;
+        try {
+            message = decode(packet.getData(), packet.getLength());
+        } catch (IOException e) {
+            log.warn("Ignoring malformed datagram from {}", packet.getSocketAddress(), e);
+            return;
+        }
+        if (message == null) {
+            log.debug("Ignoring datagram of unknown version from {}", packet.getSocketAddress());
+        } else {
+            listeners.forEach(listener -> listener.accept(message));
+        }
+    }
+}
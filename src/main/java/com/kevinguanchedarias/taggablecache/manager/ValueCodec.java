@@ -0,0 +1,22 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+/**
+ * Converts the cached values to bytes and back, used by the managers that don't keep the values as java objects
+ *
+ * @since 0.3.0
+ */
+public interface ValueCodec {
+    /**
+     * @param value Never null, as null values are stored by the managers without encoding
+     * @return The bytes of the value
+     * @throws IllegalArgumentException If the value can't be encoded, then the value is not cached
+     * @since 0.3.0
+     */
+    byte[] encode(Object value);
+
+    /**
+     * @param bytes Bytes previously returned by {@link #encode(Object)}
+     * @since 0.3.0
+     */
+    Object decode(byte[] bytes);
+}
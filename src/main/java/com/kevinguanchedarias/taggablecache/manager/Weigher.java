@@ -0,0 +1,22 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+/**
+ * Computes the weight of a cache entry, used to bound the cache by <i>maximumWeight</i> instead of by entries
+ *
+ * @since 0.3.0
+ */
+@FunctionalInterface
+public interface Weigher {
+    /**
+     * Weigher that gives the same weight to all entries, bounding by weight is the same as bounding by size
+     *
+     * @since 0.3.0
+     */
+    Weigher SINGLETON = (key, value) -> 1;
+
+    /**
+     * @return The weight of the entry, must not be negative
+     * @since 0.3.0
+     */
+    long weigh(String key, Object value);
+}
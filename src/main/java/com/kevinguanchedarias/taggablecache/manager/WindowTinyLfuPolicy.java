@@ -0,0 +1,331 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import com.kevinguanchedarias.taggablecache.internal.model.CacheEntryModel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * W-TinyLFU eviction policy <br>
+ * New entries land in a small LRU window, entries leaving the window compete against the LRU victim of the main space,
+ * and only the one with the highest estimated frequency stays, so one-hit scans can't flush the popular entries <br>
+ * The main space is a segmented LRU, entries accessed while in probation are promoted to the protected segment <br>
+ * Events are buffered, and applied under a lock by whoever manages to acquire it, so recording never blocks, reads
+ * are lossy, as losing some accesses only makes frequencies a bit less accurate <br>
+ * The frequency sketch is sized by the resident entries, not by the bound, which may be a weight such as bytes
+ *
+ * @since 0.3.0
+ */
+class WindowTinyLfuPolicy implements EvictionPolicy {
+    private static final int READ_BUFFER_SIZE = 128;
+    private static final int READ_DRAIN_THRESHOLD = 32;
+    private static final double WINDOW_PERCENTAGE = 0.01;
+    private static final double PROTECTED_PERCENTAGE = 0.8;
+
+    private enum Segment {
+        WINDOW, PROBATION, PROTECTED
+    }
+
+    private static class Node {
+        private CacheEntryModel entry;
+        private long weight;
+        private Segment segment;
+        private Node previous;
+        private Node next;
+    }
+
+    private static class NodeList {
+        private Node head;
+        private Node tail;
+
+        private void addLast(Node node) {
+            node.previous = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+        }
+
+        private void remove(Node node) {
+            if (node.previous == null) {
+                head = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+        }
+
+        private void moveToLast(Node node) {
+            if (tail != node) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        private void clear() {
+            head = null;
+            tail = null;
+        }
+    }
+
+    private final long maximum;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final Weigher weigher;
+    private final FrequencySketch sketch;
+    private final Map<String, Node> nodes = new HashMap<>();
+    private final NodeList window = new NodeList();
+    private final NodeList probation = new NodeList();
+    private final NodeList protectedList = new NodeList();
+    private final Queue<CacheEntryModel> readBuffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger readBufferSize = new AtomicInteger();
+    private final Queue<Runnable> writeBuffer = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long weightedSize;
+    private long windowWeightedSize;
+    private long protectedWeightedSize;
+
+    /**
+     * @param maximum Max weight the cache can hold
+     * @param weigher Weigher of the entries, use {@link Weigher#SINGLETON} to bound by entries
+     */
+    WindowTinyLfuPolicy(long maximum, Weigher weigher) {
+        this.maximum = maximum;
+        this.weigher = weigher;
+        windowMaximum = Math.max(1, (long) (maximum * WINDOW_PERCENTAGE));
+        protectedMaximum = (long) ((maximum - windowMaximum) * PROTECTED_PERCENTAGE);
+        sketch = new FrequencySketch(weigher == Weigher.SINGLETON ? maximum : 0);
+    }
+
+    @Override
+    public void recordAccess(CacheEntryModel entry) {
+        if (readBufferSize.get() < READ_BUFFER_SIZE) {
+            readBufferSize.incrementAndGet();
+            readBuffer.offer(entry);
+        }
+        if (readBufferSize.get() >= READ_DRAIN_THRESHOLD && lock.tryLock()) {
+            try {
+                drainReads();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void recordWrite(CacheEntryModel entry) {
+        var weight = weigher.weigh(entry.getKey(), entry.getValue());
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weigher returned negative weight for key " + entry.getKey());
+        }
+        writeBuffer.offer(() -> onWrite(entry, weight));
+    }
+
+    @Override
+    public void recordRemoval(CacheEntryModel entry) {
+        writeBuffer.offer(() -> onRemoval(entry));
+    }
+
+    /**
+     * Applies the buffered events if no other thread is doing it, retries while new writes arrive after releasing the
+     * lock, so they are never left unprocessed
+     */
+    @Override
+    public List<CacheEntryModel> drain() {
+        List<CacheEntryModel> victims = new ArrayList<>();
+        do {
+            if (!lock.tryLock()) {
+                return victims;
+            }
+            try {
+                drainReads();
+                drainWrites();
+                evict(victims);
+            } finally {
+                lock.unlock();
+            }
+        } while (!writeBuffer.isEmpty());
+        return victims;
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            readBuffer.clear();
+            readBufferSize.set(0);
+            writeBuffer.clear();
+            nodes.clear();
+            window.clear();
+            probation.clear();
+            protectedList.clear();
+            sketch.clear();
+            weightedSize = 0;
+            windowWeightedSize = 0;
+            protectedWeightedSize = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return Current weight of the tracked entries, applied events only
+     */
+    long weightedSize() {
+        lock.lock();
+        try {
+            return weightedSize;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void drainReads() {
+        CacheEntryModel entry;
+        while ((entry = readBuffer.poll()) != null) {
+            readBufferSize.decrementAndGet();
+            onAccess(entry);
+        }
+    }
+
+    private void drainWrites() {
+        Runnable task;
+        while ((task = writeBuffer.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private void onAccess(CacheEntryModel entry) {
+        sketch.increment(entry.getKey());
+        var node = nodes.get(entry.getKey());
+        if (node != null && node.entry == entry) {
+            reorder(node);
+        }
+    }
+
+    private void onWrite(CacheEntryModel entry, long weight) {
+        sketch.increment(entry.getKey());
+        var node = nodes.get(entry.getKey());
+        if (node == null) {
+            node = new Node();
+            node.entry = entry;
+            node.weight = weight;
+            node.segment = Segment.WINDOW;
+            nodes.put(entry.getKey(), node);
+            sketch.ensureCapacity(nodes.size());
+            window.addLast(node);
+            weightedSize += weight;
+            windowWeightedSize += weight;
+        } else {
+            var weightDiff = weight - node.weight;
+            node.entry = entry;
+            node.weight = weight;
+            weightedSize += weightDiff;
+            if (node.segment == Segment.WINDOW) {
+                windowWeightedSize += weightDiff;
+            } else if (node.segment == Segment.PROTECTED) {
+                protectedWeightedSize += weightDiff;
+            }
+            reorder(node);
+        }
+    }
+
+    private void onRemoval(CacheEntryModel entry) {
+        var node = nodes.get(entry.getKey());
+        if (node != null && node.entry == entry) {
+            unlink(node);
+        }
+    }
+
+    private void reorder(Node node) {
+        switch (node.segment) {
+            case WINDOW -> window.moveToLast(node);
+            case PROBATION -> {
+                probation.remove(node);
+                node.segment = Segment.PROTECTED;
+                protectedList.addLast(node);
+                protectedWeightedSize += node.weight;
+                demoteProtectedOverflow();
+            }
+            case PROTECTED -> protectedList.moveToLast(node);
+        }
+    }
+
+    private void demoteProtectedOverflow() {
+        while (protectedWeightedSize > protectedMaximum && protectedList.head != null) {
+            var demoted = protectedList.head;
+            protectedList.remove(demoted);
+            protectedWeightedSize -= demoted.weight;
+            demoted.segment = Segment.PROBATION;
+            probation.addLast(demoted);
+        }
+    }
+
+    /**
+     * Entries leaving the window enter the probation tail as candidates, then while the cache is over its bound, the
+     * candidate and the probation head fight, and the least frequent one is evicted
+     */
+    private void evict(List<CacheEntryModel> victims) {
+        while (windowWeightedSize > windowMaximum && window.head != null) {
+            var candidate = window.head;
+            window.remove(candidate);
+            windowWeightedSize -= candidate.weight;
+            candidate.segment = Segment.PROBATION;
+            probation.addLast(candidate);
+        }
+        while (weightedSize > maximum) {
+            var victim = firstNonNull(probation.head, protectedList.head, window.head);
+            if (victim == null) {
+                break;
+            }
+            var candidate = probation.tail;
+            var evicted = victim;
+            if (candidate != null && candidate != victim
+                    && sketch.frequency(candidate.entry.getKey()) <= sketch.frequency(victim.entry.getKey())) {
+                evicted = candidate;
+            }
+            unlink(evicted);
+            victims.add(evicted.entry);
+        }
+    }
+
+    private void unlink(Node node) {
+        nodes.remove(node.entry.getKey());
+        weightedSize -= node.weight;
+        switch (node.segment) {
+            case WINDOW -> {
+                window.remove(node);
+                windowWeightedSize -= node.weight;
+            }
+            case PROBATION -> probation.remove(node);
+            case PROTECTED -> {
+                protectedList.remove(node);
+                protectedWeightedSize -= node.weight;
+            }
+        }
+    }
+
+    private Node firstNonNull(Node... candidates) {
+        for (var candidate : candidates) {
+            if (candidate != null) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,118 @@
+package com.kevinguanchedarias.taggablecache.metrics;
+
+import com.kevinguanchedarias.taggablecache.manager.EvictionCause;
+import com.kevinguanchedarias.taggablecache.manager.TaggableCacheManager;
+import com.kevinguanchedarias.taggablecache.manager.TaggableCacheStatistics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exposes the cache metrics to Micrometer, the counters are {@link LongAdder} read by function meters on each scrape,
+ * so recording never contends <br>
+ * Registers <i>taggable.cache.gets</i> by operation and result, and the <i>taggable.cache.loads</i> timer by
+ * operation, and when the manager implements {@link TaggableCacheStatistics}, <i>taggable.cache.evictions</i> by
+ * cause, and the <i>taggable.cache.size</i>, <i>taggable.cache.tags</i>, <i>taggable.cache.tags.largest</i> and
+ * <i>taggable.cache.keys.footprint</i> gauges
+ *
+ * @since 0.3.0
+ */
+@RequiredArgsConstructor
+public class MicrometerTaggableCacheMetrics implements TaggableCacheMetricsRecorder, MeterBinder {
+    private static final String OPERATION_TAG = "operation";
+
+    private final TaggableCacheManager taggableCacheManager;
+    private final Map<String, LongAdderOperationMetrics> operations = new ConcurrentHashMap<>();
+    private final List<MeterRegistry> registries = new CopyOnWriteArrayList<>();
+
+    @RequiredArgsConstructor
+    private static class LongAdderOperationMetrics implements OperationMetrics {
+        private final String operation;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder loads = new LongAdder();
+        private final LongAdder loadNanos = new LongAdder();
+
+        @Override
+        public void recordHit() {
+            hits.increment();
+        }
+
+        @Override
+        public void recordMiss() {
+            misses.increment();
+        }
+
+        @Override
+        public void recordLoad(long nanos) {
+            loads.increment();
+            loadNanos.add(nanos);
+        }
+
+        private void bindTo(MeterRegistry registry) {
+            FunctionCounter.builder("taggable.cache.gets", hits, LongAdder::sum)
+                    .tag(OPERATION_TAG, operation)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("taggable.cache.gets", misses, LongAdder::sum)
+                    .tag(OPERATION_TAG, operation)
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionTimer.builder(
+                            "taggable.cache.loads",
+                            this,
+                            metrics -> metrics.loads.sum(),
+                            metrics -> metrics.loadNanos.sum(),
+                            TimeUnit.NANOSECONDS
+                    )
+                    .tag(OPERATION_TAG, operation)
+                    .description("Time taken by the annotated methods on a miss")
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public OperationMetrics forOperation(String operation) {
+        return operations.computeIfAbsent(operation, newOperation -> {
+            var metrics = new LongAdderOperationMetrics(newOperation);
+            registries.forEach(metrics::bindTo);
+            return metrics;
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        registries.add(registry);
+        operations.values().forEach(metrics -> metrics.bindTo(registry));
+        if (taggableCacheManager instanceof TaggableCacheStatistics statistics) {
+            for (var cause : EvictionCause.values()) {
+                FunctionCounter.builder("taggable.cache.evictions", statistics, stats -> stats.getEvictionCount(cause))
+                        .tag("cause", cause.name().toLowerCase(Locale.ROOT))
+                        .register(registry);
+            }
+            Gauge.builder("taggable.cache.size", statistics, TaggableCacheStatistics::getSize)
+                    .description("Amount of stored entries")
+                    .register(registry);
+            Gauge.builder("taggable.cache.tags", statistics, TaggableCacheStatistics::getTagCount)
+                    .description("Amount of tags with entries")
+                    .register(registry);
+            Gauge.builder("taggable.cache.tags.largest", statistics, TaggableCacheStatistics::getLargestTagSize)
+                    .description("Amount of entries of the biggest tag")
+                    .register(registry);
+            Gauge.builder("taggable.cache.keys.footprint", statistics, TaggableCacheStatistics::getKeyFootprint)
+                    .description("Total length in characters of the stored keys, each key counted once")
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.kevinguanchedarias.taggablecache.metrics;
+
+/**
+ * Records the outcome of the {@link com.kevinguanchedarias.taggablecache.aspect.TaggableCacheable} invocations <br>
+ * The metrics of each operation are resolved once, so recording doesn't need any lookup
+ *
+ * @since 0.3.0
+ */
+public interface TaggableCacheMetricsRecorder {
+    TaggableCacheMetricsRecorder NOOP = operation -> OperationMetrics.NOOP;
+
+    /**
+     * @param operation Name of the annotated method, as <i>SimpleClassName.methodName</i>
+     * @return The metrics of the operation, invoked once per method
+     * @since 0.3.0
+     */
+    OperationMetrics forOperation(String operation);
+
+    /**
+     * Metrics of a single operation, invoked concurrently, so must not contend
+     *
+     * @since 0.3.0
+     */
+    interface OperationMetrics {
+        OperationMetrics NOOP = new OperationMetrics() {
+            @Override
+            public void recordHit() {
+                // Not recording
+            }
+
+            @Override
+            public void recordMiss() {
+                // Not recording
+            }
+
+            @Override
+            public void recordLoad(long nanos) {
+                // Not recording
+            }
+        };
+
+        void recordHit();
+
+        void recordMiss();
+
+        /**
+         * Invoked once the method invoked on a miss completes, successfully or not
+         *
+         * @since 0.3.0
+         */
+        void recordLoad(long nanos);
+    }
+}
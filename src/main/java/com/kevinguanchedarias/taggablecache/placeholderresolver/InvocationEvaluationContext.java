@@ -0,0 +1,116 @@
+package com.kevinguanchedarias.taggablecache.placeholderresolver;
+
+import org.springframework.expression.BeanResolver;
+import org.springframework.expression.ConstructorResolver;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.OperatorOverloader;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypeComparator;
+import org.springframework.expression.TypeConverter;
+import org.springframework.expression.TypeLocator;
+import org.springframework.expression.TypedValue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluation context of a single method invocation <br>
+ * Resolvers and accessors come from a shared context, so their reflection caches survive between invocations, and the
+ * variables are looked up directly in the invocation arguments, so building it is a single allocation
+ *
+ * @since 0.3.0
+ */
+class InvocationEvaluationContext implements EvaluationContext {
+    private final EvaluationContext sharedContext;
+    private final Object className;
+    private final String methodName;
+    private final String[] parameterNames;
+    private final Object[] args;
+    private Map<String, Object> assignedVariables;
+
+    InvocationEvaluationContext(
+            EvaluationContext sharedContext, Object className, String methodName, String[] parameterNames, Object[] args
+    ) {
+        this.sharedContext = sharedContext;
+        this.className = className;
+        this.methodName = methodName;
+        this.parameterNames = parameterNames;
+        this.args = args;
+    }
+
+    @Override
+    public TypedValue getRootObject() {
+        return TypedValue.NULL;
+    }
+
+    @Override
+    public List<PropertyAccessor> getPropertyAccessors() {
+        return sharedContext.getPropertyAccessors();
+    }
+
+    @Override
+    public List<ConstructorResolver> getConstructorResolvers() {
+        return sharedContext.getConstructorResolvers();
+    }
+
+    @Override
+    public List<MethodResolver> getMethodResolvers() {
+        return sharedContext.getMethodResolvers();
+    }
+
+    @Override
+    public BeanResolver getBeanResolver() {
+        return sharedContext.getBeanResolver();
+    }
+
+    @Override
+    public TypeLocator getTypeLocator() {
+        return sharedContext.getTypeLocator();
+    }
+
+    @Override
+    public TypeConverter getTypeConverter() {
+        return sharedContext.getTypeConverter();
+    }
+
+    @Override
+    public TypeComparator getTypeComparator() {
+        return sharedContext.getTypeComparator();
+    }
+
+    @Override
+    public OperatorOverloader getOperatorOverloader() {
+        return sharedContext.getOperatorOverloader();
+    }
+
+    /**
+     * Only used by expressions that assign variables, so the map is created on demand
+     */
+    @Override
+    public void setVariable(String name, Object value) {
+        if (assignedVariables == null) {
+            assignedVariables = new HashMap<>();
+        }
+        assignedVariables.put(name, value);
+    }
+
+    @Override
+    public Object lookupVariable(String name) {
+        if (assignedVariables != null && assignedVariables.containsKey(name)) {
+            return assignedVariables.get(name);
+        }
+        for (int i = 0; i < parameterNames.length; i++) {
+            if (parameterNames[i].equals(name)) {
+                return args[i];
+            }
+        }
+        if ("className".equals(name)) {
+            return className;
+        } else if ("methodName".equals(name)) {
+            return methodName;
+        }
+        return null;
+    }
+}
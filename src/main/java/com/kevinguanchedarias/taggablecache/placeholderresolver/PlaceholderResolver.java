@@ -3,6 +3,7 @@ package com.kevinguanchedarias.taggablecache.placeholderresolver;
 import com.kevinguanchedarias.taggablecache.internal.model.ParsedKeyAndTagsModel;
 import org.aspectj.lang.JoinPoint;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -18,4 +19,22 @@ public interface PlaceholderResolver {
      * @since 0.1.0
      */
     ParsedKeyAndTagsModel resolveExpressions(JoinPoint joinPoint, String key, List<String> tags);
+
+    /**
+     * Resolves only the key, so the tags are not resolved when the cached value is found
+     *
+     * @since 0.3.0
+     */
+    default String resolveKey(JoinPoint joinPoint, String key) {
+        return resolveExpressions(joinPoint, key, List.of()).getKey();
+    }
+
+    /**
+     * Resolves only the tags
+     *
+     * @since 0.3.0
+     */
+    default Collection<String> resolveTags(JoinPoint joinPoint, List<String> tags) {
+        return resolveExpressions(joinPoint, "", tags).getTags();
+    }
 }
@@ -0,0 +1,86 @@
+package com.kevinguanchedarias.taggablecache.placeholderresolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Expression split once in literals and variables <br>
+ * Example: "Some:#foo.bar:end" has the literals "Some:" and ":end", and the variable foo.bar
+ *
+ * @since 0.3.0
+ */
+class PlaceholderTemplate {
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("#[a-z0-9.]+", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Has one literal more than variables, as every variable is surrounded by literals, which may be empty
+     */
+    private final String[] literals;
+    private final String[] variableNames;
+    private final String[][] variablePaths;
+    private final int literalsLength;
+
+    private PlaceholderTemplate(List<String> literals, List<String> variableNames) {
+        this.literals = literals.toArray(String[]::new);
+        this.variableNames = variableNames.toArray(String[]::new);
+        variablePaths = variableNames.stream().map(variableName -> variableName.split("\\.")).toArray(String[][]::new);
+        literalsLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    static PlaceholderTemplate compile(String expression) {
+        List<String> literals = new ArrayList<>();
+        List<String> variableNames = new ArrayList<>();
+        var matcher = VARIABLE_PATTERN.matcher(expression);
+        var literalStart = 0;
+        while (matcher.find()) {
+            literals.add(expression.substring(literalStart, matcher.start()));
+            variableNames.add(expression.substring(matcher.start() + 1, matcher.end()));
+            literalStart = matcher.end();
+        }
+        literals.add(expression.substring(literalStart));
+        return new PlaceholderTemplate(literals, variableNames);
+    }
+
+    String resolve(InvocationVariables variables, PropertyGetters propertyGetters) {
+        if (variableNames.length == 0) {
+            return literals[0];
+        }
+        var result = new StringBuilder(literalsLength + variableNames.length * 16);
+        for (int i = 0; i < variableNames.length; i++) {
+            result.append(literals[i]).append(resolveVariable(i, variables, propertyGetters));
+        }
+        return result.append(literals[variableNames.length]).toString();
+    }
+
+    private Object resolveVariable(int index, InvocationVariables variables, PropertyGetters propertyGetters) {
+        var path = variablePaths[index];
+        var current = variables.lookup(path[0], variableNames[index]);
+        for (int i = 1; i < path.length; i++) {
+            current = propertyGetters.getProperty(current, path[i], variableNames[index]);
+        }
+        return current;
+    }
+
+    /**
+     * Variables of a single method invocation
+     */
+    record InvocationVariables(String className, String methodName, String[] parameterNames, Object[] args) {
+        /**
+         * @throws IllegalArgumentException When the name is not an argument, nor a built-in variable
+         */
+        Object lookup(String name, String path) {
+            for (int i = 0; i < parameterNames.length; i++) {
+                if (parameterNames[i].equals(name)) {
+                    return args[i];
+                }
+            }
+            if ("className".equals(name)) {
+                return className;
+            } else if ("methodName".equals(name)) {
+                return methodName;
+            }
+            throw new IllegalArgumentException("unable to transverse path " + path + ", unknown variable " + name);
+        }
+    }
+}
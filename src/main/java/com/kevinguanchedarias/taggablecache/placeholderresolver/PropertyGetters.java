@@ -0,0 +1,84 @@
+package com.kevinguanchedarias.taggablecache.placeholderresolver;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JavaBeans getters of each type, bound once as {@link MethodHandle}s <br>
+ * Maps are accessed by key, like commons-beanutils used to do
+ *
+ * @since 0.3.0
+ */
+class PropertyGetters {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final ClassValue<Map<String, MethodHandle>> gettersByType = new ClassValue<>() {
+        @Override
+        protected Map<String, MethodHandle> computeValue(Class<?> type) {
+            return findGetters(type);
+        }
+    };
+
+    /**
+     * @param path Full path of the property, only used for error messages
+     * @throws IllegalArgumentException When the bean is null, or doesn't have the property
+     */
+    Object getProperty(Object bean, String property, String path) {
+        if (bean == null) {
+            throw new IllegalArgumentException("unable to transverse path " + path + ", null found before " + property);
+        }
+        if (bean instanceof Map<?, ?> map) {
+            return map.get(property);
+        }
+        var getter = gettersByType.get(bean.getClass()).get(property);
+        if (getter == null) {
+            throw new IllegalArgumentException("unable to transverse path " + path + ", no getter for " + property);
+        }
+        try {
+            return getter.invokeExact(bean);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("unable to transverse path " + path, e);
+        }
+    }
+
+    private static Map<String, MethodHandle> findGetters(Class<?> type) {
+        try {
+            Map<String, MethodHandle> getters = new HashMap<>();
+            for (var propertyDescriptor : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+                var readMethod = propertyDescriptor.getReadMethod();
+                if (readMethod != null) {
+                    getters.put(propertyDescriptor.getName(), unreflect(readMethod).asType(GETTER_TYPE));
+                }
+            }
+            return Map.copyOf(getters);
+        } catch (IntrospectionException e) {
+            throw new IllegalArgumentException("unable to introspect " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Public getters of non-public types, are only accessible after making them accessible
+     */
+    private static MethodHandle unreflect(Method readMethod) {
+        try {
+            return MethodHandles.publicLookup().unreflect(readMethod);
+        } catch (IllegalAccessException e) {
+            if (readMethod.trySetAccessible()) {
+                try {
+                    return MethodHandles.lookup().unreflect(readMethod);
+                } catch (IllegalAccessException accessibleException) {
+                    e.addSuppressed(accessibleException);
+                }
+            }
+            throw new IllegalArgumentException("unable to access " + readMethod, e);
+        }
+    }
+}
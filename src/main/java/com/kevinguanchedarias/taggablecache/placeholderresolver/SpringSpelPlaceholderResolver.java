@@ -1,55 +1,130 @@
 package com.kevinguanchedarias.taggablecache.placeholderresolver;
 
 import com.kevinguanchedarias.taggablecache.internal.model.ParsedKeyAndTagsModel;
-import lombok.AllArgsConstructor;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.util.ClassUtils;
 
+import java.lang.reflect.Method;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.IntStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Resolves placeholders for key and tags using Spring Spel
+ * Resolves placeholders for key and tags using Spring Spel <br>
+ * Expressions are parsed once per method, and evaluated against a lightweight context that shares the resolvers
+ * between invocations
  *
  * @since 0.1.0
  */
-@AllArgsConstructor
 public class SpringSpelPlaceholderResolver implements PlaceholderResolver {
 
     private final SpelExpressionParser spelExpressionParser;
+    private final EvaluationContext sharedEvaluationContext;
+
+    /**
+     * Compiled expressions are specialized for the types they have seen, so expressions can't be shared between
+     * methods, even if the text is the same
+     */
+    private final Map<Method, Map<String, Expression>> expressionsByMethod = new ConcurrentHashMap<>();
+
+    public SpringSpelPlaceholderResolver(SpelExpressionParser spelExpressionParser) {
+        this.spelExpressionParser = spelExpressionParser;
+        sharedEvaluationContext = buildSharedEvaluationContext();
+    }
+
+    /**
+     * Creates a resolver that compiles the expressions to bytecode <br>
+     * Use {@link SpelCompilerMode#MIXED} if the arguments of a method may have different runtime types, as
+     * {@link SpelCompilerMode#IMMEDIATE} fails when a compiled expression receives an unexpected type
+     *
+     * @since 0.3.0
+     */
+    public static SpringSpelPlaceholderResolver withCompilerMode(SpelCompilerMode compilerMode) {
+        return new SpringSpelPlaceholderResolver(new SpelExpressionParser(
+                new SpelParserConfiguration(compilerMode, ClassUtils.getDefaultClassLoader())
+        ));
+    }
 
     @Override
     public ParsedKeyAndTagsModel resolveExpressions(JoinPoint joinPoint, String key, List<String> tags) {
-        var evaluationContext = buildEvaluationContext(joinPoint);
+        var methodSignature = (MethodSignature) joinPoint.getSignature();
+        var methodExpressions = findMethodExpressions(methodSignature);
+        var evaluationContext = buildEvaluationContext(joinPoint, methodSignature);
         return ParsedKeyAndTagsModel.builder()
-                .key(resolveExpressionOrPlainText(key, evaluationContext))
+                .key(resolveExpressionOrPlainText(key, methodExpressions, evaluationContext))
                 .tags(tags.stream()
-                        .map(tag -> resolveExpressionOrPlainText(tag, evaluationContext)).toList()
+                        .map(tag -> resolveExpressionOrPlainText(tag, methodExpressions, evaluationContext)).toList()
                 )
                 .build();
     }
 
-    private String resolveExpressionOrPlainText(String tag, EvaluationContext evaluationContext) {
+    @Override
+    public String resolveKey(JoinPoint joinPoint, String key) {
+        if (!key.contains("#")) {
+            return key;
+        }
+        var methodSignature = (MethodSignature) joinPoint.getSignature();
+        return resolveExpressionOrPlainText(
+                key, findMethodExpressions(methodSignature), buildEvaluationContext(joinPoint, methodSignature)
+        );
+    }
+
+    @Override
+    public Collection<String> resolveTags(JoinPoint joinPoint, List<String> tags) {
+        var methodSignature = (MethodSignature) joinPoint.getSignature();
+        var methodExpressions = findMethodExpressions(methodSignature);
+        var evaluationContext = buildEvaluationContext(joinPoint, methodSignature);
+        return tags.stream()
+                .map(tag -> resolveExpressionOrPlainText(tag, methodExpressions, evaluationContext))
+                .toList();
+    }
+
+    private String resolveExpressionOrPlainText(
+            String tag, Map<String, Expression> methodExpressions, EvaluationContext evaluationContext
+    ) {
         if (tag.contains("#")) {
-            return spelExpressionParser.parseExpression(tag).getValue(evaluationContext, String.class);
+            return methodExpressions.computeIfAbsent(tag, spelExpressionParser::parseExpression)
+                    .getValue(evaluationContext, String.class);
         } else {
             return tag;
         }
     }
 
-    private EvaluationContext buildEvaluationContext(JoinPoint joinPoint) {
-        MethodSignature methodSignature = (MethodSignature) joinPoint.getSignature();
-        EvaluationContext evaluationContext = new StandardEvaluationContext();
-        evaluationContext.setVariable("className", methodSignature.getDeclaringType());
-        evaluationContext.setVariable("methodName", methodSignature.getName());
-        String[] parameterNames = methodSignature.getParameterNames();
-        IntStream.range(0, parameterNames.length).forEach(i -> {
-            final String parameterName = parameterNames[i];
-            evaluationContext.setVariable(parameterName, joinPoint.getArgs()[i]);
-        });
+    private Map<String, Expression> findMethodExpressions(MethodSignature methodSignature) {
+        var method = methodSignature.getMethod();
+        return method == null
+                ? new ConcurrentHashMap<>()
+                : expressionsByMethod.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+    }
+
+    private EvaluationContext buildEvaluationContext(JoinPoint joinPoint, MethodSignature methodSignature) {
+        return new InvocationEvaluationContext(
+                sharedEvaluationContext,
+                methodSignature.getDeclaringType(),
+                methodSignature.getName(),
+                methodSignature.getParameterNames(),
+                joinPoint.getArgs()
+        );
+    }
+
+    /**
+     * The standard context creates its resolvers lazily, they are created here, so the context is never modified
+     * while shared between threads
+     */
+    private EvaluationContext buildSharedEvaluationContext() {
+        var evaluationContext = new StandardEvaluationContext();
+        evaluationContext.getPropertyAccessors();
+        evaluationContext.getConstructorResolvers();
+        evaluationContext.getMethodResolvers();
+        evaluationContext.getTypeLocator();
         return evaluationContext;
     }
 }
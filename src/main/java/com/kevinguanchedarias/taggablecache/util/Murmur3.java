@@ -0,0 +1,91 @@
+package com.kevinguanchedarias.taggablecache.util;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * The 128-bit x64 variant of MurmurHash3, with seed zero <br>
+ * Not cryptographic, but fast and well distributed, so suitable to compact long keys whose collisions are verified
+ *
+ * @since 0.3.0
+ */
+@UtilityClass
+public class Murmur3 {
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    /**
+     * @return The 16 bytes of the hash, the two halves in little endian, as the reference implementation outputs them
+     * @since 0.3.0
+     */
+    public static byte[] hash128(byte[] data) {
+        long h1 = 0;
+        long h2 = 0;
+        var blocks = data.length / 16;
+        for (int i = 0; i < blocks; i++) {
+            var k1 = getLong(data, i * 16);
+            var k2 = getLong(data, i * 16 + 8);
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+        long k1 = 0;
+        long k2 = 0;
+        var tail = blocks * 16;
+        for (int i = data.length - tail - 1; i >= 8; i--) {
+            k2 ^= (data[tail + i] & 0xffL) << ((i - 8) * 8);
+        }
+        for (int i = Math.min(data.length - tail, 8) - 1; i >= 0; i--) {
+            k1 ^= (data[tail + i] & 0xffL) << (i * 8);
+        }
+        h1 ^= mixK1(k1);
+        h2 ^= mixK2(k2);
+        h1 ^= data.length;
+        h2 ^= data.length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+        var hash = new byte[16];
+        putLong(hash, 0, h1);
+        putLong(hash, 8, h2);
+        return hash;
+    }
+
+    private static long mixK1(long k1) {
+        return Long.rotateLeft(k1 * C1, 31) * C2;
+    }
+
+    private static long mixK2(long k2) {
+        return Long.rotateLeft(k2 * C2, 33) * C1;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    private static long getLong(byte[] data, int offset) {
+        long value = 0;
+        for (int i = 7; i >= 0; i--) {
+            value = (value << 8) | (data[offset + i] & 0xffL);
+        }
+        return value;
+    }
+
+    private static void putLong(byte[] target, int offset, long value) {
+        for (int i = 0; i < 8; i++) {
+            target[offset + i] = (byte) (value >>> (i * 8));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.kevinguanchedarias.taggablecache.util;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks, selected by the hash of the guarded object <br>
+ * Operations on objects that land in different stripes can run in parallel, while operations on the same object are
+ * always serialized
+ *
+ * @since 0.3.0
+ */
+public class StripedLock {
+    private final Lock[] stripes;
+    private final int mask;
+
+    /**
+     * @param stripes Desired amount of stripes, will be rounded up to the next power of two
+     * @since 0.3.0
+     */
+    public StripedLock(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripes must be greater than zero");
+        }
+        var size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * @return The lock that guards the specified object
+     * @since 0.3.0
+     */
+    public Lock get(Object guarded) {
+        return stripes[indexFor(guarded)];
+    }
+
+    /**
+     * Acquires all the stripes, always in the same order, so it can't deadlock with other <i>lockAll</i> invocations
+     *
+     * @since 0.3.0
+     */
+    public void lockAll() {
+        for (var stripe : stripes) {
+            stripe.lock();
+        }
+    }
+
+    /**
+     * Releases all the stripes acquired by {@link #lockAll()}
+     *
+     * @since 0.3.0
+     */
+    public void unlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+
+    /**
+     * @since 0.3.0
+     */
+    public int size() {
+        return stripes.length;
+    }
+
+    private int indexFor(Object guarded) {
+        var hash = guarded.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
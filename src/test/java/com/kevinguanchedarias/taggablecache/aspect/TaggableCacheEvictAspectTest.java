@@ -11,6 +11,8 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.List;
+
 import static com.kevinguanchedarias.taggablecache.test.AnnotatedFakeClassWithDefaultPlaceholder.FAKE_PLAIN_KEY;
 import static com.kevinguanchedarias.taggablecache.test.AnnotatedFakeClassWithDefaultPlaceholder.FAKE_PLAIN_TAG;
 import static com.kevinguanchedarias.taggablecache.test.AnnotatedFakeClassWithDefaultPlaceholder.KNOWN_RETURN_VALUE;
@@ -58,13 +60,13 @@ class TaggableCacheEvictAspectTest {
     @Test
     void evictByTag_should_work_with_plain() {
         assertThat(annotatedFakeClassWithDefaultPlaceholder.byPlainTag()).isEqualTo(KNOWN_RETURN_VALUE);
-        verify(taggableCacheManager, times(1)).evictByCacheTag(FAKE_PLAIN_TAG);
+        verify(taggableCacheManager, times(1)).evictByCacheTags(List.of(FAKE_PLAIN_TAG));
     }
 
     @Test
     void evictByTag_should_work_with_placeholder() {
         int tagValue = 18;
         assertThat(annotatedFakeClassWithDefaultPlaceholder.byTag(tagValue)).isEqualTo(KNOWN_RETURN_VALUE);
-        verify(taggableCacheManager, times(1)).evictByCacheTag("tag:18");
+        verify(taggableCacheManager, times(1)).evictByCacheTags(List.of("tag:18"));
     }
 }
@@ -0,0 +1,144 @@
+package com.kevinguanchedarias.taggablecache.aspect;
+
+import com.kevinguanchedarias.taggablecache.manager.CachedValue;
+import com.kevinguanchedarias.taggablecache.manager.TaggableCacheManager;
+import com.kevinguanchedarias.taggablecache.placeholderresolver.SpringSpelPlaceholderResolver;
+import com.kevinguanchedarias.taggablecache.test.AnnotatedFakeAsyncClass;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static com.kevinguanchedarias.taggablecache.test.AnnotatedFakeAsyncClass.FAKE_ASYNC_TAG;
+import static com.kevinguanchedarias.taggablecache.test.AnnotatedFakeAsyncClass.KNOWN_ASYNC_VALUE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        classes = {
+                TaggableCacheableAspect.class,
+                AnnotatedFakeAsyncClass.class,
+                SpelExpressionParser.class,
+                SpringSpelPlaceholderResolver.class
+        }
+)
+@MockBean(TaggableCacheManager.class)
+@EnableAspectJAutoProxy
+class TaggableCacheableAspectAsyncTest {
+    private final AnnotatedFakeAsyncClass annotatedFakeAsyncClass;
+    private final TaggableCacheManager taggableCacheManager;
+
+    @Autowired
+    TaggableCacheableAspectAsyncTest(AnnotatedFakeAsyncClass annotatedFakeAsyncClass, TaggableCacheManager taggableCacheManager) {
+        this.annotatedFakeAsyncClass = annotatedFakeAsyncClass;
+        this.taggableCacheManager = taggableCacheManager;
+    }
+
+    @BeforeEach
+    void setup() {
+        annotatedFakeAsyncClass.getInvocations().set(0);
+        annotatedFakeAsyncClass.setPendingFuture(new CompletableFuture<>());
+    }
+
+    @Test
+    void future_should_share_in_flight_load_and_cache_completed_value() throws Exception {
+        var first = annotatedFakeAsyncClass.future(1);
+        var second = annotatedFakeAsyncClass.future(1);
+
+        assertThat(first).isNotDone();
+        verify(taggableCacheManager, never()).saveEntry(any(), any(), any(), any());
+        annotatedFakeAsyncClass.getPendingFuture().complete(KNOWN_ASYNC_VALUE);
+
+        assertThat(first.get()).isEqualTo(KNOWN_ASYNC_VALUE);
+        assertThat(second.get()).isEqualTo(KNOWN_ASYNC_VALUE);
+        assertThat(annotatedFakeAsyncClass.getInvocations()).hasValue(1);
+        verify(taggableCacheManager, times(1)).saveEntry("future:1", KNOWN_ASYNC_VALUE, List.of(FAKE_ASYNC_TAG), null);
+    }
+
+    @Test
+    void future_should_not_cache_failures_and_load_again() {
+        var failure = new IllegalStateException("remote failure");
+        var failed = annotatedFakeAsyncClass.future(2);
+        annotatedFakeAsyncClass.getPendingFuture().completeExceptionally(failure);
+
+        assertThatThrownBy(failed::get).isInstanceOf(ExecutionException.class).hasCause(failure);
+        annotatedFakeAsyncClass.setPendingFuture(CompletableFuture.completedFuture(KNOWN_ASYNC_VALUE));
+        assertThat(annotatedFakeAsyncClass.future(2)).isCompletedWithValue(KNOWN_ASYNC_VALUE);
+        assertThat(annotatedFakeAsyncClass.getInvocations()).hasValue(2);
+        verify(taggableCacheManager, times(1)).saveEntry(any(), any(), any(), any());
+    }
+
+    @Test
+    void future_should_not_let_a_caller_cancel_the_shared_load() {
+        var cancelled = annotatedFakeAsyncClass.future(3);
+        var other = annotatedFakeAsyncClass.future(3);
+
+        cancelled.cancel(true);
+        annotatedFakeAsyncClass.getPendingFuture().complete(KNOWN_ASYNC_VALUE);
+
+        assertThat(other).isCompletedWithValue(KNOWN_ASYNC_VALUE);
+    }
+
+    @Test
+    void future_should_return_completed_future_on_hit() {
+        given(taggableCacheManager.getIfPresent("future:4")).willReturn(CachedValue.of(KNOWN_ASYNC_VALUE));
+
+        assertThat(annotatedFakeAsyncClass.future(4)).isCompletedWithValue(KNOWN_ASYNC_VALUE);
+        assertThat(annotatedFakeAsyncClass.getInvocations()).hasValue(0);
+    }
+
+    @Test
+    void mono_should_cache_value_and_empty_as_null() {
+        assertThat(annotatedFakeAsyncClass.mono(1).block()).isEqualTo(KNOWN_ASYNC_VALUE);
+        assertThat(annotatedFakeAsyncClass.mono(0).block()).isNull();
+
+        verify(taggableCacheManager, times(1)).saveEntry("mono:1", KNOWN_ASYNC_VALUE, List.of(FAKE_ASYNC_TAG), null);
+        verify(taggableCacheManager, times(1)).saveEntry("mono:0", null, List.of(FAKE_ASYNC_TAG), null);
+    }
+
+    @Test
+    void mono_should_not_execute_source_again_on_every_subscription() {
+        var mono = annotatedFakeAsyncClass.mono(1);
+
+        mono.block();
+        mono.block();
+
+        assertThat(annotatedFakeAsyncClass.getInvocations()).hasValue(1);
+    }
+
+    @Test
+    void mono_should_return_cached_value_on_hit() {
+        given(taggableCacheManager.getIfPresent("mono:5")).willReturn(CachedValue.of(KNOWN_ASYNC_VALUE));
+
+        assertThat(annotatedFakeAsyncClass.mono(5).block()).isEqualTo(KNOWN_ASYNC_VALUE);
+        assertThat(annotatedFakeAsyncClass.getInvocations()).hasValue(0);
+    }
+
+    @Test
+    void flux_should_cache_elements_as_list_and_emit_them_on_hit() {
+        var expected = List.of(KNOWN_ASYNC_VALUE, KNOWN_ASYNC_VALUE + 1);
+        assertThat(annotatedFakeAsyncClass.flux(1).collectList().block()).isEqualTo(expected);
+        verify(taggableCacheManager, times(1)).saveEntry("flux:1", expected, List.of(FAKE_ASYNC_TAG), null);
+
+        given(taggableCacheManager.getIfPresent("flux:1")).willReturn(CachedValue.of(expected));
+
+        assertThat(annotatedFakeAsyncClass.flux(1).collectList().block()).isEqualTo(expected);
+        assertThat(annotatedFakeAsyncClass.getInvocations()).hasValue(1);
+    }
+}
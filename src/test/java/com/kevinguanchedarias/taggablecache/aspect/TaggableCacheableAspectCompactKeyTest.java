@@ -0,0 +1,143 @@
+package com.kevinguanchedarias.taggablecache.aspect;
+
+import com.kevinguanchedarias.taggablecache.configuration.properties.ConcurrentHashMapTaggableProperties;
+import com.kevinguanchedarias.taggablecache.manager.ConcurrentHashMapTaggableCacheManager;
+import com.kevinguanchedarias.taggablecache.manager.TagInvalidationMode;
+import com.kevinguanchedarias.taggablecache.manager.TaggableCacheManager;
+import com.kevinguanchedarias.taggablecache.placeholderresolver.SpringSpelPlaceholderResolver;
+import com.kevinguanchedarias.taggablecache.test.AnnotatedFakeCompactKeyClass;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.kevinguanchedarias.taggablecache.test.AnnotatedFakeCompactKeyClass.COMPACT_TAG;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        classes = {
+                TaggableCacheableAspect.class,
+                AnnotatedFakeCompactKeyClass.class,
+                SpelExpressionParser.class,
+                SpringSpelPlaceholderResolver.class,
+                TaggableCacheableAspectCompactKeyTest.ManagerConfiguration.class
+        }
+)
+@EnableAspectJAutoProxy
+class TaggableCacheableAspectCompactKeyTest {
+    private static final Duration NEGATIVE_TTL = Duration.ofMillis(200);
+    private static final String FILTER = "a filter long enough to make the default key longer than its hash";
+    private static final String FULL_KEY =
+            "class com.kevinguanchedarias.taggablecache.test.AnnotatedFakeCompactKeyClass_findUser_1_" + FILTER;
+
+    private final AnnotatedFakeCompactKeyClass annotatedFakeCompactKeyClass;
+    private final ConcurrentHashMapTaggableCacheManager taggableCacheManager;
+
+    @Configuration
+    static class ManagerConfiguration {
+        @Bean
+        TaggableCacheManager taggableCacheManager() {
+            return new ConcurrentHashMapTaggableCacheManager(new ConcurrentHashMapTaggableProperties(
+                    1L, TimeUnit.HOURS, 16, Duration.ofSeconds(1), 100, Duration.ofSeconds(5), 0L, 0L,
+                    TagInvalidationMode.EAGER, NEGATIVE_TTL
+            ));
+        }
+    }
+
+    @Autowired
+    TaggableCacheableAspectCompactKeyTest(
+            AnnotatedFakeCompactKeyClass annotatedFakeCompactKeyClass,
+            TaggableCacheManager taggableCacheManager
+    ) {
+        this.annotatedFakeCompactKeyClass = annotatedFakeCompactKeyClass;
+        this.taggableCacheManager = (ConcurrentHashMapTaggableCacheManager) taggableCacheManager;
+    }
+
+    @BeforeEach
+    void setup() {
+        taggableCacheManager.clear();
+        annotatedFakeCompactKeyClass.getInvocations().set(0);
+    }
+
+    @Test
+    void entries_should_be_keyed_by_the_hash_of_the_default_key() {
+        assertThat(annotatedFakeCompactKeyClass.findUser(1, FILTER)).isEqualTo("user_1_1");
+        assertThat(annotatedFakeCompactKeyClass.findUser(1, FILTER)).isEqualTo("user_1_1");
+        assertThat(annotatedFakeCompactKeyClass.findUser(2, FILTER)).isEqualTo("user_2_2");
+
+        var compactKey = CompactKeyedValue.compactKey(FULL_KEY);
+        assertThat(compactKey).hasSize(23);
+        assertThat(taggableCacheManager.keyExists(compactKey)).isTrue();
+        assertThat(taggableCacheManager.keyExists(FULL_KEY)).isFalse();
+        assertThat(taggableCacheManager.getKeyFootprint()).isEqualTo(2 * 23L);
+    }
+
+    @Test
+    void entries_should_be_evicted_by_tag() {
+        annotatedFakeCompactKeyClass.findUser(1, FILTER);
+
+        taggableCacheManager.evictByCacheTag(COMPACT_TAG);
+
+        assertThat(annotatedFakeCompactKeyClass.findUser(1, FILTER)).isEqualTo("user_1_2");
+    }
+
+    @Test
+    void hash_collisions_should_invoke_the_method_keeping_the_entry_of_the_other_key() {
+        var compactKey = CompactKeyedValue.compactKey(FULL_KEY);
+        var otherKeyValue = new CompactKeyedValue("other key with the same hash", "other_value");
+        taggableCacheManager.saveEntry(compactKey, otherKeyValue, List.of(COMPACT_TAG));
+
+        assertThat(annotatedFakeCompactKeyClass.findUser(1, FILTER)).isEqualTo("user_1_1");
+        assertThat(annotatedFakeCompactKeyClass.findUser(1, FILTER)).isEqualTo("user_1_2");
+
+        assertThat(taggableCacheManager.<Object>findByKey(compactKey)).isEqualTo(otherKeyValue);
+    }
+
+    @Test
+    void nulls_should_be_cached_along_their_key() {
+        assertThat(annotatedFakeCompactKeyClass.findMissingUser(1)).isNull();
+        assertThat(annotatedFakeCompactKeyClass.findMissingUser(1)).isNull();
+
+        assertThat(annotatedFakeCompactKeyClass.getInvocations()).hasValue(1);
+        assertThat(taggableCacheManager.getSize()).isEqualTo(1);
+    }
+
+    @Test
+    void nulls_should_expire_after_the_manager_negative_ttl() throws InterruptedException {
+        annotatedFakeCompactKeyClass.findMissingUser(1);
+        Thread.sleep(NEGATIVE_TTL.toMillis() + 50);
+
+        annotatedFakeCompactKeyClass.findMissingUser(1);
+
+        assertThat(annotatedFakeCompactKeyClass.getInvocations()).hasValue(2);
+    }
+
+    @Test
+    void nulls_should_not_be_cached_when_the_method_does_not_cache_them() {
+        annotatedFakeCompactKeyClass.findMissingUserNotCachingNulls(1);
+        annotatedFakeCompactKeyClass.findMissingUserNotCachingNulls(1);
+
+        assertThat(annotatedFakeCompactKeyClass.getInvocations()).hasValue(2);
+        assertThat(taggableCacheManager.getSize()).isZero();
+    }
+
+    @Test
+    void compactKey_should_only_be_used_with_the_default_key() {
+        assertThatThrownBy(annotatedFakeCompactKeyClass::compactKeyWithKey)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("compactKey");
+    }
+}
@@ -0,0 +1,98 @@
+package com.kevinguanchedarias.taggablecache.aspect;
+
+import com.kevinguanchedarias.taggablecache.configuration.properties.ConcurrentHashMapTaggableProperties;
+import com.kevinguanchedarias.taggablecache.configuration.properties.OffHeapTaggableProperties;
+import com.kevinguanchedarias.taggablecache.manager.JavaSerializationValueCodec;
+import com.kevinguanchedarias.taggablecache.manager.OffHeapTaggableCacheManager;
+import com.kevinguanchedarias.taggablecache.manager.TagInvalidationMode;
+import com.kevinguanchedarias.taggablecache.manager.TaggableCacheManager;
+import com.kevinguanchedarias.taggablecache.placeholderresolver.DefaultPlaceholderResolver;
+import com.kevinguanchedarias.taggablecache.test.AnnotatedFakeRefreshClass;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static com.kevinguanchedarias.taggablecache.test.AnnotatedFakeRefreshClass.REFRESH_MODEL_KEY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The off-heap manager decodes a new copy of the value on each read, and the report doesn't implement equals
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        classes = {
+                TaggableCacheableAspect.class,
+                AnnotatedFakeRefreshClass.class,
+                DefaultPlaceholderResolver.class,
+                TaggableCacheableAspectOffHeapRefreshTest.ManagerConfiguration.class
+        }
+)
+@EnableAspectJAutoProxy
+class TaggableCacheableAspectOffHeapRefreshTest {
+    private final AnnotatedFakeRefreshClass annotatedFakeRefreshClass;
+    private final TaggableCacheManager taggableCacheManager;
+    private final TaggableCacheableAspect taggableCacheableAspect;
+
+    @Configuration
+    static class ManagerConfiguration {
+        @Bean
+        TaggableCacheManager taggableCacheManager() {
+            return new OffHeapTaggableCacheManager(
+                    new ConcurrentHashMapTaggableProperties(
+                            1L, TimeUnit.HOURS, 16, Duration.ofSeconds(1), 100, Duration.ofSeconds(5), 0L, 0L,
+                            TagInvalidationMode.EAGER, Duration.ofMinutes(5)
+                    ),
+                    new OffHeapTaggableProperties(DataSize.ofMegabytes(1), DataSize.ofKilobytes(64)),
+                    new JavaSerializationValueCodec()
+            );
+        }
+    }
+
+    @Autowired
+    TaggableCacheableAspectOffHeapRefreshTest(
+            AnnotatedFakeRefreshClass annotatedFakeRefreshClass,
+            TaggableCacheManager taggableCacheManager,
+            TaggableCacheableAspect taggableCacheableAspect
+    ) {
+        this.annotatedFakeRefreshClass = annotatedFakeRefreshClass;
+        this.taggableCacheManager = taggableCacheManager;
+        this.taggableCacheableAspect = taggableCacheableAspect;
+    }
+
+    @Test
+    void refresh_should_replace_the_decoded_stale_value() {
+        taggableCacheableAspect.setRefreshExecutor(Runnable::run);
+        annotatedFakeRefreshClass.reportModel(1);
+        await(() -> isStale(REFRESH_MODEL_KEY));
+
+        assertThat(annotatedFakeRefreshClass.reportModel(1).getInvocation()).isEqualTo(1);
+
+        assertThat(annotatedFakeRefreshClass.reportModel(1).getInvocation()).isEqualTo(2);
+        assertThat(annotatedFakeRefreshClass.reportModel(1).getInvocation()).isEqualTo(2);
+        assertThat(annotatedFakeRefreshClass.getInvocations()).hasValue(2);
+    }
+
+    private boolean isStale(String key) {
+        RefreshableValue refreshableValue = taggableCacheManager.findByKey(key);
+        return System.currentTimeMillis() >= refreshableValue.getRefreshAt();
+    }
+
+    private void await(BooleanSupplier condition) {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
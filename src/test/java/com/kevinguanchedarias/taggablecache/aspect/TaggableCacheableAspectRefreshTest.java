@@ -0,0 +1,198 @@
+package com.kevinguanchedarias.taggablecache.aspect;
+
+import com.kevinguanchedarias.taggablecache.configuration.properties.ConcurrentHashMapTaggableProperties;
+import com.kevinguanchedarias.taggablecache.manager.ConcurrentHashMapTaggableCacheManager;
+import com.kevinguanchedarias.taggablecache.manager.TagInvalidationMode;
+import com.kevinguanchedarias.taggablecache.manager.TaggableCacheManager;
+import com.kevinguanchedarias.taggablecache.placeholderresolver.DefaultPlaceholderResolver;
+import com.kevinguanchedarias.taggablecache.test.AnnotatedFakeRefreshClass;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static com.kevinguanchedarias.taggablecache.test.AnnotatedFakeRefreshClass.REFRESH_KEY;
+import static com.kevinguanchedarias.taggablecache.test.AnnotatedFakeRefreshClass.REFRESH_TAG;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        classes = {
+                TaggableCacheableAspect.class,
+                AnnotatedFakeRefreshClass.class,
+                DefaultPlaceholderResolver.class,
+                TaggableCacheableAspectRefreshTest.ManagerConfiguration.class
+        }
+)
+@EnableAspectJAutoProxy
+class TaggableCacheableAspectRefreshTest {
+    private final AnnotatedFakeRefreshClass annotatedFakeRefreshClass;
+    private final TaggableCacheManager taggableCacheManager;
+    private final TaggableCacheableAspect taggableCacheableAspect;
+
+    @Configuration
+    static class ManagerConfiguration {
+        @Bean
+        TaggableCacheManager taggableCacheManager() {
+            return new ConcurrentHashMapTaggableCacheManager(new ConcurrentHashMapTaggableProperties(
+                    1L, TimeUnit.HOURS, 16, Duration.ofSeconds(1), 100, Duration.ofSeconds(5), 0L, 0L,
+                    TagInvalidationMode.EAGER, Duration.ofMinutes(5)
+            ));
+        }
+    }
+
+    @Autowired
+    TaggableCacheableAspectRefreshTest(
+            AnnotatedFakeRefreshClass annotatedFakeRefreshClass,
+            TaggableCacheManager taggableCacheManager,
+            TaggableCacheableAspect taggableCacheableAspect
+    ) {
+        this.annotatedFakeRefreshClass = annotatedFakeRefreshClass;
+        this.taggableCacheManager = taggableCacheManager;
+        this.taggableCacheableAspect = taggableCacheableAspect;
+    }
+
+    @BeforeEach
+    void setup() {
+        taggableCacheManager.clear();
+        annotatedFakeRefreshClass.getInvocations().set(0);
+        annotatedFakeRefreshClass.setOnInvoke(() -> {
+        });
+        taggableCacheableAspect.setRefreshExecutor(Runnable::run);
+    }
+
+    @Test
+    void fresh_entries_should_not_be_refreshed() {
+        assertThat(annotatedFakeRefreshClass.report(1)).isEqualTo("report_1_1");
+        assertThat(annotatedFakeRefreshClass.report(1)).isEqualTo("report_1_1");
+
+        assertThat(annotatedFakeRefreshClass.getInvocations()).hasValue(1);
+    }
+
+    @Test
+    void stale_entries_should_be_returned_while_refreshed_once_in_the_background() {
+        var refreshExecutor = TaggableCacheableAspect.newRefreshExecutor(2, false);
+        taggableCacheableAspect.setRefreshExecutor(refreshExecutor);
+        try {
+            annotatedFakeRefreshClass.report(1);
+            await(() -> isStale(REFRESH_KEY));
+            var refreshGate = new CountDownLatch(1);
+            annotatedFakeRefreshClass.setOnInvoke(() -> awaitUninterruptibly(refreshGate));
+
+            assertThat(annotatedFakeRefreshClass.report(1)).isEqualTo("report_1_1");
+            assertThat(annotatedFakeRefreshClass.report(1)).isEqualTo("report_1_1");
+            assertThat(annotatedFakeRefreshClass.report(1)).isEqualTo("report_1_1");
+            refreshGate.countDown();
+
+            await(() -> annotatedFakeRefreshClass.report(1).equals("report_1_2"));
+            assertThat(annotatedFakeRefreshClass.getInvocations()).hasValue(2);
+        } finally {
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void tag_evictions_should_cause_a_hard_miss() {
+        annotatedFakeRefreshClass.report(1);
+        await(() -> isStale(REFRESH_KEY));
+
+        taggableCacheManager.evictByCacheTag(REFRESH_TAG);
+
+        assertThat(annotatedFakeRefreshClass.report(1)).isEqualTo("report_1_2");
+        assertThat(annotatedFakeRefreshClass.getInvocations()).hasValue(2);
+    }
+
+    @Test
+    void refresh_should_not_undo_an_eviction_that_happened_during_it() {
+        annotatedFakeRefreshClass.report(1);
+        await(() -> isStale(REFRESH_KEY));
+        annotatedFakeRefreshClass.setOnInvoke(() -> taggableCacheManager.evictByCacheTag(REFRESH_TAG));
+
+        assertThat(annotatedFakeRefreshClass.report(1)).isEqualTo("report_1_1");
+
+        assertThat(annotatedFakeRefreshClass.getInvocations()).hasValue(2);
+        assertThat(taggableCacheManager.keyExists(REFRESH_KEY)).isFalse();
+    }
+
+    @Test
+    void refresh_should_not_overwrite_an_entry_saved_again_during_it() {
+        annotatedFakeRefreshClass.report(1);
+        await(() -> isStale(REFRESH_KEY));
+        annotatedFakeRefreshClass.setOnInvoke(() -> {
+            taggableCacheManager.evictByCacheTag(REFRESH_TAG);
+            taggableCacheManager.saveEntry(REFRESH_KEY, "reloaded", List.of(REFRESH_TAG));
+        });
+
+        assertThat(annotatedFakeRefreshClass.report(1)).isEqualTo("report_1_1");
+
+        assertThat(annotatedFakeRefreshClass.getInvocations()).hasValue(2);
+        assertThat((Object) taggableCacheManager.findByKey(REFRESH_KEY)).isEqualTo("reloaded");
+    }
+
+    @Test
+    void refresh_failures_should_keep_the_stale_value() {
+        annotatedFakeRefreshClass.report(1);
+        await(() -> isStale(REFRESH_KEY));
+        annotatedFakeRefreshClass.setOnInvoke(() -> {
+            throw new IllegalStateException("report failure");
+        });
+
+        assertThat(annotatedFakeRefreshClass.report(1)).isEqualTo("report_1_1");
+        annotatedFakeRefreshClass.setOnInvoke(() -> {
+        });
+
+        assertThat(annotatedFakeRefreshClass.report(1)).isEqualTo("report_1_1");
+        assertThat(annotatedFakeRefreshClass.report(1)).isEqualTo("report_1_2");
+    }
+
+    @Test
+    void refreshAfter_should_be_lower_than_ttl() {
+        assertThatThrownBy(annotatedFakeRefreshClass::refreshAfterNotLowerThanTtl)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("refreshAfter");
+    }
+
+    @Test
+    void refreshAfter_should_be_lower_than_the_manager_default_ttl() {
+        assertThatThrownBy(annotatedFakeRefreshClass::refreshAfterNotLowerThanDefaultTtl)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("refreshAfter");
+    }
+
+    /**
+     * Polls the stored deadline instead of sleeping past it
+     */
+    private boolean isStale(String key) {
+        RefreshableValue refreshableValue = taggableCacheManager.findByKey(key);
+        return System.currentTimeMillis() >= refreshableValue.getRefreshAt();
+    }
+
+    private void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void await(BooleanSupplier condition) {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -1,25 +1,40 @@
 package com.kevinguanchedarias.taggablecache.aspect;
 
+import com.kevinguanchedarias.taggablecache.manager.CacheLoader;
+import com.kevinguanchedarias.taggablecache.manager.CachedValue;
 import com.kevinguanchedarias.taggablecache.manager.TaggableCacheManager;
+import com.kevinguanchedarias.taggablecache.metrics.MicrometerTaggableCacheMetrics;
 import com.kevinguanchedarias.taggablecache.placeholderresolver.SpringSpelPlaceholderResolver;
 import com.kevinguanchedarias.taggablecache.test.AnnotatedFakeClassWithSpringSpel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Supplier;
 
+import static com.kevinguanchedarias.taggablecache.test.AnnotatedFakeClassWithSpringSpel.FAKE_NEGATIVE_TTL_MINUTES;
 import static com.kevinguanchedarias.taggablecache.test.AnnotatedFakeClassWithSpringSpel.FAKE_PLAIN_KEY;
 import static com.kevinguanchedarias.taggablecache.test.AnnotatedFakeClassWithSpringSpel.FAKE_PLAIN_TAG;
+import static com.kevinguanchedarias.taggablecache.test.AnnotatedFakeClassWithSpringSpel.FAKE_TTL_MINUTES;
 import static com.kevinguanchedarias.taggablecache.test.AnnotatedFakeClassWithSpringSpel.KNOWN_RETURN_VALUE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -32,7 +47,8 @@ import static org.mockito.Mockito.verify;
                 TaggableCacheableAspect.class,
                 AnnotatedFakeClassWithSpringSpel.class,
                 SpelExpressionParser.class,
-                SpringSpelPlaceholderResolver.class
+                SpringSpelPlaceholderResolver.class,
+                MicrometerTaggableCacheMetrics.class
         }
 )
 @MockBean(TaggableCacheManager.class)
@@ -41,55 +57,111 @@ class TaggableCacheableAspectTest {
     private static final String KNOWN_AUTO_GENERATED_KEY_1 = "class com.kevinguanchedarias.taggablecache.test.AnnotatedFakeClassWithSpringSpel_doSomethingWithDefaultKey";
     private static final String KNOWN_AUTO_GENERATED_KEY_2 = "class com.kevinguanchedarias.taggablecache.test.AnnotatedFakeClassWithSpringSpel_doSomethingWithDefaultKeyAndArgs_FooFirst_BarSecond";
     private static final String KNOWN_AUTO_GENERATED_SUFFIXED_KEY = "class com.kevinguanchedarias.taggablecache.test.AnnotatedFakeClassWithSpringSpel_doSomethingWithKeySuffix_12";
+    private static final String KNOWN_AUTO_GENERATED_TTL_KEY = "class com.kevinguanchedarias.taggablecache.test.AnnotatedFakeClassWithSpringSpel_doSomethingWithTtl";
     private static final String KNOWN_CACHED_VALUE = "IsCached";
     private static final String FIRST_ARG = "FooFirst";
     private static final String SECOND_ARG = "BarSecond";
 
     private final AnnotatedFakeClassWithSpringSpel annotatedFakeClassWithSpringSpel;
     private final TaggableCacheManager taggableCacheManager;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @SpyBean
+    private SpringSpelPlaceholderResolver placeholderResolver;
 
     @Autowired
     TaggableCacheableAspectTest(
             AnnotatedFakeClassWithSpringSpel annotatedFakeClassWithSpringSpel,
-            TaggableCacheManager taggableCacheManager
+            TaggableCacheManager taggableCacheManager,
+            MicrometerTaggableCacheMetrics taggableCacheMetrics
     ) {
         this.annotatedFakeClassWithSpringSpel = annotatedFakeClassWithSpringSpel;
         this.taggableCacheManager = taggableCacheManager;
+        taggableCacheMetrics.bindTo(meterRegistry);
     }
 
+    @SuppressWarnings("unchecked")
+    @BeforeEach
+    void setup() throws Throwable {
+        given(taggableCacheManager.computeIfAbsent(anyString(), any(Supplier.class), any(), any(), any(CacheLoader.class)))
+                .willAnswer(invocation -> {
+                    var value = invocation.<CacheLoader<Object>>getArgument(4).load();
+                    taggableCacheManager.saveEntry(
+                            invocation.getArgument(0),
+                            value,
+                            invocation.<Supplier<Collection<String>>>getArgument(1).get(),
+                            invocation.getArgument(2)
+                    );
+                    return value;
+                });
+    }
 
+    @SuppressWarnings("unchecked")
     @Test
-    void handleTaggableCacheAnnotation_should_work_with_default_key_and_not_spel_tags_and_cache_it_if_not() {
+    void handleTaggableCacheAnnotation_should_work_with_default_key_and_not_spel_tags_and_cache_it_if_not() throws Throwable {
         var result = annotatedFakeClassWithSpringSpel.doSomethingWithDefaultKey();
 
-        verify(taggableCacheManager, times(1)).keyExists(KNOWN_AUTO_GENERATED_KEY_1);
-        verify(taggableCacheManager, never()).findByKey(any());
-        verify(taggableCacheManager, times(1)).saveEntry(KNOWN_AUTO_GENERATED_KEY_1, KNOWN_RETURN_VALUE, List.of(FAKE_PLAIN_TAG));
+        verify(taggableCacheManager, times(1)).getIfPresent(KNOWN_AUTO_GENERATED_KEY_1);
+        verify(taggableCacheManager, times(1)).computeIfAbsent(eq(KNOWN_AUTO_GENERATED_KEY_1), any(Supplier.class), isNull(), isNull(), any(CacheLoader.class));
+        verify(taggableCacheManager, times(1)).saveEntry(KNOWN_AUTO_GENERATED_KEY_1, KNOWN_RETURN_VALUE, List.of(FAKE_PLAIN_TAG), null);
         assertThat(result).isEqualTo(KNOWN_RETURN_VALUE);
     }
 
+    @SuppressWarnings("unchecked")
     @Test
-    void handleTaggableCacheAnnotation_should_work_with_default_key_and_not_spel_tags_and_return_cached_value() {
-        given(taggableCacheManager.keyExists(KNOWN_AUTO_GENERATED_KEY_1)).willReturn(true);
-        given(taggableCacheManager.findByKey(KNOWN_AUTO_GENERATED_KEY_1)).willReturn(KNOWN_CACHED_VALUE);
+    void handleTaggableCacheAnnotation_should_work_with_default_key_and_not_spel_tags_and_return_cached_value() throws Throwable {
+        given(taggableCacheManager.getIfPresent(KNOWN_AUTO_GENERATED_KEY_1)).willReturn(CachedValue.of(KNOWN_CACHED_VALUE));
 
         var result = annotatedFakeClassWithSpringSpel.doSomethingWithDefaultKey();
 
-        verify(taggableCacheManager, times(1)).keyExists(KNOWN_AUTO_GENERATED_KEY_1);
-        verify(taggableCacheManager, times(1)).findByKey(any());
-        verify(taggableCacheManager, never()).saveEntry(any(), any(), anyList());
+        verify(taggableCacheManager, times(1)).getIfPresent(KNOWN_AUTO_GENERATED_KEY_1);
+        verify(taggableCacheManager, never()).computeIfAbsent(anyString(), any(Supplier.class), any(), any(), any(CacheLoader.class));
+        verify(taggableCacheManager, never()).saveEntry(any(), any(), anyList(), any());
         assertThat(result).isEqualTo(KNOWN_CACHED_VALUE);
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    void handleTaggableCacheAnnotation_should_return_cached_null_without_invoking_the_method() throws Throwable {
+        given(taggableCacheManager.getIfPresent(KNOWN_AUTO_GENERATED_KEY_1)).willReturn(CachedValue.of(null));
+
+        var result = annotatedFakeClassWithSpringSpel.doSomethingWithDefaultKey();
+
+        assertThat(result).isNull();
+        verify(taggableCacheManager, never()).computeIfAbsent(anyString(), any(Supplier.class), any(), any(), any(CacheLoader.class));
+    }
+
+    @Test
+    void handleTaggableCacheAnnotation_should_record_a_miss_and_the_load_time() {
+        var misses = gets("miss");
+        var loads = loads();
+
+        annotatedFakeClassWithSpringSpel.doSomethingWithDefaultKey();
+
+        assertThat(gets("miss")).isEqualTo(misses + 1);
+        assertThat(loads()).isEqualTo(loads + 1);
+    }
+
+    @Test
+    void handleTaggableCacheAnnotation_should_record_a_hit() {
+        given(taggableCacheManager.getIfPresent(KNOWN_AUTO_GENERATED_KEY_1)).willReturn(CachedValue.of(KNOWN_CACHED_VALUE));
+        annotatedFakeClassWithSpringSpel.doSomethingWithDefaultKey();
+        var hits = gets("hit");
+        var loads = loads();
+
+        annotatedFakeClassWithSpringSpel.doSomethingWithDefaultKey();
+
+        assertThat(gets("hit")).isEqualTo(hits + 1);
+        assertThat(loads()).isEqualTo(loads);
+    }
+
     @Test
     void handleTaggableCacheAnnotation_should_work_with_default_key_and_method_with_args() {
-        given(taggableCacheManager.keyExists(KNOWN_AUTO_GENERATED_KEY_2)).willReturn(true);
-        given(taggableCacheManager.findByKey(KNOWN_AUTO_GENERATED_KEY_2)).willReturn(KNOWN_CACHED_VALUE);
+        given(taggableCacheManager.getIfPresent(KNOWN_AUTO_GENERATED_KEY_2)).willReturn(CachedValue.of(KNOWN_CACHED_VALUE));
 
         var result = annotatedFakeClassWithSpringSpel.doSomethingWithDefaultKeyAndArgs(FIRST_ARG, SECOND_ARG);
 
-        verify(taggableCacheManager, times(1)).keyExists(KNOWN_AUTO_GENERATED_KEY_2);
-        verify(taggableCacheManager, times(1)).findByKey(KNOWN_AUTO_GENERATED_KEY_2);
+        verify(taggableCacheManager, times(1)).getIfPresent(KNOWN_AUTO_GENERATED_KEY_2);
         assertThat(result).isEqualTo(KNOWN_CACHED_VALUE);
     }
 
@@ -97,14 +169,14 @@ class TaggableCacheableAspectTest {
     void handleTaggableCacheAnnotation_should_use_plain_key_and_plain_tag() {
         var result = annotatedFakeClassWithSpringSpel.doSomethingWithPlainThings();
 
-        verify(taggableCacheManager, times(1)).keyExists(FAKE_PLAIN_KEY);
+        verify(taggableCacheManager, times(1)).getIfPresent(FAKE_PLAIN_KEY);
         assertThat(result).isEqualTo(KNOWN_RETURN_VALUE);
     }
 
     @Test
     void handleTaggableCacheAnnotation_should_use_key_with_suffix_and_plain_tag() {
         var result = annotatedFakeClassWithSpringSpel.doSomethingWithKeySuffix(12);
-        verify(taggableCacheManager, times(1)).keyExists(KNOWN_AUTO_GENERATED_SUFFIXED_KEY);
+        verify(taggableCacheManager, times(1)).getIfPresent(KNOWN_AUTO_GENERATED_SUFFIXED_KEY);
         assertThat(result).isEqualTo(KNOWN_RETURN_VALUE);
     }
 
@@ -114,8 +186,85 @@ class TaggableCacheableAspectTest {
         var expectedTag = "tagKey:4";
         var result = annotatedFakeClassWithSpringSpel.doSomethingWithCustomKeyAndSpelTags(4);
 
-        verify(taggableCacheManager, times(1)).keyExists(expectedKey);
-        verify(taggableCacheManager, times(1)).saveEntry(expectedKey, KNOWN_RETURN_VALUE, List.of(expectedTag));
+        verify(taggableCacheManager, times(1)).getIfPresent(expectedKey);
+        verify(taggableCacheManager, times(1)).saveEntry(expectedKey, KNOWN_RETURN_VALUE, List.of(expectedTag), null);
         assertThat(result).isEqualTo(KNOWN_RETURN_VALUE);
     }
+
+    @Test
+    void handleTaggableCacheAnnotation_should_not_resolve_tags_on_hit() {
+        given(taggableCacheManager.getIfPresent(KNOWN_AUTO_GENERATED_KEY_1)).willReturn(CachedValue.of(KNOWN_CACHED_VALUE));
+
+        annotatedFakeClassWithSpringSpel.doSomethingWithDefaultKey();
+        annotatedFakeClassWithSpringSpel.doSomethingWithDefaultKey();
+
+        verify(placeholderResolver, times(2)).resolveKey(any(), anyString());
+        verify(placeholderResolver, never()).resolveTags(any(), anyList());
+        verify(placeholderResolver, never()).resolveExpressions(any(), anyString(), anyList());
+    }
+
+    @Test
+    void handleTaggableCacheAnnotation_should_resolve_tags_on_miss() {
+        annotatedFakeClassWithSpringSpel.doSomethingWithCustomKeyAndSpelTags(4);
+
+        verify(placeholderResolver, times(1)).resolveTags(any(), eq(List.of(AnnotatedFakeClassWithSpringSpel.TAG_WITH_SPEL)));
+    }
+
+    @Test
+    void handleTaggableCacheAnnotation_should_reject_key_and_key_suffix_on_every_invocation() {
+        assertThatThrownBy(annotatedFakeClassWithSpringSpel::doSomethingWithKeyAndKeySuffix)
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(annotatedFakeClassWithSpringSpel::doSomethingWithKeyAndKeySuffix)
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void handleTaggableCacheAnnotation_should_save_with_method_ttl() {
+        var result = annotatedFakeClassWithSpringSpel.doSomethingWithTtl();
+
+        verify(taggableCacheManager, times(1)).saveEntry(
+                KNOWN_AUTO_GENERATED_TTL_KEY, KNOWN_RETURN_VALUE, List.of(FAKE_PLAIN_TAG), Duration.ofMinutes(FAKE_TTL_MINUTES)
+        );
+        assertThat(result).isEqualTo(KNOWN_RETURN_VALUE);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void handleTaggableCacheAnnotation_should_pass_the_method_negative_ttl() throws Throwable {
+        var result = annotatedFakeClassWithSpringSpel.doSomethingWithNegativeTtl();
+
+        assertThat(result).isNull();
+        verify(taggableCacheManager, times(1)).computeIfAbsent(
+                eq(FAKE_PLAIN_KEY),
+                any(Supplier.class),
+                eq(Duration.ofMinutes(FAKE_TTL_MINUTES)),
+                eq(Duration.ofMinutes(FAKE_NEGATIVE_TTL_MINUTES)),
+                any(CacheLoader.class)
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void handleTaggableCacheAnnotation_should_pass_a_zero_negative_ttl_when_nulls_are_not_cached() throws Throwable {
+        annotatedFakeClassWithSpringSpel.doSomethingNotCachingNulls();
+
+        verify(taggableCacheManager, times(1)).computeIfAbsent(
+                eq(FAKE_PLAIN_KEY), any(Supplier.class), isNull(), eq(Duration.ZERO), any(CacheLoader.class)
+        );
+    }
+
+    private double gets(String result) {
+        var counter = meterRegistry.find("taggable.cache.gets")
+                .tag("operation", "AnnotatedFakeClassWithSpringSpel.doSomethingWithDefaultKey")
+                .tag("result", result)
+                .functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private double loads() {
+        var timer = meterRegistry.find("taggable.cache.loads")
+                .tag("operation", "AnnotatedFakeClassWithSpringSpel.doSomethingWithDefaultKey")
+                .functionTimer();
+        return timer == null ? 0 : timer.count();
+    }
 }
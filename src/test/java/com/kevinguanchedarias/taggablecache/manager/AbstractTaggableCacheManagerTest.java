@@ -0,0 +1,99 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AbstractTaggableCacheManagerTest {
+    private static final String TEST_KEY = "foo_key";
+    private static final String TEST_VALUE = "the_val";
+
+    private final MapTaggableCacheManager manager = new MapTaggableCacheManager();
+
+    @Test
+    void computeIfAbsent_should_work_without_overriding_the_single_flight() throws Throwable {
+        var loads = new AtomicInteger();
+
+        var first = manager.computeIfAbsent(TEST_KEY, List::of, null, () -> TEST_VALUE + loads.incrementAndGet());
+        var second = manager.computeIfAbsent(TEST_KEY, List::of, null, () -> TEST_VALUE + loads.incrementAndGet());
+
+        assertThat(first).isEqualTo(TEST_VALUE + 1);
+        assertThat(second).isEqualTo(TEST_VALUE + 1);
+        assertThat(manager.getSingleFlight()).isSameAs(manager.getSingleFlight());
+    }
+
+    @Test
+    void computeAllIfAbsent_should_load_only_the_missing_keys_when_not_overridden() throws Throwable {
+        manager.saveEntry(TEST_KEY, TEST_VALUE, List.of());
+
+        Map<String, String> values = manager.computeAllIfAbsent(
+                List.of(TEST_KEY, "other_key"), key -> List.of(), null, keys -> {
+                    assertThat(keys).containsExactly("other_key");
+                    return Map.of("other_key", "other_val");
+                }
+        );
+
+        assertThat(values).containsExactly(Map.entry(TEST_KEY, TEST_VALUE), Map.entry("other_key", "other_val"));
+        assertThat(manager.getAll(List.of("other_key", "missing_key"))).containsOnlyKeys("other_key");
+    }
+
+    @Test
+    void evictByCacheTag_should_evict_each_part_when_not_overridden() {
+        manager.evictByCacheTag("user", List.of(1, 2));
+
+        assertThat(manager.evictedTags).containsExactly("user:1", "user:2");
+    }
+
+    /**
+     * Implements only the abstract methods, as an external manager would
+     */
+    private static class MapTaggableCacheManager extends AbstractTaggableCacheManager {
+        private final Map<String, Object> values = new ConcurrentHashMap<>();
+        private final List<String> evictedTags = new ArrayList<>();
+
+        @Override
+        public boolean keyExists(String key) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T findByKey(String key) {
+            return (T) values.get(key);
+        }
+
+        @Override
+        public void evictByCacheTag(String tag) {
+            evictedTags.add(tag);
+            values.clear();
+        }
+
+        @Override
+        public void evictByCacheTagPrefix(String prefix) {
+            values.clear();
+        }
+
+        @Override
+        public void saveEntry(String key, Object value, Collection<String> tags, Duration ttl) {
+            values.put(key, value);
+        }
+
+        @Override
+        public void evictByKey(String key) {
+            values.remove(key);
+        }
+
+        @Override
+        public void clear() {
+            values.clear();
+        }
+    }
+}
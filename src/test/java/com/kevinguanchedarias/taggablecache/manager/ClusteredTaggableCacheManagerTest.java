@@ -0,0 +1,235 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import com.kevinguanchedarias.taggablecache.configuration.properties.ClusteredTaggableProperties;
+import com.kevinguanchedarias.taggablecache.configuration.properties.ConcurrentHashMapTaggableProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ClusteredTaggableCacheManagerTest {
+    private static final String TEST_KEY = "foo_key";
+    private static final String TEST_VALUE = "the_val";
+    private static final String TEST_TAG = "the-tag";
+    private static final String TEST_KEY_2 = "other_key_2";
+    private static final Duration LONG_WINDOW = Duration.ofHours(1);
+
+    private final LoopbackInvalidationTransport transport = new LoopbackInvalidationTransport();
+    private ConcurrentHashMapTaggableCacheManager local1;
+    private ConcurrentHashMapTaggableCacheManager local2;
+    private ClusteredTaggableCacheManager node1;
+    private ClusteredTaggableCacheManager node2;
+
+    @BeforeEach
+    void setup() {
+        local1 = new ConcurrentHashMapTaggableCacheManager(chmProperties());
+        local2 = new ConcurrentHashMapTaggableCacheManager(chmProperties());
+        node1 = new ClusteredTaggableCacheManager(local1, transport, properties(Duration.ofMillis(5), 1000));
+        node2 = new ClusteredTaggableCacheManager(local2, transport, properties(Duration.ofMillis(5), 1000));
+    }
+
+    @AfterEach
+    void cleanup() {
+        node1.close();
+        node2.close();
+    }
+
+    @Test
+    void evictByCacheTag_should_evict_the_tag_in_all_the_nodes() {
+        node1.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+        node2.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+        node2.saveEntry(TEST_KEY_2, TEST_VALUE, List.of("other"));
+
+        node1.evictByCacheTag(TEST_TAG);
+
+        assertThat(node1.keyExists(TEST_KEY)).isFalse();
+        await(() -> !node2.keyExists(TEST_KEY));
+        assertThat(node2.keyExists(TEST_KEY_2)).isTrue();
+    }
+
+    @Test
+    void evictByCacheTagPrefix_should_evict_the_matching_tags_in_all_the_nodes() {
+        node1.saveEntry(TEST_KEY, TEST_VALUE, List.of("user:1"));
+        node2.saveEntry(TEST_KEY, TEST_VALUE, List.of("user:1"));
+        node2.saveEntry(TEST_KEY_2, TEST_VALUE, List.of("users"));
+
+        node1.evictByCacheTagPrefix("user:");
+
+        assertThat(node1.keyExists(TEST_KEY)).isFalse();
+        await(() -> !node2.keyExists(TEST_KEY));
+        assertThat(node2.keyExists(TEST_KEY_2)).isTrue();
+    }
+
+    @Test
+    void evictByKey_should_evict_the_key_in_all_the_nodes() {
+        node1.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+        node2.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+
+        node2.evictByKey(TEST_KEY);
+
+        await(() -> !node1.keyExists(TEST_KEY));
+    }
+
+    @Test
+    void clear_should_clear_all_the_nodes() {
+        node2.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+        node2.saveEntry(TEST_KEY_2, TEST_VALUE, List.of(TEST_TAG));
+
+        node1.clear();
+
+        await(() -> !node2.keyExists(TEST_KEY) && !node2.keyExists(TEST_KEY_2));
+    }
+
+    @Test
+    void saveEntry_should_not_be_broadcast() {
+        var mockTransport = mock(InvalidationTransport.class);
+        var manager = new ClusteredTaggableCacheManager(local1, mockTransport, properties(Duration.ZERO, 1000));
+
+        manager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+        manager.saveAll(List.of(TaggedCacheEntry.builder().key(TEST_KEY_2).tags(List.of()).build()));
+        manager.close();
+
+        assertThat(local1.keyExists(TEST_KEY)).isTrue();
+        assertThat(local1.keyExists(TEST_KEY_2)).isTrue();
+        verify(mockTransport, never()).publish(any());
+    }
+
+    @Test
+    void evictions_should_be_coalesced_in_a_single_message() {
+        var mockTransport = mock(InvalidationTransport.class);
+        var manager = new ClusteredTaggableCacheManager(local1, mockTransport, properties(LONG_WINDOW, 1000));
+
+        manager.evictByCacheTag(TEST_TAG);
+        manager.evictByCacheTags(List.of(TEST_TAG, "second"));
+        manager.evictByKey(TEST_KEY);
+        manager.evictByKey(TEST_KEY);
+        manager.evictByCacheTagPrefix("user:");
+        manager.flush();
+
+        var captor = ArgumentCaptor.forClass(InvalidationMessage.class);
+        verify(mockTransport).publish(captor.capture());
+        assertThat(captor.getValue().getNodeId()).isEqualTo(manager.getNodeId());
+        assertThat(captor.getValue().isClear()).isFalse();
+        assertThat(captor.getValue().getTags()).containsExactly(TEST_TAG, "second");
+        assertThat(captor.getValue().getKeys()).containsExactly(TEST_KEY);
+        assertThat(captor.getValue().getTagPrefixes()).containsExactly("user:");
+        manager.close();
+    }
+
+    @Test
+    void clear_should_supersede_the_pending_evictions() {
+        var mockTransport = mock(InvalidationTransport.class);
+        var manager = new ClusteredTaggableCacheManager(local1, mockTransport, properties(LONG_WINDOW, 1000));
+
+        manager.evictByCacheTag(TEST_TAG);
+        manager.clear();
+        manager.evictByKey(TEST_KEY);
+        manager.close();
+
+        var captor = ArgumentCaptor.forClass(InvalidationMessage.class);
+        verify(mockTransport).publish(captor.capture());
+        assertThat(captor.getValue().isClear()).isTrue();
+        assertThat(captor.getValue().getTags()).isEmpty();
+        assertThat(captor.getValue().getKeys()).isEmpty();
+    }
+
+    @Test
+    void evictions_should_be_broadcast_before_the_window_when_the_batch_is_full() {
+        var mockTransport = mock(InvalidationTransport.class);
+        var manager = new ClusteredTaggableCacheManager(local1, mockTransport, properties(LONG_WINDOW, 10));
+
+        IntStream.range(0, 10).forEach(i -> manager.evictByKey("key_" + i));
+        verify(mockTransport, timeout(5000)).publish(any());
+        manager.evictByKey("key_10");
+        manager.close();
+
+        var captor = ArgumentCaptor.forClass(InvalidationMessage.class);
+        verify(mockTransport, times(2)).publish(captor.capture());
+        assertThat(captor.getAllValues().get(0).getKeys()).hasSize(10);
+        assertThat(captor.getAllValues().get(1).getKeys()).containsExactly("key_10");
+    }
+
+    @Test
+    void received_messages_should_not_be_broadcast_again() {
+        var mockTransport = mock(InvalidationTransport.class);
+        var manager = new ClusteredTaggableCacheManager(local1, mockTransport, properties(Duration.ZERO, 1000));
+        var listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(mockTransport).subscribe(listener.capture());
+        local1.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+        local1.saveEntry(TEST_KEY_2, TEST_VALUE, List.of());
+
+        @SuppressWarnings("unchecked")
+        Consumer<InvalidationMessage> consumer = listener.getValue();
+        consumer.accept(InvalidationMessage.builder()
+                .nodeId("other-node")
+                .tags(Set.of(TEST_TAG))
+                .keys(Set.of(TEST_KEY_2))
+                .build());
+        manager.close();
+
+        assertThat(local1.keyExists(TEST_KEY)).isFalse();
+        assertThat(local1.keyExists(TEST_KEY_2)).isFalse();
+        verify(mockTransport, never()).publish(any());
+    }
+
+    @Test
+    void own_messages_should_be_ignored() {
+        node1.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+
+        transport.publish(InvalidationMessage.builder().nodeId(node1.getNodeId()).clear(true).build());
+
+        assertThat(node1.keyExists(TEST_KEY)).isTrue();
+    }
+
+    @Test
+    void publish_failures_should_not_reach_the_caller() {
+        var mockTransport = mock(InvalidationTransport.class);
+        willThrow(new IllegalStateException("network down")).given(mockTransport).publish(any());
+        var manager = new ClusteredTaggableCacheManager(local1, mockTransport, properties(LONG_WINDOW, 1000));
+        local1.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+
+        manager.evictByCacheTag(TEST_TAG);
+        manager.close();
+
+        assertThat(local1.keyExists(TEST_KEY)).isFalse();
+        verify(mockTransport).publish(any());
+    }
+
+    private ClusteredTaggableProperties properties(Duration batchWindow, int maxBatchSize) {
+        return new ClusteredTaggableProperties(
+                batchWindow, maxBatchSize, Duration.ofSeconds(10), "127.0.0.1", 0, List.of(), 1400
+        );
+    }
+
+    private ConcurrentHashMapTaggableProperties chmProperties() {
+        return new ConcurrentHashMapTaggableProperties(
+                1L, TimeUnit.HOURS, 16, Duration.ofSeconds(1), 100, Duration.ofSeconds(5), 0L, 0L,
+                TagInvalidationMode.EAGER, Duration.ofMinutes(5)
+        );
+    }
+
+    private void await(BooleanSupplier condition) {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
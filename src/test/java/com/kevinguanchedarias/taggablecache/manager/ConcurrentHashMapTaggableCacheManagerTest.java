@@ -1,22 +1,34 @@
 package com.kevinguanchedarias.taggablecache.manager;
 
 import com.kevinguanchedarias.taggablecache.configuration.properties.ConcurrentHashMapTaggableProperties;
+import com.kevinguanchedarias.taggablecache.internal.model.CacheEntryModel;
+import com.kevinguanchedarias.taggablecache.util.StripedLock;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.ArgumentCaptor;
 import org.springframework.boot.test.system.OutputCaptureExtension;
 
 import javax.annotation.PostConstruct;
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
@@ -30,24 +42,35 @@ class ConcurrentHashMapTaggableCacheManagerTest {
     private static final String TEST_VALUE_2 = "other_value_2";
     private static final long PROPERTIES_DEFINED_DURATION = 38;
     private static final TimeUnit PROPERTIES_DEFINED_TIME_UNIT = TimeUnit.HOURS;
+    private static final Duration PROPERTIES_DEFINED_SWEEP_INTERVAL = Duration.ofMillis(250);
+    private static final int PROPERTIES_DEFINED_BATCH_SIZE = 2;
+    private static final Duration PROPERTIES_DEFINED_LOAD_WAIT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration PROPERTIES_DEFINED_NEGATIVE_TTL = Duration.ofMinutes(3);
 
     private ConcurrentHashMapTaggableCacheManager concurrentHashMapTaggableCacheManager;
-    private Map<String, Object> contentStore;
-    private Map<String, LocalDateTime> contentStoreTtl;
+    private Map<String, CacheEntryModel> contentStore;
     private Map<String, Set<String>> tagsToKeyMap;
+    private Map<String, Set<String>> keyToTagsMap;
+    private ExpiryQueue expiryQueue;
     private ScheduledExecutorService scheduledExecutorServiceMock;
     private Lock lockMock;
+    private StripedLock stripedLockMock;
+    private AtomicLong now;
 
     @BeforeEach
     void setup() {
         contentStore = spy(new HashMap<>());
-        contentStoreTtl = spy(new HashMap<>());
         tagsToKeyMap = spy(new HashMap<>());
+        keyToTagsMap = spy(new HashMap<>());
+        expiryQueue = spy(new ExpiryQueue());
         scheduledExecutorServiceMock = mock(ScheduledExecutorService.class);
         lockMock = mock(Lock.class);
-        ConcurrentHashMapTaggableProperties concurrentHashMapTaggableProperties = new ConcurrentHashMapTaggableProperties(PROPERTIES_DEFINED_DURATION, PROPERTIES_DEFINED_TIME_UNIT);
+        stripedLockMock = mock(StripedLock.class);
+        given(stripedLockMock.get(any())).willReturn(lockMock);
+        now = new AtomicLong(1_000_000);
         concurrentHashMapTaggableCacheManager = new ConcurrentHashMapTaggableCacheManager(
-                contentStore, contentStoreTtl, tagsToKeyMap, scheduledExecutorServiceMock, lockMock, concurrentHashMapTaggableProperties
+                contentStore, tagsToKeyMap, keyToTagsMap, expiryQueue, scheduledExecutorServiceMock, stripedLockMock,
+                now::get, EvictionPolicy.UNBOUNDED, new SingleFlight(PROPERTIES_DEFINED_LOAD_WAIT_TIMEOUT), properties()
         );
     }
 
@@ -55,20 +78,21 @@ class ConcurrentHashMapTaggableCacheManagerTest {
     void autoKeyWipe_should_work() throws NoSuchMethodException {
         var expiredKey = "expiredShit";
         var nonExpiredKey = "nonExpiredShit";
-        contentStore.put(expiredKey, 12);
-        contentStore.put(nonExpiredKey, 14);
-        contentStoreTtl.put(expiredKey, LocalDateTime.now().minusHours(5));
-        contentStoreTtl.put(nonExpiredKey, LocalDateTime.now().plusHours(5));
+        storeEntry(expiredKey, 12, now.get() - 5);
+        storeEntry(nonExpiredKey, 14, now.get() + 5);
         Set<String> tagContent = new HashSet<>(List.of(expiredKey, nonExpiredKey));
         tagsToKeyMap.put(TEST_TAG, tagContent);
+        keyToTagsMap.put(expiredKey, Set.of(TEST_TAG));
+        keyToTagsMap.put(nonExpiredKey, Set.of(TEST_TAG));
 
         concurrentHashMapTaggableCacheManager.autoKeyWipe();
 
         assertThat(ConcurrentHashMapTaggableCacheManager.class.getMethod("autoKeyWipe").getAnnotation(PostConstruct.class))
                 .isNotNull();
         var captor = ArgumentCaptor.forClass(Runnable.class);
-        verify(scheduledExecutorServiceMock, times(1)).scheduleAtFixedRate(
-                captor.capture(), eq(PROPERTIES_DEFINED_DURATION), eq(PROPERTIES_DEFINED_DURATION), eq(PROPERTIES_DEFINED_TIME_UNIT)
+        var sweepInterval = PROPERTIES_DEFINED_SWEEP_INTERVAL.toMillis();
+        verify(scheduledExecutorServiceMock, times(1)).scheduleWithFixedDelay(
+                captor.capture(), eq(sweepInterval), eq(sweepInterval), eq(TimeUnit.MILLISECONDS)
         );
         captor.getValue().run();
         verify(lockMock, times(1)).lock();
@@ -76,32 +100,125 @@ class ConcurrentHashMapTaggableCacheManagerTest {
                 .hasSize(1)
                 .containsKey(nonExpiredKey)
                 .doesNotContainKey(expiredKey);
-        assertThat(contentStoreTtl)
-                .hasSize(1)
-                .containsKey(nonExpiredKey)
-                .doesNotContainKey(expiredKey);
+        assertThat(expiryQueue.size()).isEqualTo(1);
         assertThat(tagsToKeyMap.get(TEST_TAG))
                 .hasSize(1)
                 .contains(nonExpiredKey);
+        assertThat(keyToTagsMap)
+                .hasSize(1)
+                .containsKey(nonExpiredKey);
         verify(lockMock, times(1)).unlock();
     }
 
+    @Test
+    void autoKeyWipe_should_remove_expired_entries_in_batches() {
+        IntStream.range(0, 5).forEach(i -> storeEntry("expired_" + i, i, now.get() - i));
+
+        concurrentHashMapTaggableCacheManager.autoKeyWipe();
+
+        var captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduledExecutorServiceMock, times(1)).scheduleWithFixedDelay(captor.capture(), anyLong(), anyLong(), any());
+        captor.getValue().run();
+        assertThat(contentStore).isEmpty();
+        verify(expiryQueue, times(3)).pollExpired(now.get(), PROPERTIES_DEFINED_BATCH_SIZE);
+    }
+
+    @Test
+    void autoKeyWipe_should_not_remove_entry_replaced_after_expiring() {
+        var expiredEntry = storeEntry(TEST_KEY, TEST_VALUE, now.get() - 5);
+        given(expiryQueue.pollExpired(anyLong(), anyInt())).willReturn(List.of(expiredEntry)).willCallRealMethod();
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE_2, List.of());
+
+        concurrentHashMapTaggableCacheManager.autoKeyWipe();
+
+        var captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduledExecutorServiceMock, times(1)).scheduleWithFixedDelay(captor.capture(), anyLong(), anyLong(), any());
+        captor.getValue().run();
+        assertThat(concurrentHashMapTaggableCacheManager.<String>findByKey(TEST_KEY)).isEqualTo(TEST_VALUE_2);
+    }
+
+    @Test
+    void getEvictionCount_should_count_each_cause() {
+        storeEntry("expired", 1, now.get() - 5);
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE, List.of(TEST_TAG));
+        concurrentHashMapTaggableCacheManager.saveEntry("by_key", TEST_VALUE, List.of());
+        concurrentHashMapTaggableCacheManager.saveEntry("by_clear", TEST_VALUE, List.of());
+        concurrentHashMapTaggableCacheManager.autoKeyWipe();
+        var captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduledExecutorServiceMock).scheduleWithFixedDelay(captor.capture(), anyLong(), anyLong(), any());
+
+        captor.getValue().run();
+        concurrentHashMapTaggableCacheManager.evictByCacheTag(TEST_TAG);
+        concurrentHashMapTaggableCacheManager.evictByKey("by_key");
+        concurrentHashMapTaggableCacheManager.evictByKey("missing");
+        concurrentHashMapTaggableCacheManager.clear();
+
+        assertThat(concurrentHashMapTaggableCacheManager.getEvictionCount(EvictionCause.TTL)).isEqualTo(1);
+        assertThat(concurrentHashMapTaggableCacheManager.getEvictionCount(EvictionCause.TAG)).isEqualTo(2);
+        assertThat(concurrentHashMapTaggableCacheManager.getEvictionCount(EvictionCause.KEY)).isEqualTo(1);
+        assertThat(concurrentHashMapTaggableCacheManager.getEvictionCount(EvictionCause.CLEAR)).isEqualTo(1);
+        assertThat(concurrentHashMapTaggableCacheManager.getEvictionCount(EvictionCause.SIZE)).isZero();
+    }
+
+    @Test
+    void getEvictionCount_should_count_size_evictions() {
+        var manager = new ConcurrentHashMapTaggableCacheManager(properties(10, 0));
+
+        IntStream.range(0, 30).forEach(i -> manager.saveEntry("key_" + i, i, List.of(TEST_TAG)));
+
+        assertThat(manager.getEvictionCount(EvictionCause.SIZE)).isEqualTo(20);
+        assertThat(manager.getSize()).isEqualTo(10);
+    }
+
+    @Test
+    void statistics_should_report_the_tag_cardinality() {
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG, "other"));
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE, List.of(TEST_TAG));
+
+        assertThat(concurrentHashMapTaggableCacheManager.getSize()).isEqualTo(2);
+        assertThat(concurrentHashMapTaggableCacheManager.getTagCount()).isEqualTo(2);
+        assertThat(concurrentHashMapTaggableCacheManager.getLargestTagSize()).isEqualTo(2);
+    }
+
+    @Test
+    void getKeyFootprint_should_count_the_characters_of_each_key_once() {
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG, "other"));
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE, List.of(TEST_TAG));
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE_2, List.of());
+
+        assertThat(concurrentHashMapTaggableCacheManager.getKeyFootprint())
+                .isEqualTo(TEST_KEY.length() + TEST_KEY_2.length());
+    }
+
     @Test
     void keyExists_should_work() {
         assertThat(concurrentHashMapTaggableCacheManager.keyExists(TEST_KEY)).isFalse();
-        contentStore.put(TEST_KEY, "val");
+        storeEntry(TEST_KEY, "val", now.get() + 1);
         assertThat(concurrentHashMapTaggableCacheManager.keyExists(TEST_KEY)).isTrue();
     }
 
     @Test
     void findByKey_should_work() {
-        contentStore.put(TEST_KEY, TEST_VALUE);
-        assertThat(concurrentHashMapTaggableCacheManager.findByKey(TEST_KEY)).isEqualTo(TEST_VALUE);
+        storeEntry(TEST_KEY, TEST_VALUE, now.get() + 1);
+        assertThat(concurrentHashMapTaggableCacheManager.<String>findByKey(TEST_KEY)).isEqualTo(TEST_VALUE);
+    }
+
+    @Test
+    void keyExists_and_findByKey_should_treat_expired_entry_as_missing_before_it_is_wiped() {
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+        assertThat(concurrentHashMapTaggableCacheManager.keyExists(TEST_KEY)).isTrue();
+
+        now.addAndGet(PROPERTIES_DEFINED_TIME_UNIT.toNanos(PROPERTIES_DEFINED_DURATION));
+
+        assertThat(contentStore).containsKey(TEST_KEY);
+        assertThat(concurrentHashMapTaggableCacheManager.keyExists(TEST_KEY)).isFalse();
+        assertThat(concurrentHashMapTaggableCacheManager.<String>findByKey(TEST_KEY)).isNull();
     }
 
     @Test
     void evictByCacheTag_should_work() {
-        contentStore.put(TEST_KEY, TEST_VALUE);
+        storeEntry(TEST_KEY, TEST_VALUE, now.get() + 1);
         concurrentHashMapTaggableCacheManager.evictByCacheTag(TEST_TAG);
         assertThat(contentStore).containsKey(TEST_KEY);
         Set<String> list = new HashSet<>();
@@ -110,10 +227,12 @@ class ConcurrentHashMapTaggableCacheManagerTest {
 
         concurrentHashMapTaggableCacheManager.evictByCacheTag(TEST_TAG);
 
-        verify(lockMock, times(2)).lock();
-        verify(lockMock, times(2)).unlock();
+        verify(stripedLockMock, times(1)).get(TEST_KEY);
+        verify(lockMock, times(1)).lock();
+        verify(lockMock, times(1)).unlock();
         assertThat(contentStore).doesNotContainKey(TEST_KEY);
-        assertThat(tagsToKeyMap.get(TEST_TAG)).isEmpty();
+        assertThat(expiryQueue.size()).isZero();
+        assertThat(tagsToKeyMap).doesNotContainKey(TEST_TAG);
     }
 
     @Test
@@ -121,7 +240,7 @@ class ConcurrentHashMapTaggableCacheManagerTest {
         var computedTag = "user:8";
         var tag = "user";
         int tagPart = 8;
-        contentStore.put(TEST_KEY, TEST_VALUE);
+        storeEntry(TEST_KEY, TEST_VALUE, now.get() + 1);
         concurrentHashMapTaggableCacheManager.evictByCacheTag(tag, tagPart);
         assertThat(contentStore).containsKey(TEST_KEY);
         Set<String> list = new HashSet<>();
@@ -130,10 +249,10 @@ class ConcurrentHashMapTaggableCacheManagerTest {
 
         concurrentHashMapTaggableCacheManager.evictByCacheTag(tag, tagPart);
 
-        verify(lockMock, times(2)).lock();
-        verify(lockMock, times(2)).unlock();
+        verify(lockMock, times(1)).lock();
+        verify(lockMock, times(1)).unlock();
         assertThat(contentStore).doesNotContainKey(TEST_KEY);
-        assertThat(tagsToKeyMap.get(computedTag)).isEmpty();
+        assertThat(tagsToKeyMap).doesNotContainKey(computedTag);
     }
 
     @Test
@@ -143,62 +262,340 @@ class ConcurrentHashMapTaggableCacheManagerTest {
         concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
         concurrentHashMapTaggableCacheManager.saveEntry(otherKey, "other_value", List.of(TEST_TAG));
 
-        assertThat(contentStore)
-                .containsKey(TEST_KEY)
-                .containsEntry(TEST_KEY, TEST_VALUE);
-        assertThat(contentStoreTtl)
-                .containsKey(TEST_KEY);
-        assertThat(contentStoreTtl.get(TEST_KEY)).isAfter(LocalDateTime.now().plusHours(PROPERTIES_DEFINED_DURATION - 1));
+        assertThat(contentStore).containsKey(TEST_KEY);
+        var storedEntry = contentStore.get(TEST_KEY);
+        assertThat(storedEntry.getValue()).isEqualTo(TEST_VALUE);
+        assertThat(storedEntry.getExpiresAt())
+                .isEqualTo(now.get() + PROPERTIES_DEFINED_TIME_UNIT.toNanos(PROPERTIES_DEFINED_DURATION));
+        assertThat(expiryQueue.size()).isEqualTo(2);
         assertThat(tagsToKeyMap)
                 .containsKey(TEST_TAG)
                 .containsEntry(TEST_TAG, Set.of(TEST_KEY, otherKey));
+        assertThat(keyToTagsMap)
+                .containsEntry(TEST_KEY, Set.of(TEST_TAG))
+                .containsEntry(otherKey, Set.of(TEST_TAG));
         verify(lockMock, times(2)).lock();
         verify(lockMock, times(2)).unlock();
     }
 
+    @Test
+    void evictByCacheTags_should_delete_union_of_keys_acquiring_each_stripe_once() {
+        var otherLock = mock(Lock.class);
+        given(stripedLockMock.get("key_c")).willReturn(otherLock);
+        concurrentHashMapTaggableCacheManager.saveEntry("key_a", TEST_VALUE, List.of("tag_1"));
+        concurrentHashMapTaggableCacheManager.saveEntry("key_b", TEST_VALUE, List.of("tag_1", "tag_2"));
+        concurrentHashMapTaggableCacheManager.saveEntry("key_c", TEST_VALUE, List.of("tag_2"));
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of("tag_3"));
+        clearInvocations(lockMock, otherLock);
+
+        concurrentHashMapTaggableCacheManager.evictByCacheTags(List.of("tag_1", "tag_2", "unknown"));
+
+        verify(lockMock, times(1)).lock();
+        verify(otherLock, times(1)).lock();
+        assertThat(contentStore).containsOnlyKeys(TEST_KEY);
+        assertThat(tagsToKeyMap).containsOnlyKeys("tag_3");
+        assertThat(keyToTagsMap).containsOnlyKeys(TEST_KEY);
+    }
+
+    @Test
+    void evictByCacheTag_with_parts_should_evict_all_the_parts() {
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of("user:1"));
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE_2, List.of("user:2"));
+        concurrentHashMapTaggableCacheManager.saveEntry("key_3", TEST_VALUE, List.of("user:3"));
+
+        concurrentHashMapTaggableCacheManager.evictByCacheTag("user", List.of(1, 2));
+
+        assertThat(contentStore).containsOnlyKeys("key_3");
+    }
+
+    @Test
+    void evictByCacheTagPrefix_should_evict_only_the_tags_starting_with_the_prefix() {
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of("user:1"));
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE_2, List.of("user:2", "group:1"));
+        concurrentHashMapTaggableCacheManager.saveEntry("key_3", TEST_VALUE, List.of("users"));
+        concurrentHashMapTaggableCacheManager.saveEntry("key_4", TEST_VALUE, List.of("group:1"));
+
+        concurrentHashMapTaggableCacheManager.evictByCacheTagPrefix("user:");
+
+        assertThat(contentStore).containsOnlyKeys("key_3", "key_4");
+        assertThat(tagsToKeyMap).containsOnlyKeys("users", "group:1");
+        assertThat(tagsToKeyMap.get("group:1")).containsExactly("key_4");
+    }
+
+    @Test
+    void evictByCacheTagPrefix_should_not_find_tags_whose_entries_are_gone() {
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of("user:1"));
+        concurrentHashMapTaggableCacheManager.evictByKey(TEST_KEY);
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE_2, List.of("user:2"));
+        concurrentHashMapTaggableCacheManager.evictByCacheTag("user:2");
+        clearInvocations(tagsToKeyMap);
+
+        concurrentHashMapTaggableCacheManager.evictByCacheTagPrefix("user:");
+
+        verifyNoInteractions(tagsToKeyMap);
+    }
+
+    @Test
+    void evictByCacheTagPrefix_in_generation_mode_should_invalidate_the_matching_tags() {
+        var manager = generationModeManager();
+        manager.saveEntry(TEST_KEY, TEST_VALUE, List.of("user:1"));
+        manager.saveEntry(TEST_KEY_2, TEST_VALUE_2, List.of("users"));
+
+        manager.evictByCacheTagPrefix("user:");
+
+        assertThat(manager.keyExists(TEST_KEY)).isFalse();
+        assertThat(manager.keyExists(TEST_KEY_2)).isTrue();
+    }
+
+    @Test
+    void evictByCacheTags_in_generation_mode_should_invalidate_all_the_tags() {
+        var manager = generationModeManager();
+        manager.saveEntry(TEST_KEY, TEST_VALUE, List.of("tag_1"));
+        manager.saveEntry(TEST_KEY_2, TEST_VALUE_2, List.of("tag_2"));
+
+        manager.evictByCacheTags(List.of("tag_1", "tag_2"));
+
+        assertThat(manager.keyExists(TEST_KEY)).isFalse();
+        assertThat(manager.keyExists(TEST_KEY_2)).isFalse();
+        verify(scheduledExecutorServiceMock, times(2)).execute(any());
+    }
+
+    @Test
+    void saveAll_should_acquire_each_stripe_once_and_update_each_tag_store_once() {
+        var otherLock = mock(Lock.class);
+        given(stripedLockMock.get("key_c")).willReturn(otherLock);
+
+        concurrentHashMapTaggableCacheManager.saveAll(List.of(
+                TaggedCacheEntry.builder().key("key_a").value(TEST_VALUE).tags(List.of("tag_1")).build(),
+                TaggedCacheEntry.builder().key("key_b").value(null).tags(List.of("tag_1", "tag_2")).build(),
+                TaggedCacheEntry.builder().key("key_c").value(TEST_VALUE_2).tags(List.of("tag_2"))
+                        .ttl(Duration.ofSeconds(1)).build()
+        ));
+
+        verify(lockMock, times(1)).lock();
+        verify(otherLock, times(1)).lock();
+        verify(tagsToKeyMap, times(1)).compute(eq("tag_1"), any());
+        assertThat(tagsToKeyMap.get("tag_1")).containsExactlyInAnyOrder("key_a", "key_b");
+        assertThat(tagsToKeyMap.get("tag_2")).containsExactlyInAnyOrder("key_b", "key_c");
+        assertThat(keyToTagsMap.get("key_b")).containsExactlyInAnyOrder("tag_1", "tag_2");
+        assertThat(contentStore.get("key_c").getExpiresAt()).isEqualTo(now.get() + Duration.ofSeconds(1).toNanos());
+        assertThat(expiryQueue.size()).isEqualTo(3);
+        assertThat(concurrentHashMapTaggableCacheManager.getAll(List.of("key_a", "key_b", "absent")))
+                .containsExactly(entry("key_a", TEST_VALUE), entry("key_b", null));
+    }
+
+    @Test
+    void saveAll_should_keep_last_entry_of_repeated_key() {
+        concurrentHashMapTaggableCacheManager.saveAll(List.of(
+                TaggedCacheEntry.builder().key(TEST_KEY).value(TEST_VALUE).tags(List.of("tag_1")).build(),
+                TaggedCacheEntry.builder().key(TEST_KEY).value(TEST_VALUE_2).tags(List.of("tag_2")).build()
+        ));
+
+        assertThat(concurrentHashMapTaggableCacheManager.<String>findByKey(TEST_KEY)).isEqualTo(TEST_VALUE_2);
+        assertThat(tagsToKeyMap).containsOnlyKeys("tag_2");
+    }
+
+    @Test
+    void saveAll_in_generation_mode_should_record_generations() {
+        var manager = generationModeManager();
+        manager.saveAll(List.of(
+                TaggedCacheEntry.builder().key(TEST_KEY).value(TEST_VALUE).tags(List.of("tag_1")).build(),
+                TaggedCacheEntry.builder().key(TEST_KEY_2).value(TEST_VALUE_2).tags(List.of("tag_2")).build()
+        ));
+
+        manager.evictByCacheTag("tag_1");
+
+        assertThat(manager.keyExists(TEST_KEY)).isFalse();
+        assertThat(manager.keyExists(TEST_KEY_2)).isTrue();
+    }
+
+    @Test
+    void computeAllIfAbsent_should_load_only_missing_keys_once() throws Throwable {
+        concurrentHashMapTaggableCacheManager.saveEntry("key_a", "cached", List.of());
+        List<Set<String>> loadedKeys = new ArrayList<>();
+
+        var values = concurrentHashMapTaggableCacheManager.computeAllIfAbsent(
+                List.of("key_a", "key_b", "key_c"),
+                key -> List.of("tag:" + key),
+                null,
+                keys -> {
+                    loadedKeys.add(Set.copyOf(keys));
+                    return Map.of("key_b", "loaded_b", "not_requested", "ignored");
+                }
+        );
+
+        assertThat(loadedKeys).containsExactly(Set.of("key_b", "key_c"));
+        assertThat(values).containsExactly(entry("key_a", "cached"), entry("key_b", "loaded_b"));
+        assertThat(contentStore).containsOnlyKeys("key_a", "key_b");
+        assertThat(tagsToKeyMap).containsOnlyKeys("tag:key_b");
+    }
+
+    @Test
+    void computeAllIfAbsent_should_not_invoke_loader_when_all_keys_are_cached() throws Throwable {
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of());
+        BulkCacheLoader<String> loader = mock(BulkCacheLoader.class);
+
+        var values = concurrentHashMapTaggableCacheManager.computeAllIfAbsent(List.of(TEST_KEY), key -> List.of(), null, loader);
+
+        assertThat(values).containsExactly(entry(TEST_KEY, TEST_VALUE));
+        verify(loader, never()).loadAll(any());
+    }
+
+    @Test
+    void saveEntry_should_replace_previous_entry_deadline() {
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of());
+        var previousEntry = contentStore.get(TEST_KEY);
+
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE_2, List.of());
+
+        verify(expiryQueue, times(1)).remove(previousEntry);
+        assertThat(expiryQueue.size()).isEqualTo(1);
+    }
+
+    @Test
+    void saveEntry_should_use_entry_ttl_instead_of_default() {
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(), Duration.ofSeconds(10));
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE_2, List.of());
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThat(concurrentHashMapTaggableCacheManager.keyExists(TEST_KEY)).isFalse();
+        assertThat(concurrentHashMapTaggableCacheManager.keyExists(TEST_KEY_2)).isTrue();
+        assertThat(expiryQueue.pollExpired(now.get(), PROPERTIES_DEFINED_BATCH_SIZE))
+                .extracting(CacheEntryModel::getKey)
+                .containsExactly(TEST_KEY);
+    }
+
+    @Test
+    void replaceEntry_should_only_save_if_the_key_still_has_the_expected_value() {
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+
+        assertThat(concurrentHashMapTaggableCacheManager.replaceEntry(TEST_KEY, TEST_VALUE_2, "wrong", List.of(), null))
+                .isFalse();
+        assertThat(concurrentHashMapTaggableCacheManager.replaceEntry(TEST_KEY_2, TEST_VALUE, "wrong", List.of(), null))
+                .isFalse();
+        assertThat(concurrentHashMapTaggableCacheManager.replaceEntry(
+                TEST_KEY, TEST_VALUE, TEST_VALUE_2, List.of(TEST_TAG), Duration.ofSeconds(10)
+        )).isTrue();
+
+        assertThat(concurrentHashMapTaggableCacheManager.findByKey(TEST_KEY)).isEqualTo(TEST_VALUE_2);
+        assertThat(concurrentHashMapTaggableCacheManager.keyExists(TEST_KEY_2)).isFalse();
+        assertThat(tagsToKeyMap.get(TEST_TAG)).containsExactly(TEST_KEY);
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(concurrentHashMapTaggableCacheManager.keyExists(TEST_KEY)).isFalse();
+    }
+
+    @Test
+    void getDefaultTtl_should_be_the_cache_ttl() {
+        assertThat(concurrentHashMapTaggableCacheManager.getDefaultTtl())
+                .isEqualTo(Duration.ofHours(PROPERTIES_DEFINED_DURATION));
+    }
+
+    @Test
+    void computeIfAbsent_should_save_with_specified_ttl() throws Throwable {
+        var retVal = concurrentHashMapTaggableCacheManager.computeIfAbsent(
+                TEST_KEY, () -> List.of(TEST_TAG), Duration.ofMinutes(1), () -> TEST_VALUE
+        );
+
+        assertThat(retVal).isEqualTo(TEST_VALUE);
+        assertThat(contentStore.get(TEST_KEY).getExpiresAt()).isEqualTo(now.get() + Duration.ofMinutes(1).toNanos());
+    }
+
     @Test
     void saveEntry_and_findByKey_should_accept_null_value() {
         concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, null, List.of());
         assertThat(concurrentHashMapTaggableCacheManager.keyExists(TEST_KEY)).isTrue();
-        assertThat(concurrentHashMapTaggableCacheManager.findByKey(TEST_KEY)).isNull();
+        assertThat(concurrentHashMapTaggableCacheManager.<Object>findByKey(TEST_KEY)).isNull();
+    }
+
+    @Test
+    void saveEntry_should_share_the_null_sentinel_and_expire_it_after_the_negative_ttl() {
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, null, List.of());
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY_2, null, List.of(), Duration.ofSeconds(10));
+
+        assertThat(contentStore.get(TEST_KEY).getValue()).isSameAs(contentStore.get(TEST_KEY_2).getValue());
+        assertThat(contentStore.get(TEST_KEY).getExpiresAt()).isEqualTo(now.get() + PROPERTIES_DEFINED_NEGATIVE_TTL.toNanos());
+        assertThat(contentStore.get(TEST_KEY_2).getExpiresAt()).isEqualTo(now.get() + Duration.ofSeconds(10).toNanos());
+        now.addAndGet(PROPERTIES_DEFINED_NEGATIVE_TTL.toNanos());
+        assertThat(concurrentHashMapTaggableCacheManager.keyExists(TEST_KEY)).isFalse();
     }
 
     @Test
     void evictByKey_should_work() {
-        contentStore.put(TEST_KEY, TEST_VALUE);
-        contentStore.put(TEST_KEY_2, TEST_VALUE_2);
-        contentStoreTtl.put(TEST_KEY, LocalDateTime.now());
+        storeEntry(TEST_KEY, TEST_VALUE, now.get() + 1);
+        storeEntry(TEST_KEY_2, TEST_VALUE_2, now.get() + 1);
         tagsToKeyMap.put(TEST_TAG, new HashSet<>(List.of(TEST_KEY, TEST_KEY_2)));
+        keyToTagsMap.put(TEST_KEY, Set.of(TEST_TAG));
+        keyToTagsMap.put(TEST_KEY_2, Set.of(TEST_TAG));
 
         concurrentHashMapTaggableCacheManager.evictByKey(TEST_KEY);
 
         assertThat(contentStore)
                 .doesNotContainKey(TEST_KEY)
                 .containsKey(TEST_KEY_2);
-        assertThat(contentStoreTtl)
-                .doesNotContainKey(TEST_KEY);
-        verify(lockMock, times(1)).lock();
-        verify(lockMock, times(1)).unlock();
-        assertThat(tagsToKeyMap.get(TEST_TAG)).hasSize(2);
-        var captor = ArgumentCaptor.forClass(Runnable.class);
-        verify(scheduledExecutorServiceMock, times(1)).execute(captor.capture());
-        captor.getValue().run();
+        assertThat(expiryQueue.size()).isEqualTo(1);
         assertThat(tagsToKeyMap.get(TEST_TAG))
                 .hasSize(1)
                 .contains(TEST_KEY_2);
-        verify(lockMock, times(2)).lock();
-        verify(lockMock, times(2)).unlock();
+        assertThat(keyToTagsMap).doesNotContainKey(TEST_KEY);
+        verify(stripedLockMock, times(1)).get(TEST_KEY);
+        verify(lockMock, times(1)).lock();
+        verify(lockMock, times(1)).unlock();
+        verifyNoInteractions(scheduledExecutorServiceMock);
+    }
+
+    @Test
+    void evictByKey_should_drop_tag_store_when_it_becomes_empty() {
+        var otherTag = "other-tag";
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG, otherTag));
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE_2, List.of(TEST_TAG));
+
+        concurrentHashMapTaggableCacheManager.evictByKey(TEST_KEY);
+
+        assertThat(tagsToKeyMap)
+                .containsEntry(TEST_TAG, Set.of(TEST_KEY_2))
+                .doesNotContainKey(otherTag);
+    }
+
+    @Test
+    void evictByCacheTag_should_remove_evicted_keys_from_their_other_tags() {
+        var otherTag = "other-tag";
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG, otherTag));
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE_2, List.of(otherTag));
+
+        concurrentHashMapTaggableCacheManager.evictByCacheTag(TEST_TAG);
+
+        assertThat(tagsToKeyMap)
+                .doesNotContainKey(TEST_TAG)
+                .containsEntry(otherTag, Set.of(TEST_KEY_2));
+        assertThat(keyToTagsMap)
+                .doesNotContainKey(TEST_KEY)
+                .containsKey(TEST_KEY_2);
+    }
+
+    @Test
+    void saveEntry_should_unlink_tags_no_longer_present_on_update() {
+        var otherTag = "other-tag";
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE_2, List.of(otherTag));
+
+        assertThat(tagsToKeyMap)
+                .doesNotContainKey(TEST_TAG)
+                .containsEntry(otherTag, Set.of(TEST_KEY));
+        assertThat(keyToTagsMap).containsEntry(TEST_KEY, Set.of(otherTag));
     }
 
     @Test
     void clear_should_work() {
         concurrentHashMapTaggableCacheManager.clear();
 
-        verify(lockMock, times(1)).lock();
+        verify(stripedLockMock, times(1)).lockAll();
         verify(contentStore, times(1)).clear();
-        verify(contentStoreTtl, times(1)).clear();
         verify(tagsToKeyMap, times(1)).clear();
-        verify(lockMock, times(1)).unlock();
+        verify(keyToTagsMap, times(1)).clear();
+        verify(expiryQueue, times(1)).clear();
+        verify(stripedLockMock, times(1)).unlockAll();
     }
 
     @Test
@@ -208,7 +605,7 @@ class ConcurrentHashMapTaggableCacheManagerTest {
         assertThatThrownBy(() -> concurrentHashMapTaggableCacheManager.clear())
                 .isInstanceOf(IllegalStateException.class);
 
-        verify(lockMock, times(1)).unlock();
+        verify(stripedLockMock, times(1)).unlockAll();
     }
 
     @SuppressWarnings("unchecked")
@@ -228,7 +625,7 @@ class ConcurrentHashMapTaggableCacheManagerTest {
     @SuppressWarnings("unchecked")
     @Test
     void computeIfAbsent_should_skip_supplier_and_return_cached_value() {
-        contentStore.put(TEST_KEY, TEST_VALUE);
+        storeEntry(TEST_KEY, TEST_VALUE, now.get() + 1);
         Supplier<String> supplier = mock(Supplier.class);
 
         var retVal = concurrentHashMapTaggableCacheManager.computeIfAbsent(TEST_KEY, List.of(TEST_VALUE), supplier);
@@ -238,4 +635,275 @@ class ConcurrentHashMapTaggableCacheManagerTest {
 
     }
 
+    @Test
+    void getIfPresent_should_distinguish_cached_null_from_absent_and_expired() {
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, null, List.of());
+        storeEntry(TEST_KEY_2, TEST_VALUE_2, now.get() - 1);
+
+        assertThat(concurrentHashMapTaggableCacheManager.<String>getIfPresent(TEST_KEY)).isEqualTo(CachedValue.of(null));
+        assertThat(concurrentHashMapTaggableCacheManager.<String>getIfPresent(TEST_KEY_2)).isNull();
+        assertThat(concurrentHashMapTaggableCacheManager.<String>getIfPresent("absent")).isNull();
+        verify(contentStore, times(1)).get(TEST_KEY);
+    }
+
+    @Test
+    void computeIfAbsent_should_save_a_loaded_null_with_the_negative_ttl() throws Throwable {
+        var retVal = concurrentHashMapTaggableCacheManager.computeIfAbsent(
+                TEST_KEY, List::of, Duration.ofHours(1), null, () -> null
+        );
+        concurrentHashMapTaggableCacheManager.computeIfAbsent(
+                TEST_KEY_2, List::of, Duration.ofHours(1), Duration.ofSeconds(10), () -> null
+        );
+
+        assertThat(retVal).isNull();
+        assertThat(contentStore.get(TEST_KEY).getExpiresAt()).isEqualTo(now.get() + PROPERTIES_DEFINED_NEGATIVE_TTL.toNanos());
+        assertThat(contentStore.get(TEST_KEY_2).getExpiresAt()).isEqualTo(now.get() + Duration.ofSeconds(10).toNanos());
+    }
+
+    @Test
+    void computeIfAbsent_should_not_cache_a_loaded_null_with_zero_negative_ttl() throws Throwable {
+        CacheLoader<String> loader = mock(CacheLoader.class);
+
+        concurrentHashMapTaggableCacheManager.computeIfAbsent(TEST_KEY, List::of, null, Duration.ZERO, loader);
+        concurrentHashMapTaggableCacheManager.computeIfAbsent(TEST_KEY, List::of, null, Duration.ZERO, loader);
+
+        assertThat(concurrentHashMapTaggableCacheManager.keyExists(TEST_KEY)).isFalse();
+        verify(loader, times(2)).load();
+    }
+
+    @Test
+    void computeIfAbsent_should_return_cached_null_without_loading() throws Throwable {
+        concurrentHashMapTaggableCacheManager.saveEntry(TEST_KEY, null, List.of());
+        CacheLoader<String> loader = mock(CacheLoader.class);
+
+        var retVal = concurrentHashMapTaggableCacheManager.computeIfAbsent(TEST_KEY, List::of, null, loader);
+
+        assertThat(retVal).isNull();
+        verify(loader, never()).load();
+    }
+
+    @Test
+    void computeIfAbsent_should_save_computed_value_with_tags() {
+        var retVal = concurrentHashMapTaggableCacheManager.computeIfAbsent(TEST_KEY, List.of(TEST_TAG), () -> TEST_VALUE);
+
+        assertThat(retVal).isEqualTo(TEST_VALUE);
+        assertThat(contentStore.get(TEST_KEY).getValue()).isEqualTo(TEST_VALUE);
+        assertThat(keyToTagsMap).containsEntry(TEST_KEY, Set.of(TEST_TAG));
+    }
+
+    @Test
+    void computeIfAbsent_should_compute_only_once_for_concurrent_callers() throws Exception {
+        var manager = new ConcurrentHashMapTaggableCacheManager(properties());
+        var invocations = new AtomicInteger();
+        var loaderStarted = new CountDownLatch(1);
+        var releaseLoader = new CountDownLatch(1);
+        var callers = Executors.newFixedThreadPool(4);
+        Callable<String> caller = () -> manager.computeIfAbsent(TEST_KEY, List.of(TEST_TAG), () -> {
+            invocations.incrementAndGet();
+            loaderStarted.countDown();
+            awaitUninterruptibly(releaseLoader);
+            return TEST_VALUE;
+        });
+
+        var first = callers.submit(caller);
+        assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        var others = IntStream.range(0, 3).mapToObj(i -> callers.submit(caller)).toList();
+        Thread.sleep(100);
+        releaseLoader.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(TEST_VALUE);
+        for (var other : others) {
+            assertThat(other.get(5, TimeUnit.SECONDS)).isEqualTo(TEST_VALUE);
+        }
+        assertThat(invocations).hasValue(1);
+        callers.shutdown();
+    }
+
+    @Test
+    void computeIfAbsent_should_not_save_and_should_rethrow_when_loader_fails() {
+        var exception = new IllegalStateException("the failure");
+
+        assertThatThrownBy(() -> concurrentHashMapTaggableCacheManager.computeIfAbsent(
+                TEST_KEY, () -> List.of(TEST_TAG), null, () -> {
+                    throw exception;
+                })
+        ).isSameAs(exception);
+        assertThat(contentStore).doesNotContainKey(TEST_KEY);
+    }
+
+    @ParameterizedTest
+    @EnumSource(TagInvalidationMode.class)
+    void evictByCacheTag_should_remove_keys_saved_before_it_while_other_threads_keep_saving(
+            TagInvalidationMode tagInvalidation
+    ) throws InterruptedException {
+        var manager = new ConcurrentHashMapTaggableCacheManager(properties(0, 0, tagInvalidation));
+        var savedBeforeEviction = new ArrayList<String>();
+        for (int i = 0; i < 100; i++) {
+            var key = "before_" + i;
+            manager.saveEntry(key, i, List.of(TEST_TAG));
+            savedBeforeEviction.add(key);
+        }
+        var writers = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            int writer = i;
+            writers.execute(() -> IntStream.range(0, 1000)
+                    .forEach(j -> manager.saveEntry("writer_" + writer + "_" + j, j, List.of(TEST_TAG + writer))));
+        }
+
+        manager.evictByCacheTag(TEST_TAG);
+        writers.shutdown();
+
+        assertThat(writers.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(savedBeforeEviction).noneMatch(manager::keyExists);
+        assertThat(manager.keyExists("writer_0_999")).isTrue();
+    }
+
+    private ConcurrentHashMapTaggableProperties properties() {
+        return properties(0, 0);
+    }
+
+    private ConcurrentHashMapTaggableProperties properties(long maximumSize, long maximumWeight) {
+        return properties(maximumSize, maximumWeight, TagInvalidationMode.EAGER);
+    }
+
+    private ConcurrentHashMapTaggableProperties properties(
+            long maximumSize, long maximumWeight, TagInvalidationMode tagInvalidation
+    ) {
+        return new ConcurrentHashMapTaggableProperties(
+                PROPERTIES_DEFINED_DURATION, PROPERTIES_DEFINED_TIME_UNIT, 16, PROPERTIES_DEFINED_SWEEP_INTERVAL,
+                PROPERTIES_DEFINED_BATCH_SIZE, PROPERTIES_DEFINED_LOAD_WAIT_TIMEOUT, maximumSize, maximumWeight,
+                tagInvalidation, PROPERTIES_DEFINED_NEGATIVE_TTL
+        );
+    }
+
+    private ConcurrentHashMapTaggableCacheManager generationModeManager() {
+        return new ConcurrentHashMapTaggableCacheManager(
+                contentStore, tagsToKeyMap, keyToTagsMap, expiryQueue, scheduledExecutorServiceMock, stripedLockMock,
+                now::get, EvictionPolicy.UNBOUNDED, new SingleFlight(PROPERTIES_DEFINED_LOAD_WAIT_TIMEOUT),
+                properties(0, 0, TagInvalidationMode.GENERATION)
+        );
+    }
+
+    @Test
+    void evictByCacheTag_in_generation_mode_should_invalidate_entries_without_deleting_them() {
+        var manager = generationModeManager();
+        manager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+        manager.saveEntry(TEST_KEY_2, TEST_VALUE_2, List.of(TEST_TAG, "other-tag"));
+
+        manager.evictByCacheTag(TEST_TAG);
+
+        assertThat(manager.keyExists(TEST_KEY)).isFalse();
+        assertThat(manager.<String>findByKey(TEST_KEY_2)).isNull();
+        assertThat(contentStore).containsKeys(TEST_KEY, TEST_KEY_2);
+        verify(lockMock, times(2)).lock();
+    }
+
+    @Test
+    void evictByCacheTag_in_generation_mode_should_purge_invalidated_entries_in_background_once() {
+        var manager = generationModeManager();
+        manager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+        manager.saveEntry(TEST_KEY_2, TEST_VALUE_2, List.of(TEST_TAG, "other-tag"));
+
+        manager.evictByCacheTag(TEST_TAG);
+        manager.evictByCacheTag(TEST_TAG);
+
+        var captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduledExecutorServiceMock, times(1)).execute(captor.capture());
+        captor.getValue().run();
+        assertThat(contentStore).isEmpty();
+        assertThat(expiryQueue.size()).isZero();
+        assertThat(tagsToKeyMap).isEmpty();
+        assertThat(keyToTagsMap).isEmpty();
+    }
+
+    @Test
+    void evictByCacheTag_in_generation_mode_should_keep_entries_saved_after_it_and_untouched_tags() {
+        var manager = generationModeManager();
+        manager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+        manager.saveEntry(TEST_KEY_2, TEST_VALUE_2, List.of("other-tag"));
+
+        manager.evictByCacheTag(TEST_TAG);
+        manager.saveEntry(TEST_KEY, TEST_VALUE_2, List.of(TEST_TAG));
+
+        assertThat(manager.<String>findByKey(TEST_KEY)).isEqualTo(TEST_VALUE_2);
+        assertThat(manager.<String>findByKey(TEST_KEY_2)).isEqualTo(TEST_VALUE_2);
+    }
+
+    @Test
+    void evictByCacheTag_in_generation_mode_should_not_revive_entries_when_the_tag_is_created_again() {
+        var manager = generationModeManager();
+        manager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+        var invalidatedEntry = contentStore.get(TEST_KEY);
+        manager.evictByCacheTag(TEST_TAG);
+        manager.evictByKey(TEST_KEY);
+        manager.saveEntry(TEST_KEY_2, TEST_VALUE_2, List.of(TEST_TAG));
+
+        contentStore.put(TEST_KEY, invalidatedEntry);
+
+        assertThat(manager.keyExists(TEST_KEY)).isFalse();
+        assertThat(manager.keyExists(TEST_KEY_2)).isTrue();
+    }
+
+    @Test
+    void evictByCacheTag_in_generation_mode_should_not_schedule_purge_for_unknown_tag() {
+        generationModeManager().evictByCacheTag(TEST_TAG);
+
+        verify(scheduledExecutorServiceMock, never()).execute(any());
+    }
+
+    @Test
+    void constructor_should_throw_when_maximum_size_and_weight_are_specified() {
+        var properties = properties(10, 10);
+
+        assertThatThrownBy(() -> new ConcurrentHashMapTaggableCacheManager(properties))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("maximumSize and maximumWeight");
+    }
+
+    @Test
+    void saveEntry_should_evict_entries_and_their_tags_when_maximum_size_is_exceeded() {
+        var manager = new ConcurrentHashMapTaggableCacheManager(properties(10, 0));
+
+        IntStream.range(0, 50).forEach(i -> manager.saveEntry("key_" + i, i, List.of(TEST_TAG, "tag_" + i)));
+
+        var storedKeys = IntStream.range(0, 50).mapToObj(i -> "key_" + i).filter(manager::keyExists).toList();
+        assertThat(storedKeys).hasSize(10);
+        IntStream.range(0, 50)
+                .filter(i -> !manager.keyExists("key_" + i))
+                .forEach(i -> {
+                    manager.evictByCacheTag("tag_" + i);
+                    assertThat(manager.keyExists("key_" + i)).isFalse();
+                });
+        manager.evictByCacheTag(TEST_TAG);
+        assertThat(storedKeys).noneMatch(manager::keyExists);
+    }
+
+    @Test
+    void saveEntry_should_honor_maximum_weight_with_custom_weigher() {
+        var manager = new ConcurrentHashMapTaggableCacheManager(properties(0, 100), (key, value) -> ((String) value).length());
+
+        IntStream.range(0, 20).forEach(i -> manager.saveEntry("key_" + i, "0123456789", List.of()));
+
+        assertThat(IntStream.range(0, 20).filter(i -> manager.keyExists("key_" + i)).count()).isEqualTo(10);
+    }
+
+    private void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CacheEntryModel storeEntry(String key, Object value, long expiresAt) {
+        var entry = CacheEntryModel.builder()
+                .key(key)
+                .value(value)
+                .expiresAt(expiresAt)
+                .sequence(expiryQueue.nextSequence())
+                .build();
+        contentStore.put(key, entry);
+        expiryQueue.add(entry);
+        return entry;
+    }
 }
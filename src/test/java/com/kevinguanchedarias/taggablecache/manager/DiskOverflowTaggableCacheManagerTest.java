@@ -0,0 +1,158 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import com.kevinguanchedarias.taggablecache.configuration.properties.ConcurrentHashMapTaggableProperties;
+import com.kevinguanchedarias.taggablecache.configuration.properties.DiskOverflowTaggableProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class DiskOverflowTaggableCacheManagerTest {
+    private static final String TEST_TAG = "the-tag";
+    private static final int SEGMENT_SIZE = 1024;
+    private static final String VALUE_PREFIX = "v".repeat(150);
+
+    @TempDir
+    Path directory;
+
+    private final ValueCodec valueCodec = spy(new JavaSerializationValueCodec());
+    private DiskOverflowTaggableCacheManager manager;
+
+    @AfterEach
+    void tearDown() {
+        if (manager != null) {
+            manager.deleteSegments();
+        }
+    }
+
+    @Test
+    void constructor_should_throw_when_memory_tier_is_unbounded() {
+        var properties = properties(0);
+        var diskProperties = diskProperties(SEGMENT_SIZE * 4);
+
+        assertThatThrownBy(() -> new DiskOverflowTaggableCacheManager(
+                properties, diskProperties, valueCodec, Weigher.SINGLETON
+        )).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void saveEntry_should_spill_the_evicted_entries_to_disk() {
+        manager = manager(2, SEGMENT_SIZE * 4);
+
+        IntStream.range(0, 10).forEach(i -> manager.saveEntry(key(i), VALUE_PREFIX + i, List.of(TEST_TAG)));
+
+        assertThat(manager.getUsedDiskSize()).isPositive();
+        IntStream.range(0, 10).forEach(i -> assertThat(manager.findByKey(key(i))).isEqualTo(VALUE_PREFIX + i));
+    }
+
+    @Test
+    void getIfPresent_should_promote_the_spilled_entry_to_memory() {
+        manager = manager(2, SEGMENT_SIZE * 4);
+        IntStream.range(0, 3).forEach(i -> manager.saveEntry(key(i), VALUE_PREFIX + i, List.of()));
+
+        assertThat(manager.findByKey(key(1))).isEqualTo(VALUE_PREFIX + 1);
+        assertThat(manager.findByKey(key(1))).isEqualTo(VALUE_PREFIX + 1);
+
+        verify(valueCodec, times(1)).decode(any());
+    }
+
+    @Test
+    void evictByCacheTag_should_evict_the_entries_of_both_tiers() {
+        manager = manager(2, SEGMENT_SIZE * 4);
+        IntStream.range(0, 10).forEach(i -> manager.saveEntry(key(i), VALUE_PREFIX + i, List.of(TEST_TAG)));
+        manager.saveEntry("untagged", "value", List.of());
+
+        manager.evictByCacheTag(TEST_TAG);
+
+        IntStream.range(0, 10).forEach(i -> assertThat(manager.keyExists(key(i))).isFalse());
+        assertThat(manager.findByKey("untagged")).isEqualTo("value");
+        await(() -> manager.getUsedDiskSize() == 0);
+    }
+
+    @Test
+    void evictByKey_should_compact_the_segments_below_the_threshold() {
+        manager = manager(2, SEGMENT_SIZE * 8);
+        manager.autoKeyWipe();
+        IntStream.range(0, 30).forEach(i -> manager.saveEntry(key(i), VALUE_PREFIX + i, List.of()));
+        var reservedDiskSize = manager.getReservedDiskSize();
+
+        IntStream.range(0, 30).filter(i -> i % 3 != 0).forEach(i -> manager.evictByKey(key(i)));
+
+        await(() -> manager.getReservedDiskSize() < reservedDiskSize);
+        IntStream.range(0, 30).filter(i -> i % 3 == 0)
+                .forEach(i -> assertThat(manager.findByKey(key(i))).isEqualTo(VALUE_PREFIX + i));
+    }
+
+    @Test
+    void saveEntry_should_evict_the_oldest_segment_when_disk_is_full() throws Exception {
+        manager = manager(2, SEGMENT_SIZE * 2);
+        manager.autoKeyWipe();
+
+        IntStream.range(0, 40).forEach(i -> manager.saveEntry(key(i), VALUE_PREFIX + i, List.of()));
+        manager.getScheduledExecutorService().submit(() -> {
+        }).get(5, TimeUnit.SECONDS);
+
+        assertThat(manager.getReservedDiskSize()).isLessThanOrEqualTo(SEGMENT_SIZE * 2);
+        assertThat(IntStream.range(0, 40).filter(i -> manager.keyExists(key(i))).count()).isLessThan(40);
+        IntStream.range(0, 40).filter(i -> manager.keyExists(key(i)))
+                .forEach(i -> assertThat(manager.findByKey(key(i))).isEqualTo(VALUE_PREFIX + i));
+    }
+
+    @Test
+    void deleteSegments_should_delete_the_files() throws Exception {
+        manager = manager(2, SEGMENT_SIZE * 4);
+        IntStream.range(0, 10).forEach(i -> manager.saveEntry(key(i), VALUE_PREFIX + i, List.of()));
+
+        manager.deleteSegments();
+
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private String key(int index) {
+        return "key_" + index;
+    }
+
+    private DiskOverflowTaggableCacheManager manager(long maximumSize, long maximumDiskSize) {
+        return new DiskOverflowTaggableCacheManager(
+                properties(maximumSize), diskProperties(maximumDiskSize), valueCodec, Weigher.SINGLETON
+        );
+    }
+
+    private ConcurrentHashMapTaggableProperties properties(long maximumSize) {
+        return new ConcurrentHashMapTaggableProperties(
+                1L, TimeUnit.HOURS, 16, Duration.ofSeconds(1), 100, Duration.ofSeconds(5), maximumSize, 0L,
+                TagInvalidationMode.EAGER, Duration.ofMinutes(5)
+        );
+    }
+
+    private DiskOverflowTaggableProperties diskProperties(long maximumDiskSize) {
+        return new DiskOverflowTaggableProperties(
+                directory, DataSize.ofBytes(SEGMENT_SIZE), DataSize.ofBytes(maximumDiskSize), 0.5
+        );
+    }
+
+    private void await(BooleanSupplier condition) {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
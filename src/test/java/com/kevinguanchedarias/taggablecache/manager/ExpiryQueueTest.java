@@ -0,0 +1,73 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import com.kevinguanchedarias.taggablecache.internal.model.CacheEntryModel;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiryQueueTest {
+    private final ExpiryQueue expiryQueue = new ExpiryQueue();
+
+    @Test
+    void pollExpired_should_return_only_expired_entries_in_deadline_order() {
+        var late = entry("late", 30);
+        var early = entry("early", 10);
+        var notExpired = entry("notExpired", 100);
+        expiryQueue.add(late);
+        expiryQueue.add(notExpired);
+        expiryQueue.add(early);
+
+        var result = expiryQueue.pollExpired(50, 10);
+
+        assertThat(result).containsExactly(early, late);
+        assertThat(expiryQueue.size()).isEqualTo(1);
+    }
+
+    @Test
+    void pollExpired_should_respect_max_entries() {
+        expiryQueue.add(entry("first", 1));
+        expiryQueue.add(entry("second", 2));
+        expiryQueue.add(entry("third", 3));
+
+        assertThat(expiryQueue.pollExpired(50, 2)).hasSize(2);
+        assertThat(expiryQueue.pollExpired(50, 2)).hasSize(1);
+        assertThat(expiryQueue.pollExpired(50, 2)).isEmpty();
+    }
+
+    @Test
+    void add_should_keep_entries_with_same_deadline() {
+        expiryQueue.add(entry("first", 5));
+        expiryQueue.add(entry("second", 5));
+
+        assertThat(expiryQueue.size()).isEqualTo(2);
+    }
+
+    @Test
+    void remove_should_work() {
+        var entry = entry("first", 5);
+        expiryQueue.add(entry);
+
+        expiryQueue.remove(entry);
+
+        assertThat(expiryQueue.pollExpired(50, 10)).isEmpty();
+    }
+
+    @Test
+    void pollExpired_should_handle_nano_time_overflow() {
+        var beforeOverflow = entry("before", Long.MAX_VALUE - 5);
+        var afterOverflow = entry("after", Long.MIN_VALUE + 5);
+        expiryQueue.add(afterOverflow);
+        expiryQueue.add(beforeOverflow);
+
+        assertThat(expiryQueue.pollExpired(Long.MAX_VALUE, 10)).containsExactly(beforeOverflow);
+        assertThat(expiryQueue.pollExpired(Long.MIN_VALUE + 10, 10)).containsExactly(afterOverflow);
+    }
+
+    private CacheEntryModel entry(String key, long expiresAt) {
+        return CacheEntryModel.builder()
+                .key(key)
+                .expiresAt(expiresAt)
+                .sequence(expiryQueue.nextSequence())
+                .build();
+    }
+}
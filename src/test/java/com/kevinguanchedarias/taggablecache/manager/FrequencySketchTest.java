@@ -0,0 +1,54 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrequencySketchTest {
+    @Test
+    void increment_should_raise_frequency_up_to_fifteen() {
+        var sketch = new FrequencySketch(512);
+
+        IntStream.range(0, 5).forEach(i -> sketch.increment("foo"));
+        assertThat(sketch.frequency("foo")).isEqualTo(5);
+
+        IntStream.range(0, 20).forEach(i -> sketch.increment("foo"));
+        assertThat(sketch.frequency("foo")).isEqualTo(15);
+        assertThat(sketch.frequency("never_seen")).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void increment_should_halve_frequencies_when_sample_size_is_reached() {
+        var sketch = new FrequencySketch(16);
+        IntStream.range(0, 10).forEach(i -> sketch.increment("hot"));
+
+        IntStream.range(0, 160).forEach(i -> sketch.increment("item_" + i));
+
+        assertThat(sketch.frequency("hot")).isLessThan(10);
+    }
+
+    @Test
+    void ensureCapacity_should_grow_with_the_entries_up_to_the_max_size() {
+        var sketch = new FrequencySketch(0);
+        assertThat(sketch.capacity()).isEqualTo(16);
+
+        sketch.ensureCapacity(16);
+        assertThat(sketch.capacity()).isEqualTo(16);
+        sketch.ensureCapacity(17);
+        assertThat(sketch.capacity()).isEqualTo(32);
+        sketch.ensureCapacity(Long.MAX_VALUE);
+        assertThat(sketch.capacity()).isEqualTo(1 << 21);
+    }
+
+    @Test
+    void clear_should_reset_frequencies() {
+        var sketch = new FrequencySketch(64);
+        sketch.increment("foo");
+
+        sketch.clear();
+
+        assertThat(sketch.frequency("foo")).isZero();
+    }
+}
@@ -0,0 +1,165 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import com.kevinguanchedarias.taggablecache.configuration.properties.ConcurrentHashMapTaggableProperties;
+import com.kevinguanchedarias.taggablecache.configuration.properties.OffHeapTaggableProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapTaggableCacheManagerTest {
+    private static final String TEST_KEY = "foo_key";
+    private static final String TEST_KEY_2 = "other_key_2";
+    private static final String TEST_TAG = "the-tag";
+    private static final int SLAB_SIZE = 1024;
+
+    private final OffHeapTaggableCacheManager manager = manager(SLAB_SIZE * 4, new JavaSerializationValueCodec());
+
+    @Test
+    void saveEntry_should_store_the_value_off_heap() {
+        var value = new ArrayList<>(List.of("one", "two"));
+
+        manager.saveEntry(TEST_KEY, value, List.of(TEST_TAG));
+        value.add("three");
+
+        assertThat(manager.findByKey(TEST_KEY)).isEqualTo(List.of("one", "two"));
+        assertThat(manager.getUsedMemory()).isPositive();
+        assertThat(manager.getReservedMemory()).isEqualTo(SLAB_SIZE);
+    }
+
+    @Test
+    void saveEntry_should_cache_null_without_direct_memory() {
+        manager.saveEntry(TEST_KEY, null, List.of());
+
+        assertThat(manager.getIfPresent(TEST_KEY)).isEqualTo(CachedValue.of(null));
+        assertThat(manager.getUsedMemory()).isZero();
+    }
+
+    @Test
+    void saveEntry_should_not_cache_values_that_cant_be_encoded_and_evict_the_previous_value() {
+        manager.saveEntry(TEST_KEY, "previous", List.of(TEST_TAG));
+
+        manager.saveEntry(TEST_KEY, new Object(), List.of(TEST_TAG));
+
+        assertThat(manager.keyExists(TEST_KEY)).isFalse();
+        assertThat(manager.getUsedMemory()).isZero();
+    }
+
+    @Test
+    void replaceEntry_should_release_the_value_when_not_replaced() {
+        manager.saveEntry(TEST_KEY, "a".repeat(500), List.of());
+        var usedMemory = manager.getUsedMemory();
+
+        assertThat(manager.replaceEntry(TEST_KEY, "other", "b".repeat(500), List.of(), null)).isFalse();
+        assertThat(manager.replaceEntry(TEST_KEY, "a".repeat(500), "c".repeat(500), List.of(), null)).isTrue();
+
+        assertThat(manager.getUsedMemory()).isEqualTo(usedMemory);
+        assertThat(manager.findByKey(TEST_KEY)).isEqualTo("c".repeat(500));
+    }
+
+    @Test
+    void saveEntry_should_not_cache_values_bigger_than_a_slab() {
+        manager.saveEntry(TEST_KEY, "a".repeat(SLAB_SIZE), List.of());
+
+        assertThat(manager.keyExists(TEST_KEY)).isFalse();
+    }
+
+    @Test
+    void saveEntry_should_release_the_previous_value() {
+        manager.saveEntry(TEST_KEY, "a".repeat(500), List.of());
+        var usedMemory = manager.getUsedMemory();
+
+        manager.saveEntry(TEST_KEY, "b".repeat(500), List.of());
+
+        assertThat(manager.getUsedMemory()).isEqualTo(usedMemory);
+        assertThat(manager.findByKey(TEST_KEY)).isEqualTo("b".repeat(500));
+    }
+
+    @Test
+    void saveEntry_should_evict_the_oldest_entries_of_the_same_size_when_memory_is_exhausted() {
+        var smallMemoryManager = manager(SLAB_SIZE, new JavaSerializationValueCodec());
+        var value = "v".repeat(200);
+
+        IntStream.range(0, 6).forEach(i -> smallMemoryManager.saveEntry("key_" + i, value + i, List.of(TEST_TAG)));
+
+        assertThat(smallMemoryManager.keyExists("key_0")).isFalse();
+        assertThat(smallMemoryManager.keyExists("key_1")).isFalse();
+        IntStream.range(2, 6).forEach(i -> assertThat(smallMemoryManager.findByKey("key_" + i)).isEqualTo(value + i));
+        assertThat(smallMemoryManager.getReservedMemory()).isEqualTo(SLAB_SIZE);
+    }
+
+    @Test
+    void evictByCacheTag_should_release_the_memory() {
+        manager.saveEntry(TEST_KEY, "value", List.of(TEST_TAG));
+        manager.saveEntry(TEST_KEY_2, "value_2", List.of("other_tag"));
+
+        manager.evictByCacheTag(TEST_TAG);
+
+        assertThat(manager.keyExists(TEST_KEY)).isFalse();
+        assertThat(manager.findByKey(TEST_KEY_2)).isEqualTo("value_2");
+        manager.evictByKey(TEST_KEY_2);
+        assertThat(manager.getUsedMemory()).isZero();
+    }
+
+    @Test
+    void clear_should_release_the_memory() {
+        manager.saveEntry(TEST_KEY, "value", List.of(TEST_TAG));
+        manager.saveEntry(TEST_KEY_2, "value_2", List.of(TEST_TAG));
+
+        manager.clear();
+
+        assertThat(manager.keyExists(TEST_KEY)).isFalse();
+        assertThat(manager.getUsedMemory()).isZero();
+    }
+
+    @Test
+    void saveAll_should_store_the_values_off_heap_and_skip_the_ones_that_cant_be_encoded() {
+        manager.saveEntry(TEST_KEY_2, "previous", List.of());
+
+        manager.saveAll(List.of(
+                TaggedCacheEntry.builder().key(TEST_KEY).value("value").tags(List.of(TEST_TAG)).build(),
+                TaggedCacheEntry.builder().key(TEST_KEY_2).value(new Object()).tags(List.of(TEST_TAG)).build()
+        ));
+
+        assertThat(manager.<String>getAll(List.of(TEST_KEY, TEST_KEY_2))).containsExactly(Map.entry(TEST_KEY, "value"));
+    }
+
+    @Test
+    void saveEntry_should_use_the_codec() {
+        ValueCodec reversingCodec = new ValueCodec() {
+            @Override
+            public byte[] encode(Object value) {
+                return new StringBuilder((String) value).reverse().toString().getBytes();
+            }
+
+            @Override
+            public Object decode(byte[] bytes) {
+                return new StringBuilder(new String(bytes)).reverse().toString();
+            }
+        };
+        var codecManager = manager(SLAB_SIZE, reversingCodec);
+
+        codecManager.saveEntry(TEST_KEY, "value", List.of(), Duration.ofMinutes(1));
+
+        assertThat(codecManager.findByKey(TEST_KEY)).isEqualTo("value");
+        assertThat(codecManager.getUsedMemory()).isEqualTo(SlabAllocator.MIN_CHUNK_SIZE);
+    }
+
+    private OffHeapTaggableCacheManager manager(long maximumMemory, ValueCodec valueCodec) {
+        return new OffHeapTaggableCacheManager(
+                new ConcurrentHashMapTaggableProperties(
+                        1L, TimeUnit.HOURS, 16, Duration.ofSeconds(1), 100, Duration.ofSeconds(5), 0L, 0L,
+                        TagInvalidationMode.EAGER, Duration.ofMinutes(5)
+                ),
+                new OffHeapTaggableProperties(DataSize.ofBytes(maximumMemory), DataSize.ofBytes(SLAB_SIZE)),
+                valueCodec
+        );
+    }
+}
@@ -0,0 +1,317 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import com.kevinguanchedarias.taggablecache.configuration.properties.RedisTaggableProperties;
+import com.kevinguanchedarias.taggablecache.test.FakeRedisServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class RedisTaggableCacheManagerTest {
+    private static final String TEST_KEY = "foo_key";
+    private static final String TEST_VALUE = "the_val";
+    private static final String TEST_TAG = "the-tag";
+    private static final String TEST_TAG_2 = "other-tag";
+    private static final String TEST_KEY_2 = "other_key_2";
+    private static final String PREFIX = "test:";
+
+    private FakeRedisServer server;
+    private RedisTaggableCacheManager redisTaggableCacheManager;
+
+    @BeforeEach
+    void setup() {
+        server = new FakeRedisServer();
+        redisTaggableCacheManager = manager(server.getPort(), null, 2);
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        redisTaggableCacheManager.close();
+        server.close();
+    }
+
+    @Test
+    void saveEntry_should_store_the_value_and_tag_memberships() {
+        var value = new ArrayList<>(List.of(TEST_VALUE, "second"));
+
+        redisTaggableCacheManager.saveEntry(TEST_KEY, value, List.of(TEST_TAG, TEST_TAG_2));
+
+        assertThat(redisTaggableCacheManager.findByKey(TEST_KEY)).isEqualTo(value);
+        assertThat(redisTaggableCacheManager.keyExists(TEST_KEY)).isTrue();
+        assertThat(server.members(PREFIX + "k:" + TEST_KEY)).containsExactlyInAnyOrder(TEST_TAG, TEST_TAG_2);
+        assertThat(server.members(PREFIX + "t:" + TEST_TAG)).containsExactly(TEST_KEY);
+        assertThat(server.members(PREFIX + "t:" + TEST_TAG_2)).containsExactly(TEST_KEY);
+    }
+
+    @Test
+    void saveEntry_should_send_the_script_source_only_once() {
+        server.clearCommandLog();
+
+        redisTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG, TEST_TAG_2));
+        redisTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE, List.of(TEST_TAG));
+
+        assertThat(server.getCommandLog()).containsExactly("EVALSHA", "EVAL", "EVALSHA");
+    }
+
+    @Test
+    void saveEntry_should_remove_the_key_from_its_previous_tags() {
+        redisTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG, TEST_TAG_2));
+        redisTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE, List.of(TEST_TAG));
+
+        redisTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG_2));
+        redisTaggableCacheManager.evictByCacheTag(TEST_TAG);
+
+        assertThat(redisTaggableCacheManager.keyExists(TEST_KEY)).isTrue();
+        assertThat(redisTaggableCacheManager.keyExists(TEST_KEY_2)).isFalse();
+        assertThat(server.members(PREFIX + "t:" + TEST_TAG_2)).containsExactly(TEST_KEY);
+    }
+
+    @Test
+    void saveEntry_should_expire_the_tag_sets_with_the_longest_ttl_of_their_keys() {
+        redisTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG), Duration.ofMinutes(10));
+        redisTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE, List.of(TEST_TAG), Duration.ofMinutes(1));
+
+        assertThat(server.remainingTtl(PREFIX + "t:" + TEST_TAG)).isEqualTo(Duration.ofMinutes(10).toMillis());
+        server.advanceTime(Duration.ofMinutes(5));
+        assertThat(server.members(PREFIX + "t:" + TEST_TAG)).containsExactlyInAnyOrder(TEST_KEY, TEST_KEY_2);
+
+        server.advanceTime(Duration.ofMinutes(5));
+        assertThat(server.keys()).isEmpty();
+    }
+
+    @Test
+    void saveEntry_should_cache_null_values() {
+        redisTaggableCacheManager.saveEntry(TEST_KEY, null, List.of(TEST_TAG));
+
+        assertThat(redisTaggableCacheManager.keyExists(TEST_KEY)).isTrue();
+        assertThat(redisTaggableCacheManager.getIfPresent(TEST_KEY)).isEqualTo(CachedValue.of(null));
+        assertThat(redisTaggableCacheManager.getIfPresent(TEST_KEY_2)).isNull();
+    }
+
+    @Test
+    void saveEntry_should_expire_with_the_specified_or_default_ttl() {
+        redisTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG), Duration.ofSeconds(30));
+        redisTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE, List.of(TEST_TAG));
+
+        server.advanceTime(Duration.ofSeconds(31));
+        assertThat(redisTaggableCacheManager.keyExists(TEST_KEY)).isFalse();
+        assertThat(server.keys()).doesNotContain(PREFIX + "k:" + TEST_KEY);
+        assertThat(redisTaggableCacheManager.keyExists(TEST_KEY_2)).isTrue();
+
+        server.advanceTime(Duration.ofMinutes(10));
+        assertThat(redisTaggableCacheManager.keyExists(TEST_KEY_2)).isFalse();
+    }
+
+    @Test
+    void saveEntry_should_expire_nulls_without_ttl_after_the_negative_ttl() {
+        redisTaggableCacheManager.saveEntry(TEST_KEY, null, List.of(TEST_TAG));
+        redisTaggableCacheManager.saveEntry(TEST_KEY_2, null, List.of(TEST_TAG), Duration.ofMinutes(3));
+
+        server.advanceTime(Duration.ofSeconds(61));
+
+        assertThat(redisTaggableCacheManager.keyExists(TEST_KEY)).isFalse();
+        assertThat(redisTaggableCacheManager.keyExists(TEST_KEY_2)).isTrue();
+        assertThat(redisTaggableCacheManager.getDefaultNegativeTtl()).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void saveEntry_should_evict_the_previous_value_when_it_can_not_be_encoded() {
+        redisTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+
+        redisTaggableCacheManager.saveEntry(TEST_KEY, new Object(), List.of(TEST_TAG));
+
+        assertThat(redisTaggableCacheManager.keyExists(TEST_KEY)).isFalse();
+        assertThat(server.members(PREFIX + "t:" + TEST_TAG)).isEmpty();
+    }
+
+    @Test
+    void replaceEntry_should_only_save_if_the_key_still_has_the_expected_value() {
+        redisTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+
+        assertThat(redisTaggableCacheManager.replaceEntry(TEST_KEY, "other", "wrong", List.of(TEST_TAG), null))
+                .isFalse();
+        assertThat(redisTaggableCacheManager.replaceEntry(TEST_KEY_2, TEST_VALUE, "wrong", List.of(TEST_TAG), null))
+                .isFalse();
+        server.clearCommandLog();
+        assertThat(redisTaggableCacheManager.replaceEntry(TEST_KEY, TEST_VALUE, "new", List.of(TEST_TAG_2), null))
+                .isTrue();
+
+        assertThat(server.getCommandLog()).containsExactly("WATCH", "GET", "MULTI", "EVAL", "EXEC");
+        assertThat(redisTaggableCacheManager.findByKey(TEST_KEY)).isEqualTo("new");
+        assertThat(redisTaggableCacheManager.keyExists(TEST_KEY_2)).isFalse();
+        assertThat(server.members(PREFIX + "k:" + TEST_KEY)).containsExactly(TEST_TAG_2);
+        assertThat(server.members(PREFIX + "t:" + TEST_TAG)).isEmpty();
+    }
+
+    @Test
+    void evictByCacheTag_should_evict_the_keys_and_their_other_memberships() {
+        redisTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG, TEST_TAG_2));
+        redisTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE, List.of(TEST_TAG_2));
+
+        redisTaggableCacheManager.evictByCacheTag(TEST_TAG);
+
+        assertThat(redisTaggableCacheManager.keyExists(TEST_KEY)).isFalse();
+        assertThat(redisTaggableCacheManager.keyExists(TEST_KEY_2)).isTrue();
+        assertThat(server.members(PREFIX + "t:" + TEST_TAG_2)).containsExactly(TEST_KEY_2);
+        assertThat(server.keys()).doesNotContain(PREFIX + "k:" + TEST_KEY, PREFIX + "t:" + TEST_TAG);
+    }
+
+    @Test
+    void evictByCacheTags_should_send_the_script_source_only_once() {
+        redisTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+        redisTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE, List.of(TEST_TAG_2));
+        server.clearCommandLog();
+
+        redisTaggableCacheManager.evictByCacheTags(List.of(TEST_TAG));
+        redisTaggableCacheManager.evictByCacheTags(List.of(TEST_TAG_2, "unknown"));
+
+        assertThat(server.getCommandLog()).containsExactly("EVALSHA", "EVAL", "EVALSHA");
+        assertThat(server.keys()).isEmpty();
+    }
+
+    @Test
+    void evictByCacheTagPrefix_should_evict_only_the_tags_starting_with_the_prefix() {
+        redisTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of("user:1"));
+        redisTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE, List.of("user:2", "group:1"));
+        redisTaggableCacheManager.saveEntry("key_3", TEST_VALUE, List.of("users"));
+
+        redisTaggableCacheManager.evictByCacheTagPrefix("user:");
+
+        assertThat(redisTaggableCacheManager.keyExists(TEST_KEY)).isFalse();
+        assertThat(redisTaggableCacheManager.keyExists(TEST_KEY_2)).isFalse();
+        assertThat(redisTaggableCacheManager.keyExists("key_3")).isTrue();
+        assertThat(server.members(PREFIX + "t:group:1")).isEmpty();
+    }
+
+    @Test
+    void evictByKey_should_remove_the_key_from_its_tags() {
+        redisTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+        redisTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE, List.of(TEST_TAG));
+
+        redisTaggableCacheManager.evictByKey(TEST_KEY);
+
+        assertThat(redisTaggableCacheManager.keyExists(TEST_KEY)).isFalse();
+        assertThat(server.members(PREFIX + "t:" + TEST_TAG)).containsExactly(TEST_KEY_2);
+    }
+
+    @Test
+    void getAll_should_read_all_the_keys_with_a_single_command() {
+        redisTaggableCacheManager.saveAll(List.of(
+                TaggedCacheEntry.builder().key(TEST_KEY).value(TEST_VALUE).tags(List.of(TEST_TAG)).build(),
+                TaggedCacheEntry.builder().key(TEST_KEY_2).tags(List.of(TEST_TAG_2)).build()
+        ));
+        server.clearCommandLog();
+
+        Map<String, Object> values = redisTaggableCacheManager.getAll(List.of(TEST_KEY, "missing", TEST_KEY_2));
+
+        assertThat(values).containsExactly(entry(TEST_KEY, TEST_VALUE), entry(TEST_KEY_2, null));
+        assertThat(server.getCommandLog()).containsExactly("MGET");
+    }
+
+    @Test
+    void saveAll_should_run_a_single_script() {
+        redisTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE, List.of(TEST_TAG_2));
+        server.clearCommandLog();
+
+        redisTaggableCacheManager.saveAll(List.of(
+                TaggedCacheEntry.builder().key(TEST_KEY).value(TEST_VALUE).tags(List.of(TEST_TAG)).build(),
+                TaggedCacheEntry.builder().key(TEST_KEY_2).value(TEST_VALUE).tags(List.of()).build()
+        ));
+
+        assertThat(server.getCommandLog()).containsExactly("EVALSHA");
+        assertThat(redisTaggableCacheManager.getAll(List.of(TEST_KEY, TEST_KEY_2))).hasSize(2);
+        assertThat(server.members(PREFIX + "t:" + TEST_TAG)).containsExactly(TEST_KEY);
+        assertThat(server.members(PREFIX + "t:" + TEST_TAG_2)).isEmpty();
+    }
+
+    @Test
+    void clear_should_only_delete_the_keys_with_the_prefix() {
+        server.set("foreign", "value");
+        redisTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+
+        redisTaggableCacheManager.clear();
+
+        assertThat(server.keys()).containsExactly("foreign");
+    }
+
+    @Test
+    void should_reconnect_after_the_connection_breaks() throws IOException {
+        redisTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+        server.closeClientConnections();
+
+        assertThatThrownBy(() -> redisTaggableCacheManager.findByKey(TEST_KEY))
+                .isInstanceOf(UncheckedIOException.class);
+        assertThat(redisTaggableCacheManager.findByKey(TEST_KEY)).isEqualTo(TEST_VALUE);
+        assertThat(server.getAcceptedConnections()).isEqualTo(2);
+    }
+
+    @Test
+    void should_not_open_more_connections_than_the_pool_size() throws Exception {
+        var executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Object>> tasks = IntStream.range(0, 200)
+                    .<Callable<Object>>mapToObj(i -> () -> {
+                        redisTaggableCacheManager.saveEntry("key_" + i, i, List.of(TEST_TAG));
+                        return redisTaggableCacheManager.findByKey("key_" + i);
+                    })
+                    .toList();
+            for (var future : executorService.invokeAll(tasks)) {
+                assertThat(future.get()).isNotNull();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertThat(server.getAcceptedConnections()).isLessThanOrEqualTo(2);
+        assertThat(server.members(PREFIX + "t:" + TEST_TAG)).hasSize(200);
+    }
+
+    @Test
+    void should_authenticate_the_connections() throws IOException {
+        try (var protectedServer = new FakeRedisServer("secret")) {
+            var authenticated = manager(protectedServer.getPort(), "secret", 1);
+            authenticated.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+            assertThat(authenticated.findByKey(TEST_KEY)).isEqualTo(TEST_VALUE);
+            authenticated.close();
+
+            var wrongPassword = manager(protectedServer.getPort(), "wrong", 1);
+            assertThatThrownBy(() -> wrongPassword.findByKey(TEST_KEY))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("WRONGPASS");
+            assertThat(protectedServer.getCommandLog()).startsWith("AUTH");
+        }
+    }
+
+    private RedisTaggableCacheManager manager(int port, String password, int poolSize) {
+        return new RedisTaggableCacheManager(
+                new RedisTaggableProperties(
+                        "localhost",
+                        port,
+                        password,
+                        0,
+                        PREFIX,
+                        Duration.ofMinutes(5),
+                        poolSize,
+                        Duration.ofSeconds(2),
+                        Duration.ofSeconds(2),
+                        Duration.ofSeconds(5),
+                        Duration.ofSeconds(10),
+                        Duration.ofMinutes(1)
+                ),
+                new JavaSerializationValueCodec()
+        );
+    }
+}
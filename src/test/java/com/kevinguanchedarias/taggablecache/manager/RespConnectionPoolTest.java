@@ -0,0 +1,117 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class RespConnectionPoolTest {
+    private final AtomicInteger createdConnections = new AtomicInteger();
+    private final RespConnection connection = mock(RespConnection.class);
+
+    @Test
+    void withConnection_should_reuse_idle_connections() {
+        var pool = pool(2, Duration.ofSeconds(1));
+
+        pool.withConnection(borrowed -> borrowed);
+        var result = pool.withConnection(borrowed -> borrowed);
+
+        assertThat(result).isSameAs(connection);
+        assertThat(createdConnections).hasValue(1);
+        verify(connection, never()).close();
+    }
+
+    @Test
+    void withConnection_should_discard_the_connection_on_io_error() {
+        var pool = pool(1, Duration.ofSeconds(1));
+
+        assertThatThrownBy(() -> pool.withConnection(borrowed -> {
+            throw new UncheckedIOException(new IOException("broken"));
+        })).isInstanceOf(UncheckedIOException.class);
+        pool.withConnection(borrowed -> borrowed);
+
+        verify(connection).close();
+        assertThat(createdConnections).hasValue(2);
+    }
+
+    @Test
+    void withConnection_should_keep_the_connection_on_error_replies() {
+        var pool = pool(1, Duration.ofSeconds(1));
+
+        assertThatThrownBy(() -> pool.withConnection(borrowed -> {
+            throw new RespConnection.ErrorReplyException("error reply");
+        })).isInstanceOf(IllegalStateException.class);
+        pool.withConnection(borrowed -> borrowed);
+
+        assertThat(createdConnections).hasValue(1);
+        verify(connection, never()).close();
+    }
+
+    @Test
+    void withConnection_should_discard_the_connection_on_other_errors() {
+        var pool = pool(1, Duration.ofSeconds(1));
+
+        assertThatThrownBy(() -> pool.withConnection(borrowed -> {
+            throw new IllegalArgumentException("can't decode the reply");
+        })).isInstanceOf(IllegalArgumentException.class);
+        pool.withConnection(borrowed -> borrowed);
+
+        verify(connection).close();
+        assertThat(createdConnections).hasValue(2);
+    }
+
+    @Test
+    void withConnection_should_fail_when_no_connection_is_released_in_time() throws Exception {
+        var pool = pool(1, Duration.ofMillis(50));
+        var borrowed = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var executorService = Executors.newSingleThreadExecutor();
+        try {
+            executorService.submit(() -> pool.withConnection(ignored -> {
+                borrowed.countDown();
+                try {
+                    return release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }));
+            borrowed.await();
+
+            assertThatThrownBy(() -> pool.withConnection(ignored -> null))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("Timed out");
+        } finally {
+            release.countDown();
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void close_should_close_the_idle_connections() {
+        var pool = pool(1, Duration.ofSeconds(1));
+        pool.withConnection(borrowed -> borrowed);
+
+        pool.close();
+
+        verify(connection).close();
+    }
+
+    private RespConnectionPool pool(int size, Duration borrowTimeout) {
+        return new RespConnectionPool(() -> {
+            createdConnections.incrementAndGet();
+            return connection;
+        }, size, borrowTimeout);
+    }
+}
@@ -0,0 +1,96 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class SegmentLogTest {
+    private static final int SEGMENT_SIZE = 100;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void constructor_should_throw_when_less_than_two_segments() {
+        assertThatThrownBy(() -> new SegmentLog(directory, SEGMENT_SIZE, 1, 0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void append_should_write_records_and_roll_segments() throws Exception {
+        var segmentLog = new SegmentLog(directory, SEGMENT_SIZE, 3, 0.5);
+
+        var first = segmentLog.append(new byte[]{1, 2, 3}, "first");
+        var second = segmentLog.append(new byte[98], "second");
+
+        assertThat(segmentLog.read(first)).containsExactly(1, 2, 3);
+        assertThat(second.getOffset()).isZero();
+        assertThat(segmentLog.reservedBytes()).isEqualTo(SEGMENT_SIZE * 2);
+        assertThat(segmentLog.liveBytes()).isEqualTo(101);
+        try (var files = Files.list(directory)) {
+            assertThat(files).hasSize(2);
+        }
+    }
+
+    @Test
+    void append_should_return_null_when_all_segments_are_used_or_data_is_too_big() {
+        var segmentLog = new SegmentLog(directory, SEGMENT_SIZE, 2, 0.5);
+        segmentLog.append(new byte[SEGMENT_SIZE], "first");
+        segmentLog.append(new byte[SEGMENT_SIZE], "second");
+
+        assertThat(segmentLog.append(new byte[1], "third")).isNull();
+        assertThat(new SegmentLog(directory.resolve("other"), SEGMENT_SIZE, 2, 0.5)
+                .append(new byte[SEGMENT_SIZE + 1], "too_big")).isNull();
+    }
+
+    @Test
+    void release_should_return_sealed_segment_below_threshold_once() {
+        var segmentLog = new SegmentLog(directory, SEGMENT_SIZE, 3, 0.3);
+        var first = segmentLog.append(new byte[40], "first");
+        var second = segmentLog.append(new byte[40], "second");
+        var active = segmentLog.append(new byte[40], "active");
+
+        assertThat(segmentLog.release(first)).isNull();
+        var segment = segmentLog.release(second);
+        assertThat(segment).isNotNull();
+        assertThat(segmentLog.release(second)).isNull();
+        assertThat(segmentLog.release(active)).isNull();
+        assertThat(segmentLog.liveRecords(segment)).isEmpty();
+        assertThat(segmentLog.liveBytes()).isZero();
+    }
+
+    @Test
+    void reclaimOldestSegment_should_return_each_sealed_segment_once() {
+        var segmentLog = new SegmentLog(directory, SEGMENT_SIZE, 3, 0.5);
+        var first = segmentLog.append(new byte[SEGMENT_SIZE], "first");
+        segmentLog.append(new byte[SEGMENT_SIZE], "second");
+
+        var segment = segmentLog.reclaimOldestSegment();
+
+        assertThat(segmentLog.liveRecords(segment)).containsExactly(entry(first, "first"));
+        assertThat(segmentLog.reclaimOldestSegment()).isNull();
+        segmentLog.delete(segment);
+        assertThat(segmentLog.reservedBytes()).isEqualTo(SEGMENT_SIZE);
+        assertThat(segmentLog.read(first)).hasSize(SEGMENT_SIZE);
+    }
+
+    @Test
+    void deleteAll_should_delete_the_files() throws Exception {
+        var segmentLog = new SegmentLog(directory, SEGMENT_SIZE, 3, 0.5);
+        segmentLog.append(new byte[SEGMENT_SIZE], "first");
+        segmentLog.append(new byte[SEGMENT_SIZE], "second");
+
+        segmentLog.deleteAll();
+
+        assertThat(segmentLog.reservedBytes()).isZero();
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+}
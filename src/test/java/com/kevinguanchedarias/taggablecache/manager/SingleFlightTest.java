@@ -0,0 +1,116 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+    private static final String KEY = "the_key";
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void execute_should_share_running_result() throws Throwable {
+        var singleFlight = new SingleFlight(Duration.ofSeconds(5));
+        var invocations = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var leader = submit(singleFlight, () -> {
+            invocations.incrementAndGet();
+            started.countDown();
+            release.await();
+            return "leaderValue";
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        var follower = submit(singleFlight, () -> {
+            invocations.incrementAndGet();
+            return "followerValue";
+        });
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("leaderValue");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("leaderValue");
+        assertThat(invocations).hasValue(1);
+    }
+
+    @Test
+    void execute_should_propagate_same_exception_to_waiting_callers() throws Throwable {
+        var singleFlight = new SingleFlight(Duration.ofSeconds(5));
+        var exception = new IOException("failed load");
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var leader = submit(singleFlight, () -> {
+            started.countDown();
+            release.await();
+            throw exception;
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        var follower = submit(singleFlight, () -> "never");
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCause(exception);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCause(exception);
+    }
+
+    @Test
+    void execute_should_load_by_itself_when_wait_timeout_exceeded() throws Throwable {
+        var singleFlight = new SingleFlight(Duration.ofMillis(50));
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var leader = submit(singleFlight, () -> {
+            started.countDown();
+            release.await();
+            return "slowValue";
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(singleFlight.execute(KEY, () -> "ownValue")).isEqualTo("ownValue");
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("slowValue");
+    }
+
+    @Test
+    void execute_should_allow_new_load_after_previous_finished() throws Throwable {
+        var singleFlight = new SingleFlight(Duration.ofSeconds(5));
+
+        assertThat(singleFlight.execute(KEY, () -> "first")).isEqualTo("first");
+        assertThat(singleFlight.execute(KEY, () -> "second")).isEqualTo("second");
+    }
+
+    private Future<Object> submit(SingleFlight singleFlight, CacheLoader<Object> loader) {
+        return executorService.submit(() -> {
+            try {
+                return singleFlight.execute(KEY, loader);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
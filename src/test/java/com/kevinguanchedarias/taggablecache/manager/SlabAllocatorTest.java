@@ -0,0 +1,84 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SlabAllocatorTest {
+    private static final int SLAB_SIZE = 1024;
+
+    @Test
+    void constructor_should_throw_when_memory_cant_hold_a_slab() {
+        assertThatThrownBy(() -> new SlabAllocator(SLAB_SIZE, SLAB_SIZE - 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SlabAllocator(SlabAllocator.MIN_CHUNK_SIZE - 1, SLAB_SIZE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sizeClassOf_should_round_up_to_power_of_two() {
+        assertThat(SlabAllocator.sizeClassOf(1)).isZero();
+        assertThat(SlabAllocator.sizeClassOf(64)).isZero();
+        assertThat(SlabAllocator.sizeClassOf(65)).isEqualTo(1);
+        assertThat(SlabAllocator.sizeClassOf(128)).isEqualTo(1);
+        assertThat(SlabAllocator.sizeClassOf(129)).isEqualTo(2);
+        assertThat(SlabAllocator.sizeClassOf(1024)).isEqualTo(4);
+    }
+
+    @Test
+    void allocate_should_write_and_read_data() {
+        var slabAllocator = new SlabAllocator(SLAB_SIZE, SLAB_SIZE * 2);
+        var first = slabAllocator.allocate(3, "first");
+        var second = slabAllocator.allocate(100, "second");
+
+        slabAllocator.write(first, new byte[]{1, 2, 3});
+        slabAllocator.write(second, new byte[100]);
+
+        assertThat(first).isNotEqualTo(second);
+        assertThat(slabAllocator.read(first, 3)).containsExactly(1, 2, 3);
+        assertThat(slabAllocator.reservedMemory()).isEqualTo(SLAB_SIZE * 2);
+        assertThat(slabAllocator.usedMemory()).isEqualTo(64 + 128);
+    }
+
+    @Test
+    void allocate_should_return_no_space_when_size_class_is_full_and_memory_exhausted() {
+        var slabAllocator = new SlabAllocator(SLAB_SIZE, SLAB_SIZE);
+        for (int i = 0; i < 4; i++) {
+            assertThat(slabAllocator.allocate(200, "key_" + i)).isNotEqualTo(SlabAllocator.NO_SPACE);
+        }
+
+        assertThat(slabAllocator.allocate(200, "other")).isEqualTo(SlabAllocator.NO_SPACE);
+        assertThat(slabAllocator.allocate(10, "other")).isEqualTo(SlabAllocator.NO_SPACE);
+        assertThat(slabAllocator.allocate(SLAB_SIZE + 1, "other")).isEqualTo(SlabAllocator.NO_SPACE);
+    }
+
+    @Test
+    void release_should_reuse_the_chunk_once() {
+        var slabAllocator = new SlabAllocator(SLAB_SIZE, SLAB_SIZE);
+        var handle = slabAllocator.allocate(SLAB_SIZE, "key");
+
+        slabAllocator.release(handle);
+        slabAllocator.release(handle);
+
+        assertThat(slabAllocator.usedMemory()).isZero();
+        assertThat(slabAllocator.allocate(SLAB_SIZE, "other")).isEqualTo(handle);
+        assertThat(slabAllocator.allocate(SLAB_SIZE, "another")).isEqualTo(SlabAllocator.NO_SPACE);
+    }
+
+    @Test
+    void oldestChunk_should_return_the_oldest_live_chunk_of_the_size_class() {
+        var slabAllocator = new SlabAllocator(SLAB_SIZE, SLAB_SIZE * 2);
+        var first = slabAllocator.allocate(200, "first");
+        var second = slabAllocator.allocate(200, "second");
+        slabAllocator.allocate(10, "small");
+
+        assertThat(slabAllocator.oldestChunk(256)).isEqualTo(Map.entry(first, "first"));
+        slabAllocator.release(first);
+        assertThat(slabAllocator.oldestChunk(256)).isEqualTo(Map.entry(second, "second"));
+        assertThat(slabAllocator.oldestChunk(1000)).isNull();
+        assertThat(slabAllocator.oldestChunk(SLAB_SIZE + 1)).isNull();
+    }
+}
@@ -0,0 +1,298 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import com.kevinguanchedarias.taggablecache.configuration.properties.ConcurrentHashMapTaggableProperties;
+import com.kevinguanchedarias.taggablecache.internal.model.TwoLevelValueModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class TwoLevelTaggableCacheManagerTest {
+    private static final String TEST_KEY = "foo_key";
+    private static final String TEST_VALUE = "the_val";
+    private static final String TEST_TAG = "the-tag";
+    private static final String TEST_KEY_2 = "other_key_2";
+    private static final Duration L1_TTL = Duration.ofMinutes(1);
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private ConcurrentHashMapTaggableCacheManager l1;
+    private ConcurrentHashMapTaggableCacheManager l2;
+    private TwoLevelTaggableCacheManager twoLevelTaggableCacheManager;
+
+    @BeforeEach
+    void setup() {
+        l1 = new ConcurrentHashMapTaggableCacheManager(properties());
+        l2 = new ConcurrentHashMapTaggableCacheManager(properties());
+        twoLevelTaggableCacheManager = manager(l1, l2);
+    }
+
+    @Test
+    void saveEntry_should_write_through_both_levels() {
+        twoLevelTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG), Duration.ofSeconds(30));
+
+        assertThat(l1.findByKey(TEST_KEY)).isEqualTo(TEST_VALUE);
+        assertThat(l2.findByKey(TEST_KEY)).isEqualTo(TwoLevelValueModel.builder()
+                .value(TEST_VALUE)
+                .tags(Set.of(TEST_TAG))
+                .expiresAt(now.get() + 30_000)
+                .build());
+    }
+
+    @Test
+    void saveEntry_should_use_the_shortest_ttl_in_the_first_level() {
+        var l1Mock = mock(TaggableCacheManager.class);
+        var l2Mock = l2Mock();
+        var manager = manager(l1Mock, l2Mock);
+
+        manager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG), Duration.ofMinutes(5));
+        manager.saveEntry(TEST_KEY_2, TEST_VALUE, List.of(TEST_TAG), Duration.ofSeconds(5));
+        manager.saveEntry("default_ttl", TEST_VALUE, List.of(TEST_TAG));
+
+        verify(l1Mock).saveEntry(TEST_KEY, TEST_VALUE, Set.of(TEST_TAG), L1_TTL);
+        verify(l1Mock).saveEntry(TEST_KEY_2, TEST_VALUE, Set.of(TEST_TAG), Duration.ofSeconds(5));
+        verify(l1Mock).saveEntry("default_ttl", TEST_VALUE, Set.of(TEST_TAG), L1_TTL);
+        verify(l2Mock, times(3)).saveEntry(any(), any(), any(), any());
+    }
+
+    @Test
+    void replaceEntry_should_compare_the_second_level_value_and_write_through_both_levels() {
+        twoLevelTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+        l1.evictByKey(TEST_KEY);
+
+        assertThat(twoLevelTaggableCacheManager.replaceEntry(TEST_KEY, "other", "wrong", List.of(TEST_TAG), null))
+                .isFalse();
+        assertThat(twoLevelTaggableCacheManager.replaceEntry(TEST_KEY, TEST_VALUE, "new", List.of(TEST_TAG), null))
+                .isTrue();
+
+        assertThat(l1.findByKey(TEST_KEY)).isEqualTo("new");
+        assertThat(l2.findByKey(TEST_KEY)).isEqualTo(TwoLevelValueModel.builder()
+                .value("new")
+                .tags(Set.of(TEST_TAG))
+                .expiresAt(now.get() + Duration.ofHours(1).toMillis())
+                .build());
+    }
+
+    @Test
+    void saveEntry_should_not_outlive_the_second_level_default_ttl_when_the_first_level_one_is_longer() {
+        var l1Mock = mock(TaggableCacheManager.class);
+        var l2Mock = l2Mock();
+        given(l1Mock.getDefaultTtl()).willReturn(Duration.ofHours(24));
+        given(l2Mock.getDefaultTtl()).willReturn(Duration.ofHours(1));
+        var manager = new TwoLevelTaggableCacheManager(
+                l1Mock, l2Mock, null, now::get, new SingleFlight(Duration.ofSeconds(5))
+        );
+        given(l2Mock.getIfPresent(TEST_KEY_2)).willReturn(CachedValue.of(
+                TwoLevelValueModel.builder().value(TEST_VALUE).tags(Set.of(TEST_TAG)).build()
+        ));
+
+        manager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+        manager.saveAll(List.of(TaggedCacheEntry.builder().key("bulk").value(TEST_VALUE).tags(List.of(TEST_TAG)).build()));
+        manager.findByKey(TEST_KEY_2);
+
+        verify(l2Mock).saveEntry(TEST_KEY, TwoLevelValueModel.builder()
+                .value(TEST_VALUE)
+                .tags(Set.of(TEST_TAG))
+                .expiresAt(now.get() + Duration.ofHours(1).toMillis())
+                .build(), Set.of(TEST_TAG), Duration.ofHours(1));
+        verify(l1Mock).saveEntry(TEST_KEY, TEST_VALUE, Set.of(TEST_TAG), Duration.ofHours(1));
+        verify(l1Mock).saveAll(List.of(TaggedCacheEntry.builder()
+                .key("bulk")
+                .value(TEST_VALUE)
+                .tags(Set.of(TEST_TAG))
+                .ttl(Duration.ofHours(1))
+                .build()));
+        verify(l1Mock).saveEntry(TEST_KEY_2, TEST_VALUE, Set.of(TEST_TAG), Duration.ofHours(1));
+    }
+
+    @Test
+    void saveEntry_should_save_nulls_without_ttl_with_the_second_level_negative_ttl() {
+        var l1Mock = mock(TaggableCacheManager.class);
+        var l2Mock = l2Mock();
+        given(l2Mock.getDefaultNegativeTtl()).willReturn(Duration.ofSeconds(30));
+        var manager = manager(l1Mock, l2Mock);
+
+        manager.saveEntry(TEST_KEY, null, List.of(TEST_TAG));
+
+        verify(l2Mock).saveEntry(TEST_KEY, TwoLevelValueModel.builder()
+                .tags(Set.of(TEST_TAG))
+                .expiresAt(now.get() + 30_000)
+                .build(), Set.of(TEST_TAG), Duration.ofSeconds(30));
+        verify(l1Mock).saveEntry(TEST_KEY, null, Set.of(TEST_TAG), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void getIfPresent_should_not_copy_nulls_beyond_the_second_level_negative_ttl() {
+        twoLevelTaggableCacheManager.saveEntry(TEST_KEY, null, List.of(TEST_TAG));
+        l1.evictByKey(TEST_KEY);
+        now.addAndGet(Duration.ofMinutes(5).toMillis());
+
+        assertThat(twoLevelTaggableCacheManager.getIfPresent(TEST_KEY)).isEqualTo(CachedValue.of(null));
+        assertThat(l1.keyExists(TEST_KEY)).isFalse();
+    }
+
+    @Test
+    void getIfPresent_should_read_through_the_second_level_keeping_the_tags() {
+        twoLevelTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+        l1.clear();
+
+        assertThat(twoLevelTaggableCacheManager.getIfPresent(TEST_KEY)).isEqualTo(CachedValue.of(TEST_VALUE));
+
+        assertThat(l1.findByKey(TEST_KEY)).isEqualTo(TEST_VALUE);
+        l1.evictByCacheTag(TEST_TAG);
+        assertThat(l1.keyExists(TEST_KEY)).isFalse();
+    }
+
+    @Test
+    void getIfPresent_should_not_outlive_the_second_level_entry() {
+        var l1Mock = mock(TaggableCacheManager.class);
+        var l2Mock = l2Mock();
+        var manager = manager(l1Mock, l2Mock);
+        given(l2Mock.getIfPresent(TEST_KEY)).willReturn(CachedValue.of(
+                TwoLevelValueModel.builder().value(TEST_VALUE).tags(Set.of(TEST_TAG)).expiresAt(now.get() + 10_000).build()
+        ));
+        given(l2Mock.getIfPresent(TEST_KEY_2)).willReturn(CachedValue.of(
+                TwoLevelValueModel.builder().value(TEST_VALUE).tags(Set.of(TEST_TAG)).expiresAt(now.get()).build()
+        ));
+
+        assertThat(manager.findByKey(TEST_KEY)).isEqualTo(TEST_VALUE);
+        assertThat(manager.findByKey(TEST_KEY_2)).isEqualTo(TEST_VALUE);
+
+        verify(l1Mock).saveEntry(TEST_KEY, TEST_VALUE, Set.of(TEST_TAG), Duration.ofSeconds(10));
+        verify(l1Mock, never()).saveEntry(eq(TEST_KEY_2), any(), any(), any());
+    }
+
+    @Test
+    void getIfPresent_should_not_copy_values_without_tags() {
+        l2.saveEntry(TEST_KEY, TEST_VALUE, List.of());
+
+        assertThat(twoLevelTaggableCacheManager.getIfPresent(TEST_KEY)).isEqualTo(CachedValue.of(TEST_VALUE));
+        assertThat(l1.keyExists(TEST_KEY)).isFalse();
+        assertThat(twoLevelTaggableCacheManager.getIfPresent(TEST_KEY_2)).isNull();
+    }
+
+    @Test
+    void getIfPresent_should_undo_the_copy_when_an_eviction_races() {
+        var l1Mock = mock(TaggableCacheManager.class);
+        var l2Mock = l2Mock();
+        var manager = manager(l1Mock, l2Mock);
+        willAnswer(invocation -> {
+            manager.evictByCacheTag(TEST_TAG);
+            return CachedValue.of(TwoLevelValueModel.builder().value(TEST_VALUE).tags(Set.of(TEST_TAG)).build());
+        }).given(l2Mock).getIfPresent(TEST_KEY);
+
+        assertThat(manager.findByKey(TEST_KEY)).isEqualTo(TEST_VALUE);
+
+        var inOrder = inOrder(l1Mock);
+        inOrder.verify(l1Mock).evictByCacheTags(List.of(TEST_TAG));
+        inOrder.verify(l1Mock).saveEntry(TEST_KEY, TEST_VALUE, Set.of(TEST_TAG), L1_TTL);
+        inOrder.verify(l1Mock).evictByKey(TEST_KEY);
+    }
+
+    @Test
+    void evictions_should_go_to_both_levels() {
+        twoLevelTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+        twoLevelTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE, List.of("other"));
+
+        twoLevelTaggableCacheManager.evictByCacheTag(TEST_TAG);
+        twoLevelTaggableCacheManager.evictByKey(TEST_KEY_2);
+
+        assertThat(twoLevelTaggableCacheManager.keyExists(TEST_KEY)).isFalse();
+        assertThat(twoLevelTaggableCacheManager.keyExists(TEST_KEY_2)).isFalse();
+        assertThat(l1.keyExists(TEST_KEY) || l2.keyExists(TEST_KEY)).isFalse();
+    }
+
+    @Test
+    void evictByCacheTagPrefix_should_go_to_both_levels() {
+        twoLevelTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of("user:1"));
+        twoLevelTaggableCacheManager.saveEntry(TEST_KEY_2, TEST_VALUE, List.of("group:1"));
+
+        twoLevelTaggableCacheManager.evictByCacheTagPrefix("user:");
+
+        assertThat(l1.keyExists(TEST_KEY) || l2.keyExists(TEST_KEY)).isFalse();
+        assertThat(twoLevelTaggableCacheManager.keyExists(TEST_KEY_2)).isTrue();
+    }
+
+    @Test
+    void clear_should_clear_both_levels() {
+        twoLevelTaggableCacheManager.saveEntry(TEST_KEY, TEST_VALUE, List.of(TEST_TAG));
+
+        twoLevelTaggableCacheManager.clear();
+
+        assertThat(l1.keyExists(TEST_KEY) || l2.keyExists(TEST_KEY)).isFalse();
+    }
+
+    @Test
+    void getAll_should_read_the_missing_keys_from_the_second_level_at_once() {
+        twoLevelTaggableCacheManager.saveAll(List.of(
+                TaggedCacheEntry.builder().key(TEST_KEY).value(TEST_VALUE).tags(List.of(TEST_TAG)).build(),
+                TaggedCacheEntry.builder().key(TEST_KEY_2).value("value_2").tags(List.of(TEST_TAG)).build()
+        ));
+        l1.evictByKey(TEST_KEY_2);
+
+        Map<String, String> values = twoLevelTaggableCacheManager.getAll(List.of(TEST_KEY_2, "missing", TEST_KEY));
+
+        assertThat(values).containsExactly(entry(TEST_KEY_2, "value_2"), entry(TEST_KEY, TEST_VALUE));
+        assertThat(l1.findByKey(TEST_KEY_2)).isEqualTo("value_2");
+    }
+
+    @Test
+    void saveAll_should_write_through_both_levels() {
+        var l1Mock = mock(TaggableCacheManager.class);
+        var l2Mock = l2Mock();
+        var manager = manager(l1Mock, l2Mock);
+
+        manager.saveAll(List.of(TaggedCacheEntry.builder().key(TEST_KEY).value(TEST_VALUE).tags(List.of(TEST_TAG)).build()));
+
+        verify(l1Mock).saveAll(List.of(
+                TaggedCacheEntry.builder().key(TEST_KEY).value(TEST_VALUE).tags(Set.of(TEST_TAG)).ttl(L1_TTL).build()
+        ));
+        verify(l2Mock).saveAll(List.of(TaggedCacheEntry.builder()
+                .key(TEST_KEY)
+                .value(TwoLevelValueModel.builder().value(TEST_VALUE).tags(Set.of(TEST_TAG)).build())
+                .tags(Set.of(TEST_TAG))
+                .build()));
+        verify(l1Mock, never()).evictByKey(any());
+        verify(l2Mock, never()).evictByCacheTags(anyCollection());
+    }
+
+    private TwoLevelTaggableCacheManager manager(TaggableCacheManager l1Manager, TaggableCacheManager l2Manager) {
+        return new TwoLevelTaggableCacheManager(
+                l1Manager, l2Manager, L1_TTL, now::get, new SingleFlight(Duration.ofSeconds(5))
+        );
+    }
+
+    /**
+     * Mockito would answer a zero default ttl
+     */
+    private TaggableCacheManager l2Mock() {
+        var l2Mock = mock(TaggableCacheManager.class);
+        given(l2Mock.getDefaultTtl()).willReturn(null);
+        given(l2Mock.getDefaultNegativeTtl()).willReturn(null);
+        return l2Mock;
+    }
+
+    private ConcurrentHashMapTaggableProperties properties() {
+        return new ConcurrentHashMapTaggableProperties(
+                1L, TimeUnit.HOURS, 16, Duration.ofSeconds(1), 100, Duration.ofSeconds(5), 0L, 0L,
+                TagInvalidationMode.EAGER, Duration.ofMinutes(5)
+        );
+    }
+}
@@ -0,0 +1,151 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UdpInvalidationTransportTest {
+    private static final String NODE_ID = "node-1";
+
+    @Test
+    void encode_should_round_trip() throws Exception {
+        var message = message(Set.of("tag_a", "tag_ñ"), Set.of("key_a"));
+
+        var datagrams = UdpInvalidationTransport.encode(message, 1400);
+
+        assertThat(datagrams).hasSize(1);
+        assertThat(UdpInvalidationTransport.decode(datagrams.get(0), datagrams.get(0).length)).isEqualTo(message);
+    }
+
+    @Test
+    void encode_should_round_trip_the_tag_prefixes() throws Exception {
+        var message = InvalidationMessage.builder()
+                .nodeId(NODE_ID)
+                .tags(Set.of("tag_a"))
+                .keys(Set.of())
+                .tagPrefixes(Set.of("user:", "group:"))
+                .build();
+
+        var datagrams = UdpInvalidationTransport.encode(message, 1400);
+
+        assertThat(datagrams).hasSize(1);
+        assertThat(UdpInvalidationTransport.decode(datagrams.get(0), datagrams.get(0).length)).isEqualTo(message);
+    }
+
+    @Test
+    void encode_should_split_the_message_in_datagrams_that_fit() throws Exception {
+        Set<String> tags = IntStream.range(0, 200).mapToObj(i -> "tag_" + i)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<String> keys = IntStream.range(0, 200).mapToObj(i -> "key_" + i)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        var datagrams = UdpInvalidationTransport.encode(message(tags, keys), 256);
+
+        assertThat(datagrams).hasSizeGreaterThan(1).allMatch(datagram -> datagram.length <= 256);
+        Set<String> decodedTags = new LinkedHashSet<>();
+        Set<String> decodedKeys = new LinkedHashSet<>();
+        for (var datagram : datagrams) {
+            var decoded = UdpInvalidationTransport.decode(datagram, datagram.length);
+            assertThat(decoded.getNodeId()).isEqualTo(NODE_ID);
+            decodedTags.addAll(decoded.getTags());
+            decodedKeys.addAll(decoded.getKeys());
+        }
+        assertThat(decodedTags).isEqualTo(tags);
+        assertThat(decodedKeys).isEqualTo(keys);
+    }
+
+    @Test
+    void encode_should_fall_back_to_clear_when_an_item_does_not_fit() throws Exception {
+        var datagrams = UdpInvalidationTransport.encode(message(Set.of("x".repeat(500)), Set.of("key")), 256);
+
+        assertThat(datagrams).hasSize(1);
+        var decoded = UdpInvalidationTransport.decode(datagrams.get(0), datagrams.get(0).length);
+        assertThat(decoded.isClear()).isTrue();
+    }
+
+    @Test
+    void decode_should_ignore_other_versions() throws Exception {
+        assertThat(UdpInvalidationTransport.decode(new byte[]{1, 0, 0, 0}, 4)).isNull();
+        assertThat(UdpInvalidationTransport.decode(new byte[]{99, 0, 0, 0}, 4)).isNull();
+    }
+
+    @Test
+    void decode_should_reject_unknown_item_types() throws Exception {
+        var datagram = UdpInvalidationTransport.encode(message(Set.of(), Set.of("key")), 1400).get(0);
+        var itemTypeIndex = datagram.length - "key".length() - 3;
+        datagram[itemTypeIndex] = 99;
+
+        assertThatThrownBy(() -> UdpInvalidationTransport.decode(datagram, datagram.length))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void publish_should_deliver_to_the_peers() throws Exception {
+        var receiverAddress = loopback(freePort());
+        var senderAddress = loopback(freePort());
+        var receiver = new UdpInvalidationTransport(receiverAddress, List.of(senderAddress), 1400);
+        var sender = new UdpInvalidationTransport(senderAddress, List.of(receiverAddress), 1400);
+        var received = new LinkedBlockingQueue<InvalidationMessage>();
+        receiver.subscribe(received::add);
+        try {
+            var message = message(Set.of("tag"), Set.of("key"));
+
+            sender.publish(message);
+
+            assertThat(received.poll(5, TimeUnit.SECONDS)).isEqualTo(message);
+        } finally {
+            sender.close();
+            receiver.close();
+        }
+    }
+
+    @Test
+    void datagrams_from_addresses_other_than_the_peers_should_be_ignored() throws Exception {
+        var receiverAddress = loopback(freePort());
+        var peerAddress = loopback(freePort());
+        var receiver = new UdpInvalidationTransport(receiverAddress, List.of(peerAddress), 1400);
+        var stranger = new UdpInvalidationTransport(loopback(0), List.of(receiverAddress), 1400);
+        var peer = new UdpInvalidationTransport(peerAddress, List.of(receiverAddress), 1400);
+        var received = new LinkedBlockingQueue<InvalidationMessage>();
+        receiver.subscribe(received::add);
+        try {
+            var peerMessage = message(Set.of("tag"), Set.of());
+
+            stranger.publish(InvalidationMessage.builder().nodeId("stranger").clear(true).build());
+            peer.publish(peerMessage);
+
+            assertThat(received.poll(5, TimeUnit.SECONDS)).isEqualTo(peerMessage);
+            assertThat(received).isEmpty();
+        } finally {
+            peer.close();
+            stranger.close();
+            receiver.close();
+        }
+    }
+
+    private InetSocketAddress loopback(int port) {
+        return new InetSocketAddress("127.0.0.1", port);
+    }
+
+    private int freePort() throws IOException {
+        try (var socket = new DatagramSocket(loopback(0))) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private InvalidationMessage message(Set<String> tags, Set<String> keys) {
+        return InvalidationMessage.builder().nodeId(NODE_ID).tags(tags).keys(keys).build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.kevinguanchedarias.taggablecache.manager;
+
+import com.kevinguanchedarias.taggablecache.internal.model.CacheEntryModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WindowTinyLfuPolicyTest {
+    private final Map<String, CacheEntryModel> stored = new HashMap<>();
+    private long sequence;
+
+    @Test
+    void drain_should_return_victims_when_maximum_is_exceeded() {
+        var policy = new WindowTinyLfuPolicy(10, Weigher.SINGLETON);
+
+        IntStream.range(0, 15).forEach(i -> write(policy, "key_" + i));
+
+        assertThat(stored).hasSize(10);
+        assertThat(policy.weightedSize()).isEqualTo(10);
+    }
+
+    @Test
+    void drain_should_keep_frequently_used_entries_under_scan() {
+        var policy = new WindowTinyLfuPolicy(100, Weigher.SINGLETON);
+        IntStream.range(0, 100).forEach(i -> write(policy, "hot_" + i));
+        for (int round = 0; round < 5; round++) {
+            IntStream.range(0, 100).forEach(i -> policy.recordAccess(stored.get("hot_" + i)));
+            policy.drain();
+        }
+
+        IntStream.range(0, 1000).forEach(i -> write(policy, "scan_" + i));
+
+        var hotStillStored = IntStream.range(0, 100).filter(i -> stored.containsKey("hot_" + i)).count();
+        assertThat(hotStillStored).isGreaterThanOrEqualTo(90);
+        assertThat(stored).hasSize(100);
+    }
+
+    @Test
+    void recordRemoval_should_free_weight() {
+        var policy = new WindowTinyLfuPolicy(10, Weigher.SINGLETON);
+        IntStream.range(0, 10).forEach(i -> write(policy, "key_" + i));
+
+        policy.recordRemoval(stored.remove("key_3"));
+        policy.drain();
+        write(policy, "key_new");
+
+        assertThat(stored).hasSize(10).containsKey("key_new");
+    }
+
+    @Test
+    void recordRemoval_should_ignore_replaced_entry() {
+        var policy = new WindowTinyLfuPolicy(10, Weigher.SINGLETON);
+        write(policy, "key");
+        var replaced = stored.get("key");
+        write(policy, "key");
+
+        policy.recordRemoval(replaced);
+        policy.drain();
+
+        assertThat(policy.weightedSize()).isEqualTo(1);
+    }
+
+    @Test
+    void recordWrite_should_use_weigher() {
+        var policy = new WindowTinyLfuPolicy(100, (key, value) -> 30);
+
+        IntStream.range(0, 5).forEach(i -> write(policy, "key_" + i));
+
+        assertThat(stored).hasSize(3);
+        assertThat(policy.weightedSize()).isEqualTo(90);
+    }
+
+    @Test
+    void recordWrite_should_not_size_the_sketch_by_the_weight_bound() {
+        var policy = new WindowTinyLfuPolicy(Long.MAX_VALUE, (key, value) -> 1024);
+
+        IntStream.range(0, 5).forEach(i -> write(policy, "key_" + i));
+
+        assertThat(stored).hasSize(5);
+        assertThat(policy.weightedSize()).isEqualTo(5 * 1024);
+    }
+
+    @Test
+    void recordWrite_should_throw_on_negative_weight() {
+        var policy = new WindowTinyLfuPolicy(100, (key, value) -> -1);
+        var entry = entry("key");
+
+        assertThatThrownBy(() -> policy.recordWrite(entry))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void clear_should_reset_weight() {
+        var policy = new WindowTinyLfuPolicy(10, Weigher.SINGLETON);
+        IntStream.range(0, 5).forEach(i -> write(policy, "key_" + i));
+
+        policy.clear();
+
+        assertThat(policy.weightedSize()).isZero();
+    }
+
+    private void write(WindowTinyLfuPolicy policy, String key) {
+        var entry = entry(key);
+        stored.put(key, entry);
+        policy.recordWrite(entry);
+        policy.drain().forEach(victim -> stored.remove(victim.getKey(), victim));
+    }
+
+    private CacheEntryModel entry(String key) {
+        return CacheEntryModel.builder()
+                .key(key)
+                .value(key)
+                .expiresAt(Long.MAX_VALUE)
+                .sequence(++sequence)
+                .build();
+    }
+}
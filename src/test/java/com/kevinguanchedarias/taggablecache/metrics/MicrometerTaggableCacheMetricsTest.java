@@ -0,0 +1,98 @@
+package com.kevinguanchedarias.taggablecache.metrics;
+
+import com.kevinguanchedarias.taggablecache.configuration.properties.ConcurrentHashMapTaggableProperties;
+import com.kevinguanchedarias.taggablecache.manager.ConcurrentHashMapTaggableCacheManager;
+import com.kevinguanchedarias.taggablecache.manager.TagInvalidationMode;
+import com.kevinguanchedarias.taggablecache.manager.TaggableCacheManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class MicrometerTaggableCacheMetricsTest {
+    private static final String OPERATION = "UserService.findUser";
+    private static final String TEST_TAG = "the-tag";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ConcurrentHashMapTaggableCacheManager manager;
+    private MicrometerTaggableCacheMetrics metrics;
+
+    @BeforeEach
+    void setup() {
+        manager = new ConcurrentHashMapTaggableCacheManager(new ConcurrentHashMapTaggableProperties(
+                1L, TimeUnit.HOURS, 16, Duration.ofSeconds(1), 100, Duration.ofSeconds(5), 0L, 0L,
+                TagInvalidationMode.EAGER, Duration.ofMinutes(5)
+        ));
+        metrics = new MicrometerTaggableCacheMetrics(manager);
+    }
+
+    @Test
+    void forOperation_should_count_gets_and_time_loads() {
+        metrics.bindTo(registry);
+        var operationMetrics = metrics.forOperation(OPERATION);
+
+        operationMetrics.recordHit();
+        operationMetrics.recordHit();
+        operationMetrics.recordMiss();
+        operationMetrics.recordLoad(TimeUnit.MILLISECONDS.toNanos(30));
+
+        assertThat(gets("hit")).isEqualTo(2);
+        assertThat(gets("miss")).isEqualTo(1);
+        var loads = registry.get("taggable.cache.loads").tag("operation", OPERATION).functionTimer();
+        assertThat(loads.count()).isEqualTo(1);
+        assertThat(loads.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(30);
+    }
+
+    @Test
+    void bindTo_should_register_the_operations_recorded_before_binding() {
+        var operationMetrics = metrics.forOperation(OPERATION);
+        operationMetrics.recordMiss();
+
+        metrics.bindTo(registry);
+
+        assertThat(metrics.forOperation(OPERATION)).isSameAs(operationMetrics);
+        assertThat(gets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void bindTo_should_expose_the_manager_statistics() {
+        metrics.bindTo(registry);
+        manager.saveEntry("key_1", 1, List.of(TEST_TAG, "other"));
+        manager.saveEntry("key_2", 2, List.of(TEST_TAG));
+        manager.saveEntry("key_3", 3, List.of());
+
+        manager.evictByKey("key_3");
+
+        assertThat(registry.get("taggable.cache.size").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("taggable.cache.tags").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("taggable.cache.tags.largest").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("taggable.cache.keys.footprint").gauge().value()).isEqualTo(10);
+        assertThat(evictions("key")).isEqualTo(1);
+        manager.evictByCacheTag(TEST_TAG);
+        assertThat(evictions("tag")).isEqualTo(2);
+        assertThat(evictions("ttl")).isZero();
+    }
+
+    @Test
+    void bindTo_should_skip_the_statistics_of_managers_without_them() {
+        new MicrometerTaggableCacheMetrics(mock(TaggableCacheManager.class)).bindTo(registry);
+
+        assertThat(registry.find("taggable.cache.size").gauge()).isNull();
+        assertThat(registry.find("taggable.cache.evictions").functionCounter()).isNull();
+    }
+
+    private double gets(String result) {
+        return registry.get("taggable.cache.gets").tag("operation", OPERATION).tag("result", result)
+                .functionCounter().count();
+    }
+
+    private double evictions(String cause) {
+        return registry.get("taggable.cache.evictions").tag("cause", cause).functionCounter().count();
+    }
+}
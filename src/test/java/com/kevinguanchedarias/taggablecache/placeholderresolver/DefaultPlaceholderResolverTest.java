@@ -7,8 +7,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
@@ -96,6 +98,73 @@ class DefaultPlaceholderResolverTest {
                 .contains("user:19");
     }
 
+    @Test
+    void resolveExpressions_should_not_mix_variables_sharing_a_prefix() {
+        var joinPoint = joinPointWithArgs(new String[]{"user", "userId"}, new Object[]{"john", 7});
+
+        var result = defaultPlaceholderResolver.resolveExpressions(joinPoint, "key_#userId_#user", List.of("#user:#userId"));
+
+        assertThat(result.getKey()).isEqualTo("key_7_john");
+        assertThat(result.getTags()).containsExactly("john:7");
+    }
+
+    @Test
+    void resolveExpressions_should_access_map_entries_and_resolve_null_values() {
+        var joinPoint = joinPointWithArgs(new String[]{"filters", "page"}, new Object[]{Map.of("type", "admin"), null});
+
+        var result = defaultPlaceholderResolver.resolveExpressions(joinPoint, "users_#filters.type_#page", List.of());
+
+        assertThat(result.getKey()).isEqualTo("users_admin_null");
+    }
+
+    @Test
+    void resolveExpressions_should_throw_on_unknown_property_or_variable() {
+        assertThatThrownBy(() -> defaultPlaceholderResolver.resolveExpressions(
+                joinPointWithComplexArgsSignatureMock, "#user.unknown", List.of()
+        )).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("user.unknown");
+        assertThatThrownBy(() -> defaultPlaceholderResolver.resolveExpressions(
+                joinPointWithComplexArgsSignatureMock, "#notAnArgument", List.of()
+        )).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("notAnArgument");
+    }
+
+    @Test
+    void resolveExpressions_should_reuse_compiled_expression_with_other_values() {
+        var otherUser = UserTestModel.builder().name("Sarah Connor").age(40).build();
+        var otherJoinPoint = joinPointWithArgs(new String[]{COMPLEX_ARG_NAME}, new Object[]{otherUser});
+        defaultPlaceholderResolver.resolveExpressions(
+                joinPointWithComplexArgsSignatureMock, WITH_COMPLEX_ARGS_EXPRESSION, List.of()
+        );
+
+        var result = defaultPlaceholderResolver.resolveExpressions(
+                otherJoinPoint, WITH_COMPLEX_ARGS_EXPRESSION, List.of(TAG_WITH_COMPLEX_ARGS)
+        );
+
+        assertThat(result.getKey()).isEqualTo("key_arg_Sarah Connor_40");
+        assertThat(result.getTags()).containsExactly("user:40");
+    }
+
+    @Test
+    void resolveKey_and_resolveTags_should_resolve_them_separately() {
+        assertThat(defaultPlaceholderResolver.resolveKey(joinPointWithArgsSignatureMock, WITH_ARGS_EXPRESSION))
+                .isEqualTo("key_arg_John Connor_19");
+        assertThat(defaultPlaceholderResolver.resolveKey(joinPointWithArgsSignatureMock, TAG_PLAIN_EXPRESSION))
+                .isEqualTo(TAG_PLAIN_EXPRESSION);
+        assertThat(defaultPlaceholderResolver.resolveTags(
+                joinPointWithArgsSignatureMock, List.of(TAG_WITH_ARGS, TAG_PLAIN_EXPRESSION)
+        )).containsExactly("user:19", TAG_PLAIN_EXPRESSION);
+    }
+
+    private JoinPoint joinPointWithArgs(String[] parameterNames, Object[] args) {
+        var joinPoint = mock(JoinPoint.class);
+        MethodSignature methodSignature = mock(MethodSignature.class);
+        given(methodSignature.getDeclaringType()).willReturn(FakeClass.class);
+        given(methodSignature.getName()).willReturn(WITH_ARGS_METHOD_SIGNATURE);
+        given(methodSignature.getParameterNames()).willReturn(parameterNames);
+        given(joinPoint.getSignature()).willReturn(methodSignature);
+        given(joinPoint.getArgs()).willReturn(args);
+        return joinPoint;
+    }
+
     private void fakeNoArgsSignatureConfiguration() {
         MethodSignature methodSignature = mock(MethodSignature.class);
         given(methodSignature.getDeclaringType()).willReturn(FakeClass.class);
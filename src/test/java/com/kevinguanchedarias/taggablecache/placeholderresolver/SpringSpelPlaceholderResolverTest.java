@@ -0,0 +1,106 @@
+package com.kevinguanchedarias.taggablecache.placeholderresolver;
+
+import com.kevinguanchedarias.taggablecache.test.model.UserTestModel;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class SpringSpelPlaceholderResolverTest {
+    private static final String KEY_EXPRESSION = "'key_' + #methodName + '_' + #user.name";
+    private static final String TAG_EXPRESSION = "'user:' + #user.age";
+    private static final String TAG_PLAIN = "user:list";
+    private static final UserTestModel USER = UserTestModel.builder()
+            .name("John Connor")
+            .age(19)
+            .build();
+
+    private static class FakeClass {
+        public String withUser(UserTestModel user) {
+            return user.getName();
+        }
+
+        public String otherWithUser(UserTestModel user) {
+            return user.getName();
+        }
+    }
+
+    @Test
+    void resolveExpressions_should_parse_each_expression_once_per_method() {
+        var parser = spy(new SpelExpressionParser());
+        var resolver = new SpringSpelPlaceholderResolver(parser);
+
+        IntStream.range(0, 3).forEach(i ->
+                resolver.resolveExpressions(joinPoint("withUser"), KEY_EXPRESSION, List.of(TAG_EXPRESSION, TAG_PLAIN))
+        );
+        var result = resolver.resolveExpressions(joinPoint("otherWithUser"), KEY_EXPRESSION, List.of(TAG_PLAIN));
+
+        verify(parser, times(3)).parseExpression(anyString());
+        verify(parser, times(2)).parseExpression(KEY_EXPRESSION);
+        assertThat(result.getKey()).isEqualTo("key_otherWithUser_John Connor");
+        assertThat(result.getTags()).containsExactly(TAG_PLAIN);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SpelCompilerMode.class, names = {"IMMEDIATE", "MIXED"})
+    void withCompilerMode_should_resolve_expressions_after_compiling_them(SpelCompilerMode compilerMode) {
+        var resolver = SpringSpelPlaceholderResolver.withCompilerMode(compilerMode);
+
+        IntStream.range(0, 200).forEach(i -> {
+            var result = resolver.resolveExpressions(joinPoint("withUser"), KEY_EXPRESSION, List.of(TAG_EXPRESSION));
+
+            assertThat(result.getKey()).isEqualTo("key_withUser_John Connor");
+            assertThat(result.getTags()).containsExactly("user:19");
+        });
+    }
+
+    @Test
+    void resolveExpressions_should_resolve_class_name_and_missing_variables() {
+        var resolver = new SpringSpelPlaceholderResolver(new SpelExpressionParser());
+
+        var result = resolver.resolveExpressions(
+                joinPoint("withUser"), "#className.simpleName + '_' + #notAnArgument", List.of()
+        );
+
+        assertThat(result.getKey()).isEqualTo("FakeClass_null");
+    }
+
+    @Test
+    void resolveKey_and_resolveTags_should_resolve_them_separately() {
+        var resolver = new SpringSpelPlaceholderResolver(new SpelExpressionParser());
+
+        assertThat(resolver.resolveKey(joinPoint("withUser"), KEY_EXPRESSION)).isEqualTo("key_withUser_John Connor");
+        assertThat(resolver.resolveTags(joinPoint("withUser"), List.of(TAG_EXPRESSION, TAG_PLAIN)))
+                .containsExactly("user:19", TAG_PLAIN);
+    }
+
+    private JoinPoint joinPoint(String methodName) {
+        var joinPoint = mock(JoinPoint.class);
+        var methodSignature = mock(MethodSignature.class);
+        try {
+            given(methodSignature.getMethod()).willReturn(FakeClass.class.getMethod(methodName, UserTestModel.class));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+        given(methodSignature.getDeclaringType()).willReturn(FakeClass.class);
+        given(methodSignature.getName()).willReturn(methodName);
+        given(methodSignature.getParameterNames()).willReturn(new String[]{"user"});
+        given(joinPoint.getSignature()).willReturn(methodSignature);
+        given(joinPoint.getArgs()).willReturn(new Object[]{USER});
+        return joinPoint;
+    }
+}
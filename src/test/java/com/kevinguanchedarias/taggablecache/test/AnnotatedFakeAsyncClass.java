@@ -0,0 +1,44 @@
+package com.kevinguanchedarias.taggablecache.test;
+
+import com.kevinguanchedarias.taggablecache.aspect.TaggableCacheable;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@Getter
+@Setter
+public class AnnotatedFakeAsyncClass {
+    public static final String FAKE_ASYNC_TAG = "async-tag";
+    public static final String KNOWN_ASYNC_VALUE = "theAsyncValue";
+
+    private final AtomicInteger invocations = new AtomicInteger();
+    private CompletableFuture<String> pendingFuture;
+
+    @TaggableCacheable(key = "'future:' + #id", tags = FAKE_ASYNC_TAG)
+    public CompletableFuture<String> future(int id) {
+        invocations.incrementAndGet();
+        return pendingFuture;
+    }
+
+    @TaggableCacheable(key = "'mono:' + #id", tags = FAKE_ASYNC_TAG)
+    public Mono<String> mono(int id) {
+        return Mono.fromCallable(() -> {
+            invocations.incrementAndGet();
+            return id == 0 ? null : KNOWN_ASYNC_VALUE;
+        });
+    }
+
+    @TaggableCacheable(key = "'flux:' + #id", tags = FAKE_ASYNC_TAG)
+    public Flux<String> flux(int id) {
+        return Flux.defer(() -> {
+            invocations.incrementAndGet();
+            return Flux.just(KNOWN_ASYNC_VALUE, KNOWN_ASYNC_VALUE + id);
+        });
+    }
+}
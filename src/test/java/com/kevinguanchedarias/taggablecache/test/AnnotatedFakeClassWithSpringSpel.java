@@ -3,6 +3,8 @@ package com.kevinguanchedarias.taggablecache.test;
 import com.kevinguanchedarias.taggablecache.aspect.TaggableCacheable;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.TimeUnit;
+
 @Service
 public class AnnotatedFakeClassWithSpringSpel {
     public static final String FAKE_PLAIN_TAG = "foo-tag";
@@ -11,6 +13,8 @@ public class AnnotatedFakeClassWithSpringSpel {
     public static final String FAKE_PLAIN_SUFFIX = "#keySuffixArg";
     public static final String KEY_WITH_SPEL = "\"a_key:\" + #methodName";
     public static final String TAG_WITH_SPEL = "\"tagKey:\" + #tagValueArg";
+    public static final long FAKE_TTL_MINUTES = 5;
+    public static final long FAKE_NEGATIVE_TTL_MINUTES = 1;
 
     @TaggableCacheable(tags = FAKE_PLAIN_TAG)
     public String doSomethingWithDefaultKey() {
@@ -38,4 +42,25 @@ public class AnnotatedFakeClassWithSpringSpel {
     public String doSomethingWithCustomKeyAndSpelTags(int tagValueArg) {
         return KNOWN_RETURN_VALUE;
     }
+
+    @TaggableCacheable(tags = FAKE_PLAIN_TAG, ttl = FAKE_TTL_MINUTES, timeUnit = TimeUnit.MINUTES)
+    public String doSomethingWithTtl() {
+        return KNOWN_RETURN_VALUE;
+    }
+
+    @TaggableCacheable(key = FAKE_PLAIN_KEY, tags = FAKE_PLAIN_TAG, ttl = FAKE_TTL_MINUTES, timeUnit = TimeUnit.MINUTES,
+            negativeTtl = FAKE_NEGATIVE_TTL_MINUTES)
+    public String doSomethingWithNegativeTtl() {
+        return null;
+    }
+
+    @TaggableCacheable(key = FAKE_PLAIN_KEY, tags = FAKE_PLAIN_TAG, cacheNulls = false)
+    public String doSomethingNotCachingNulls() {
+        return null;
+    }
+
+    @TaggableCacheable(key = FAKE_PLAIN_KEY, keySuffix = FAKE_PLAIN_SUFFIX, tags = FAKE_PLAIN_TAG)
+    public String doSomethingWithKeyAndKeySuffix() {
+        return KNOWN_RETURN_VALUE;
+    }
 }
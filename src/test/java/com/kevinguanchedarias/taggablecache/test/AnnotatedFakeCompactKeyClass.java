@@ -0,0 +1,38 @@
+package com.kevinguanchedarias.taggablecache.test;
+
+import com.kevinguanchedarias.taggablecache.aspect.TaggableCacheable;
+import lombok.Getter;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@Getter
+public class AnnotatedFakeCompactKeyClass {
+    public static final String COMPACT_TAG = "user:1";
+    public static final String TAG_WITH_SPEL = "\"user:\" + #id";
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    @TaggableCacheable(tags = TAG_WITH_SPEL, compactKey = true)
+    public String findUser(int id, String filter) {
+        return "user_" + id + "_" + invocations.incrementAndGet();
+    }
+
+    @TaggableCacheable(tags = TAG_WITH_SPEL, compactKey = true)
+    public String findMissingUser(int id) {
+        invocations.incrementAndGet();
+        return null;
+    }
+
+    @TaggableCacheable(tags = TAG_WITH_SPEL, compactKey = true, cacheNulls = false)
+    public String findMissingUserNotCachingNulls(int id) {
+        invocations.incrementAndGet();
+        return null;
+    }
+
+    @TaggableCacheable(key = "user", tags = COMPACT_TAG, compactKey = true)
+    public String compactKeyWithKey() {
+        return "invalid";
+    }
+}
@@ -0,0 +1,53 @@
+package com.kevinguanchedarias.taggablecache.test;
+
+import com.kevinguanchedarias.taggablecache.aspect.TaggableCacheable;
+import com.kevinguanchedarias.taggablecache.test.model.ReportTestModel;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@Getter
+@Setter
+public class AnnotatedFakeRefreshClass {
+    public static final String REFRESH_TAG = "report:1";
+    public static final String REFRESH_KEY = "report_1";
+    public static final String REFRESH_MODEL_KEY = "report_model_1";
+    public static final long REFRESH_AFTER_MILLIS = 200;
+
+    private final AtomicInteger invocations = new AtomicInteger();
+    private volatile Runnable onInvoke = () -> {
+    };
+
+    @TaggableCacheable(
+            key = "report_#id", tags = "report:#id", refreshAfter = REFRESH_AFTER_MILLIS, timeUnit = TimeUnit.MILLISECONDS
+    )
+    public String report(int id) {
+        onInvoke.run();
+        return "report_" + id + "_" + invocations.incrementAndGet();
+    }
+
+    @TaggableCacheable(
+            key = "report_model_#id",
+            tags = "report:#id",
+            refreshAfter = REFRESH_AFTER_MILLIS,
+            timeUnit = TimeUnit.MILLISECONDS
+    )
+    public ReportTestModel reportModel(int id) {
+        onInvoke.run();
+        return new ReportTestModel(id, invocations.incrementAndGet());
+    }
+
+    @TaggableCacheable(tags = REFRESH_TAG, ttl = 1, refreshAfter = 1)
+    public String refreshAfterNotLowerThanTtl() {
+        return "invalid";
+    }
+
+    @TaggableCacheable(tags = REFRESH_TAG, refreshAfter = 2, timeUnit = TimeUnit.HOURS)
+    public String refreshAfterNotLowerThanDefaultTtl() {
+        return "invalid";
+    }
+}
@@ -0,0 +1,445 @@
+package com.kevinguanchedarias.taggablecache.test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stand-in Redis server for the tests, speaks RESP2 and implements the subset of commands used by the manager <br>
+ * Lua is not interpreted, the scripts are recognized by their first line comment, and emulated in java <br>
+ * Time only advances with {@link #advanceTime(Duration)}, and every command runs under the same lock, so the
+ * transactions and scripts are atomic like in Redis
+ */
+public class FakeRedisServer implements Closeable {
+    private final ServerSocket serverSocket;
+    private final ExecutorService executorService = Executors.newCachedThreadPool();
+    private final List<Socket> clients = new CopyOnWriteArrayList<>();
+    private final Map<String, byte[]> strings = new HashMap<>();
+    private final Map<String, Set<String>> sets = new HashMap<>();
+    private final Map<String, Long> deadlines = new HashMap<>();
+    private final Map<String, String> scripts = new HashMap<>();
+
+    /**
+     * Advanced by each write of the key, so the transactions can detect the changes of their watched keys
+     */
+    private final Map<String, Long> versions = new HashMap<>();
+    private final List<String> commandLog = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger acceptedConnections = new AtomicInteger();
+    private final String password;
+    private long now;
+
+    private record ErrorReply(String message) {
+    }
+
+    public FakeRedisServer() {
+        this(null);
+    }
+
+    public FakeRedisServer(String password) {
+        this.password = password;
+        try {
+            serverSocket = new ServerSocket(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        executorService.execute(this::acceptConnections);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getAcceptedConnections() {
+        return acceptedConnections.get();
+    }
+
+    /**
+     * @return The name of each executed command, including the ones queued in a transaction
+     */
+    public List<String> getCommandLog() {
+        return List.copyOf(commandLog);
+    }
+
+    public void clearCommandLog() {
+        commandLog.clear();
+    }
+
+    public synchronized void advanceTime(Duration duration) {
+        now += duration.toMillis();
+    }
+
+    public synchronized Set<String> keys() {
+        Set<String> keys = new HashSet<>(strings.keySet());
+        keys.addAll(sets.keySet());
+        keys.removeIf(this::expireIfNeeded);
+        return keys;
+    }
+
+    /**
+     * @return The milliseconds until the key expires, -1 if it never expires, or -2 if it doesn't exist, as PTTL
+     */
+    public synchronized long remainingTtl(String key) {
+        if (!keys().contains(key)) {
+            return -2;
+        }
+        var deadline = deadlines.get(key);
+        return deadline == null ? -1 : deadline - now;
+    }
+
+    public synchronized Set<String> members(String key) {
+        return Set.copyOf(sets.getOrDefault(key, Set.of()));
+    }
+
+    public synchronized void set(String key, String value) {
+        strings.put(key, value.getBytes(StandardCharsets.UTF_8));
+        touch(key);
+    }
+
+    /**
+     * Closes the connections of the clients, as if the server had been restarted
+     */
+    public void closeClientConnections() throws IOException {
+        for (var client : clients) {
+            client.close();
+        }
+        clients.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        closeClientConnections();
+        executorService.shutdownNow();
+    }
+
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                var client = serverSocket.accept();
+                acceptedConnections.incrementAndGet();
+                clients.add(client);
+                executorService.execute(() -> serve(client));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket client) {
+        try (client) {
+            var input = new BufferedInputStream(client.getInputStream());
+            var output = new BufferedOutputStream(client.getOutputStream());
+            var authenticated = password == null;
+            List<List<String>> queued = null;
+            Map<String, Long> watched = new HashMap<>();
+            while (true) {
+                var command = readCommand(input);
+                var name = command.get(0).toUpperCase();
+                commandLog.add(name);
+                Object reply;
+                if (name.equals("AUTH")) {
+                    authenticated = command.get(1).equals(password);
+                    reply = authenticated ? "OK" : new ErrorReply("WRONGPASS invalid password");
+                } else if (!authenticated) {
+                    reply = new ErrorReply("NOAUTH Authentication required.");
+                } else if (name.equals("MULTI")) {
+                    queued = new ArrayList<>();
+                    reply = "OK";
+                } else if (name.equals("WATCH")) {
+                    watch(watched, command.subList(1, command.size()));
+                    reply = "OK";
+                } else if (name.equals("UNWATCH")) {
+                    watched.clear();
+                    reply = "OK";
+                } else if (name.equals("EXEC")) {
+                    reply = executeTransaction(queued, watched);
+                    queued = null;
+                    watched.clear();
+                } else if (queued != null) {
+                    queued.add(command);
+                    reply = "QUEUED";
+                } else {
+                    reply = executeLocked(command);
+                }
+                writeReply(output, reply);
+                output.flush();
+            }
+        } catch (IOException e) {
+            clients.remove(client);
+        }
+    }
+
+    private synchronized void watch(Map<String, Long> watched, List<String> keys) {
+        keys.forEach(key -> {
+            expireIfNeeded(key);
+            watched.put(key, versions.getOrDefault(key, 0L));
+        });
+    }
+
+    /**
+     * @return Null, as Redis, if a watched key changed
+     */
+    private synchronized List<Object> executeTransaction(List<List<String>> queued, Map<String, Long> watched) {
+        var changed = watched.entrySet().stream().anyMatch(watchedKey -> {
+            expireIfNeeded(watchedKey.getKey());
+            return !versions.getOrDefault(watchedKey.getKey(), 0L).equals(watchedKey.getValue());
+        });
+        if (changed) {
+            return null;
+        }
+        List<Object> results = new ArrayList<>();
+        queued.forEach(command -> results.add(execute(command)));
+        return results;
+    }
+
+    private synchronized Object executeLocked(List<String> command) {
+        return execute(command);
+    }
+
+    private Object execute(List<String> command) {
+        var arguments = command.subList(1, command.size());
+        return switch (command.get(0).toUpperCase()) {
+            case "PING" -> "PONG";
+            case "SELECT" -> "OK";
+            case "GET" -> get(arguments.get(0));
+            case "MGET" -> arguments.stream().map(this::get).toList();
+            case "SET" -> set(arguments);
+            case "EXISTS" -> arguments.stream().filter(key -> get(key) != null || !members(key).isEmpty()).count();
+            case "DEL", "UNLINK" -> delete(arguments);
+            case "SADD" -> (long) arguments.subList(1, arguments.size()).stream()
+                    .filter(sets.computeIfAbsent(arguments.get(0), key -> new HashSet<>())::add)
+                    .count();
+            case "SREM" -> setRemove(arguments.get(0), arguments.subList(1, arguments.size()));
+            case "SMEMBERS" -> members(arguments.get(0)).stream().map(this::bytes).toList();
+            case "PEXPIRE" -> expire(arguments.get(0), Long.parseLong(arguments.get(1)));
+            case "SCAN" -> scan(arguments.get(2));
+            case "EVAL" -> {
+                scripts.put(sha1(arguments.get(0)), arguments.get(0).lines().findFirst().orElseThrow());
+                yield runScript(arguments.get(0).lines().findFirst().orElseThrow(), arguments.subList(1, arguments.size()));
+            }
+            case "EVALSHA" -> scripts.containsKey(arguments.get(0))
+                    ? runScript(scripts.get(arguments.get(0)), arguments.subList(1, arguments.size()))
+                    : new ErrorReply("NOSCRIPT No matching script. Please use EVAL.");
+            default -> new ErrorReply("ERR unknown command '" + command.get(0) + "'");
+        };
+    }
+
+    private Object runScript(String name, List<String> arguments) {
+        var keyCount = Integer.parseInt(arguments.get(0));
+        var keys = arguments.subList(1, keyCount + 1);
+        var args = arguments.subList(keyCount + 1, arguments.size());
+        return switch (name) {
+            case "-- evict-tags" -> {
+                var prefix = args.get(0);
+                long evicted = 0;
+                for (var tagKey : keys) {
+                    for (var cacheKey : members(tagKey)) {
+                        var keyTagsKey = prefix + "k:" + cacheKey;
+                        members(keyTagsKey).forEach(tag -> setRemove(prefix + "t:" + tag, List.of(cacheKey)));
+                        evicted += delete(List.of(prefix + "v:" + cacheKey));
+                        delete(List.of(keyTagsKey));
+                    }
+                    delete(List.of(tagKey));
+                }
+                yield evicted;
+            }
+            case "-- save-entries" -> {
+                var prefix = args.get(0);
+                var arg = 1;
+                for (int i = 0; i < keys.size(); i += 2) {
+                    var keyTagsKey = keys.get(i + 1);
+                    var cacheKey = args.get(arg);
+                    var ttl = Long.parseLong(args.get(arg + 2));
+                    var tagCount = Integer.parseInt(args.get(arg + 3));
+                    members(keyTagsKey).forEach(tag -> setRemove(prefix + "t:" + tag, List.of(cacheKey)));
+                    delete(List.of(keyTagsKey));
+                    set(List.of(keys.get(i), args.get(arg + 1), "PX", Long.toString(ttl)));
+                    for (var tag : args.subList(arg + 4, arg + 4 + tagCount)) {
+                        var tagKey = prefix + "t:" + tag;
+                        sets.computeIfAbsent(keyTagsKey, key -> new HashSet<>()).add(tag);
+                        sets.computeIfAbsent(tagKey, key -> new HashSet<>()).add(cacheKey);
+                        if (remainingTtl(tagKey) < ttl) {
+                            expire(tagKey, ttl);
+                        }
+                    }
+                    if (tagCount > 0) {
+                        expire(keyTagsKey, ttl);
+                    }
+                    arg += 4 + tagCount;
+                }
+                yield (long) keys.size() / 2;
+            }
+            case "-- evict-key" -> {
+                members(keys.get(1)).forEach(tag -> setRemove(args.get(0) + "t:" + tag, List.of(args.get(1))));
+                yield delete(keys);
+            }
+            default -> new ErrorReply("ERR unknown script " + name);
+        };
+    }
+
+    private byte[] get(String key) {
+        expireIfNeeded(key);
+        return strings.get(key);
+    }
+
+    private String set(List<String> arguments) {
+        var key = arguments.get(0);
+        delete(List.of(key));
+        strings.put(key, bytes(arguments.get(1)));
+        touch(key);
+        if (arguments.size() == 4 && arguments.get(2).equalsIgnoreCase("PX")) {
+            deadlines.put(key, now + Long.parseLong(arguments.get(3)));
+        }
+        return "OK";
+    }
+
+    private long delete(List<String> keys) {
+        long deleted = 0;
+        for (var key : keys) {
+            expireIfNeeded(key);
+            deadlines.remove(key);
+            if (strings.remove(key) != null || sets.remove(key) != null) {
+                touch(key);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private long setRemove(String key, List<String> members) {
+        var set = sets.get(key);
+        if (set == null) {
+            return 0;
+        }
+        var removed = members.stream().filter(set::remove).count();
+        if (set.isEmpty()) {
+            sets.remove(key);
+        }
+        return removed;
+    }
+
+    private long expire(String key, long millis) {
+        if (!keys().contains(key)) {
+            return 0;
+        }
+        deadlines.put(key, now + millis);
+        return 1;
+    }
+
+    /**
+     * Returns all the matching keys in a single iteration, only prefix patterns are supported
+     */
+    private List<Object> scan(String pattern) {
+        var prefix = pattern.substring(0, pattern.length() - 1).replaceAll("\\\\(.)", "$1");
+        return List.of(bytes("0"), keys().stream().filter(key -> key.startsWith(prefix)).map(this::bytes).toList());
+    }
+
+    private boolean expireIfNeeded(String key) {
+        var deadline = deadlines.get(key);
+        if (deadline != null && deadline <= now) {
+            deadlines.remove(key);
+            strings.remove(key);
+            sets.remove(key);
+            touch(key);
+            return true;
+        }
+        return false;
+    }
+
+    private void touch(String key) {
+        versions.merge(key, 1L, Long::sum);
+    }
+
+    private byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private String sha1(String script) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-1").digest(script.getBytes(StandardCharsets.UTF_8))
+            );
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Arguments are decoded as ISO-8859-1, so binary values survive the round trip
+     */
+    private List<String> readCommand(InputStream input) throws IOException {
+        var header = readLine(input);
+        if (header.charAt(0) != '*') {
+            throw new IOException("Inline commands are not supported");
+        }
+        var size = Integer.parseInt(header.substring(1));
+        List<String> command = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            var length = Integer.parseInt(readLine(input).substring(1));
+            var argument = input.readNBytes(length);
+            readLine(input);
+            command.add(new String(argument, StandardCharsets.ISO_8859_1));
+        }
+        return command;
+    }
+
+    private String readLine(InputStream input) throws IOException {
+        var line = new ByteArrayOutputStream();
+        int current;
+        while ((current = input.read()) != '\r') {
+            if (current == -1) {
+                throw new EOFException();
+            }
+            line.write(current);
+        }
+        input.read();
+        return line.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    private void writeReply(OutputStream output, Object reply) throws IOException {
+        if (reply == null) {
+            output.write("$-1\r\n".getBytes(StandardCharsets.US_ASCII));
+        } else if (reply instanceof String simpleString) {
+            output.write(("+" + simpleString + "\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        } else if (reply instanceof ErrorReply error) {
+            output.write(("-" + error.message() + "\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        } else if (reply instanceof Long integer) {
+            output.write((":" + integer + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        } else if (reply instanceof byte[] bulkString) {
+            output.write(("$" + bulkString.length + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            output.write(bulkString);
+            output.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+        } else if (reply instanceof List<?> array) {
+            output.write(("*" + array.size() + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            for (var element : array) {
+                writeReply(output, element);
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown reply " + reply);
+        }
+    }
+}
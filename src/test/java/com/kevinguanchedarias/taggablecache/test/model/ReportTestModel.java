@@ -0,0 +1,16 @@
+package com.kevinguanchedarias.taggablecache.test.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.Serializable;
+
+/**
+ * Doesn't implement equals, so two decoded copies of the same report are never equal
+ */
+@Getter
+@AllArgsConstructor
+public class ReportTestModel implements Serializable {
+    private final int id;
+    private final int invocation;
+}
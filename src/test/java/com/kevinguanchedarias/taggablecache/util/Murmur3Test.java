@@ -0,0 +1,24 @@
+package com.kevinguanchedarias.taggablecache.util;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Murmur3Test {
+    @ParameterizedTest
+    @CsvSource({
+            "'', 00000000000000000000000000000000",
+            "hello, 029bbd41b3a7d8cb191dae486a901e5b",
+            "The quick brown fox jumps over the lazy dog, 6c1b07bc7bbc4be347939ac4a93c437a",
+            "0123456789abcdefX, f7d670b5acd2ebcd274b10829711728f"
+    })
+    void hash128_should_match_the_reference_implementation(String input, String expectedHash) {
+        var hash = Murmur3.hash128(input.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(HexFormat.of().formatHex(hash)).isEqualTo(expectedHash);
+    }
+}
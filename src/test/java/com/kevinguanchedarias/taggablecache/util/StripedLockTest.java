@@ -0,0 +1,45 @@
+package com.kevinguanchedarias.taggablecache.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedLockTest {
+    @Test
+    void constructor_should_round_stripes_to_power_of_two() {
+        assertThat(new StripedLock(1).size()).isEqualTo(1);
+        assertThat(new StripedLock(16).size()).isEqualTo(16);
+        assertThat(new StripedLock(17).size()).isEqualTo(32);
+    }
+
+    @Test
+    void constructor_should_throw_on_invalid_stripes() {
+        assertThatThrownBy(() -> new StripedLock(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void get_should_return_same_lock_for_same_object() {
+        var stripedLock = new StripedLock(8);
+        assertThat(stripedLock.get("foo")).isSameAs(stripedLock.get(new String("foo")));
+    }
+
+    @Test
+    void lockAll_should_block_every_stripe_until_unlockAll() throws Exception {
+        var stripedLock = new StripedLock(4);
+        var executor = Executors.newSingleThreadExecutor();
+        stripedLock.lockAll();
+        try {
+            assertThat(executor.submit(() -> stripedLock.get("any").tryLock()).get(5, TimeUnit.SECONDS)).isFalse();
+        } finally {
+            stripedLock.unlockAll();
+        }
+
+        assertThat(executor.submit(() -> stripedLock.get("any").tryLock()).get(5, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+    }
+}